@@ -1,5 +1,7 @@
 package com.github.msemys.esjc;
 
+import com.github.msemys.esjc.util.ReadAhead;
+
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -8,14 +10,12 @@ import java.util.function.Function;
 import static java.util.Collections.emptyIterator;
 
 abstract class AbstractEventsIterator<T, R> implements Iterator<ResolvedEvent> {
-    private final Function<T, CompletableFuture<R>> reader;
-    private T cursor;
+    private final ReadAhead<T, R> batches;
     private Iterator<ResolvedEvent> iterator;
     private boolean endOfStream;
 
-    AbstractEventsIterator(T cursor, Function<T, CompletableFuture<R>> reader) {
-        this.cursor = cursor;
-        this.reader = reader;
+    AbstractEventsIterator(T cursor, Function<T, CompletableFuture<R>> reader, int readAheadBatches, int readAheadBytes) {
+        batches = new ReadAhead<>(cursor, reader, this::getNextCursor, this::getEvents, this::isEndOfStream, readAheadBatches, readAheadBytes);
     }
 
     @Override
@@ -36,13 +36,12 @@ abstract class AbstractEventsIterator<T, R> implements Iterator<ResolvedEvent> {
 
     private Iterator<ResolvedEvent> iterator() {
         if (iterator == null) {
-            onBatchReceived(reader.apply(cursor).join());
+            onBatchReceived(batches.next());
         }
         return iterator;
     }
 
     protected void onBatchReceived(R slice) {
-        cursor = getNextCursor(slice);
         iterator = getEvents(slice).iterator();
         endOfStream = isEndOfStream(slice);
     }
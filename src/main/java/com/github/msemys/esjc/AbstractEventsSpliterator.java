@@ -1,5 +1,7 @@
 package com.github.msemys.esjc;
 
+import com.github.msemys.esjc.util.ReadAhead;
+
 import java.util.List;
 import java.util.Spliterator;
 import java.util.concurrent.CompletableFuture;
@@ -12,15 +14,13 @@ import static java.util.Spliterators.emptySpliterator;
 abstract class AbstractEventsSpliterator<T, R> implements Spliterator<ResolvedEvent> {
     private static final int CHARACTERISTICS = SIZED | SUBSIZED | IMMUTABLE | ORDERED | NONNULL;
 
-    private final Function<T, CompletableFuture<R>> reader;
-    private T cursor;
+    private final ReadAhead<T, R> batches;
     private Spliterator<ResolvedEvent> spliterator;
     private boolean endOfStream;
     private long estimate = Long.MAX_VALUE;
 
-    AbstractEventsSpliterator(T cursor, Function<T, CompletableFuture<R>> reader) {
-        this.cursor = cursor;
-        this.reader = reader;
+    AbstractEventsSpliterator(T cursor, Function<T, CompletableFuture<R>> reader, int readAheadBatches, int readAheadBytes) {
+        batches = new ReadAhead<>(cursor, reader, this::getNextCursor, this::getEvents, this::isEndOfStream, readAheadBatches, readAheadBytes);
     }
 
     @Override
@@ -71,7 +71,7 @@ abstract class AbstractEventsSpliterator<T, R> implements Spliterator<ResolvedEv
     }
 
     private List<ResolvedEvent> nextBatch() {
-        R slice = reader.apply(cursor).join();
+        R slice = batches.next();
 
         onBatchReceived(slice);
 
@@ -82,7 +82,6 @@ abstract class AbstractEventsSpliterator<T, R> implements Spliterator<ResolvedEv
     }
 
     protected void onBatchReceived(R slice) {
-        cursor = getNextCursor(slice);
         endOfStream = isEndOfStream(slice);
     }
 
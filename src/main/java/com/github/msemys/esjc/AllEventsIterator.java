@@ -10,7 +10,14 @@ import java.util.function.Function;
 public class AllEventsIterator extends AbstractEventsIterator<Position, AllEventsSlice> {
 
     AllEventsIterator(Position position, Function<Position, CompletableFuture<AllEventsSlice>> reader) {
-        super(position, reader);
+        this(position, reader, 0, Integer.MAX_VALUE);
+    }
+
+    AllEventsIterator(Position position,
+                      Function<Position, CompletableFuture<AllEventsSlice>> reader,
+                      int readAheadBatches,
+                      int readAheadBytes) {
+        super(position, reader, readAheadBatches, readAheadBytes);
     }
 
     @Override
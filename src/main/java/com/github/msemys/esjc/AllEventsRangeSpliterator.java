@@ -0,0 +1,182 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.util.ReadAhead;
+import com.github.msemys.esjc.util.Threads;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.function.Function.identity;
+
+/**
+ * $all stream events spliterator over the range of positions, that splits the range into sub-ranges.
+ * <p>
+ * Sub-ranges are bounded only by positions, that the server has returned for events, never by computed positions.
+ * To split a range, the first event at or after the middle of the range is read (by a single event read), and its
+ * position becomes the end of the prefix and the start of the suffix. The probe is issued asynchronously, so
+ * {@link #trySplit()} does not wait for it: the bounds of both sub-ranges are resolved, when the probe completes, and
+ * the sub-ranges start reading then. The middle itself is not necessarily a record boundary - the server reads the
+ * closest event after it; if the probe fails or returns no event inside the range, the prefix is empty and the
+ * suffix covers the whole range, so every event is still read exactly once. Ranges up to {@link Position#END} are
+ * not split.
+ * </p>
+ */
+public class AllEventsRangeSpliterator implements Spliterator<ResolvedEvent> {
+    private static final int CHARACTERISTICS = IMMUTABLE | ORDERED | NONNULL;
+    private static final long MIN_SPLIT_DISTANCE = 1024 * 1024;
+
+    private final Function<Position, CompletableFuture<AllEventsSlice>> reader;
+    private final Function<Position, CompletableFuture<AllEventsSlice>> probe;
+    private final int readAheadBatches;
+    private final int readAheadBytes;
+    private CompletableFuture<Position> from;
+    private final CompletableFuture<Position> to;
+    private long fromCommitPosition;
+    private final long toCommitPosition;
+
+    private Position end;
+    private ReadAhead<Position, AllEventsSlice> batches;
+    private Iterator<ResolvedEvent> iterator;
+    private boolean lastBatch;
+    private boolean endOfRange;
+
+    AllEventsRangeSpliterator(Position from,
+                              Position to,
+                              Function<Position, CompletableFuture<AllEventsSlice>> reader,
+                              Function<Position, CompletableFuture<AllEventsSlice>> probe,
+                              int readAheadBatches,
+                              int readAheadBytes) {
+        this(completedFuture(from), completedFuture(to), from.commitPosition, Position.END.equals(to) ? -1 : to.commitPosition,
+            reader, probe, readAheadBatches, readAheadBytes);
+    }
+
+    private AllEventsRangeSpliterator(CompletableFuture<Position> from,
+                                      CompletableFuture<Position> to,
+                                      long fromCommitPosition,
+                                      long toCommitPosition,
+                                      Function<Position, CompletableFuture<AllEventsSlice>> reader,
+                                      Function<Position, CompletableFuture<AllEventsSlice>> probe,
+                                      int readAheadBatches,
+                                      int readAheadBytes) {
+        this.from = from;
+        this.to = to;
+        this.fromCommitPosition = fromCommitPosition;
+        this.toCommitPosition = toCommitPosition;
+        this.reader = reader;
+        this.probe = probe;
+        this.readAheadBatches = readAheadBatches;
+        this.readAheadBytes = readAheadBytes;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+        checkNotNull(action, "action is null");
+
+        while (!endOfRange) {
+            if (iterator != null && iterator.hasNext()) {
+                ResolvedEvent event = iterator.next();
+
+                if (isBeforeEnd(event.originalPosition)) {
+                    action.accept(event);
+                    return true;
+                } else {
+                    endOfRange = true;
+                }
+            } else if (lastBatch) {
+                endOfRange = true;
+            } else {
+                if (batches == null) {
+                    Position start = Threads.join(from);
+                    end = Threads.join(to);
+
+                    if (!isBeforeEnd(start)) {
+                        endOfRange = true;
+                        break;
+                    }
+
+                    batches = new ReadAhead<>(start, reader, s -> s.nextPosition, s -> s.events, this::isLastBatch, readAheadBatches, readAheadBytes);
+                }
+
+                AllEventsSlice slice = batches.next();
+                iterator = slice.events.iterator();
+                lastBatch = isLastBatch(slice);
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Spliterator<ResolvedEvent> trySplit() {
+        if (batches != null || endOfRange || toCommitPosition < 0 || toCommitPosition - fromCommitPosition < MIN_SPLIT_DISTANCE) {
+            return null;
+        }
+
+        // the bounds may be not resolved yet, so the middle is estimated from the requested commit positions
+        long middle = fromCommitPosition + (toCommitPosition - fromCommitPosition) / 2;
+
+        CompletableFuture<Position> lower = from;
+        CompletableFuture<Position> upper = to;
+        CompletableFuture<Position> boundary = lower.thenCombine(upper, (start, end) -> probe(start, end, middle))
+            .thenCompose(identity());
+
+        Spliterator<ResolvedEvent> prefix = new AllEventsRangeSpliterator(lower, boundary, fromCommitPosition, middle,
+            reader, probe, readAheadBatches, readAheadBytes);
+
+        from = boundary;
+        fromCommitPosition = middle;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return endOfRange ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    /**
+     * Finds the position of the first event at or after the specified middle of the range.
+     *
+     * @param start  the start of the range.
+     * @param end    the end of the range.
+     * @param middle the commit position of the middle of the range.
+     * @return the position of the event inside the range, or the start of the range, if there is no such event
+     */
+    private CompletableFuture<Position> probe(Position start, Position end, long middle) {
+        if (middle <= start.commitPosition || middle >= end.commitPosition) {
+            return completedFuture(start);
+        }
+
+        try {
+            return probe.apply(Position.of(middle, middle)).handle((slice, throwable) -> {
+                if (throwable != null || slice.events.isEmpty()) {
+                    return start;
+                }
+
+                Position position = slice.events.get(0).originalPosition;
+                return (position.compareTo(start) > 0 && position.compareTo(end) < 0) ? position : start;
+            });
+        } catch (RuntimeException e) {
+            return completedFuture(start);
+        }
+    }
+
+    private boolean isLastBatch(AllEventsSlice slice) {
+        return slice.isEndOfStream() || !isBeforeEnd(slice.nextPosition);
+    }
+
+    private boolean isBeforeEnd(Position position) {
+        return Position.END.equals(end) || position.compareTo(end) < 0;
+    }
+
+}
@@ -37,11 +37,19 @@ public class AllEventsSlice {
                           Position fromPosition,
                           Position nextPosition,
                           List<EventStoreClientMessages.ResolvedEvent> events) {
+        this(readDirection, fromPosition, nextPosition, events, false);
+    }
+
+    public AllEventsSlice(ReadDirection readDirection,
+                          Position fromPosition,
+                          Position nextPosition,
+                          List<EventStoreClientMessages.ResolvedEvent> events,
+                          boolean lazyEvents) {
         this.readDirection = readDirection;
         this.fromPosition = fromPosition;
         this.nextPosition = nextPosition;
         this.events = (events == null) ? emptyList() : events.stream()
-                .map(ResolvedEvent::new)
+                .map(e -> new ResolvedEvent(e, lazyEvents))
                 .collect(toCollection(() -> new ArrayList<>(events.size())));
     }
 
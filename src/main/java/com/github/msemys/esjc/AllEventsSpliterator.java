@@ -10,7 +10,14 @@ import java.util.function.Function;
 public class AllEventsSpliterator extends AbstractEventsSpliterator<Position, AllEventsSlice> {
 
     AllEventsSpliterator(Position position, Function<Position, CompletableFuture<AllEventsSlice>> reader) {
-        super(position, reader);
+        this(position, reader, 0, Integer.MAX_VALUE);
+    }
+
+    AllEventsSpliterator(Position position,
+                         Function<Position, CompletableFuture<AllEventsSlice>> reader,
+                         int readAheadBatches,
+                         int readAheadBytes) {
+        super(position, reader, readAheadBatches, readAheadBytes);
     }
 
     @Override
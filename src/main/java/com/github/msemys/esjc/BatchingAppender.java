@@ -0,0 +1,310 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.msemys.esjc.util.Preconditions.*;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Appender, that coalesces appends to the same stream into a single write.
+ * <p>
+ * Pending appends of a stream are collected until the batch reaches {@link BatchingAppenderSettings#maxBatchEvents}
+ * events, {@link BatchingAppenderSettings#maxBatchBytes} bytes or {@link BatchingAppenderSettings#maxBatchDelay}
+ * elapses since the first pending append, and then are sent as a single write with {@link ExpectedVersion#ANY}.
+ * Appends of the same stream are written in the order they were accepted. Every append is completed with its own
+ * slice of the write result: {@link WriteResult#nextExpectedVersion} is the number of the last event of the append
+ * (so the numbers of its events are {@code nextExpectedVersion - eventCount + 1 .. nextExpectedVersion}), while
+ * {@link WriteResult#logPosition} is the position of the whole write. If the write fails, every append of the batch
+ * fails with the same exception.
+ * </p>
+ * <p>
+ * Batching is meant for independent events, that do not need optimistic concurrency checks. Use
+ * {@link EventStore#appendToStream(String, long, Iterable, UserCredentials)} for appends with an expected version.
+ * </p>
+ *
+ * @see EventStore#newBatchingAppender(BatchingAppenderSettings, UserCredentials)
+ */
+public class BatchingAppender implements AutoCloseable {
+    private static final int EVENT_OVERHEAD_BYTES = 64;
+
+    private final EventStore eventStore;
+    private final ScheduledExecutorService scheduler;
+    private final BatchingAppenderSettings settings;
+    private final UserCredentials userCredentials;
+    private final long maxBatchDelayNanos;
+
+    private final ConcurrentHashMap<String, StreamBatch> batches = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a new batching appender.
+     *
+     * @param eventStore      the client, that is used to write batches.
+     * @param scheduler       the scheduler of delayed batch writes.
+     * @param settings        batching appender settings.
+     * @param userCredentials user credentials to be used for writes (use {@code null} for default user credentials).
+     */
+    public BatchingAppender(EventStore eventStore,
+                            ScheduledExecutorService scheduler,
+                            BatchingAppenderSettings settings,
+                            UserCredentials userCredentials) {
+        checkNotNull(eventStore, "eventStore is null");
+        checkNotNull(scheduler, "scheduler is null");
+        checkNotNull(settings, "settings is null");
+
+        this.eventStore = eventStore;
+        this.scheduler = scheduler;
+        this.settings = settings;
+        this.userCredentials = userCredentials;
+        this.maxBatchDelayNanos = settings.maxBatchDelay.toNanos();
+    }
+
+    /**
+     * Appends single event to a stream asynchronously.
+     *
+     * @param stream the name of the stream to append event to.
+     * @param event  the event to append.
+     * @return a {@code CompletableFuture} representing the result of this append.
+     * @see #append(String, Iterable)
+     */
+    public CompletableFuture<WriteResult> append(String stream, EventData event) {
+        checkNotNull(event, "event is null");
+        return append(stream, singletonList(event));
+    }
+
+    /**
+     * Appends events to a stream asynchronously. Events of a single append are never split between writes.
+     *
+     * @param stream the name of the stream to append events to.
+     * @param events the events to append.
+     * @return a {@code CompletableFuture} representing the result of this append. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link StreamDeletedException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     */
+    public CompletableFuture<WriteResult> append(String stream, Iterable<EventData> events) {
+        checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
+        checkNotNull(events, "events is null");
+        checkState(!closed, "Batching appender is closed");
+
+        List<EventData> eventList = new ArrayList<>();
+        long size = 0;
+
+        for (EventData event : events) {
+            checkNotNull(event, "event is null");
+            eventList.add(event);
+            size += sizeOf(event);
+        }
+
+        checkArgument(size <= BatchingAppenderSettings.MAX_BATCH_BYTES,
+            "Events size %d exceeds the maximum batch size %d", size, BatchingAppenderSettings.MAX_BATCH_BYTES);
+
+        if (eventList.isEmpty()) {
+            return eventStore.appendToStream(stream, ExpectedVersion.ANY, eventList, userCredentials);
+        }
+
+        PendingAppend append = new PendingAppend(eventList, (int) size);
+
+        while (!batches.computeIfAbsent(stream, StreamBatch::new).add(append)) {
+            // the batch was retired concurrently, so the next one is created
+        }
+
+        return append.result;
+    }
+
+    /**
+     * Writes all pending appends without waiting for the batch delay.
+     */
+    public void flush() {
+        batches.values().forEach(StreamBatch::flush);
+    }
+
+    /**
+     * Writes all pending appends and rejects new ones.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flush();
+    }
+
+    static int sizeOf(EventData event) {
+        // upper bound of the encoded event size (the type is counted as 3 bytes per UTF-8 encoded char)
+        return event.data.length + event.metadata.length + event.type.length() * 3 + EVENT_OVERHEAD_BYTES;
+    }
+
+    private static class PendingAppend {
+        final List<EventData> events;
+        final int size;
+        final CompletableFuture<WriteResult> result = new CompletableFuture<>();
+
+        PendingAppend(List<EventData> events, int size) {
+            this.events = events;
+            this.size = size;
+        }
+    }
+
+    private class StreamBatch {
+        final String stream;
+
+        // batches are sent outside of the monitor, in the order they were taken
+        final Queue<List<PendingAppend>> outgoing = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+
+        List<PendingAppend> appends = new ArrayList<>();
+        int eventCount;
+        long size;
+        ScheduledFuture<?> flushTask;
+        boolean retireRequested;
+        boolean retired;
+
+        StreamBatch(String stream) {
+            this.stream = stream;
+        }
+
+        boolean add(PendingAppend append) {
+            synchronized (this) {
+                if (retired) {
+                    return false;
+                }
+
+                if (!appends.isEmpty() &&
+                    (eventCount + append.events.size() > settings.maxBatchEvents || size + append.size > settings.maxBatchBytes)) {
+                    take();
+                }
+
+                appends.add(append);
+                eventCount += append.events.size();
+                size += append.size;
+
+                if (eventCount >= settings.maxBatchEvents || size >= settings.maxBatchBytes || maxBatchDelayNanos == 0) {
+                    take();
+                } else if (flushTask == null) {
+                    flushTask = scheduler.schedule(this::flushAndRetire, maxBatchDelayNanos, NANOSECONDS);
+                }
+            }
+
+            send();
+            return true;
+        }
+
+        void flush() {
+            synchronized (this) {
+                if (!appends.isEmpty()) {
+                    take();
+                }
+            }
+
+            send();
+        }
+
+        void flushAndRetire() {
+            synchronized (this) {
+                if (!appends.isEmpty()) {
+                    take();
+                }
+                flushTask = null;
+                retireRequested = true;
+            }
+
+            send();
+            tryRetire();
+        }
+
+        /**
+         * Retires the batch, if the retirement was requested and all taken batches are sent. The next batch of
+         * the stream is created only after that, so its writes are never sent ahead of the writes of this one.
+         */
+        private void tryRetire() {
+            synchronized (this) {
+                if (retireRequested && !retired && appends.isEmpty() && outgoing.isEmpty() && !sending.get()) {
+                    retired = true;
+                    batches.remove(stream, this);
+                }
+            }
+        }
+
+        /**
+         * Moves the pending appends to the outgoing batches and cancels the delayed flush. Should be called
+         * holding the monitor.
+         */
+        private void take() {
+            outgoing.offer(appends);
+
+            appends = new ArrayList<>();
+            eventCount = 0;
+            size = 0;
+
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+
+        private void send() {
+            boolean sent = false;
+
+            while (!outgoing.isEmpty() && sending.compareAndSet(false, true)) {
+                try {
+                    List<PendingAppend> batch;
+                    while ((batch = outgoing.poll()) != null) {
+                        write(batch);
+                    }
+                } finally {
+                    sending.set(false);
+                }
+                sent = true;
+            }
+
+            // the retirement could be deferred by this send
+            if (sent) {
+                tryRetire();
+            }
+        }
+
+        private void write(List<PendingAppend> batch) {
+            int batchEventCount = batch.stream().mapToInt(append -> append.events.size()).sum();
+
+            List<EventData> events;
+
+            if (batch.size() == 1) {
+                events = batch.get(0).events;
+            } else {
+                events = new ArrayList<>(batchEventCount);
+                batch.forEach(append -> events.addAll(append.events));
+            }
+
+            try {
+                eventStore.appendToStream(stream, ExpectedVersion.ANY, events, userCredentials)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            batch.forEach(append -> append.result.completeExceptionally(throwable));
+                        } else {
+                            long firstEventNumber = result.nextExpectedVersion - batchEventCount + 1;
+
+                            for (PendingAppend append : batch) {
+                                long lastEventNumber = firstEventNumber + append.events.size() - 1;
+                                append.result.complete(new WriteResult(lastEventNumber, result.logPosition));
+                                firstEventNumber = lastEventNumber + 1;
+                            }
+                        }
+                    });
+            } catch (Exception e) {
+                batch.forEach(append -> append.result.completeExceptionally(e));
+            }
+        }
+    }
+
+}
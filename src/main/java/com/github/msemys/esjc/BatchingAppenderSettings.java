@@ -0,0 +1,140 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.tcp.TcpPackage;
+
+import java.time.Duration;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+
+/**
+ * Batching appender settings.
+ *
+ * @see BatchingAppender
+ */
+public class BatchingAppenderSettings {
+
+    /**
+     * The maximum allowed size of a batch in bytes. Part of the TCP frame is reserved for the request headers,
+     * the stream name and the message encoding overhead.
+     */
+    public static final int MAX_BATCH_BYTES = TcpPackage.MAX_FRAME_LENGTH - 1024 * 1024;
+
+    /**
+     * Batching appender default settings.
+     */
+    public static final BatchingAppenderSettings DEFAULT = newBuilder().build();
+
+    /**
+     * The maximum number of events in a single write.
+     */
+    public final int maxBatchEvents;
+
+    /**
+     * The maximum estimated size of a single write in bytes.
+     */
+    public final int maxBatchBytes;
+
+    /**
+     * The maximum amount of time an append waits for other appends to the same stream.
+     */
+    public final Duration maxBatchDelay;
+
+    private BatchingAppenderSettings(Builder builder) {
+        maxBatchEvents = builder.maxBatchEvents;
+        maxBatchBytes = builder.maxBatchBytes;
+        maxBatchDelay = builder.maxBatchDelay;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BatchingAppenderSettings{");
+        sb.append("maxBatchEvents=").append(maxBatchEvents);
+        sb.append(", maxBatchBytes=").append(maxBatchBytes);
+        sb.append(", maxBatchDelay=").append(maxBatchDelay);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Creates a new batching appender settings builder.
+     *
+     * @return batching appender settings builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Batching appender settings builder.
+     */
+    public static class Builder {
+        private Integer maxBatchEvents;
+        private Integer maxBatchBytes;
+        private Duration maxBatchDelay;
+
+        /**
+         * Sets the maximum number of events in a single write (by default, 500 events).
+         *
+         * @param maxBatchEvents the maximum number of events in a single write.
+         * @return the builder reference
+         */
+        public Builder maxBatchEvents(int maxBatchEvents) {
+            this.maxBatchEvents = maxBatchEvents;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated size of a single write in bytes (by default, 1 MB).
+         * Could not be greater than {@link #MAX_BATCH_BYTES}.
+         *
+         * @param maxBatchBytes the maximum estimated size of a single write in bytes.
+         * @return the builder reference
+         */
+        public Builder maxBatchBytes(int maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time an append waits for other appends to the same stream
+         * (by default, 500 microseconds). Zero disables waiting, so only concurrent appends are coalesced.
+         *
+         * @param maxBatchDelay the maximum amount of time an append waits for other appends.
+         * @return the builder reference
+         */
+        public Builder maxBatchDelay(Duration maxBatchDelay) {
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        /**
+         * Builds a batching appender settings.
+         *
+         * @return batching appender settings
+         */
+        public BatchingAppenderSettings build() {
+            if (maxBatchEvents == null) {
+                maxBatchEvents = 500;
+            } else {
+                checkArgument(isPositive(maxBatchEvents), "maxBatchEvents should be positive");
+            }
+
+            if (maxBatchBytes == null) {
+                maxBatchBytes = 1024 * 1024;
+            } else {
+                checkArgument(isPositive(maxBatchBytes), "maxBatchBytes should be positive");
+                checkArgument(maxBatchBytes <= MAX_BATCH_BYTES, "maxBatchBytes should not be greater than %d", MAX_BATCH_BYTES);
+            }
+
+            if (maxBatchDelay == null) {
+                maxBatchDelay = Duration.ofNanos(500_000);
+            } else {
+                checkArgument(!maxBatchDelay.isNegative(), "maxBatchDelay should not be negative");
+            }
+
+            return new BatchingAppenderSettings(this);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.msemys.esjc;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the bulk importer progress.
+ *
+ * @see BulkImporter#progress()
+ */
+public class BulkImportProgress {
+
+    /**
+     * The number of events written to transactions (including uncommitted and resumed ones).
+     */
+    public final long writtenEvents;
+
+    /**
+     * The number of events in committed transactions.
+     */
+    public final long committedEvents;
+
+    /**
+     * The number of committed transactions.
+     */
+    public final long committedTransactions;
+
+    /**
+     * The number of times imports were resumed from the last committed chunk.
+     */
+    public final long resumes;
+
+    /**
+     * The number of streams, that are being imported or wait to be imported.
+     */
+    public final int pendingStreams;
+
+    /**
+     * The number of successfully imported streams.
+     */
+    public final long completedStreams;
+
+    /**
+     * The number of streams, whose import failed.
+     */
+    public final long failedStreams;
+
+    /**
+     * The amount of time elapsed since the bulk importer was created.
+     */
+    public final Duration elapsed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param writtenEvents         the number of events written to transactions.
+     * @param committedEvents       the number of events in committed transactions.
+     * @param committedTransactions the number of committed transactions.
+     * @param resumes               the number of times imports were resumed.
+     * @param pendingStreams        the number of streams, that are being imported or wait to be imported.
+     * @param completedStreams      the number of successfully imported streams.
+     * @param failedStreams         the number of streams, whose import failed.
+     * @param elapsed               the amount of time elapsed since the bulk importer was created.
+     */
+    public BulkImportProgress(long writtenEvents,
+                              long committedEvents,
+                              long committedTransactions,
+                              long resumes,
+                              int pendingStreams,
+                              long completedStreams,
+                              long failedStreams,
+                              Duration elapsed) {
+        this.writtenEvents = writtenEvents;
+        this.committedEvents = committedEvents;
+        this.committedTransactions = committedTransactions;
+        this.resumes = resumes;
+        this.pendingStreams = pendingStreams;
+        this.completedStreams = completedStreams;
+        this.failedStreams = failedStreams;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the average throughput of committed events.
+     *
+     * @return committed events per second
+     */
+    public double eventsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return (nanos > 0) ? committedEvents * 1_000_000_000.0 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BulkImportProgress{");
+        sb.append("writtenEvents=").append(writtenEvents);
+        sb.append(", committedEvents=").append(committedEvents);
+        sb.append(", committedTransactions=").append(committedTransactions);
+        sb.append(", resumes=").append(resumes);
+        sb.append(", pendingStreams=").append(pendingStreams);
+        sb.append(", completedStreams=").append(completedStreams);
+        sb.append(", failedStreams=").append(failedStreams);
+        sb.append(", elapsed=").append(elapsed);
+        sb.append(", eventsPerSecond=").append(String.format("%.1f", eventsPerSecond()));
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.msemys.esjc;
+
+/**
+ * Result type returned after importing events to a stream.
+ *
+ * @see BulkImporter
+ */
+public class BulkImportResult {
+
+    /**
+     * The name of the stream.
+     */
+    public final String stream;
+
+    /**
+     * The number of imported events.
+     */
+    public final long eventCount;
+
+    /**
+     * The number of committed transactions.
+     */
+    public final int transactionCount;
+
+    /**
+     * The number of times the import was resumed from the last committed chunk.
+     */
+    public final int resumeCount;
+
+    /**
+     * The result of the last committed transaction ({@code null} if there were no events to import).
+     */
+    public final WriteResult lastWriteResult;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param stream           the name of the stream.
+     * @param eventCount       the number of imported events.
+     * @param transactionCount the number of committed transactions.
+     * @param resumeCount      the number of times the import was resumed.
+     * @param lastWriteResult  the result of the last committed transaction.
+     */
+    public BulkImportResult(String stream, long eventCount, int transactionCount, int resumeCount, WriteResult lastWriteResult) {
+        this.stream = stream;
+        this.eventCount = eventCount;
+        this.transactionCount = transactionCount;
+        this.resumeCount = resumeCount;
+        this.lastWriteResult = lastWriteResult;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BulkImportResult{");
+        sb.append("stream='").append(stream).append('\'');
+        sb.append(", eventCount=").append(eventCount);
+        sb.append(", transactionCount=").append(transactionCount);
+        sb.append(", resumeCount=").append(resumeCount);
+        sb.append('}');
+        return sb.toString();
+    }
+}
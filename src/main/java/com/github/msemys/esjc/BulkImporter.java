@@ -0,0 +1,453 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.*;
+import com.github.msemys.esjc.operation.manager.OperationTimeoutException;
+import com.github.msemys.esjc.operation.manager.RetriesLimitReachedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static com.github.msemys.esjc.util.Preconditions.*;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+
+/**
+ * Bulk importer, that writes large amounts of events to streams using transactions.
+ * <p>
+ * Events of a stream are split into chunks of up to {@link BulkImporterSettings#maxChunkEvents} events and
+ * {@link BulkImporterSettings#maxChunkBytes} bytes. Up to {@link BulkImporterSettings#maxChunksPerTransaction} chunks
+ * are written to a single transaction, keeping up to {@link BulkImporterSettings#maxInFlightWrites} transactional
+ * writes in flight, and then the transaction is committed and the next one is started (with the next expected
+ * version, if the import was started with an exact expected version). Up to
+ * {@link BulkImporterSettings#maxConcurrentStreams} streams are imported in parallel, other imports wait for their turn.
+ * </p>
+ * <p>
+ * If a transaction fails because of connection problems ({@link ConnectionClosedException},
+ * {@link OperationTimeoutException}, {@link RetriesLimitReachedException} or {@link InvalidTransactionException}),
+ * the import is resumed from the last committed chunk: a new transaction is started with the same expected version
+ * and the chunks of the failed transaction are written again (relying on the idempotency of writes with the same
+ * event ids). With more than one write in flight, transactional writes are never retried on the operation level
+ * (a retried write would land after the writes, that were sent later, reordering the events of the transaction), so
+ * a write, that would be retried, fails with {@link RetriesLimitReachedException} and the import is resumed instead.
+ * </p>
+ * <p>
+ * Follow-up writes and commits are issued from the client executor ({@link Settings#executor}), never from the
+ * threads that complete the previous operations, and import results are completed outside of any lock.
+ * </p>
+ *
+ * @see EventStore#newBulkImporter(BulkImporterSettings, UserCredentials)
+ */
+public class BulkImporter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkImporter.class);
+
+    private final EventStore eventStore;
+    private final BulkImporterSettings settings;
+    private final UserCredentials userCredentials;
+    private final Executor executor;
+    private final long startTime = System.nanoTime();
+
+    private final ArrayDeque<StreamImport> waitingImports = new ArrayDeque<>();
+    private int runningImportCount;
+
+    private final LongAdder writtenEvents = new LongAdder();
+    private final LongAdder committedEvents = new LongAdder();
+    private final LongAdder committedTransactions = new LongAdder();
+    private final LongAdder resumes = new LongAdder();
+    private final LongAdder completedStreams = new LongAdder();
+    private final LongAdder failedStreams = new LongAdder();
+
+    /**
+     * Creates a new bulk importer.
+     *
+     * @param eventStore      the client, that is used to write events.
+     * @param settings        bulk importer settings.
+     * @param userCredentials user credentials to be used for writes (use {@code null} for default user credentials).
+     */
+    public BulkImporter(EventStore eventStore, BulkImporterSettings settings, UserCredentials userCredentials) {
+        checkNotNull(eventStore, "eventStore is null");
+        checkNotNull(settings, "settings is null");
+
+        this.eventStore = eventStore;
+        this.settings = settings;
+        this.userCredentials = userCredentials;
+        this.executor = eventStore.settings().executor;
+    }
+
+    /**
+     * Imports events to a stream asynchronously. The stream is closed, when the import completes.
+     *
+     * @param stream          the name of the stream to import events to.
+     * @param expectedVersion the version at which we currently expect the stream to be.
+     * @param events          the events to import.
+     * @return a {@code CompletableFuture} representing the result of this import.
+     * @see #importStream(String, long, Iterator)
+     */
+    public CompletableFuture<BulkImportResult> importStream(String stream, long expectedVersion, Stream<EventData> events) {
+        checkNotNull(events, "events is null");
+
+        CompletableFuture<BulkImportResult> result = importStream(stream, expectedVersion, events.iterator());
+        result.whenComplete((r, t) -> events.close());
+        return result;
+    }
+
+    /**
+     * Imports events to a stream asynchronously. The iterator is consumed lazily, as chunks are written,
+     * and never concurrently.
+     *
+     * @param stream          the name of the stream to import events to.
+     * @param expectedVersion the version at which we currently expect the stream to be.
+     * @param events          the events to import.
+     * @return a {@code CompletableFuture} representing the result of this import. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link WrongExpectedVersionException},
+     * {@link StreamDeletedException}, {@link InvalidTransactionException}, {@link CommandNotExpectedException},
+     * {@link NotAuthenticatedException}, {@link AccessDeniedException} or {@link ServerErrorException}
+     * on exceptional completion.
+     * @see ExpectedVersion
+     */
+    public CompletableFuture<BulkImportResult> importStream(String stream, long expectedVersion, Iterator<EventData> events) {
+        checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
+        checkNotNull(events, "events is null");
+
+        StreamImport streamImport = new StreamImport(stream, expectedVersion, events);
+
+        boolean start;
+
+        synchronized (waitingImports) {
+            start = runningImportCount < settings.maxConcurrentStreams;
+
+            if (start) {
+                runningImportCount++;
+            } else {
+                waitingImports.add(streamImport);
+            }
+        }
+
+        if (start) {
+            streamImport.start();
+        }
+
+        return streamImport.result;
+    }
+
+    /**
+     * Gets the progress of all imports of this bulk importer.
+     *
+     * @return progress snapshot
+     */
+    public BulkImportProgress progress() {
+        int pendingStreams;
+
+        synchronized (waitingImports) {
+            pendingStreams = runningImportCount + waitingImports.size();
+        }
+
+        return new BulkImportProgress(
+            writtenEvents.sum(),
+            committedEvents.sum(),
+            committedTransactions.sum(),
+            resumes.sum(),
+            pendingStreams,
+            completedStreams.sum(),
+            failedStreams.sum(),
+            Duration.ofNanos(System.nanoTime() - startTime));
+    }
+
+    private void onImportCompleted() {
+        StreamImport next;
+
+        synchronized (waitingImports) {
+            next = waitingImports.poll();
+
+            if (next == null) {
+                runningImportCount--;
+            }
+        }
+
+        if (next != null) {
+            next.start();
+        }
+    }
+
+    private static boolean isResumable(Throwable throwable) {
+        return throwable instanceof ConnectionClosedException ||
+            throwable instanceof OperationTimeoutException ||
+            throwable instanceof RetriesLimitReachedException ||
+            throwable instanceof InvalidTransactionException;
+    }
+
+    private class StreamImport {
+        final String stream;
+        final Iterator<EventData> events;
+        final boolean exactExpectedVersion;
+        final CompletableFuture<BulkImportResult> result = new CompletableFuture<>();
+
+        // chunks of the current (uncommitted) transaction, that are written again if the import is resumed
+        final List<List<EventData>> chunks = new ArrayList<>();
+        EventData nextEvent;
+        long expectedVersion;
+        Transaction transaction;
+        int attempt;
+        int sentChunkCount;
+        int inFlightWriteCount;
+        boolean endOfEvents;
+
+        long eventCount;
+        int transactionCount;
+        int resumeCount;
+        int consecutiveResumeCount;
+        WriteResult lastWriteResult;
+
+        // completion of the result, that is run outside of the lock
+        Runnable outcome;
+
+        StreamImport(String stream, long expectedVersion, Iterator<EventData> events) {
+            this.stream = stream;
+            this.expectedVersion = expectedVersion;
+            this.exactExpectedVersion = expectedVersion >= ExpectedVersion.NO_STREAM;
+            this.events = events;
+        }
+
+        void start() {
+            run(this::startTransaction);
+        }
+
+        /**
+         * Runs the action holding the lock, and then completes the result (if the action has completed the import)
+         * outside of the lock.
+         */
+        private void run(Runnable action) {
+            Runnable completion;
+
+            synchronized (this) {
+                action.run();
+                completion = outcome;
+                outcome = null;
+            }
+
+            if (completion != null) {
+                completion.run();
+                onImportCompleted();
+            }
+        }
+
+        private void startTransaction() {
+            List<EventData> chunk;
+
+            try {
+                chunk = chunks.isEmpty() ? readChunk() : null;
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+
+            if (chunks.isEmpty() && chunk == null) {
+                complete();
+                return;
+            }
+
+            if (chunk != null) {
+                chunks.add(chunk);
+            }
+
+            int currentAttempt = ++attempt;
+            sentChunkCount = 0;
+            inFlightWriteCount = 0;
+
+            try {
+                eventStore.startTransaction(stream, expectedVersion, userCredentials).whenCompleteAsync((t, throwable) -> run(() -> {
+                    if (throwable != null) {
+                        onFailure(currentAttempt, throwable);
+                    } else {
+                        onTransactionStarted(currentAttempt, t);
+                    }
+                }), executor);
+            } catch (Exception e) {
+                onFailure(currentAttempt, e);
+            }
+        }
+
+        private void onTransactionStarted(int currentAttempt, Transaction transaction) {
+            if (currentAttempt == attempt) {
+                this.transaction = transaction;
+                writeChunks(currentAttempt);
+            }
+        }
+
+        private void writeChunks(int currentAttempt) {
+            while (currentAttempt == attempt && inFlightWriteCount < settings.maxInFlightWrites) {
+                List<EventData> chunk;
+
+                if (sentChunkCount < chunks.size()) {
+                    chunk = chunks.get(sentChunkCount);
+                } else if (chunks.size() < settings.maxChunksPerTransaction) {
+                    try {
+                        chunk = readChunk();
+                    } catch (Exception e) {
+                        fail(e);
+                        return;
+                    }
+
+                    if (chunk == null) {
+                        break;
+                    }
+
+                    chunks.add(chunk);
+                } else {
+                    break;
+                }
+
+                sentChunkCount++;
+                inFlightWriteCount++;
+
+                try {
+                    CompletableFuture<Void> write = (settings.maxInFlightWrites > 1) ?
+                        transaction.writeWithoutRetries(chunk) : transaction.write(chunk);
+
+                    write.whenCompleteAsync((r, throwable) ->
+                        run(() -> onChunkWritten(currentAttempt, chunk.size(), throwable)), executor);
+                } catch (Exception e) {
+                    onFailure(currentAttempt, e);
+                }
+            }
+
+            if (currentAttempt == attempt && inFlightWriteCount == 0 && sentChunkCount == chunks.size()) {
+                commit(currentAttempt);
+            }
+        }
+
+        private void onChunkWritten(int currentAttempt, int chunkEventCount, Throwable throwable) {
+            if (currentAttempt != attempt) {
+                return;
+            }
+
+            if (throwable != null) {
+                onFailure(currentAttempt, throwable);
+            } else {
+                writtenEvents.add(chunkEventCount);
+                inFlightWriteCount--;
+                writeChunks(currentAttempt);
+            }
+        }
+
+        private void commit(int currentAttempt) {
+            try {
+                transaction.commit().whenCompleteAsync((r, throwable) -> run(() -> {
+                    if (throwable != null) {
+                        onFailure(currentAttempt, throwable);
+                    } else {
+                        onCommitted(currentAttempt, r);
+                    }
+                }), executor);
+            } catch (Exception e) {
+                onFailure(currentAttempt, e);
+            }
+        }
+
+        private void onCommitted(int currentAttempt, WriteResult writeResult) {
+            if (currentAttempt != attempt) {
+                return;
+            }
+
+            long committedEventCount = chunks.stream().mapToLong(List::size).sum();
+
+            eventCount += committedEventCount;
+            transactionCount++;
+            consecutiveResumeCount = 0;
+            lastWriteResult = writeResult;
+            chunks.clear();
+            transaction = null;
+
+            committedEvents.add(committedEventCount);
+            committedTransactions.increment();
+
+            if (exactExpectedVersion) {
+                expectedVersion = writeResult.nextExpectedVersion;
+            }
+
+            if (endOfEvents) {
+                complete();
+            } else {
+                startTransaction();
+            }
+        }
+
+        private void onFailure(int currentAttempt, Throwable throwable) {
+            if (currentAttempt != attempt) {
+                return;
+            }
+
+            Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+
+            if (isResumable(cause) && consecutiveResumeCount < settings.maxResumeAttempts) {
+                consecutiveResumeCount++;
+                resumeCount++;
+                resumes.increment();
+
+                logger.warn("Resuming import of stream '{}' from the last committed chunk (attempt {}): {}",
+                    stream, consecutiveResumeCount, cause.getMessage());
+
+                transaction = null;
+                startTransaction();
+            } else {
+                fail(cause);
+            }
+        }
+
+        private List<EventData> readChunk() {
+            if (nextEvent == null && !events.hasNext()) {
+                endOfEvents = true;
+                return null;
+            }
+
+            List<EventData> chunk = new ArrayList<>();
+            long size = 0;
+
+            while (chunk.size() < settings.maxChunkEvents && (nextEvent != null || events.hasNext())) {
+                EventData event = (nextEvent != null) ? nextEvent : checkNotNull(events.next(), "event is null");
+                int eventSize = BatchingAppender.sizeOf(event);
+
+                checkArgument(eventSize <= BatchingAppenderSettings.MAX_BATCH_BYTES,
+                    "Event size %d exceeds the maximum chunk size %d", eventSize, BatchingAppenderSettings.MAX_BATCH_BYTES);
+
+                if (!chunk.isEmpty() && size + eventSize > settings.maxChunkBytes) {
+                    // the event is kept for the next chunk
+                    nextEvent = event;
+                    break;
+                }
+
+                nextEvent = null;
+                chunk.add(event);
+                size += eventSize;
+            }
+
+            if (nextEvent == null && !events.hasNext()) {
+                endOfEvents = true;
+            }
+
+            return chunk;
+        }
+
+        private void complete() {
+            attempt++;
+            completedStreams.increment();
+            BulkImportResult importResult = new BulkImportResult(stream, eventCount, transactionCount, resumeCount, lastWriteResult);
+            outcome = () -> result.complete(importResult);
+        }
+
+        private void fail(Throwable throwable) {
+            attempt++;
+            failedStreams.increment();
+            outcome = () -> result.completeExceptionally(throwable);
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.github.msemys.esjc;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+
+/**
+ * Bulk importer settings.
+ *
+ * @see BulkImporter
+ */
+public class BulkImporterSettings {
+
+    /**
+     * Bulk importer default settings.
+     */
+    public static final BulkImporterSettings DEFAULT = newBuilder().build();
+
+    /**
+     * The maximum number of events in a single transactional write (chunk).
+     */
+    public final int maxChunkEvents;
+
+    /**
+     * The maximum estimated size of a single transactional write (chunk) in bytes.
+     */
+    public final int maxChunkBytes;
+
+    /**
+     * The maximum number of chunks written in a single transaction, before it is committed.
+     */
+    public final int maxChunksPerTransaction;
+
+    /**
+     * The maximum number of transactional writes in flight per transaction.
+     */
+    public final int maxInFlightWrites;
+
+    /**
+     * The maximum number of streams imported in parallel.
+     */
+    public final int maxConcurrentStreams;
+
+    /**
+     * The maximum number of consecutive attempts to resume the import of a stream from the last committed chunk.
+     */
+    public final int maxResumeAttempts;
+
+    private BulkImporterSettings(Builder builder) {
+        maxChunkEvents = builder.maxChunkEvents;
+        maxChunkBytes = builder.maxChunkBytes;
+        maxChunksPerTransaction = builder.maxChunksPerTransaction;
+        maxInFlightWrites = builder.maxInFlightWrites;
+        maxConcurrentStreams = builder.maxConcurrentStreams;
+        maxResumeAttempts = builder.maxResumeAttempts;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BulkImporterSettings{");
+        sb.append("maxChunkEvents=").append(maxChunkEvents);
+        sb.append(", maxChunkBytes=").append(maxChunkBytes);
+        sb.append(", maxChunksPerTransaction=").append(maxChunksPerTransaction);
+        sb.append(", maxInFlightWrites=").append(maxInFlightWrites);
+        sb.append(", maxConcurrentStreams=").append(maxConcurrentStreams);
+        sb.append(", maxResumeAttempts=").append(maxResumeAttempts);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Creates a new bulk importer settings builder.
+     *
+     * @return bulk importer settings builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Bulk importer settings builder.
+     */
+    public static class Builder {
+        private Integer maxChunkEvents;
+        private Integer maxChunkBytes;
+        private Integer maxChunksPerTransaction;
+        private Integer maxInFlightWrites;
+        private Integer maxConcurrentStreams;
+        private Integer maxResumeAttempts;
+
+        /**
+         * Sets the maximum number of events in a single transactional write (by default, 500 events).
+         *
+         * @param maxChunkEvents the maximum number of events in a single transactional write.
+         * @return the builder reference
+         */
+        public Builder maxChunkEvents(int maxChunkEvents) {
+            this.maxChunkEvents = maxChunkEvents;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated size of a single transactional write in bytes (by default, 1 MB).
+         * Could not be greater than {@link BatchingAppenderSettings#MAX_BATCH_BYTES}.
+         *
+         * @param maxChunkBytes the maximum estimated size of a single transactional write in bytes.
+         * @return the builder reference
+         */
+        public Builder maxChunkBytes(int maxChunkBytes) {
+            this.maxChunkBytes = maxChunkBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of chunks written in a single transaction (by default, 64 chunks).
+         * Chunks of uncommitted transaction are kept in memory, so that the import could be resumed.
+         *
+         * @param maxChunksPerTransaction the maximum number of chunks written in a single transaction.
+         * @return the builder reference
+         */
+        public Builder maxChunksPerTransaction(int maxChunksPerTransaction) {
+            this.maxChunksPerTransaction = maxChunksPerTransaction;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of transactional writes in flight per transaction (by default, 8 writes).
+         * When more than one write is in flight, the writes are not retried by the client, as a retried write
+         * would be appended after the writes, that were sent later, so the import is resumed instead.
+         *
+         * @param maxInFlightWrites the maximum number of transactional writes in flight per transaction.
+         * @return the builder reference
+         */
+        public Builder maxInFlightWrites(int maxInFlightWrites) {
+            this.maxInFlightWrites = maxInFlightWrites;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of streams imported in parallel (by default, 4 streams).
+         *
+         * @param maxConcurrentStreams the maximum number of streams imported in parallel.
+         * @return the builder reference
+         */
+        public Builder maxConcurrentStreams(int maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of consecutive attempts to resume the import of a stream from the last committed
+         * chunk, after the transaction failed because of connection problems (by default, 10 attempts).
+         *
+         * @param maxResumeAttempts the maximum number of consecutive resume attempts.
+         * @return the builder reference
+         */
+        public Builder maxResumeAttempts(int maxResumeAttempts) {
+            this.maxResumeAttempts = maxResumeAttempts;
+            return this;
+        }
+
+        /**
+         * Builds a bulk importer settings.
+         *
+         * @return bulk importer settings
+         */
+        public BulkImporterSettings build() {
+            if (maxChunkEvents == null) {
+                maxChunkEvents = 500;
+            } else {
+                checkArgument(isPositive(maxChunkEvents), "maxChunkEvents should be positive");
+            }
+
+            if (maxChunkBytes == null) {
+                maxChunkBytes = 1024 * 1024;
+            } else {
+                checkArgument(isPositive(maxChunkBytes), "maxChunkBytes should be positive");
+                checkArgument(maxChunkBytes <= BatchingAppenderSettings.MAX_BATCH_BYTES,
+                    "maxChunkBytes should not be greater than %d", BatchingAppenderSettings.MAX_BATCH_BYTES);
+            }
+
+            if (maxChunksPerTransaction == null) {
+                maxChunksPerTransaction = 64;
+            } else {
+                checkArgument(isPositive(maxChunksPerTransaction), "maxChunksPerTransaction should be positive");
+            }
+
+            if (maxInFlightWrites == null) {
+                maxInFlightWrites = 8;
+            } else {
+                checkArgument(isPositive(maxInFlightWrites), "maxInFlightWrites should be positive");
+            }
+
+            if (maxConcurrentStreams == null) {
+                maxConcurrentStreams = 4;
+            } else {
+                checkArgument(isPositive(maxConcurrentStreams), "maxConcurrentStreams should be positive");
+            }
+
+            if (maxResumeAttempts == null) {
+                maxResumeAttempts = 10;
+            } else {
+                checkArgument(maxResumeAttempts >= 0, "maxResumeAttempts should not be negative");
+            }
+
+            return new BulkImporterSettings(this);
+        }
+    }
+
+}
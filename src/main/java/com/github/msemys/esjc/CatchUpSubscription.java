@@ -1,22 +1,25 @@
 package com.github.msemys.esjc;
 
 
+import com.github.msemys.esjc.checkpoint.Checkpoint;
+import com.github.msemys.esjc.checkpoint.Checkpointer;
 import com.github.msemys.esjc.event.ClientConnected;
 import com.github.msemys.esjc.util.Strings;
 import com.github.msemys.esjc.util.Subscriptions.DropData;
+import com.github.msemys.esjc.util.concurrent.MpscRingBuffer;
 import com.github.msemys.esjc.util.concurrent.ResettableLatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Arrays;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.github.msemys.esjc.util.Numbers.isNegative;
 import static com.github.msemys.esjc.util.Numbers.isPositive;
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
@@ -30,6 +33,9 @@ import static com.github.msemys.esjc.util.Subscriptions.UNKNOWN_DROP_DATA;
  * Catch-up subscription.
  */
 public abstract class CatchUpSubscription implements AutoCloseable {
+    private static final int MAX_PUSH_QUEUE_SIZE = 1 << 30;
+    private static final int MAX_LIVE_BATCH_SIZE = 256;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
@@ -42,10 +48,14 @@ public abstract class CatchUpSubscription implements AutoCloseable {
     private final UserCredentials userCredentials;
     protected final CatchUpSubscriptionListener listener;
     protected final int readBatchSize;
+    protected final int readAheadBatches;
+    protected final int readAheadBytes;
     protected final int maxPushQueueSize;
+    protected final Checkpointer checkpointer;
     private final Executor executor;
 
-    private final Queue<ResolvedEvent> liveQueue = new ConcurrentLinkedQueue<>();
+    private final MpscRingBuffer<ResolvedEvent> liveQueue;
+    private final ResolvedEvent[] liveBatch;
     private Subscription subscription;
     private final AtomicReference<DropData> dropData = new AtomicReference<>();
     private volatile boolean allowProcessing;
@@ -53,6 +63,7 @@ public abstract class CatchUpSubscription implements AutoCloseable {
     protected volatile boolean shouldStop;
     private final AtomicBoolean isDropped = new AtomicBoolean();
     private final ResettableLatch stopped = new ResettableLatch(true);
+    private boolean checkpointRestored;
 
     private final EventStoreListener reconnectionHook;
 
@@ -62,13 +73,19 @@ public abstract class CatchUpSubscription implements AutoCloseable {
                                   CatchUpSubscriptionListener listener,
                                   UserCredentials userCredentials,
                                   int readBatchSize,
+                                  int readAheadBatches,
+                                  int readAheadBytes,
                                   int maxPushQueueSize,
+                                  Checkpointer checkpointer,
                                   Executor executor) {
         checkNotNull(eventstore, "eventstore is null");
         checkNotNull(listener, "listener is null");
         checkNotNull(listener, "executor is null");
         checkArgument(BATCH_SIZE_RANGE.contains(readBatchSize), "readBatchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
+        checkArgument(!isNegative(readAheadBatches), "readAheadBatches should not be negative");
+        checkArgument(isPositive(readAheadBytes), "readAheadBytes should be positive");
         checkArgument(isPositive(maxPushQueueSize), "maxPushQueueSize should be positive");
+        checkArgument(maxPushQueueSize < MAX_PUSH_QUEUE_SIZE, "maxPushQueueSize should be less than %d", MAX_PUSH_QUEUE_SIZE);
 
         this.eventstore = eventstore;
         this.streamId = defaultIfEmpty(streamId, Strings.EMPTY);
@@ -76,9 +93,16 @@ public abstract class CatchUpSubscription implements AutoCloseable {
         this.listener = listener;
         this.userCredentials = userCredentials;
         this.readBatchSize = readBatchSize;
+        this.readAheadBatches = readAheadBatches;
+        this.readAheadBytes = readAheadBytes;
         this.maxPushQueueSize = maxPushQueueSize;
+        this.checkpointer = checkpointer;
         this.executor = executor;
 
+        // reserves the extra slot for the subscription drop notification
+        liveQueue = new MpscRingBuffer<>(maxPushQueueSize + 1);
+        liveBatch = new ResolvedEvent[Math.min(maxPushQueueSize + 1, MAX_LIVE_BATCH_SIZE)];
+
         reconnectionHook = event -> {
             if (event instanceof ClientConnected) {
                 onReconnect();
@@ -94,9 +118,26 @@ public abstract class CatchUpSubscription implements AutoCloseable {
 
     protected abstract void tryProcess(ResolvedEvent event);
 
+    /**
+     * Restores the last processed event from the stored checkpoint.
+     *
+     * @param checkpoint the stored checkpoint.
+     */
+    protected abstract void restore(Checkpoint checkpoint);
+
+    /**
+     * Gets the first live event, that is buffered (but not processed yet) since the subscription was established.
+     *
+     * @return the first buffered live event or {@code null}, if there are no buffered live events
+     */
+    protected ResolvedEvent firstLiveEvent() {
+        ResolvedEvent event = liveQueue.peek();
+        return DROP_SUBSCRIPTION_EVENT.equals(event) ? null : event;
+    }
+
     void start() {
         logger.trace("Catch-up subscription to {}: starting...", streamId());
-        runSubscription();
+        runSubscription(true);
     }
 
     /**
@@ -143,10 +184,22 @@ public abstract class CatchUpSubscription implements AutoCloseable {
         logger.trace("Catch-up subscription to {}: unhooking from connection. Connected.", streamId());
         eventstore.removeListener(reconnectionHook);
 
-        runSubscription();
+        runSubscription(false);
     }
 
-    private void runSubscription() {
+    /**
+     * Runs the subscription: catches up with the history, subscribes and then reads the gap between the history
+     * and the first live event, that is buffered since the subscription was established.
+     * <p>
+     * On the first run, the history is read before subscribing, so that the live queue does not overflow, while
+     * a long history is read. After reconnection, the subscription is established first, so the live events are
+     * buffered from then on, and only the events after the last processed one are read up to the first live event
+     * (or up to the subscription position, if no live event appeared yet).
+     * </p>
+     *
+     * @param readHistoryFirst whether the history should be read before subscribing.
+     */
+    private void runSubscription(boolean readHistoryFirst) {
         executor.execute(() -> {
             logger.trace("Catch-up subscription to {}: running...", streamId());
 
@@ -156,7 +209,23 @@ public abstract class CatchUpSubscription implements AutoCloseable {
             dropData.set(null);
 
             try {
-                if (!shouldStop) {
+                if (checkpointer != null) {
+                    if (!checkpointRestored) {
+                        Checkpoint checkpoint = checkpointer.read().get();
+
+                        if (checkpoint != null) {
+                            logger.trace("Catch-up subscription to {}: resuming from {}.", streamId(), checkpoint);
+                            restore(checkpoint);
+                        }
+
+                        checkpointRestored = true;
+                    }
+
+                    // the periodic flush is (re)started on every run, as a drop on connection close only flushes
+                    checkpointer.start();
+                }
+
+                if (!shouldStop && readHistoryFirst) {
                     logger.trace("Catch-up subscription to {}: pulling events...", streamId());
                     readEventsTill(eventstore, resolveLinkTos, userCredentials, null, null);
                 }
@@ -172,11 +241,10 @@ public abstract class CatchUpSubscription implements AutoCloseable {
                                     streamId(), event.originalStreamId(), event.originalEventNumber(),
                                     event.originalEvent().eventType, event.originalPosition);
 
-                                if (liveQueue.size() >= maxPushQueueSize) {
+                                if (!liveQueue.offer(event, maxPushQueueSize)) {
                                     enqueueSubscriptionDropNotification(SubscriptionDropReason.ProcessingQueueOverflow, null);
                                     subscription.unsubscribe();
                                 } else {
-                                    liveQueue.offer(event);
                                     if (allowProcessing) {
                                         ensureProcessingPushQueue();
                                     }
@@ -221,7 +289,12 @@ public abstract class CatchUpSubscription implements AutoCloseable {
     private void enqueueSubscriptionDropNotification(SubscriptionDropReason reason, Exception exception) {
         // if drop data was already set -- no need to enqueue drop again, somebody did that already
         if (dropData.compareAndSet(null, new DropData(reason, exception))) {
-            liveQueue.offer(DROP_SUBSCRIPTION_EVENT);
+            if (!liveQueue.offer(DROP_SUBSCRIPTION_EVENT)) {
+                // the reserved slot is taken by the notification of the previous run, that was not processed
+                dropSubscription(reason, exception);
+                return;
+            }
+
             if (allowProcessing) {
                 ensureProcessingPushQueue();
             }
@@ -236,27 +309,35 @@ public abstract class CatchUpSubscription implements AutoCloseable {
 
     private void processLiveQueue() {
         do {
-            ResolvedEvent event;
-            while ((event = liveQueue.poll()) != null) {
-                // drop subscription artificial ResolvedEvent
-                if (event.equals(DROP_SUBSCRIPTION_EVENT)) {
-                    DropData previousDropData = dropData.getAndAccumulate(UNKNOWN_DROP_DATA,
-                        (current, update) -> (current == null) ? update : current);
-
-                    if (previousDropData == null) {
-                        previousDropData = UNKNOWN_DROP_DATA;
-                    }
+            int count;
+            while ((count = liveQueue.drain(liveBatch)) > 0) {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        ResolvedEvent event = liveBatch[i];
 
-                    dropSubscription(previousDropData.reason, previousDropData.exception);
-                    isProcessing.compareAndSet(true, false);
-                    return;
-                }
+                        // drop subscription artificial ResolvedEvent
+                        if (event.equals(DROP_SUBSCRIPTION_EVENT)) {
+                            DropData previousDropData = dropData.getAndAccumulate(UNKNOWN_DROP_DATA,
+                                (current, update) -> (current == null) ? update : current);
 
-                try {
-                    tryProcess(event);
-                } catch (Exception e) {
-                    dropSubscription(SubscriptionDropReason.EventHandlerException, e);
-                    return;
+                            if (previousDropData == null) {
+                                previousDropData = UNKNOWN_DROP_DATA;
+                            }
+
+                            dropSubscription(previousDropData.reason, previousDropData.exception);
+                            isProcessing.compareAndSet(true, false);
+                            return;
+                        }
+
+                        try {
+                            tryProcess(event);
+                        } catch (Exception e) {
+                            dropSubscription(SubscriptionDropReason.EventHandlerException, e);
+                            return;
+                        }
+                    }
+                } finally {
+                    Arrays.fill(liveBatch, 0, count, null);
                 }
             }
             isProcessing.compareAndSet(true, false);
@@ -271,6 +352,15 @@ public abstract class CatchUpSubscription implements AutoCloseable {
                 subscription.unsubscribe();
             }
 
+            if (checkpointer != null) {
+                if (reason == SubscriptionDropReason.ConnectionClosed && !shouldStop) {
+                    // the subscription is resumed on reconnection, so the periodic flush keeps running
+                    checkpointer.flush();
+                } else {
+                    checkpointer.stop();
+                }
+            }
+
             listener.onClose(this, reason, exception);
 
             stopped.release();
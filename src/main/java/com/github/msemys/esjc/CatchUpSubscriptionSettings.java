@@ -1,5 +1,10 @@
 package com.github.msemys.esjc;
 
+import com.github.msemys.esjc.checkpoint.CheckpointStore;
+
+import java.time.Duration;
+
+import static com.github.msemys.esjc.util.Numbers.isNegative;
 import static com.github.msemys.esjc.util.Numbers.isPositive;
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Ranges.BATCH_SIZE_RANGE;
@@ -30,10 +35,46 @@ public class CatchUpSubscriptionSettings {
      */
     public final int readBatchSize;
 
+    /**
+     * The number of batches, that are read ahead of the event processing when reading history.
+     */
+    public final int readAheadBatches;
+
+    /**
+     * The maximum estimated size in bytes of batches, that are kept read ahead of the event processing when reading history.
+     */
+    public final int readAheadBytes;
+
+    /**
+     * The checkpoint store, that the subscription keeps its checkpoint in and resumes from ({@code null} if disabled).
+     */
+    public final CheckpointStore checkpointStore;
+
+    /**
+     * The checkpoint name ({@code null} to use the stream name, or {@code $all} for the $all stream).
+     */
+    public final String checkpointName;
+
+    /**
+     * The number of processed events, after which the checkpoint is written.
+     */
+    public final int checkpointFlushEvents;
+
+    /**
+     * The interval, at which the checkpoint is written.
+     */
+    public final Duration checkpointFlushInterval;
+
     private CatchUpSubscriptionSettings(Builder builder) {
         maxLiveQueueSize = builder.maxLiveQueueSize;
         resolveLinkTos = builder.resolveLinkTos;
         readBatchSize = builder.readBatchSize;
+        readAheadBatches = builder.readAheadBatches;
+        readAheadBytes = builder.readAheadBytes;
+        checkpointStore = builder.checkpointStore;
+        checkpointName = builder.checkpointName;
+        checkpointFlushEvents = builder.checkpointFlushEvents;
+        checkpointFlushInterval = builder.checkpointFlushInterval;
     }
 
     @Override
@@ -42,6 +83,12 @@ public class CatchUpSubscriptionSettings {
         sb.append("maxLiveQueueSize=").append(maxLiveQueueSize);
         sb.append(", resolveLinkTos=").append(resolveLinkTos);
         sb.append(", readBatchSize=").append(readBatchSize);
+        sb.append(", readAheadBatches=").append(readAheadBatches);
+        sb.append(", readAheadBytes=").append(readAheadBytes);
+        sb.append(", checkpointStore=").append(checkpointStore);
+        sb.append(", checkpointName='").append(checkpointName).append('\'');
+        sb.append(", checkpointFlushEvents=").append(checkpointFlushEvents);
+        sb.append(", checkpointFlushInterval=").append(checkpointFlushInterval);
         sb.append('}');
         return sb.toString();
     }
@@ -62,10 +109,16 @@ public class CatchUpSubscriptionSettings {
         private Integer maxLiveQueueSize;
         private Boolean resolveLinkTos;
         private Integer readBatchSize;
+        private Integer readAheadBatches;
+        private Integer readAheadBytes;
+        private CheckpointStore checkpointStore;
+        private String checkpointName;
+        private Integer checkpointFlushEvents;
+        private Duration checkpointFlushInterval;
 
         /**
          * Specifies the maximum number of events allowed to be cached when processing from live subscription (by default, 10000 events).
-         * Going above will drop the subscription.
+         * Going above will drop the subscription. The live queue of this size is pre-allocated by every subscription.
          *
          * @param maxLiveQueueSize the maximum number of events allowed to be cached when processing from live subscription.
          * @return the builder reference
@@ -97,6 +150,77 @@ public class CatchUpSubscriptionSettings {
             return this;
         }
 
+        /**
+         * Sets the number of batches, that are read ahead of the event processing when reading history
+         * (by default, 2 batches). While the current batch is processed, the next batches are already requested,
+         * one after another, as the position of every batch is known only when the previous one is received.
+         *
+         * @param readAheadBatches the number of batches to read ahead (use {@code 0} to disable read-ahead).
+         * @return the builder reference
+         */
+        public Builder readAheadBatches(int readAheadBatches) {
+            this.readAheadBatches = readAheadBatches;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated size in bytes of batches, that are kept read ahead of the event processing
+         * when reading history (by default, 16 MB). Read-ahead pauses, when the budget is exhausted.
+         *
+         * @param readAheadBytes the maximum estimated size of read ahead batches in bytes.
+         * @return the builder reference
+         */
+        public Builder readAheadBytes(int readAheadBytes) {
+            this.readAheadBytes = readAheadBytes;
+            return this;
+        }
+
+        /**
+         * Sets the checkpoint store (by default, checkpoints are disabled). The subscription writes its checkpoint
+         * (the last processed event) to the store in the background and, when started, resumes from the stored
+         * checkpoint instead of the specified event number or position, if the checkpoint exists.
+         *
+         * @param checkpointStore checkpoint store.
+         * @return the builder reference
+         */
+        public Builder checkpointStore(CheckpointStore checkpointStore) {
+            this.checkpointStore = checkpointStore;
+            return this;
+        }
+
+        /**
+         * Sets the checkpoint name (by default, the stream name, or {@code $all} for the $all stream).
+         *
+         * @param checkpointName checkpoint name.
+         * @return the builder reference
+         */
+        public Builder checkpointName(String checkpointName) {
+            this.checkpointName = checkpointName;
+            return this;
+        }
+
+        /**
+         * Sets the number of processed events, after which the checkpoint is written (by default, 1000 events).
+         *
+         * @param checkpointFlushEvents the number of processed events.
+         * @return the builder reference
+         */
+        public Builder checkpointFlushEvents(int checkpointFlushEvents) {
+            this.checkpointFlushEvents = checkpointFlushEvents;
+            return this;
+        }
+
+        /**
+         * Sets the interval, at which the checkpoint is written (by default, 1 second).
+         *
+         * @param checkpointFlushInterval checkpoint flush interval.
+         * @return the builder reference
+         */
+        public Builder checkpointFlushInterval(Duration checkpointFlushInterval) {
+            this.checkpointFlushInterval = checkpointFlushInterval;
+            return this;
+        }
+
         /**
          * Builds a catch-up subscription settings.
          *
@@ -119,6 +243,30 @@ public class CatchUpSubscriptionSettings {
                 checkArgument(BATCH_SIZE_RANGE.contains(readBatchSize), "readBatchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
             }
 
+            if (readAheadBatches == null) {
+                readAheadBatches = 2;
+            } else {
+                checkArgument(!isNegative(readAheadBatches), "readAheadBatches should not be negative");
+            }
+
+            if (readAheadBytes == null) {
+                readAheadBytes = 16 * 1024 * 1024;
+            } else {
+                checkArgument(isPositive(readAheadBytes), "readAheadBytes should be positive");
+            }
+
+            if (checkpointFlushEvents == null) {
+                checkpointFlushEvents = 1000;
+            } else {
+                checkArgument(isPositive(checkpointFlushEvents), "checkpointFlushEvents should be positive");
+            }
+
+            if (checkpointFlushInterval == null) {
+                checkpointFlushInterval = Duration.ofSeconds(1);
+            } else {
+                checkArgument(!checkpointFlushInterval.isNegative() && !checkpointFlushInterval.isZero(), "checkpointFlushInterval should be positive");
+            }
+
             return new CatchUpSubscriptionSettings(this);
         }
     }
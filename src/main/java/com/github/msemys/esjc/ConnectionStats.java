@@ -0,0 +1,103 @@
+package com.github.msemys.esjc;
+
+import java.util.Collection;
+
+/**
+ * Operation and subscription statistics of a client connection (or of all client connections, if summed up).
+ *
+ * @see EventStore#connectionStats()
+ * @see EventStore#totalConnectionStats()
+ */
+public class ConnectionStats {
+
+    /**
+     * Empty statistics (no operations and no subscriptions).
+     */
+    public static final ConnectionStats EMPTY = new ConnectionStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * The number of operations, that are sent and wait for the server response.
+     */
+    public final int activeOperations;
+
+    /**
+     * The number of operations, that wait to be sent (e.g. while connecting or when the maximum number of
+     * concurrent operations is reached).
+     */
+    public final int waitingOperations;
+
+    /**
+     * The number of operations, that wait to be retried.
+     */
+    public final int retryPendingOperations;
+
+    /**
+     * The number of subscriptions, that are started (confirmed or not) and not dropped.
+     */
+    public final int activeSubscriptions;
+
+    /**
+     * The number of subscriptions, that wait to be started.
+     */
+    public final int waitingSubscriptions;
+
+    /**
+     * The number of subscriptions, that wait to be retried.
+     */
+    public final int retryPendingSubscriptions;
+
+    public ConnectionStats(int activeOperations,
+                           int waitingOperations,
+                           int retryPendingOperations,
+                           int activeSubscriptions,
+                           int waitingSubscriptions,
+                           int retryPendingSubscriptions) {
+        this.activeOperations = activeOperations;
+        this.waitingOperations = waitingOperations;
+        this.retryPendingOperations = retryPendingOperations;
+        this.activeSubscriptions = activeSubscriptions;
+        this.waitingSubscriptions = waitingSubscriptions;
+        this.retryPendingSubscriptions = retryPendingSubscriptions;
+    }
+
+    /**
+     * Sums up the statistics of the specified connections.
+     *
+     * @param stats the statistics of connections.
+     * @return total statistics
+     */
+    public static ConnectionStats sum(Collection<ConnectionStats> stats) {
+        int activeOperations = 0;
+        int waitingOperations = 0;
+        int retryPendingOperations = 0;
+        int activeSubscriptions = 0;
+        int waitingSubscriptions = 0;
+        int retryPendingSubscriptions = 0;
+
+        for (ConnectionStats s : stats) {
+            activeOperations += s.activeOperations;
+            waitingOperations += s.waitingOperations;
+            retryPendingOperations += s.retryPendingOperations;
+            activeSubscriptions += s.activeSubscriptions;
+            waitingSubscriptions += s.waitingSubscriptions;
+            retryPendingSubscriptions += s.retryPendingSubscriptions;
+        }
+
+        return new ConnectionStats(activeOperations, waitingOperations, retryPendingOperations,
+            activeSubscriptions, waitingSubscriptions, retryPendingSubscriptions);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ConnectionStats{");
+        sb.append("activeOperations=").append(activeOperations);
+        sb.append(", waitingOperations=").append(waitingOperations);
+        sb.append(", retryPendingOperations=").append(retryPendingOperations);
+        sb.append(", activeSubscriptions=").append(activeSubscriptions);
+        sb.append(", waitingSubscriptions=").append(waitingSubscriptions);
+        sb.append(", retryPendingSubscriptions=").append(retryPendingSubscriptions);
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
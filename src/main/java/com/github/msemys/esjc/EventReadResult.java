@@ -39,10 +39,23 @@ public class EventReadResult {
      * @param event       the event read.
      */
     public EventReadResult(EventReadStatus status, String stream, long eventNumber, ResolvedIndexedEvent event) {
+        this(status, stream, eventNumber, event, false);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param status      status of read attempt.
+     * @param stream      the name of the stream read.
+     * @param eventNumber the event number.
+     * @param event       the event read.
+     * @param lazyEvent   whether to decode the event on first access.
+     */
+    public EventReadResult(EventReadStatus status, String stream, long eventNumber, ResolvedIndexedEvent event, boolean lazyEvent) {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
         this.status = status;
         this.stream = stream;
         this.eventNumber = eventNumber;
-        this.event = (status == EventReadStatus.Success) ? new ResolvedEvent(event) : null;
+        this.event = (status == EventReadStatus.Success) ? new ResolvedEvent(event, lazyEvent) : null;
     }
 }
@@ -1,10 +1,15 @@
 package com.github.msemys.esjc;
 
 import com.github.msemys.esjc.operation.*;
+import com.github.msemys.esjc.reactive.AllEventsPublisher;
+import com.github.msemys.esjc.reactive.StreamEventsPublisher;
 import com.github.msemys.esjc.subscription.MaximumSubscribersReachedException;
 import com.github.msemys.esjc.subscription.PersistentSubscriptionDeletedException;
+import org.reactivestreams.Publisher;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
@@ -25,6 +30,40 @@ public interface EventStore {
      */
     Settings settings();
 
+    /**
+     * Gets the number of operations, that are admitted to the operation queue and are not completed yet.
+     *
+     * @return operation queue size
+     */
+    int operationQueueSize();
+
+    /**
+     * Gets the number of operations, that were rejected because the operation queue was full.
+     *
+     * @return rejected operation count
+     */
+    long rejectedOperationCount();
+
+    /**
+     * Gets the operation and subscription statistics of every client connection (see {@link Settings#connectionCount}),
+     * indexed by connection. Operations on the same stream (and writes to the same transaction) always go through the
+     * same connection, $all stream reads and subscriptions are spread across connections in turn.
+     *
+     * @return unmodifiable list of connection statistics
+     * @see #totalConnectionStats()
+     */
+    List<ConnectionStats> connectionStats();
+
+    /**
+     * Gets the operation and subscription statistics summed up over all client connections.
+     *
+     * @return connection statistics
+     * @see #connectionStats()
+     */
+    default ConnectionStats totalConnectionStats() {
+        return ConnectionStats.sum(connectionStats());
+    }
+
     /**
      * Connects to server asynchronously.
      */
@@ -212,6 +251,102 @@ public interface EventStore {
                                                   Iterable<EventData> events,
                                                   UserCredentials userCredentials);
 
+    /**
+     * Creates a new batching appender with default settings, that uses default user credentials.
+     *
+     * @return batching appender
+     * @see #newBatchingAppender(BatchingAppenderSettings, UserCredentials)
+     */
+    default BatchingAppender newBatchingAppender() {
+        return newBatchingAppender(BatchingAppenderSettings.DEFAULT, null);
+    }
+
+    /**
+     * Creates a new batching appender, that uses default user credentials.
+     *
+     * @param settings batching appender settings.
+     * @return batching appender
+     * @see #newBatchingAppender(BatchingAppenderSettings, UserCredentials)
+     */
+    default BatchingAppender newBatchingAppender(BatchingAppenderSettings settings) {
+        return newBatchingAppender(settings, null);
+    }
+
+    /**
+     * Creates a new batching appender, that coalesces appends to the same stream into a single write.
+     *
+     * @param settings        batching appender settings.
+     * @param userCredentials user credentials to be used for writes (use {@code null} for default user credentials).
+     * @return batching appender
+     * @see BatchingAppender
+     */
+    BatchingAppender newBatchingAppender(BatchingAppenderSettings settings, UserCredentials userCredentials);
+
+    /**
+     * Creates a new pipelined stream writer with default maximum number of writes in flight, that uses default
+     * user credentials.
+     *
+     * @param stream          the name of the stream to append events to.
+     * @param expectedVersion the version at which we currently expect the stream to be
+     *                        (exact event number or {@link ExpectedVersion#NO_STREAM}).
+     * @return pipelined stream writer
+     * @see #newPipelinedStreamWriter(String, long, int, UserCredentials)
+     */
+    default PipelinedStreamWriter newPipelinedStreamWriter(String stream, long expectedVersion) {
+        return newPipelinedStreamWriter(stream, expectedVersion, PipelinedStreamWriter.DEFAULT_MAX_IN_FLIGHT_WRITES, null);
+    }
+
+    /**
+     * Creates a new pipelined stream writer, that keeps several version-chained writes to the stream in flight.
+     *
+     * @param stream            the name of the stream to append events to.
+     * @param expectedVersion   the version at which we currently expect the stream to be
+     *                          (exact event number or {@link ExpectedVersion#NO_STREAM}).
+     * @param maxInFlightWrites the maximum number of writes in flight.
+     * @param userCredentials   user credentials to be used for writes (use {@code null} for default user credentials).
+     * @return pipelined stream writer
+     * @see PipelinedStreamWriter
+     */
+    default PipelinedStreamWriter newPipelinedStreamWriter(String stream,
+                                                           long expectedVersion,
+                                                           int maxInFlightWrites,
+                                                           UserCredentials userCredentials) {
+        return new PipelinedStreamWriter(this, stream, expectedVersion, maxInFlightWrites, userCredentials);
+    }
+
+    /**
+     * Creates a new bulk importer with default settings, that uses default user credentials.
+     *
+     * @return bulk importer
+     * @see #newBulkImporter(BulkImporterSettings, UserCredentials)
+     */
+    default BulkImporter newBulkImporter() {
+        return newBulkImporter(BulkImporterSettings.DEFAULT, null);
+    }
+
+    /**
+     * Creates a new bulk importer, that uses default user credentials.
+     *
+     * @param settings bulk importer settings.
+     * @return bulk importer
+     * @see #newBulkImporter(BulkImporterSettings, UserCredentials)
+     */
+    default BulkImporter newBulkImporter(BulkImporterSettings settings) {
+        return newBulkImporter(settings, null);
+    }
+
+    /**
+     * Creates a new bulk importer, that writes large amounts of events to streams using transactions.
+     *
+     * @param settings        bulk importer settings.
+     * @param userCredentials user credentials to be used for writes (use {@code null} for default user credentials).
+     * @return bulk importer
+     * @see BulkImporter
+     */
+    default BulkImporter newBulkImporter(BulkImporterSettings settings, UserCredentials userCredentials) {
+        return new BulkImporter(this, settings, userCredentials);
+    }
+
     /**
      * Appends single event to a stream and returns the status of this operation asynchronously using default user credentials.
      *
@@ -811,6 +946,80 @@ public interface EventStore {
                                                   boolean resolveLinkTos,
                                                   UserCredentials userCredentials);
 
+    /**
+     * Processes events in the specified streams forward from the beginning of every stream using default
+     * user credentials.
+     *
+     * @param streams        the names of the streams to process.
+     * @param batchSize      the number of events to return per batch, allowed range [1..4096].
+     * @param resolveLinkTos whether to resolve link events automatically.
+     * @return a sequential {@code Stream} over the events in the streams, that can be turned into a parallel one
+     * @see #streamEventsForward(Collection, int, boolean, UserCredentials)
+     */
+    default Stream<ResolvedEvent> streamEventsForward(Collection<String> streams,
+                                                      int batchSize,
+                                                      boolean resolveLinkTos) {
+        return streamEventsForward(streams, batchSize, resolveLinkTos, null);
+    }
+
+    /**
+     * Processes events in the specified streams forward from the beginning of every stream.
+     * <p>
+     * Streams are processed one after another in the specified order. When the returned stream is processed in
+     * parallel, it is split by streams and the streams are read concurrently (up to
+     * {@link Settings#maxParallelReads} reads in flight).
+     * </p>
+     *
+     * @param streams         the names of the streams to process.
+     * @param batchSize       the number of events to return per batch, allowed range [1..4096].
+     * @param resolveLinkTos  whether to resolve link events automatically.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return a sequential {@code Stream} over the events in the streams, that can be turned into a parallel one
+     */
+    Stream<ResolvedEvent> streamEventsForward(Collection<String> streams,
+                                              int batchSize,
+                                              boolean resolveLinkTos,
+                                              UserCredentials userCredentials);
+
+    /**
+     * Processes events in the node forward within the specified range of positions using default user credentials.
+     *
+     * @param from           the position (inclusive) to start processing from.
+     * @param to             the position (exclusive) to stop processing at ({@link Position#END} - to the end).
+     * @param batchSize      the number of events to return per batch, allowed range [1..4096].
+     * @param resolveLinkTos whether to resolve link events automatically.
+     * @return a sequential {@code Stream} over the events in the $all stream range, that can be turned into a parallel one
+     * @see #streamAllEventsForward(Position, Position, int, boolean, UserCredentials)
+     */
+    default Stream<ResolvedEvent> streamAllEventsForward(Position from,
+                                                         Position to,
+                                                         int batchSize,
+                                                         boolean resolveLinkTos) {
+        return streamAllEventsForward(from, to, batchSize, resolveLinkTos, null);
+    }
+
+    /**
+     * Processes events in the node forward within the specified range of positions.
+     * <p>
+     * When the returned stream is processed in parallel, the range is split into sub-ranges, that are read
+     * concurrently (up to {@link Settings#maxParallelReads} reads in flight). Sub-ranges are bounded by the positions
+     * of events, found by asynchronous single event reads, so splitting does not wait for the server. Ranges up to
+     * {@link Position#END} are not split.
+     * </p>
+     *
+     * @param from            the position (inclusive) to start processing from.
+     * @param to              the position (exclusive) to stop processing at ({@link Position#END} - to the end).
+     * @param batchSize       the number of events to return per batch, allowed range [1..4096].
+     * @param resolveLinkTos  whether to resolve link events automatically.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return a sequential {@code Stream} over the events in the $all stream range, that can be turned into a parallel one
+     */
+    Stream<ResolvedEvent> streamAllEventsForward(Position from,
+                                                 Position to,
+                                                 int batchSize,
+                                                 boolean resolveLinkTos,
+                                                 UserCredentials userCredentials);
+
     /**
      * Subscribes to a stream asynchronously using default user credentials. New events written to the stream
      * while the subscription is active will be pushed to the client.
@@ -848,6 +1057,28 @@ public interface EventStore {
                                                       VolatileSubscriptionListener listener,
                                                       UserCredentials userCredentials);
 
+    /**
+     * Subscribes to a stream asynchronously using the specified subscription buffer settings. New events written to
+     * the stream while the subscription is active will be pushed to the client, and buffered until the listener
+     * handles them. When the buffer is full, the buffer overflow policy is applied.
+     *
+     * @param stream          the name of the stream to subscribe to.
+     * @param resolveLinkTos  whether to resolve link events automatically.
+     * @param listener        subscription listener.
+     * @param bufferSettings  subscription buffer settings.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return a {@code CompletableFuture} representing the result of this operation. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link IllegalArgumentException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     * @see Settings#subscriptionBufferSettings
+     */
+    CompletableFuture<Subscription> subscribeToStream(String stream,
+                                                      boolean resolveLinkTos,
+                                                      VolatileSubscriptionListener listener,
+                                                      SubscriptionBufferSettings bufferSettings,
+                                                      UserCredentials userCredentials);
+
     /**
      * Subscribes to the $all stream asynchronously using default user credentials. New events written to the stream
      * while the subscription is active will be pushed to the client.
@@ -881,6 +1112,26 @@ public interface EventStore {
                                                    VolatileSubscriptionListener listener,
                                                    UserCredentials userCredentials);
 
+    /**
+     * Subscribes to the $all stream asynchronously using the specified subscription buffer settings. New events
+     * written to the stream while the subscription is active will be pushed to the client, and buffered until
+     * the listener handles them. When the buffer is full, the buffer overflow policy is applied.
+     *
+     * @param resolveLinkTos  whether to resolve link events automatically.
+     * @param listener        subscription listener.
+     * @param bufferSettings  subscription buffer settings.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return a {@code CompletableFuture} representing the result of this operation. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link IllegalArgumentException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     * @see Settings#subscriptionBufferSettings
+     */
+    CompletableFuture<Subscription> subscribeToAll(boolean resolveLinkTos,
+                                                   VolatileSubscriptionListener listener,
+                                                   SubscriptionBufferSettings bufferSettings,
+                                                   UserCredentials userCredentials);
+
     /**
      * Subscribes to a stream from the specified event number (exclusive) asynchronously using default user credentials.
      * Existing events from {@code eventNumber} onwards are read from the stream and presented to the user
@@ -1101,6 +1352,148 @@ public interface EventStore {
                                            CatchUpSubscriptionListener listener,
                                            UserCredentials userCredentials);
 
+    /**
+     * Creates a publisher of the stream events forward (e.g. oldest to newest) starting from the specified event number
+     * using default user credentials.
+     *
+     * @param stream         the name of the stream to read from.
+     * @param eventNumber    the event number (inclusive) to read from.
+     * @param batchSize      the maximum number of events to read per batch, allowed range [1..4096].
+     * @param resolveLinkTos whether to resolve link events automatically.
+     * @return events publisher
+     * @see #publishStreamEventsForward(String, long, int, boolean, UserCredentials)
+     */
+    default Publisher<ResolvedEvent> publishStreamEventsForward(String stream,
+                                                                long eventNumber,
+                                                                int batchSize,
+                                                                boolean resolveLinkTos) {
+        return publishStreamEventsForward(stream, eventNumber, batchSize, resolveLinkTos, null);
+    }
+
+    /**
+     * Creates a publisher of the stream events forward (e.g. oldest to newest) starting from the specified event number.
+     * Events are read only when requested by the subscriber, with batches sized by the outstanding demand
+     * (up to {@code batchSize} events). The subscriber is completed, once the end of the stream is reached.
+     *
+     * @param stream          the name of the stream to read from.
+     * @param eventNumber     the event number (inclusive) to read from.
+     * @param batchSize       the maximum number of events to read per batch, allowed range [1..4096].
+     * @param resolveLinkTos  whether to resolve link events automatically.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return events publisher
+     */
+    default Publisher<ResolvedEvent> publishStreamEventsForward(String stream,
+                                                                long eventNumber,
+                                                                int batchSize,
+                                                                boolean resolveLinkTos,
+                                                                UserCredentials userCredentials) {
+        return new StreamEventsPublisher(this, stream, eventNumber, batchSize, resolveLinkTos, false, Integer.MAX_VALUE, userCredentials);
+    }
+
+    /**
+     * Creates a publisher of all events in the node forward (e.g. beginning to end) using default user credentials.
+     *
+     * @param position       the position (inclusive) to start reading from.
+     * @param batchSize      the maximum number of events to read per batch, allowed range [1..4096].
+     * @param resolveLinkTos whether to resolve link events automatically.
+     * @return events publisher
+     * @see #publishAllEventsForward(Position, int, boolean, UserCredentials)
+     */
+    default Publisher<ResolvedEvent> publishAllEventsForward(Position position,
+                                                             int batchSize,
+                                                             boolean resolveLinkTos) {
+        return publishAllEventsForward(position, batchSize, resolveLinkTos, null);
+    }
+
+    /**
+     * Creates a publisher of all events in the node forward (e.g. beginning to end).
+     * Events are read only when requested by the subscriber, with batches sized by the outstanding demand
+     * (up to {@code batchSize} events). The subscriber is completed, once the end of the $all stream is reached.
+     *
+     * @param position        the position (inclusive) to start reading from.
+     * @param batchSize       the maximum number of events to read per batch, allowed range [1..4096].
+     * @param resolveLinkTos  whether to resolve link events automatically.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return events publisher
+     */
+    default Publisher<ResolvedEvent> publishAllEventsForward(Position position,
+                                                             int batchSize,
+                                                             boolean resolveLinkTos,
+                                                             UserCredentials userCredentials) {
+        return new AllEventsPublisher(this, position, false, batchSize, resolveLinkTos, false, Integer.MAX_VALUE, userCredentials);
+    }
+
+    /**
+     * Creates a publisher of the stream events from the specified event number (exclusive), that continues with
+     * new events as they are written, using default user credentials.
+     *
+     * @param stream      the name of the stream to publish.
+     * @param eventNumber the event number (exclusive) from which to start (use {@code null} to receive all events).
+     * @param settings    subscription settings.
+     * @return events publisher
+     * @see #publishStreamFrom(String, Long, CatchUpSubscriptionSettings, UserCredentials)
+     */
+    default Publisher<ResolvedEvent> publishStreamFrom(String stream,
+                                                       Long eventNumber,
+                                                       CatchUpSubscriptionSettings settings) {
+        return publishStreamFrom(stream, eventNumber, settings, null);
+    }
+
+    /**
+     * Creates a publisher of the stream events from the specified event number (exclusive), that continues with
+     * new events as they are written. It is a demand-driven alternative to the catch-up subscription: existing events
+     * are read only when requested by the subscriber, and live events are cached (up to
+     * {@link CatchUpSubscriptionSettings#maxLiveQueueSize}) until they are requested. When the cache overflows, the
+     * live subscription is closed and the publisher falls back to reading, instead of dropping the subscriber.
+     *
+     * @param stream          the name of the stream to publish.
+     * @param eventNumber     the event number (exclusive) from which to start (use {@code null} to receive all events).
+     * @param settings        subscription settings.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return events publisher
+     */
+    default Publisher<ResolvedEvent> publishStreamFrom(String stream,
+                                                       Long eventNumber,
+                                                       CatchUpSubscriptionSettings settings,
+                                                       UserCredentials userCredentials) {
+        checkNotNull(settings, "settings is null");
+        return new StreamEventsPublisher(this, stream, (eventNumber == null) ? 0 : eventNumber + 1,
+            settings.readBatchSize, settings.resolveLinkTos, true, settings.maxLiveQueueSize, userCredentials);
+    }
+
+    /**
+     * Creates a publisher of all events in the node from the specified position (exclusive), that continues with
+     * new events as they are written, using default user credentials.
+     *
+     * @param position the position (exclusive) from which to start (use {@code null} to receive all events).
+     * @param settings subscription settings.
+     * @return events publisher
+     * @see #publishAllFrom(Position, CatchUpSubscriptionSettings, UserCredentials)
+     */
+    default Publisher<ResolvedEvent> publishAllFrom(Position position, CatchUpSubscriptionSettings settings) {
+        return publishAllFrom(position, settings, null);
+    }
+
+    /**
+     * Creates a publisher of all events in the node from the specified position (exclusive), that continues with
+     * new events as they are written. It is a demand-driven alternative to the catch-up subscription: existing events
+     * are read only when requested by the subscriber, and live events are cached (up to
+     * {@link CatchUpSubscriptionSettings#maxLiveQueueSize}) until they are requested. When the cache overflows, the
+     * live subscription is closed and the publisher falls back to reading, instead of dropping the subscriber.
+     *
+     * @param position        the position (exclusive) from which to start (use {@code null} to receive all events).
+     * @param settings        subscription settings.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return events publisher
+     */
+    default Publisher<ResolvedEvent> publishAllFrom(Position position,
+                                                    CatchUpSubscriptionSettings settings,
+                                                    UserCredentials userCredentials) {
+        checkNotNull(settings, "settings is null");
+        return new AllEventsPublisher(this, (position == null) ? Position.START : position, position != null,
+            settings.readBatchSize, settings.resolveLinkTos, true, settings.maxLiveQueueSize, userCredentials);
+    }
+
     /**
      * Subscribes to a persistent subscription asynchronously using default buffer size, auto-ack setting and default user credentials.
      * <p>
@@ -1222,6 +1615,108 @@ public interface EventStore {
                                                                     int bufferSize,
                                                                     boolean autoAck);
 
+    /**
+     * Subscribes to a persistent subscription asynchronously using default user credentials.
+     *
+     * @param stream    the name of the stream to subscribe to.
+     * @param groupName the subscription group to connect to.
+     * @param settings  consumer settings.
+     * @param listener  subscription listener.
+     * @return a {@code CompletableFuture} representing the result of this operation. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link IllegalArgumentException},
+     * {@link PersistentSubscriptionDeletedException}, {@link MaximumSubscribersReachedException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     * @see #subscribeToPersistent(String, String, PersistentSubscriptionConsumerSettings, PersistentSubscriptionListener, UserCredentials)
+     */
+    default CompletableFuture<PersistentSubscription> subscribeToPersistent(String stream,
+                                                                            String groupName,
+                                                                            PersistentSubscriptionConsumerSettings settings,
+                                                                            PersistentSubscriptionListener listener) {
+        return subscribeToPersistent(stream, groupName, settings, listener, null);
+    }
+
+    /**
+     * Subscribes to a persistent subscription asynchronously using the specified consumer settings.
+     * <p>
+     * When concurrency is greater than 1, events are handled in parallel: events with the same partition key
+     * (by default, the original stream) are handled one at a time in the order they were received, while events
+     * with different keys may be handled at the same time. Automatic acknowledgements are sent as each event is
+     * handled, so they are not ordered across partitions.
+     * </p>
+     *
+     * @param stream          the name of the stream to subscribe to.
+     * @param groupName       the subscription group to connect to.
+     * @param settings        consumer settings.
+     * @param listener        subscription listener.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return a {@code CompletableFuture} representing the result of this operation. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link IllegalArgumentException},
+     * {@link PersistentSubscriptionDeletedException}, {@link MaximumSubscribersReachedException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     */
+    CompletableFuture<PersistentSubscription> subscribeToPersistent(String stream,
+                                                                    String groupName,
+                                                                    PersistentSubscriptionConsumerSettings settings,
+                                                                    PersistentSubscriptionListener listener,
+                                                                    UserCredentials userCredentials);
+
+    /**
+     * Subscribes a pool of members to a persistent subscription asynchronously using default user credentials.
+     *
+     * @param stream    the name of the stream to subscribe to.
+     * @param groupName the subscription group to connect to.
+     * @param members   the number of group members (not greater than the number of client connections).
+     * @param settings  consumer settings of each member.
+     * @param listener  subscription listener, shared by all members.
+     * @return a {@code CompletableFuture} representing the result of this operation. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link IllegalArgumentException},
+     * {@link PersistentSubscriptionDeletedException}, {@link MaximumSubscribersReachedException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     * @see #subscribeToPersistentPool(String, String, int, PersistentSubscriptionConsumerSettings, PersistentSubscriptionListener, UserCredentials)
+     */
+    default CompletableFuture<PersistentSubscriptionPool> subscribeToPersistentPool(String stream,
+                                                                                    String groupName,
+                                                                                    int members,
+                                                                                    PersistentSubscriptionConsumerSettings settings,
+                                                                                    PersistentSubscriptionListener listener) {
+        return subscribeToPersistentPool(stream, groupName, members, settings, listener, null);
+    }
+
+    /**
+     * Subscribes a pool of members to a persistent subscription asynchronously.
+     * <p>
+     * Every member is pinned to its own connection (and so to its own event loop), that is reserved for it until
+     * the member is dropped: operations and subscriptions, that are spread round-robin, skip reserved connections
+     * (unless all connections are reserved), and other pools can reserve only the remaining connections.
+     * Stream operations are still routed by the stream id over all connections, as their order depends on it.
+     * The number of members can not exceed the number of client connections
+     * (see {@link EventStoreBuilder#connectionCount(int)}). If any member fails to subscribe, the already
+     * subscribed members are stopped.
+     * </p>
+     *
+     * @param stream          the name of the stream to subscribe to.
+     * @param groupName       the subscription group to connect to.
+     * @param members         the number of group members (not greater than the number of client connections).
+     * @param settings        consumer settings of each member.
+     * @param listener        subscription listener, shared by all members.
+     * @param userCredentials user credentials to be used for this operation (use {@code null} for default user credentials).
+     * @return a {@code CompletableFuture} representing the result of this operation. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link IllegalArgumentException},
+     * {@link PersistentSubscriptionDeletedException}, {@link MaximumSubscribersReachedException},
+     * {@link CommandNotExpectedException}, {@link NotAuthenticatedException}, {@link AccessDeniedException}
+     * or {@link ServerErrorException} on exceptional completion.
+     * @throws IllegalStateException if other pools have reserved too many connections to give every member its own.
+     */
+    CompletableFuture<PersistentSubscriptionPool> subscribeToPersistentPool(String stream,
+                                                                            String groupName,
+                                                                            int members,
+                                                                            PersistentSubscriptionConsumerSettings settings,
+                                                                            PersistentSubscriptionListener listener,
+                                                                            UserCredentials userCredentials);
+
     /**
      * Creates a persistent subscription group on a stream asynchronously using
      * default persistent subscription settings and default user credentials.
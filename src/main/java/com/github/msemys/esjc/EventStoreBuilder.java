@@ -8,6 +8,7 @@ import com.github.msemys.esjc.operation.manager.OperationTimeoutException;
 import com.github.msemys.esjc.operation.manager.RetriesLimitReachedException;
 import com.github.msemys.esjc.ssl.SslSettings;
 import com.github.msemys.esjc.tcp.TcpSettings;
+import com.github.msemys.esjc.transport.Transport;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -61,13 +62,24 @@ public class EventStoreBuilder {
             .operationTimeout(settings.operationTimeout)
             .operationTimeoutCheckInterval(settings.operationTimeoutCheckInterval)
             .maxOperationQueueSize(settings.maxOperationQueueSize)
+            .operationQueueOverflowPolicy(settings.operationQueueOverflowPolicy)
+            .operationQueueWaitTimeout(settings.operationQueueWaitTimeout)
             .maxConcurrentOperations(settings.maxConcurrentOperations)
+            .connectionCount(settings.connectionCount)
             .maxOperationRetries(settings.maxOperationRetries)
             .maxReconnections(settings.maxReconnections)
+            .readAheadBatches(settings.readAheadBatches)
+            .readAheadBytes(settings.readAheadBytes)
+            .maxParallelReads(settings.maxParallelReads)
             .persistentSubscriptionBufferSize(settings.persistentSubscriptionBufferSize)
             .persistentSubscriptionAutoAck(settings.persistentSubscriptionAutoAck)
+            .persistentSubscriptionAckBatchSize(settings.persistentSubscriptionAckBatchSize)
+            .persistentSubscriptionAckFlushDelay(settings.persistentSubscriptionAckFlushDelay)
+            .subscriptionBufferSettings(settings.subscriptionBufferSettings)
+            .lazyEventDecoding(settings.lazyEventDecoding)
             .failOnNoServerResponse(settings.failOnNoServerResponse)
-            .executor(settings.executor);
+            .executor(settings.executor)
+            .transport(settings.transport);
 
         // populate single-node settings builder
         SingleNodeSettings.Builder singleNodeSettingsBuilder = null;
@@ -106,7 +118,10 @@ public class EventStoreBuilder {
             .sendBufferSize(settings.tcpSettings.sendBufferSize)
             .receiveBufferSize(settings.tcpSettings.receiveBufferSize)
             .writeBufferHighWaterMark(settings.tcpSettings.writeBufferHighWaterMark)
-            .writeBufferLowWaterMark(settings.tcpSettings.writeBufferLowWaterMark);
+            .writeBufferLowWaterMark(settings.tcpSettings.writeBufferLowWaterMark)
+            .maxPendingWrites(settings.tcpSettings.maxPendingWrites)
+            .maxPendingWriteBytes(settings.tcpSettings.maxPendingWriteBytes)
+            .maxWriteDelay(settings.tcpSettings.maxWriteDelay);
 
         return new EventStoreBuilder(
             settingsBuilder,
@@ -266,6 +281,42 @@ public class EventStoreBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of batches, that stream and {@code $all} iterators and streams read ahead of the consumer
+     * (by default, 1 batch).
+     *
+     * @param count the number of batches to read ahead (use {@code 0} to disable read-ahead).
+     * @return the builder reference
+     */
+    public EventStoreBuilder readAheadBatches(int count) {
+        settingsBuilder.readAheadBatches(count);
+        return this;
+    }
+
+    /**
+     * Sets the maximum estimated size in bytes of batches, that stream and {@code $all} iterators and streams
+     * keep read ahead of the consumer (by default, 16 MB).
+     *
+     * @param size the maximum estimated size of read ahead batches in bytes.
+     * @return the builder reference
+     */
+    public EventStoreBuilder readAheadBytes(int size) {
+        settingsBuilder.readAheadBytes(size);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent reads of a single multi-stream or {@code $all} range stream
+     * (by default, 16 reads).
+     *
+     * @param count the maximum number of concurrent reads.
+     * @return the builder reference
+     */
+    public EventStoreBuilder maxParallelReads(int count) {
+        settingsBuilder.maxParallelReads(count);
+        return this;
+    }
+
     /**
      * Sets the interval at which to send heartbeat messages (by default, 500 milliseconds).
      * <p>
@@ -377,6 +428,31 @@ public class EventStoreBuilder {
         return this;
     }
 
+    /**
+     * Sets the policy, that is applied to a new operation when the operation queue is full
+     * (by default, {@link OperationQueueOverflowPolicy#Wait}).
+     *
+     * @param policy operation queue overflow policy.
+     * @return the builder reference
+     */
+    public EventStoreBuilder operationQueueOverflowPolicy(OperationQueueOverflowPolicy policy) {
+        settingsBuilder.operationQueueOverflowPolicy(policy);
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of time to wait for a free slot in the operation queue, when
+     * {@link OperationQueueOverflowPolicy#Wait} policy is used (by default, 7 seconds).
+     * Once it elapses, the operation fails, whereas previously the caller waited with no timeout.
+     *
+     * @param duration the maximum amount of time to wait for a free slot in the operation queue.
+     * @return the builder reference
+     */
+    public EventStoreBuilder operationQueueWaitTimeout(Duration duration) {
+        settingsBuilder.operationQueueWaitTimeout(duration);
+        return this;
+    }
+
     /**
      * Sets the maximum number of allowed asynchronous operations to be in process (by default, 5000 operations).
      *
@@ -388,6 +464,23 @@ public class EventStoreBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of TCP connections to the node (by default, 1 connection).
+     * <p>
+     * Stream operations are routed by the stream id, so the operations of the same stream are always sent
+     * over the same connection, while {@code $all} reads and subscriptions are spread round-robin.
+     * Connections, that are reserved for persistent subscription pool members, are skipped by round-robin.
+     * The maximum number of concurrent operations applies to every connection separately.
+     * </p>
+     *
+     * @param count the number of TCP connections to the node.
+     * @return the builder reference
+     */
+    public EventStoreBuilder connectionCount(int count) {
+        settingsBuilder.connectionCount(count);
+        return this;
+    }
+
     /**
      * Sets the maximum number of operation retry attempts (by default, 10 attempts).
      * When the specified number of retries for an operation is reached, then operation completes
@@ -424,6 +517,57 @@ public class EventStoreBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of processed or failed event ids, that are accumulated before they are sent to
+     * the server in a single acknowledgement of the persistent subscription (by default, 200 ids).
+     * Could not be greater than 2000.
+     *
+     * @param size the maximum number of accumulated event ids.
+     * @return the builder reference
+     */
+    public EventStoreBuilder persistentSubscriptionAckBatchSize(int size) {
+        settingsBuilder.persistentSubscriptionAckBatchSize(size);
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of time the processed or failed event ids are accumulated before they are sent
+     * to the server (by default, 10 milliseconds). Zero disables accumulation.
+     *
+     * @param delay the maximum amount of time the event ids are accumulated.
+     * @return the builder reference
+     */
+    public EventStoreBuilder persistentSubscriptionAckFlushDelay(Duration delay) {
+        settingsBuilder.persistentSubscriptionAckFlushDelay(delay);
+        return this;
+    }
+
+    /**
+     * Sets the default buffer settings of volatile and persistent subscriptions
+     * (by default, {@link SubscriptionBufferSettings#DEFAULT}).
+     *
+     * @param settings subscription buffer settings.
+     * @return the builder reference
+     */
+    public EventStoreBuilder subscriptionBufferSettings(SubscriptionBufferSettings settings) {
+        settingsBuilder.subscriptionBufferSettings(settings);
+        return this;
+    }
+
+    /**
+     * Sets whether or not to decode the id, data, metadata and creation time of read and subscribed events on first
+     * access, instead of on receipt. By default, it is disabled. Lazy events leave the corresponding public fields
+     * unset, so they should be read with the accessor methods (such as {@link RecordedEvent#data()}).
+     *
+     * @param lazyEventDecoding {@code true} to decode events on first access.
+     * @return the builder reference
+     * @see RecordedEvent#isLazy()
+     */
+    public EventStoreBuilder lazyEventDecoding(boolean lazyEventDecoding) {
+        settingsBuilder.lazyEventDecoding(lazyEventDecoding);
+        return this;
+    }
+
     /**
      * Sets whether or not to complete operation exceptionally with cause {@link OperationTimeoutException}
      * if no response is received from the server for an operation. By default, it is disabled - operations are
@@ -448,6 +592,20 @@ public class EventStoreBuilder {
         return this;
     }
 
+    /**
+     * Sets the I/O transport, that could be shared with other clients, for example with the projection and user
+     * managers. By default, the client creates a transport with as many I/O threads as it has connections
+     * (see {@link #connectionCount(int)}), and stops it on {@link EventStore#shutdown()}. The specified transport
+     * is left running, when the client shuts down.
+     *
+     * @param transport the I/O transport.
+     * @return the builder reference
+     */
+    public EventStoreBuilder transport(Transport transport) {
+        this.settingsBuilder.transport(transport);
+        return this;
+    }
+
     /**
      * Builds an Event Store client.
      *
@@ -1,5 +1,6 @@
 package com.github.msemys.esjc;
 
+import com.github.msemys.esjc.checkpoint.Checkpointer;
 import com.github.msemys.esjc.event.Event;
 import com.github.msemys.esjc.event.EventQueue;
 import com.github.msemys.esjc.event.Events;
@@ -8,8 +9,10 @@ import com.github.msemys.esjc.node.NodeEndpoints;
 import com.github.msemys.esjc.node.cluster.ClusterEndpointDiscoverer;
 import com.github.msemys.esjc.node.single.SingleEndpointDiscoverer;
 import com.github.msemys.esjc.operation.*;
+import com.github.msemys.esjc.operation.manager.AdmissionController;
 import com.github.msemys.esjc.operation.manager.OperationItem;
 import com.github.msemys.esjc.operation.manager.OperationManager;
+import com.github.msemys.esjc.operation.manager.OperationQueueFullException;
 import com.github.msemys.esjc.ssl.CommonNameTrustManagerFactory;
 import com.github.msemys.esjc.subscription.*;
 import com.github.msemys.esjc.subscription.manager.SubscriptionItem;
@@ -23,34 +26,41 @@ import com.github.msemys.esjc.tcp.TcpPackageDecoder;
 import com.github.msemys.esjc.tcp.TcpPackageEncoder;
 import com.github.msemys.esjc.tcp.handler.AuthenticationHandler;
 import com.github.msemys.esjc.tcp.handler.AuthenticationHandler.AuthenticationStatus;
+import com.github.msemys.esjc.tcp.handler.FlushConsolidationHandler;
 import com.github.msemys.esjc.tcp.handler.HeartbeatHandler;
 import com.github.msemys.esjc.tcp.handler.IdentificationHandler;
 import com.github.msemys.esjc.tcp.handler.IdentificationHandler.IdentificationStatus;
 import com.github.msemys.esjc.tcp.handler.OperationHandler;
+import com.github.msemys.esjc.transport.Transport;
 import com.github.msemys.esjc.transaction.TransactionManager;
 import com.github.msemys.esjc.util.Strings;
 import com.github.msemys.esjc.util.SystemTime;
+import com.github.msemys.esjc.util.concurrent.DefaultThreadFactory;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
-import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.timeout.IdleStateHandler;
-import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ScheduledFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.github.msemys.esjc.system.SystemStreams.isMetastream;
@@ -59,33 +69,41 @@ import static com.github.msemys.esjc.util.Numbers.isNegative;
 import static com.github.msemys.esjc.util.Numbers.isPositive;
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static com.github.msemys.esjc.util.Preconditions.checkState;
 import static com.github.msemys.esjc.util.Ranges.BATCH_SIZE_RANGE;
 import static com.github.msemys.esjc.util.Strings.*;
-import static com.github.msemys.esjc.util.Threads.sleepUninterruptibly;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.StreamSupport.stream;
 
 public class EventStoreTcp implements EventStore {
     private static final Logger logger = LoggerFactory.getLogger(EventStore.class);
-
-    private static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+    private static final String ALL_CHECKPOINT_NAME = "$all";
 
     private enum ConnectionState {INIT, CONNECTING, CONNECTED, CLOSED}
 
     private enum ConnectingPhase {INVALID, RECONNECTING, ENDPOINT_DISCOVERY, CONNECTION_ESTABLISHING, AUTHENTICATION, IDENTIFICATION, CONNECTED}
 
-    private final EventLoopGroup group = new NioEventLoopGroup(0, new DefaultThreadFactory("esio"));
+    private final Transport transport;
+    private final EventLoopGroup group;
     private final Bootstrap bootstrap;
-    private final OperationManager operationManager;
-    private final SubscriptionManager subscriptionManager;
+    private final EventLoop[] connectionLoops;
+    private final OperationManager[] operationManagers;
+    private final SubscriptionManager[] subscriptionManagers;
     private final Settings settings;
 
-    private volatile Channel connection;
+    private volatile Channel[] connections;
+    private final AtomicInteger identifiedConnectionCount = new AtomicInteger();
+    private final AtomicInteger nextConnectionIndex = new AtomicInteger();
+    private final Object[] connectionReservations;
+    private volatile int[] unreservedConnections;
+    private final Object connectionsLock = new Object();
     private volatile ConnectingPhase connectingPhase = ConnectingPhase.INVALID;
 
     private volatile ScheduledFuture timer;
+    private final AdmissionController admission;
     private final TransactionManager transactionManager = new TransactionManagerImpl();
     private final TaskQueue tasks;
     private final EndpointDiscoverer discoverer;
@@ -95,10 +113,17 @@ public class EventStoreTcp implements EventStore {
     private final EventQueue events;
 
     private final Object mutex = new Object();
+    private final Object checkpointSchedulerLock = new Object();
+    private ScheduledExecutorService checkpointScheduler;
 
     protected EventStoreTcp(Settings settings) {
         checkNotNull(settings, "settings is null");
 
+        // every connection is served by a single event loop
+        transport = (settings.transport != null) ?
+            settings.transport : Transport.newBuilder().ioThreads(settings.connectionCount).build();
+        group = transport.group();
+
         bootstrap = new Bootstrap()
             .option(ChannelOption.SO_KEEPALIVE, settings.tcpSettings.keepAlive)
             .option(ChannelOption.TCP_NODELAY, settings.tcpSettings.noDelay)
@@ -109,45 +134,9 @@ public class EventStoreTcp implements EventStore {
                 settings.tcpSettings.writeBufferHighWaterMark))
             .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.tcpSettings.connectTimeout.toMillis())
             .group(group)
-            .channel(NioSocketChannel.class)
-            .handler(new ChannelInitializer<SocketChannel>() {
-                @Override
-                protected void initChannel(SocketChannel ch) throws Exception {
-                    ChannelPipeline pipeline = ch.pipeline();
-
-                    if (settings.sslSettings.useSslConnection) {
-                        SslContext sslContext = SslContextBuilder.forClient()
-                            .trustManager(settings.sslSettings.validateServerCertificate ?
-                                new CommonNameTrustManagerFactory(settings.sslSettings.certificateCommonName) :
-                                InsecureTrustManagerFactory.INSTANCE)
-                            .build();
-                        pipeline.addLast("ssl", sslContext.newHandler(ch.alloc()));
-                    }
+            .channel(transport.channelType());
 
-                    // decoder
-                    pipeline.addLast("frame-decoder", new LengthFieldBasedFrameDecoder(LITTLE_ENDIAN, MAX_FRAME_LENGTH, 0, 4, 0, 4, true));
-                    pipeline.addLast("package-decoder", new TcpPackageDecoder());
-
-                    // encoder
-                    pipeline.addLast("frame-encoder", new LengthFieldPrepender(LITTLE_ENDIAN, 4, 0, false));
-                    pipeline.addLast("package-encoder", new TcpPackageEncoder());
-
-                    // logic
-                    pipeline.addLast("idle-state-handler", new IdleStateHandler(0, settings.heartbeatInterval.toMillis(), 0, MILLISECONDS));
-                    pipeline.addLast("heartbeat-handler", new HeartbeatHandler(settings.heartbeatTimeout));
-                    pipeline.addLast("authentication-handler", new AuthenticationHandler(settings.userCredentials, settings.operationTimeout)
-                        .whenComplete(EventStoreTcp.this::onAuthenticationCompleted));
-                    pipeline.addLast("identification-handler", new IdentificationHandler(settings.connectionName, settings.operationTimeout)
-                        .whenComplete(EventStoreTcp.this::onIdentificationCompleted));
-                    pipeline.addLast("operation-handler", new OperationHandler(operationManager, subscriptionManager)
-                        .whenBadRequest(EventStoreTcp.this::onBadRequest)
-                        .whenChannelError(EventStoreTcp.this::onChannelError)
-                        .whenReconnect(EventStoreTcp.this::onReconnect));
-                }
-            });
-
-        operationManager = new OperationManager(settings);
-        subscriptionManager = new SubscriptionManager(settings);
+        admission = new AdmissionController(settings.maxOperationQueueSize);
 
         this.settings = settings;
 
@@ -166,6 +155,24 @@ public class EventStoreTcp implements EventStore {
         tasks.register(StartOperation.class, this::handle);
         tasks.register(StartSubscription.class, this::handle);
         tasks.register(StartPersistentSubscription.class, this::handle);
+        tasks.register(TimerTick.class, this::handle);
+
+        // every connection is bound to its own event loop, that its managers are confined to,
+        // so inbound packages of different connections are dispatched in parallel
+        connectionLoops = new EventLoop[settings.connectionCount];
+        operationManagers = new OperationManager[settings.connectionCount];
+        subscriptionManagers = new SubscriptionManager[settings.connectionCount];
+
+        for (int i = 0; i < settings.connectionCount; i++) {
+            final int index = i;
+            connectionLoops[i] = group.next();
+            operationManagers[i] = new OperationManager(settings, () -> checkTimeouts(index));
+            subscriptionManagers[i] = new SubscriptionManager(settings, () -> checkTimeouts(index));
+        }
+
+        // connections, that are reserved for persistent subscription pool members, are skipped by round-robin
+        connectionReservations = new Object[settings.connectionCount];
+        unreservedConnections = IntStream.range(0, settings.connectionCount).toArray();
 
         events = new EventQueue(executor());
     }
@@ -178,7 +185,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
 
         CompletableFuture<DeleteResult> result = new CompletableFuture<>();
-        enqueue(new DeleteStreamOperation(result, settings.requireMaster, stream, expectedVersion, hardDelete, userCredentials));
+        enqueue(stream, new DeleteStreamOperation(result, settings.requireMaster, stream, expectedVersion, hardDelete, userCredentials));
         return result;
     }
 
@@ -191,10 +198,16 @@ public class EventStoreTcp implements EventStore {
         checkNotNull(events, "events is null");
 
         CompletableFuture<WriteResult> result = new CompletableFuture<>();
-        enqueue(new AppendToStreamOperation(result, settings.requireMaster, stream, expectedVersion, events, userCredentials));
+        enqueue(stream, new AppendToStreamOperation(result, settings.requireMaster, stream, expectedVersion, events, userCredentials));
         return result;
     }
 
+    @Override
+    public BatchingAppender newBatchingAppender(BatchingAppenderSettings settings, UserCredentials userCredentials) {
+        checkNotNull(settings, "settings is null");
+        return new BatchingAppender(this, group, settings, userCredentials);
+    }
+
     @Override
     public CompletableFuture<WriteAttemptResult> tryAppendToStream(String stream,
                                                                    long expectedVersion,
@@ -204,7 +217,7 @@ public class EventStoreTcp implements EventStore {
         checkNotNull(events, "events is null");
 
         CompletableFuture<WriteAttemptResult> result = new CompletableFuture<>();
-        enqueue(new TryAppendToStreamOperation(result, settings.requireMaster, stream, expectedVersion, events, userCredentials));
+        enqueue(stream, new TryAppendToStreamOperation(result, settings.requireMaster, stream, expectedVersion, events, userCredentials));
         return result;
     }
 
@@ -215,7 +228,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
 
         CompletableFuture<Transaction> result = new CompletableFuture<>();
-        enqueue(new StartTransactionOperation(result, settings.requireMaster, stream, expectedVersion, transactionManager, userCredentials));
+        enqueue(stream, new StartTransactionOperation(result, settings.requireMaster, stream, expectedVersion, transactionManager, userCredentials));
         return result;
     }
 
@@ -233,7 +246,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(eventNumber >= -1, "eventNumber out of range");
 
         CompletableFuture<EventReadResult> result = new CompletableFuture<>();
-        enqueue(new ReadEventOperation(result, stream, eventNumber, resolveLinkTos, settings.requireMaster, userCredentials));
+        enqueue(stream, new ReadEventOperation(result, stream, eventNumber, resolveLinkTos, settings.requireMaster, settings.lazyEventDecoding, userCredentials));
         return result;
     }
 
@@ -248,7 +261,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(BATCH_SIZE_RANGE.contains(maxCount), "maxCount is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
 
         CompletableFuture<StreamEventsSlice> result = new CompletableFuture<>();
-        enqueue(new ReadStreamEventsForwardOperation(result, stream, eventNumber, maxCount, resolveLinkTos, settings.requireMaster, userCredentials));
+        enqueue(stream, new ReadStreamEventsForwardOperation(result, stream, eventNumber, maxCount, resolveLinkTos, settings.requireMaster, settings.lazyEventDecoding, userCredentials));
         return result;
     }
 
@@ -262,7 +275,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(BATCH_SIZE_RANGE.contains(maxCount), "maxCount is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
 
         CompletableFuture<StreamEventsSlice> result = new CompletableFuture<>();
-        enqueue(new ReadStreamEventsBackwardOperation(result, stream, eventNumber, maxCount, resolveLinkTos, settings.requireMaster, userCredentials));
+        enqueue(stream, new ReadStreamEventsBackwardOperation(result, stream, eventNumber, maxCount, resolveLinkTos, settings.requireMaster, settings.lazyEventDecoding, userCredentials));
         return result;
     }
 
@@ -274,7 +287,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(BATCH_SIZE_RANGE.contains(maxCount), "maxCount is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
 
         CompletableFuture<AllEventsSlice> result = new CompletableFuture<>();
-        enqueue(new ReadAllEventsForwardOperation(result, position, maxCount, resolveLinkTos, settings.requireMaster, userCredentials));
+        enqueue(new ReadAllEventsForwardOperation(result, position, maxCount, resolveLinkTos, settings.requireMaster, settings.lazyEventDecoding, userCredentials));
         return result;
     }
 
@@ -286,7 +299,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(BATCH_SIZE_RANGE.contains(maxCount), "maxCount is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
 
         CompletableFuture<AllEventsSlice> result = new CompletableFuture<>();
-        enqueue(new ReadAllEventsBackwardOperation(result, position, maxCount, resolveLinkTos, settings.requireMaster, userCredentials));
+        enqueue(new ReadAllEventsBackwardOperation(result, position, maxCount, resolveLinkTos, settings.requireMaster, settings.lazyEventDecoding, userCredentials));
         return result;
     }
 
@@ -299,7 +312,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
         checkArgument(!isNegative(eventNumber), "eventNumber should not be negative");
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return new StreamEventsIterator(eventNumber, i -> readStreamEventsForward(stream, i, batchSize, resolveLinkTos, userCredentials));
+        return new StreamEventsIterator(eventNumber, i -> readStreamEventsForward(stream, i, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes);
     }
 
     @Override
@@ -310,7 +323,7 @@ public class EventStoreTcp implements EventStore {
                                                                UserCredentials userCredentials) {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return new StreamEventsIterator(eventNumber, i -> readStreamEventsBackward(stream, i, batchSize, resolveLinkTos, userCredentials));
+        return new StreamEventsIterator(eventNumber, i -> readStreamEventsBackward(stream, i, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes);
     }
 
     @Override
@@ -319,7 +332,7 @@ public class EventStoreTcp implements EventStore {
                                                            boolean resolveLinkTos,
                                                            UserCredentials userCredentials) {
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return new AllEventsIterator(position, p -> readAllEventsForward(p, batchSize, resolveLinkTos, userCredentials));
+        return new AllEventsIterator(position, p -> readAllEventsForward(p, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes);
     }
 
     @Override
@@ -328,7 +341,7 @@ public class EventStoreTcp implements EventStore {
                                                             boolean resolveLinkTos,
                                                             UserCredentials userCredentials) {
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return new AllEventsIterator(position, p -> readAllEventsBackward(p, batchSize, resolveLinkTos, userCredentials));
+        return new AllEventsIterator(position, p -> readAllEventsBackward(p, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes);
     }
 
     @Override
@@ -338,7 +351,7 @@ public class EventStoreTcp implements EventStore {
                                                      boolean resolveLinkTos,
                                                      UserCredentials userCredentials) {
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return stream(new StreamEventsSpliterator(eventNumber, i -> readStreamEventsForward(stream, i, batchSize, resolveLinkTos, userCredentials)), false);
+        return stream(new StreamEventsSpliterator(eventNumber, i -> readStreamEventsForward(stream, i, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes), false);
     }
 
     @Override
@@ -348,7 +361,7 @@ public class EventStoreTcp implements EventStore {
                                                       boolean resolveLinkTos,
                                                       UserCredentials userCredentials) {
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return stream(new StreamEventsSpliterator(eventNumber, i -> readStreamEventsBackward(stream, i, batchSize, resolveLinkTos, userCredentials)), false);
+        return stream(new StreamEventsSpliterator(eventNumber, i -> readStreamEventsBackward(stream, i, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes), false);
     }
 
     @Override
@@ -357,7 +370,7 @@ public class EventStoreTcp implements EventStore {
                                                         boolean resolveLinkTos,
                                                         UserCredentials userCredentials) {
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return stream(new AllEventsSpliterator(position, p -> readAllEventsForward(p, batchSize, resolveLinkTos, userCredentials)), false);
+        return stream(new AllEventsSpliterator(position, p -> readAllEventsForward(p, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes), false);
     }
 
     @Override
@@ -366,19 +379,63 @@ public class EventStoreTcp implements EventStore {
                                                          boolean resolveLinkTos,
                                                          UserCredentials userCredentials) {
         checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
-        return stream(new AllEventsSpliterator(position, p -> readAllEventsBackward(p, batchSize, resolveLinkTos, userCredentials)), false);
+        return stream(new AllEventsSpliterator(position, p -> readAllEventsBackward(p, batchSize, resolveLinkTos, userCredentials), settings.readAheadBatches, settings.readAheadBytes), false);
+    }
+
+    @Override
+    public Stream<ResolvedEvent> streamEventsForward(Collection<String> streams,
+                                                     int batchSize,
+                                                     boolean resolveLinkTos,
+                                                     UserCredentials userCredentials) {
+        checkNotNull(streams, "streams is null");
+        checkArgument(streams.stream().noneMatch(Strings::isNullOrEmpty), "streams contains null or empty stream");
+        checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
+
+        ReadLimiter limiter = new ReadLimiter(settings.maxParallelReads);
+
+        return stream(new MultiStreamEventsSpliterator(new ArrayList<>(streams), stream -> new StreamEventsSpliterator(StreamPosition.START,
+            limiter.limit(i -> readStreamEventsForward(stream, i, batchSize, resolveLinkTos, userCredentials)),
+            settings.readAheadBatches, settings.readAheadBytes)), false);
+    }
+
+    @Override
+    public Stream<ResolvedEvent> streamAllEventsForward(Position from,
+                                                        Position to,
+                                                        int batchSize,
+                                                        boolean resolveLinkTos,
+                                                        UserCredentials userCredentials) {
+        checkNotNull(from, "from is null");
+        checkNotNull(to, "to is null");
+        checkArgument(BATCH_SIZE_RANGE.contains(batchSize), "batchSize is out of range. Allowed range: %s.", BATCH_SIZE_RANGE.toString());
+
+        ReadLimiter limiter = new ReadLimiter(settings.maxParallelReads);
+
+        return stream(new AllEventsRangeSpliterator(from, to,
+            limiter.limit(p -> readAllEventsForward(p, batchSize, resolveLinkTos, userCredentials)),
+            limiter.limit(p -> readAllEventsForward(p, 1, false, userCredentials)),
+            settings.readAheadBatches, settings.readAheadBytes), false);
+    }
+
+    @Override
+    public CompletableFuture<Subscription> subscribeToStream(String stream,
+                                                             boolean resolveLinkTos,
+                                                             VolatileSubscriptionListener listener,
+                                                             UserCredentials userCredentials) {
+        return subscribeToStream(stream, resolveLinkTos, listener, settings.subscriptionBufferSettings, userCredentials);
     }
 
     @Override
     public CompletableFuture<Subscription> subscribeToStream(String stream,
                                                              boolean resolveLinkTos,
                                                              VolatileSubscriptionListener listener,
+                                                             SubscriptionBufferSettings bufferSettings,
                                                              UserCredentials userCredentials) {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
         checkNotNull(listener, "listener is null");
+        checkNotNull(bufferSettings, "bufferSettings is null");
 
         CompletableFuture<Subscription> result = new CompletableFuture<>();
-        enqueue(new StartSubscription(result, stream, resolveLinkTos, userCredentials, listener, settings.maxOperationRetries, settings.operationTimeout));
+        enqueue(new StartSubscription(result, stream, resolveLinkTos, userCredentials, listener, bufferSettings, settings.maxOperationRetries, settings.operationTimeout));
         return result;
     }
 
@@ -386,10 +443,19 @@ public class EventStoreTcp implements EventStore {
     public CompletableFuture<Subscription> subscribeToAll(boolean resolveLinkTos,
                                                           VolatileSubscriptionListener listener,
                                                           UserCredentials userCredentials) {
+        return subscribeToAll(resolveLinkTos, listener, settings.subscriptionBufferSettings, userCredentials);
+    }
+
+    @Override
+    public CompletableFuture<Subscription> subscribeToAll(boolean resolveLinkTos,
+                                                          VolatileSubscriptionListener listener,
+                                                          SubscriptionBufferSettings bufferSettings,
+                                                          UserCredentials userCredentials) {
         checkNotNull(listener, "listener is null");
+        checkNotNull(bufferSettings, "bufferSettings is null");
 
         CompletableFuture<Subscription> result = new CompletableFuture<>();
-        enqueue(new StartSubscription(result, Strings.EMPTY, resolveLinkTos, userCredentials, listener, settings.maxOperationRetries, settings.operationTimeout));
+        enqueue(new StartSubscription(result, Strings.EMPTY, resolveLinkTos, userCredentials, listener, bufferSettings, settings.maxOperationRetries, settings.operationTimeout));
         return result;
     }
 
@@ -404,7 +470,9 @@ public class EventStoreTcp implements EventStore {
         checkNotNull(settings, "settings is null");
 
         CatchUpSubscription subscription = new StreamCatchUpSubscription(this,
-            stream, eventNumber, settings.resolveLinkTos, listener, userCredentials, settings.readBatchSize, settings.maxLiveQueueSize, executor());
+            stream, eventNumber, settings.resolveLinkTos, listener, userCredentials,
+            settings.readBatchSize, settings.readAheadBatches, settings.readAheadBytes, settings.maxLiveQueueSize,
+            newCheckpointer(settings, stream), executor());
 
         subscription.start();
 
@@ -420,7 +488,9 @@ public class EventStoreTcp implements EventStore {
         checkNotNull(settings, "settings is null");
 
         CatchUpSubscription subscription = new AllCatchUpSubscription(this,
-            position, settings.resolveLinkTos, listener, userCredentials, settings.readBatchSize, settings.maxLiveQueueSize, executor());
+            position, settings.resolveLinkTos, listener, userCredentials,
+            settings.readBatchSize, settings.readAheadBatches, settings.readAheadBytes, settings.maxLiveQueueSize,
+            newCheckpointer(settings, ALL_CHECKPOINT_NAME), executor());
 
         subscription.start();
 
@@ -434,12 +504,81 @@ public class EventStoreTcp implements EventStore {
                                                                            UserCredentials userCredentials,
                                                                            int bufferSize,
                                                                            boolean autoAck) {
+        checkArgument(isPositive(bufferSize), "bufferSize should be positive");
+
+        return subscribeToPersistent(stream, groupName,
+            PersistentSubscriptionConsumerSettings.newBuilder().bufferSize(bufferSize).autoAck(autoAck).build(),
+            listener, userCredentials);
+    }
+
+    @Override
+    public CompletableFuture<PersistentSubscription> subscribeToPersistent(String stream,
+                                                                           String groupName,
+                                                                           PersistentSubscriptionConsumerSettings settings,
+                                                                           PersistentSubscriptionListener listener,
+                                                                           UserCredentials userCredentials) {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
         checkArgument(!isNullOrEmpty(groupName), "groupName is null or empty");
+        checkNotNull(settings, "settings is null");
         checkNotNull(listener, "listener is null");
-        checkArgument(isPositive(bufferSize), "bufferSize should be positive");
 
-        PersistentSubscription subscription = new PersistentSubscription(groupName, stream, listener, userCredentials, bufferSize, autoAck, executor()) {
+        return newPersistentSubscription(stream, groupName, settings, listener, userCredentials, -1).start();
+    }
+
+    @Override
+    public CompletableFuture<PersistentSubscriptionPool> subscribeToPersistentPool(String stream,
+                                                                                   String groupName,
+                                                                                   int members,
+                                                                                   PersistentSubscriptionConsumerSettings settings,
+                                                                                   PersistentSubscriptionListener listener,
+                                                                                   UserCredentials userCredentials) {
+        checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
+        checkArgument(!isNullOrEmpty(groupName), "groupName is null or empty");
+        checkArgument(isPositive(members), "members should be positive");
+        checkNotNull(settings, "settings is null");
+        checkNotNull(listener, "listener is null");
+        checkArgument(members <= this.settings.connectionCount,
+            "members should not exceed connectionCount (%d), as every member needs a dedicated connection", this.settings.connectionCount);
+
+        Object[] owners = IntStream.range(0, members).mapToObj(i -> new Object()).toArray();
+        int[] connectionIndexes = reserveConnections(owners);
+
+        List<PersistentSubscription> subscriptions = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            int connectionIndex = connectionIndexes[i];
+            Object owner = owners[i];
+
+            // the connection is released, when the member is dropped
+            subscriptions.add(newPersistentSubscription(stream, groupName, settings, new PersistentSubscriptionListener() {
+                @Override
+                public void onEvent(PersistentSubscription subscription, ResolvedEvent event) {
+                    listener.onEvent(subscription, event);
+                }
+
+                @Override
+                public void onClose(PersistentSubscription subscription, SubscriptionDropReason reason, Exception exception) {
+                    releaseConnection(connectionIndex, owner);
+                    listener.onClose(subscription, reason, exception);
+                }
+            }, userCredentials, connectionIndex));
+        }
+
+        return PersistentSubscriptionPool.start(subscriptions).whenComplete((pool, throwable) -> {
+            if (throwable != null) {
+                for (int i = 0; i < members; i++) {
+                    releaseConnection(connectionIndexes[i], owners[i]);
+                }
+            }
+        });
+    }
+
+    private PersistentSubscription newPersistentSubscription(String stream,
+                                                             String groupName,
+                                                             PersistentSubscriptionConsumerSettings settings,
+                                                             PersistentSubscriptionListener listener,
+                                                             UserCredentials userCredentials,
+                                                             int connectionIndex) {
+        return new PersistentSubscription(groupName, stream, listener, userCredentials, settings, executor(), group) {
             @Override
             protected CompletableFuture<Subscription> startSubscription(String subscriptionId,
                                                                         String streamId,
@@ -447,13 +586,11 @@ public class EventStoreTcp implements EventStore {
                                                                         SubscriptionListener<PersistentSubscriptionChannel> listener,
                                                                         UserCredentials userCredentials) {
                 CompletableFuture<Subscription> result = new CompletableFuture<>();
-                enqueue(new StartPersistentSubscription(result, subscriptionId, streamId, bufferSize,
-                    userCredentials, listener, settings.maxOperationRetries, settings.operationTimeout));
+                enqueue(new StartPersistentSubscription(result, subscriptionId, streamId, bufferSize, userCredentials, listener,
+                    connectionIndex, EventStoreTcp.this.settings.maxOperationRetries, EventStoreTcp.this.settings.operationTimeout));
                 return result;
             }
         };
-
-        return subscription.start();
     }
 
     @Override
@@ -466,7 +603,7 @@ public class EventStoreTcp implements EventStore {
         checkNotNull(settings, "settings is null");
 
         CompletableFuture<PersistentSubscriptionCreateResult> result = new CompletableFuture<>();
-        enqueue(new CreatePersistentSubscriptionOperation(result, stream, groupName, settings, userCredentials));
+        enqueue(stream, new CreatePersistentSubscriptionOperation(result, stream, groupName, settings, userCredentials));
         return result;
     }
 
@@ -480,7 +617,7 @@ public class EventStoreTcp implements EventStore {
         checkNotNull(settings, "settings is null");
 
         CompletableFuture<PersistentSubscriptionUpdateResult> result = new CompletableFuture<>();
-        enqueue(new UpdatePersistentSubscriptionOperation(result, stream, groupName, settings, userCredentials));
+        enqueue(stream, new UpdatePersistentSubscriptionOperation(result, stream, groupName, settings, userCredentials));
         return result;
     }
 
@@ -492,7 +629,7 @@ public class EventStoreTcp implements EventStore {
         checkArgument(!isNullOrEmpty(groupName), "groupName is null or empty");
 
         CompletableFuture<PersistentSubscriptionDeleteResult> result = new CompletableFuture<>();
-        enqueue(new DeletePersistentSubscriptionOperation(result, stream, groupName, userCredentials));
+        enqueue(stream, new DeletePersistentSubscriptionOperation(result, stream, groupName, userCredentials));
         return result;
     }
 
@@ -511,7 +648,7 @@ public class EventStoreTcp implements EventStore {
             .jsonData(metadata)
             .build();
 
-        enqueue(new AppendToStreamOperation(result, settings.requireMaster, SystemStreams.metastreamOf(stream),
+        enqueue(stream, new AppendToStreamOperation(result, settings.requireMaster, SystemStreams.metastreamOf(stream),
             expectedMetastreamVersion, singletonList(metaevent), userCredentials));
 
         return result;
@@ -556,7 +693,7 @@ public class EventStoreTcp implements EventStore {
                             RecordedEvent event = r.event.originalEvent();
                             result.complete((event == null) ?
                                 new RawStreamMetadataResult(stream, false, -1, EMPTY_BYTES) :
-                                new RawStreamMetadataResult(stream, false, event.eventNumber, event.data));
+                                new RawStreamMetadataResult(stream, false, event.eventNumber, event.data()));
                         }
                         break;
                     case NotFound:
@@ -590,7 +727,7 @@ public class EventStoreTcp implements EventStore {
     @Override
     public void connect() {
         if (!isRunning()) {
-            timer = group.scheduleAtFixedRate(this::timerTick, 200, 200, MILLISECONDS);
+            timer = group.scheduleAtFixedRate(() -> tasks.enqueue(new TimerTick()), 200, 200, MILLISECONDS);
             reconnectionInfo.reset();
         }
         CompletableFuture<Void> result = new CompletableFuture<>();
@@ -615,15 +752,30 @@ public class EventStoreTcp implements EventStore {
             ((ExecutorService) executor()).shutdown();
         }
 
-        group.shutdownGracefully();
+        synchronized (checkpointSchedulerLock) {
+            if (checkpointScheduler != null) {
+                checkpointScheduler.shutdown();
+            }
+        }
+
+        if (settings.transport == null) {
+            transport.shutdown();
+        }
     }
 
     private void disconnect(String reason, Throwable cause) {
         if (isRunning()) {
             timer.cancel(true);
             timer = null;
-            operationManager.cleanUp(cause);
-            subscriptionManager.cleanUp(cause);
+            for (int i = 0; i < settings.connectionCount; i++) {
+                final OperationManager operationManager = operationManagers[i];
+                final SubscriptionManager subscriptionManager = subscriptionManagers[i];
+                connectionLoops[i].execute(() -> {
+                    subscriptionManager.flush();
+                    operationManager.cleanUp(cause);
+                    subscriptionManager.cleanUp(cause);
+                });
+            }
             closeTcpConnection(reason);
             connectingPhase = ConnectingPhase.INVALID;
             fireEvent(Events.clientDisconnected());
@@ -640,6 +792,33 @@ public class EventStoreTcp implements EventStore {
         return settings;
     }
 
+    @Override
+    public int operationQueueSize() {
+        return admission.queueSize();
+    }
+
+    @Override
+    public long rejectedOperationCount() {
+        return admission.rejectedCount();
+    }
+
+    @Override
+    public List<ConnectionStats> connectionStats() {
+        List<ConnectionStats> stats = new ArrayList<>(settings.connectionCount);
+
+        for (int i = 0; i < settings.connectionCount; i++) {
+            stats.add(new ConnectionStats(
+                operationManagers[i].activeOperationCount(),
+                operationManagers[i].waitingOperationCount(),
+                operationManagers[i].retryPendingOperationCount(),
+                subscriptionManagers[i].activeSubscriptionCount(),
+                subscriptionManagers[i].waitingSubscriptionCount(),
+                subscriptionManagers[i].retryPendingSubscriptionCount()));
+        }
+
+        return unmodifiableList(stats);
+    }
+
     @Override
     public void addListener(EventStoreListener listener) {
         checkNotNull(listener, "listener is null");
@@ -652,10 +831,71 @@ public class EventStoreTcp implements EventStore {
         events.unregister(listener);
     }
 
+    private ChannelInitializer<SocketChannel> newChannelInitializer(int index) {
+        return new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel ch) throws Exception {
+                ChannelPipeline pipeline = ch.pipeline();
+
+                if (settings.sslSettings.useSslConnection) {
+                    SslContext sslContext = SslContextBuilder.forClient()
+                        .trustManager(settings.sslSettings.validateServerCertificate ?
+                            new CommonNameTrustManagerFactory(settings.sslSettings.certificateCommonName) :
+                            InsecureTrustManagerFactory.INSTANCE)
+                        .build();
+                    pipeline.addLast("ssl", sslContext.newHandler(ch.alloc()));
+                }
+
+                // decoder
+                pipeline.addLast("frame-decoder", new LengthFieldBasedFrameDecoder(LITTLE_ENDIAN, TcpPackage.MAX_FRAME_LENGTH, 0, 4, 0, 4, true));
+                pipeline.addLast("package-decoder", new TcpPackageDecoder());
+
+                // encoder
+                pipeline.addLast("flush-consolidation", new FlushConsolidationHandler(
+                    settings.tcpSettings.maxPendingWrites,
+                    settings.tcpSettings.maxPendingWriteBytes,
+                    settings.tcpSettings.maxWriteDelay));
+                pipeline.addLast("package-encoder", new TcpPackageEncoder());
+
+                // logic
+                pipeline.addLast("idle-state-handler", new IdleStateHandler(0, settings.heartbeatInterval.toMillis(), 0, MILLISECONDS));
+                pipeline.addLast("heartbeat-handler", new HeartbeatHandler(settings.heartbeatTimeout));
+                pipeline.addLast("authentication-handler", new AuthenticationHandler(settings.userCredentials, settings.operationTimeout)
+                    .whenComplete(EventStoreTcp.this::onAuthenticationCompleted));
+                pipeline.addLast("identification-handler", new IdentificationHandler(settings.connectionName, settings.operationTimeout)
+                    .whenComplete(status -> onIdentificationCompleted(ch, status)));
+                pipeline.addLast("operation-handler", new OperationHandler(operationManagers[index], subscriptionManagers[index])
+                    .whenBadRequest(EventStoreTcp.this::onBadRequest)
+                    .whenChannelError(EventStoreTcp.this::onChannelError)
+                    .whenReconnect(EventStoreTcp.this::onReconnect));
+            }
+        };
+    }
+
     private Executor executor() {
         return settings.executor;
     }
 
+    private Checkpointer newCheckpointer(CatchUpSubscriptionSettings settings, String defaultName) {
+        return (settings.checkpointStore == null) ? null : new Checkpointer(settings.checkpointStore,
+            defaultIfEmpty(settings.checkpointName, defaultName), settings.checkpointFlushEvents, settings.checkpointFlushInterval, checkpointScheduler());
+    }
+
+    /**
+     * Gets the scheduler, that checkpoint stores are written with. Stores may block (e.g. on file sync), so they
+     * are kept off the event loops, on a dedicated thread, that is created on the first access.
+     *
+     * @return checkpoint scheduler
+     */
+    private ScheduledExecutorService checkpointScheduler() {
+        synchronized (checkpointSchedulerLock) {
+            if (checkpointScheduler == null) {
+                checkpointScheduler = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("es-checkpoint"));
+            }
+            return checkpointScheduler;
+        }
+    }
+
     private void fireEvent(Event event) {
         events.enqueue(event);
     }
@@ -668,26 +908,27 @@ public class EventStoreTcp implements EventStore {
         }
     }
 
-    private void onIdentificationCompleted(IdentificationStatus status) {
-        if (status == IdentificationStatus.SUCCESS) {
+    private void onIdentificationCompleted(Channel channel, IdentificationStatus status) {
+        if (status == IdentificationStatus.SUCCESS && isCurrentConnection(channel) &&
+            identifiedConnectionCount.incrementAndGet() == settings.connectionCount) {
             gotoConnectedPhase();
         }
     }
 
     private void onBadRequest(TcpPackage tcpPackage) {
-        handle(new CloseConnection("Connection-wide BadRequest received. Too dangerous to continue.",
-            new EventStoreException("Bad request received from server. Error: " + defaultIfEmpty(newString(tcpPackage.data), "<no message>"))));
+        tasks.enqueue(new CloseConnection("Connection-wide BadRequest received. Too dangerous to continue.",
+            new EventStoreException("Bad request received from server. Error: " + defaultIfEmpty(tcpPackage.dataAsString(), "<no message>"))));
     }
 
     private void onChannelError(Throwable throwable) {
-        handle(new CloseConnection("Error when processing TCP package", throwable));
+        tasks.enqueue(new CloseConnection("Error when processing TCP package", throwable));
     }
 
     private void onReconnect(NodeEndpoints nodeEndpoints) {
-        reconnectTo(nodeEndpoints);
+        tasks.execute(() -> reconnectTo(nodeEndpoints));
     }
 
-    private void timerTick() {
+    private void handle(TimerTick task) {
         switch (connectionState()) {
             case INIT:
                 if (connectingPhase == ConnectingPhase.RECONNECTING && reconnectionInfo.timestamp.isElapsed(settings.reconnectionDelay)) {
@@ -711,23 +952,48 @@ public class EventStoreTcp implements EventStore {
 
     private void checkOperationTimeout() {
         if (lastOperationTimeoutCheck.isElapsed(settings.operationTimeoutCheckInterval)) {
-            operationManager.checkTimeoutsAndRetry(connection);
-            subscriptionManager.checkTimeoutsAndRetry(connection);
+            Channel[] channels = connections;
+
+            if (channels != null) {
+                for (int i = 0; i < channels.length; i++) {
+                    final int index = i;
+                    connectionLoops[i].execute(() -> checkTimeouts(index));
+                }
+            }
+
             lastOperationTimeoutCheck.update();
         }
     }
 
+    /**
+     * Checks the timeouts of the operations and subscriptions of the specified connection,
+     * should be called on the event loop of the connection.
+     *
+     * @param connectionIndex connection index.
+     */
+    private void checkTimeouts(int connectionIndex) {
+        Channel channel = connection(connectionIndex);
+
+        if (connectionState() == ConnectionState.CONNECTED && channel != null && channel.isActive()) {
+            operationManagers[connectionIndex].checkTimeoutsAndRetry(channel);
+            subscriptionManagers[connectionIndex].checkTimeoutsAndRetry(channel);
+        }
+    }
+
     private void gotoIdentificationPhase() {
-        checkNotNull(connection, "connection is null");
+        checkNotNull(connections, "connection is null");
         connectingPhase = ConnectingPhase.IDENTIFICATION;
     }
 
     private void gotoConnectedPhase() {
-        checkNotNull(connection, "connection is null");
+        checkNotNull(connections, "connection is null");
         connectingPhase = ConnectingPhase.CONNECTED;
         reconnectionInfo.reset();
-        fireEvent(Events.clientConnected((InetSocketAddress) connection.remoteAddress()));
-        checkOperationTimeout();
+        fireEvent(Events.clientConnected(remoteAddress()));
+        for (int i = 0; i < settings.connectionCount; i++) {
+            final int index = i;
+            connectionLoops[i].execute(() -> checkTimeouts(index));
+        }
     }
 
     private void reconnectTo(NodeEndpoints endpoints) {
@@ -736,12 +1002,15 @@ public class EventStoreTcp implements EventStore {
 
         if (endpoint == null) {
             handle(new CloseConnection("No endpoint is specified while trying to reconnect."));
-        } else if (connectionState() == ConnectionState.CONNECTED && !connection.remoteAddress().equals(endpoint)) {
+        } else if (connectionState() == ConnectionState.CONNECTED && !remoteAddress().equals(endpoint)) {
+            Channel connection = connection(0);
+
             String message = String.format("Connection '%s': going to reconnect to [%s]. Current endpoint: [%s, L%s].",
                 ChannelId.of(connection), endpoint, connection.remoteAddress(), connection.localAddress());
 
             logger.trace(message);
 
+            flushSubscriptions();
             closeTcpConnection(message);
 
             connectingPhase = ConnectingPhase.ENDPOINT_DISCOVERY;
@@ -755,7 +1024,7 @@ public class EventStoreTcp implements EventStore {
         if (connectionState() == ConnectionState.INIT && connectingPhase == ConnectingPhase.RECONNECTING) {
             connectingPhase = ConnectingPhase.ENDPOINT_DISCOVERY;
 
-            discoverer.discover(connection != null ? (InetSocketAddress) connection.remoteAddress() : null)
+            discoverer.discover(remoteAddress())
                 .whenComplete((nodeEndpoints, throwable) -> {
                     if (throwable == null) {
                         tasks.enqueue(new EstablishTcpConnection(nodeEndpoints));
@@ -772,30 +1041,99 @@ public class EventStoreTcp implements EventStore {
         }
     }
 
+    /**
+     * Flushes the subscriptions on the event loops of their connections. Connections are closed on the same
+     * event loops, so the flush is always done before the connections are closed afterwards.
+     */
+    private void flushSubscriptions() {
+        for (int i = 0; i < settings.connectionCount; i++) {
+            connectionLoops[i].execute(subscriptionManagers[i]::flush);
+        }
+    }
+
     private void closeTcpConnection(String reason) {
-        if (connection != null) {
-            logger.debug("Closing TCP connection, reason: {}", reason);
-            try {
-                connection.close().await(settings.tcpSettings.closeTimeout.toMillis());
-            } catch (Exception e) {
-                logger.warn("Unable to close connection gracefully", e);
+        closeTcpConnection(connections, reason);
+    }
+
+    private void closeTcpConnection(Channel[] channels, String reason) {
+        boolean closing = false;
+
+        if (channels != null) {
+            for (Channel channel : channels) {
+                if (channel != null) {
+                    if (!closing) {
+                        logger.debug("Closing TCP connection, reason: {}", reason);
+                        closing = true;
+                    }
+                    try {
+                        channel.close().await(settings.tcpSettings.closeTimeout.toMillis());
+                    } catch (Exception e) {
+                        logger.warn("Unable to close connection gracefully", e);
+                    }
+                }
             }
-        } else {
-            onTcpConnectionClosed();
+        }
+
+        if (!closing) {
+            onTcpConnectionClosed(channels);
         }
     }
 
-    private void onTcpConnectionClosed() {
-        if (connection != null) {
-            subscriptionManager.purgeSubscribedAndDropped(ChannelId.of(connection));
+    /**
+     * Handles the closing of the specified connections. The first closed channel closes the remaining ones
+     * and resets the client into reconnecting phase, other notifications of the same connections are ignored.
+     *
+     * @param channels connections, that are closed.
+     */
+    private void onTcpConnectionClosed(Channel[] channels) {
+        synchronized (connectionsLock) {
+            if (connections != channels) {
+                return;
+            }
+            connections = null;
+        }
+
+        boolean closed = false;
+
+        if (channels != null) {
+            for (int i = 0; i < channels.length; i++) {
+                if (channels[i] != null) {
+                    SubscriptionManager subscriptionManager = subscriptionManagers[i];
+                    ChannelId connectionId = ChannelId.of(channels[i]);
+                    connectionLoops[i].execute(() -> subscriptionManager.purgeSubscribedAndDropped(connectionId));
+                    channels[i].close();
+                    closed = true;
+                }
+            }
+        }
+
+        if (closed) {
             fireEvent(Events.connectionClosed());
         }
 
-        connection = null;
         connectingPhase = ConnectingPhase.RECONNECTING;
         reconnectionInfo.touch();
     }
 
+    private boolean isCurrentConnection(Channel channel) {
+        Channel[] channels = connections;
+
+        if (channels != null) {
+            for (Channel c : channels) {
+                if (c == channel) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private InetSocketAddress remoteAddress() {
+        Channel connection = connection(0);
+        return (connection != null) ? (InetSocketAddress) connection.remoteAddress() : null;
+    }
+
     private void handle(StartConnection task) {
         logger.debug("StartConnection");
 
@@ -806,7 +1144,7 @@ public class EventStoreTcp implements EventStore {
                 break;
             case CONNECTING:
             case CONNECTED:
-                task.result.completeExceptionally(new IllegalStateException(String.format("Connection %s is already active.", connection)));
+                task.result.completeExceptionally(new IllegalStateException(String.format("Connection %s is already active.", connection(0))));
                 break;
             case CLOSED:
                 task.result.completeExceptionally(new ConnectionClosedException("Connection is closed"));
@@ -828,22 +1166,40 @@ public class EventStoreTcp implements EventStore {
             if (connectionState() == ConnectionState.INIT && connectingPhase == ConnectingPhase.ENDPOINT_DISCOVERY) {
                 connectingPhase = ConnectingPhase.CONNECTION_ESTABLISHING;
 
-                bootstrap.connect(endpoint).addListener((ChannelFuture connectFuture) -> {
-                    if (connectFuture.isSuccess()) {
-                        logger.info("Connection to [{}, L{}] established.", connectFuture.channel().remoteAddress(), connectFuture.channel().localAddress());
+                final Channel[] channels = new Channel[settings.connectionCount];
 
-                        connectingPhase = ConnectingPhase.AUTHENTICATION;
+                identifiedConnectionCount.set(0);
+                connections = channels;
 
-                        connection = connectFuture.channel();
+                for (int i = 0; i < channels.length; i++) {
+                    final int index = i;
 
-                        connection.closeFuture().addListener((ChannelFuture closeFuture) -> {
-                            logger.info("Connection to [{}, L{}] closed.", closeFuture.channel().remoteAddress(), closeFuture.channel().localAddress());
-                            onTcpConnectionClosed();
-                        });
-                    } else {
-                        closeTcpConnection("unable to connect");
-                    }
-                });
+                    bootstrap.clone(connectionLoops[index]).handler(newChannelInitializer(index)).connect(endpoint).addListener((ChannelFuture connectFuture) -> {
+                        if (connectFuture.isSuccess()) {
+                            Channel connection = connectFuture.channel();
+
+                            logger.info("Connection to [{}, L{}] established.", connection.remoteAddress(), connection.localAddress());
+
+                            connection.closeFuture().addListener((ChannelFuture closeFuture) -> {
+                                logger.info("Connection to [{}, L{}] closed.", closeFuture.channel().remoteAddress(), closeFuture.channel().localAddress());
+                                onTcpConnectionClosed(channels);
+                            });
+
+                            synchronized (connectionsLock) {
+                                if (connections == channels) {
+                                    channels[index] = connection;
+                                    // republishes the array, so that the assigned channel is visible to other threads
+                                    connections = channels;
+                                    connectingPhase = ConnectingPhase.AUTHENTICATION;
+                                } else {
+                                    connection.close();
+                                }
+                            }
+                        } else {
+                            closeTcpConnection(channels, "unable to connect");
+                        }
+                    });
+                }
             }
         }
     }
@@ -867,6 +1223,10 @@ public class EventStoreTcp implements EventStore {
     }
 
     private void handle(StartOperation task) {
+        connectionLoops[task.connectionIndex].execute(() -> startOperation(task));
+    }
+
+    private void startOperation(StartOperation task) {
         Operation operation = task.operation;
 
         switch (connectionState()) {
@@ -876,12 +1236,12 @@ public class EventStoreTcp implements EventStore {
                     break;
                 }
             case CONNECTING:
-                logger.debug("StartOperation enqueue {}, {}, {}, {}.", operation.getClass().getSimpleName(), operation, settings.maxOperationRetries, settings.operationTimeout);
-                operationManager.enqueueOperation(new OperationItem(operation, settings.maxOperationRetries, settings.operationTimeout));
+                logger.debug("StartOperation enqueue {}, {}, {}, {}.", operation.getClass().getSimpleName(), operation, task.maxRetries, settings.operationTimeout);
+                operationManagers[task.connectionIndex].enqueueOperation(new OperationItem(operation, task.maxRetries, settings.operationTimeout));
                 break;
             case CONNECTED:
-                logger.debug("StartOperation schedule {}, {}, {}, {}.", operation.getClass().getSimpleName(), operation, settings.maxOperationRetries, settings.operationTimeout);
-                operationManager.scheduleOperation(new OperationItem(operation, settings.maxOperationRetries, settings.operationTimeout), connection);
+                logger.debug("StartOperation schedule {}, {}, {}, {}.", operation.getClass().getSimpleName(), operation, task.maxRetries, settings.operationTimeout);
+                operationManagers[task.connectionIndex].scheduleOperation(new OperationItem(operation, task.maxRetries, settings.operationTimeout), connection(task.connectionIndex));
                 break;
             case CLOSED:
                 operation.fail(new ConnectionClosedException("Connection is closed"));
@@ -902,22 +1262,18 @@ public class EventStoreTcp implements EventStore {
                 }
             case CONNECTING:
             case CONNECTED:
+                final int connectionIndex = nextConnectionIndex();
+
                 VolatileSubscriptionOperation operation = new VolatileSubscriptionOperation(
                     task.result,
-                    task.streamId, task.resolveLinkTos, task.userCredentials, task.listener,
-                    () -> connection, executor());
+                    task.streamId, task.resolveLinkTos, task.userCredentials, task.listener, task.bufferSettings, settings.lazyEventDecoding,
+                    () -> connection(connectionIndex), executor());
 
                 logger.debug("StartSubscription {} {}, {}, {}, {}.",
                     state == ConnectionState.CONNECTED ? "fire" : "enqueue",
                     operation.getClass().getSimpleName(), operation, task.maxRetries, task.timeout);
 
-                SubscriptionItem item = new SubscriptionItem(operation, task.maxRetries, task.timeout);
-
-                if (state == ConnectionState.CONNECTED) {
-                    subscriptionManager.startSubscription(item, connection);
-                } else {
-                    subscriptionManager.enqueueSubscription(item);
-                }
+                startSubscription(connectionIndex, new SubscriptionItem(operation, task.maxRetries, task.timeout));
                 break;
             case CLOSED:
                 task.result.completeExceptionally(new ConnectionClosedException("Connection is closed"));
@@ -938,22 +1294,19 @@ public class EventStoreTcp implements EventStore {
                 }
             case CONNECTING:
             case CONNECTED:
+                final int connectionIndex = (task.connectionIndex < 0) ? nextConnectionIndex() : task.connectionIndex;
+
                 PersistentSubscriptionOperation operation = new PersistentSubscriptionOperation(
                     task.result,
                     task.subscriptionId, task.streamId, task.bufferSize, task.userCredentials, task.listener,
-                    () -> connection, executor());
+                    settings.subscriptionBufferSettings, settings.lazyEventDecoding, settings.persistentSubscriptionAckBatchSize, settings.persistentSubscriptionAckFlushDelay,
+                    () -> connection(connectionIndex), executor());
 
                 logger.debug("StartSubscription {} {}, {}, {}, {}.",
                     state == ConnectionState.CONNECTED ? "fire" : "enqueue",
                     operation.getClass().getSimpleName(), operation, task.maxRetries, task.timeout);
 
-                SubscriptionItem item = new SubscriptionItem(operation, task.maxRetries, task.timeout);
-
-                if (state == ConnectionState.CONNECTED) {
-                    subscriptionManager.startSubscription(item, connection);
-                } else {
-                    subscriptionManager.enqueueSubscription(item);
-                }
+                startSubscription(connectionIndex, new SubscriptionItem(operation, task.maxRetries, task.timeout));
                 break;
             case CLOSED:
                 task.result.completeExceptionally(new ConnectionClosedException("Connection is closed"));
@@ -963,11 +1316,87 @@ public class EventStoreTcp implements EventStore {
         }
     }
 
+    private void startSubscription(int connectionIndex, SubscriptionItem item) {
+        connectionLoops[connectionIndex].execute(() -> {
+            if (connectionState() == ConnectionState.CONNECTED) {
+                subscriptionManagers[connectionIndex].startSubscription(item, connection(connectionIndex));
+            } else {
+                subscriptionManagers[connectionIndex].enqueueSubscription(item);
+            }
+        });
+    }
+
+    private void enqueue(String stream, Operation operation) {
+        enqueue(operation, connectionIndexOf(stream.hashCode()));
+    }
+
+    private void enqueue(long transactionId, Operation operation, int maxRetries) {
+        enqueue(operation, connectionIndexOf(Long.hashCode(transactionId)), maxRetries);
+    }
+
     private void enqueue(Operation operation) {
-        while (operationManager.totalOperationCount() >= settings.maxOperationQueueSize) {
-            sleepUninterruptibly(1);
+        enqueue(operation, nextConnectionIndex());
+    }
+
+    private void enqueue(Operation operation, int connectionIndex) {
+        enqueue(operation, connectionIndex, settings.maxOperationRetries);
+    }
+
+    private void enqueue(Operation operation, int connectionIndex, int maxRetries) {
+        if (admit()) {
+            operation.whenComplete(admission.releaseAction());
+
+            // request is serialized on the caller thread once admitted, so the event loop only sends the prepared bytes
+            try {
+                operation.serializeRequest();
+            } catch (RuntimeException e) {
+                operation.fail(e);
+                return;
+            }
+
+            enqueue(new StartOperation(operation, connectionIndex, maxRetries));
+        } else {
+            admission.reject();
+
+            OperationQueueFullException exception = new OperationQueueFullException(settings.maxOperationQueueSize);
+
+            if (settings.operationQueueOverflowPolicy == OperationQueueOverflowPolicy.Throw) {
+                throw exception;
+            } else {
+                operation.fail(exception);
+            }
+        }
+    }
+
+    private boolean admit() {
+        if (admission.tryAcquire()) {
+            return true;
+        } else if (settings.operationQueueOverflowPolicy == OperationQueueOverflowPolicy.Wait && mayPark()) {
+            return admission.tryAcquire(settings.operationQueueWaitTimeout.toNanos());
+        } else {
+            return false;
         }
-        enqueue(new StartOperation(operation));
+    }
+
+    /**
+     * Checks whether the current thread may be parked until a free slot appears in the operation queue.
+     * Operations are completed (and so release their slots) on the event loops, and are failed on the task
+     * thread too, so parking any of them could block the only thread, that would free a slot (e.g. when an
+     * operation is issued from the completion callback of another one).
+     *
+     * @return {@code true} if the current thread may be parked, otherwise {@code false}
+     */
+    private boolean mayPark() {
+        return !inEventLoop() && !tasks.inTaskThread();
+    }
+
+    private boolean inEventLoop() {
+        for (EventExecutor executor : group) {
+            if (executor.inEventLoop()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void enqueue(Task task) {
@@ -981,25 +1410,104 @@ public class EventStoreTcp implements EventStore {
     }
 
     private ConnectionState connectionState() {
-        if (connection == null) {
+        Channel[] channels = connections;
+
+        if (channels == null) {
             return ConnectionState.INIT;
-        } else if (connection.isOpen()) {
-            return (connection.isActive() && (connectingPhase == ConnectingPhase.CONNECTED)) ?
-                ConnectionState.CONNECTED : ConnectionState.CONNECTING;
         } else {
-            return ConnectionState.CLOSED;
+            boolean active = (connectingPhase == ConnectingPhase.CONNECTED);
+
+            for (Channel channel : channels) {
+                if (channel == null) {
+                    active = false;
+                } else if (!channel.isOpen()) {
+                    return ConnectionState.CLOSED;
+                } else if (!channel.isActive()) {
+                    active = false;
+                }
+            }
+
+            return active ? ConnectionState.CONNECTED : ConnectionState.CONNECTING;
+        }
+    }
+
+    private Channel connection(int index) {
+        Channel[] channels = connections;
+        return (channels != null) ? channels[index] : null;
+    }
+
+    private int connectionIndexOf(int hash) {
+        return (settings.connectionCount == 1) ? 0 : Math.floorMod(hash, settings.connectionCount);
+    }
+
+    private int nextConnectionIndex() {
+        int[] indexes = unreservedConnections;
+        return (indexes.length == 1) ? indexes[0] : indexes[Math.floorMod(nextConnectionIndex.getAndIncrement(), indexes.length)];
+    }
+
+    /**
+     * Reserves unreserved connections for the specified owners.
+     *
+     * @param owners connection owners.
+     * @return the indexes of the reserved connections, one for every owner
+     * @throws IllegalStateException if there are not enough unreserved connections.
+     */
+    private int[] reserveConnections(Object[] owners) {
+        synchronized (connectionReservations) {
+            int[] indexes = IntStream.range(0, connectionReservations.length)
+                .filter(i -> connectionReservations[i] == null)
+                .limit(owners.length)
+                .toArray();
+
+            checkState(indexes.length == owners.length,
+                "Not enough unreserved connections: %d of %d connections are reserved by other persistent subscription pools.",
+                connectionReservations.length - indexes.length, connectionReservations.length);
+
+            for (int i = 0; i < indexes.length; i++) {
+                connectionReservations[indexes[i]] = owners[i];
+            }
+
+            updateUnreservedConnections();
+            return indexes;
         }
     }
 
+    private void releaseConnection(int index, Object owner) {
+        synchronized (connectionReservations) {
+            if (connectionReservations[index] == owner) {
+                connectionReservations[index] = null;
+                updateUnreservedConnections();
+            }
+        }
+    }
+
+    private void updateUnreservedConnections() {
+        int[] indexes = IntStream.range(0, connectionReservations.length)
+            .filter(i -> connectionReservations[i] == null)
+            .toArray();
+
+        // when all connections are reserved, round-robin operations share them with pool members
+        unreservedConnections = (indexes.length > 0) ? indexes : IntStream.range(0, connectionReservations.length).toArray();
+    }
+
     private class TransactionManagerImpl implements TransactionManager {
 
         @Override
         public CompletableFuture<Void> write(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials) {
+            return write(transaction, events, userCredentials, settings.maxOperationRetries);
+        }
+
+        @Override
+        public CompletableFuture<Void> writeWithoutRetries(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials) {
+            return write(transaction, events, userCredentials, 0);
+        }
+
+        private CompletableFuture<Void> write(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials, int maxRetries) {
             checkNotNull(transaction, "transaction is null");
             checkNotNull(events, "events is null");
 
             CompletableFuture<Void> result = new CompletableFuture<>();
-            enqueue(new TransactionalWriteOperation(result, settings.requireMaster, transaction.transactionId, events, userCredentials));
+            enqueue(transaction.transactionId, new TransactionalWriteOperation(result, settings.requireMaster, transaction.transactionId, events, userCredentials), maxRetries);
             return result;
         }
 
@@ -1008,7 +1516,7 @@ public class EventStoreTcp implements EventStore {
             checkNotNull(transaction, "transaction is null");
 
             CompletableFuture<WriteResult> result = new CompletableFuture<>();
-            enqueue(new CommitTransactionOperation(result, settings.requireMaster, transaction.transactionId, userCredentials));
+            enqueue(transaction.transactionId, new CommitTransactionOperation(result, settings.requireMaster, transaction.transactionId, userCredentials), settings.maxOperationRetries);
             return result;
         }
     }
@@ -0,0 +1,90 @@
+package com.github.msemys.esjc;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Events spliterator over multiple streams, that processes streams one after another and splits by streams.
+ */
+public class MultiStreamEventsSpliterator implements Spliterator<ResolvedEvent> {
+    private static final int CHARACTERISTICS = IMMUTABLE | ORDERED | NONNULL;
+
+    private final List<String> streams;
+    private final Function<String, Spliterator<ResolvedEvent>> streamSpliterator;
+    private int from;
+    private final int to;
+    private Spliterator<ResolvedEvent> spliterator;
+
+    MultiStreamEventsSpliterator(List<String> streams, Function<String, Spliterator<ResolvedEvent>> streamSpliterator) {
+        this(streams, streamSpliterator, 0, streams.size());
+    }
+
+    private MultiStreamEventsSpliterator(List<String> streams,
+                                         Function<String, Spliterator<ResolvedEvent>> streamSpliterator,
+                                         int from,
+                                         int to) {
+        this.streams = streams;
+        this.streamSpliterator = streamSpliterator;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+        checkNotNull(action, "action is null");
+
+        while (true) {
+            if (spliterator == null) {
+                if (from >= to) {
+                    return false;
+                }
+                spliterator = streamSpliterator.apply(streams.get(from++));
+            }
+
+            if (spliterator.tryAdvance(action)) {
+                return true;
+            } else {
+                spliterator = null;
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<ResolvedEvent> trySplit() {
+        if (spliterator != null) {
+            if (from < to) {
+                // hands off the stream in progress, keeping the remaining streams
+                Spliterator<ResolvedEvent> prefix = spliterator;
+                spliterator = null;
+                return prefix;
+            } else {
+                return spliterator.trySplit();
+            }
+        } else if (to - from > 1) {
+            int mid = (from + to) >>> 1;
+            Spliterator<ResolvedEvent> prefix = new MultiStreamEventsSpliterator(streams, streamSpliterator, from, mid);
+            from = mid;
+            return prefix;
+        } else if (to - from == 1) {
+            spliterator = streamSpliterator.apply(streams.get(from++));
+            return spliterator.trySplit();
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return (from >= to && spliterator == null) ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.manager.OperationQueueFullException;
+
+/**
+ * Specifies how the client handles a new operation, when the operation queue is full.
+ *
+ * @see Settings#maxOperationQueueSize
+ */
+public enum OperationQueueOverflowPolicy {
+
+    /**
+     * Throws {@link OperationQueueFullException} to the caller.
+     */
+    Throw,
+
+    /**
+     * Returns a future, that is completed exceptionally with {@link OperationQueueFullException}.
+     */
+    Fail,
+
+    /**
+     * Parks the caller until a free slot appears in the operation queue or the wait timeout elapses.
+     * When the timeout elapses, the returned future is completed exceptionally with {@link OperationQueueFullException}.
+     * <p>
+     * The caller is never parked on the threads, that complete operations and so free the slots (the I/O threads
+     * and the client's internal task thread), as it would block itself until the timeout. This includes the
+     * completion callbacks, that issue further operations (e.g. {@code thenCompose(r -> eventstore.appendToStream(...))}),
+     * so on a full queue the new operation fails at once there.
+     * </p>
+     * <p>
+     * Note, that this differs from the previous behaviour, where the caller was blocked indefinitely: the wait is
+     * bounded by {@link Settings#operationQueueWaitTimeout} (7 seconds by default), so callers, that relied on
+     * waiting for as long as it takes, should handle the failure or raise the timeout.
+     * </p>
+     *
+     * @see Settings#operationQueueWaitTimeout
+     */
+    Wait
+
+}
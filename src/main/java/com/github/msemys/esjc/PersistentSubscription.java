@@ -1,5 +1,6 @@
 package com.github.msemys.esjc;
 
+import com.github.msemys.esjc.subscription.MaximumSubscribersReachedException;
 import com.github.msemys.esjc.subscription.PersistentSubscriptionChannel;
 import com.github.msemys.esjc.subscription.PersistentSubscriptionNakEventAction;
 import com.github.msemys.esjc.util.Subscriptions.DropData;
@@ -9,12 +10,18 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Subscriptions.DROP_SUBSCRIPTION_EVENT;
@@ -22,15 +29,35 @@ import static com.github.msemys.esjc.util.Subscriptions.UNKNOWN_DROP_DATA;
 import static com.github.msemys.esjc.util.Threads.sleepUninterruptibly;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toCollection;
 
 /**
  * Persistent subscription.
+ * <p>
+ * Events are handled one at a time, unless the consumer concurrency is greater than 1. In that case events are
+ * partitioned by the key into concurrency lanes, each lane handles its events one at a time in the order they were
+ * received, and lanes run in parallel on the executor. The number of events in flight is bounded by the buffer size,
+ * as the server does not push more events until the handled ones are acknowledged.
+ * </p>
+ * <p>
+ * The consumer latency and throughput are measured every stats interval. When adaptive buffer size is enabled,
+ * the buffer size is adjusted AIMD-style: it is halved when events wait in the client longer than the target
+ * latency, and is increased by the initial buffer size when the whole buffer was in flight and the latency was low.
+ * The new buffer size is applied by connecting to the group again and closing the previous connection, once it is
+ * drained: events received from it are still handled and acknowledged through it, but the acknowledgements are
+ * deferred (so the server stops pushing events to it) until all of them are handled or a stats interval passes.
+ * Then the acknowledgements are sent and the previous connection is closed. Events, that the server pushes to it in
+ * response to these acknowledgements (up to the previous buffer size), and events, that were not acknowledged in
+ * time, are redelivered by the server to the group and count as retries. Buffer size changes are at least
+ * {@link PersistentSubscriptionConsumerSettings#bufferSizeCooldown} apart, and stop, when the group has reached its
+ * maximum number of subscribers.
+ * </p>
  */
 public abstract class PersistentSubscription implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(PersistentSubscription.class);
 
-    private static final int MAX_EVENTS = 2000;
+    static final int MAX_EVENTS = 2000;
 
     private final String subscriptionId;
     private final String streamId;
@@ -38,48 +65,92 @@ public abstract class PersistentSubscription implements AutoCloseable {
     private final UserCredentials userCredentials;
     private final boolean autoAck;
 
-    private PersistentSubscriptionChannel subscription;
+    private volatile PersistentSubscriptionChannel subscription;
+    private SubscriptionListener<PersistentSubscriptionChannel> subscriptionListener;
+    private final Set<PersistentSubscriptionChannel> retiredSubscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<PersistentSubscriptionChannel, Member> members = new ConcurrentHashMap<>();
+    private final Map<UUID, Member> unacknowledged = new ConcurrentHashMap<>();
     private final Queue<ResolvedEvent> queue = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean isProcessing = new AtomicBoolean();
     private final AtomicReference<DropData> dropData = new AtomicReference<>();
     private final AtomicBoolean isDropped = new AtomicBoolean();
     private final ResettableLatch stopped = new ResettableLatch(true);
-    private final int bufferSize;
+    private volatile int bufferSize;
+    private final PersistentSubscriptionConsumerSettings settings;
     private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final Function<ResolvedEvent, String> partitionKey;
+    private final Lane[] lanes;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile DropData closingDropData;
+
+    // consumer stats
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong handledCount = new AtomicLong();
+    private final AtomicLong ackedCount = new AtomicLong();
+    private final AtomicLong backlogSum = new AtomicLong();
+    private final AtomicLong peakOutstanding = new AtomicLong();
+    private volatile PersistentSubscriptionStats stats = PersistentSubscriptionStats.EMPTY;
+    private ScheduledFuture<?> statsTask;
+    private long lastSampleTime;
+    private long lastReceivedCount;
+    private long lastHandledCount;
+    private volatile boolean resubscribing;
+    private volatile Member retiring;
+    private volatile boolean adaptive;
+    private volatile long nextBufferSizeChangeTime = System.nanoTime();
 
     protected PersistentSubscription(String subscriptionId,
                                      String streamId,
                                      PersistentSubscriptionListener listener,
                                      UserCredentials userCredentials,
-                                     int bufferSize,
-                                     boolean autoAck,
-                                     Executor executor) {
+                                     PersistentSubscriptionConsumerSettings settings,
+                                     Executor executor,
+                                     ScheduledExecutorService scheduler) {
         this.subscriptionId = subscriptionId;
         this.streamId = streamId;
         this.listener = listener;
         this.userCredentials = userCredentials;
-        this.bufferSize = bufferSize;
-        this.autoAck = autoAck;
+        this.bufferSize = settings.bufferSize;
+        this.autoAck = settings.autoAck;
+        this.settings = settings;
         this.executor = executor;
+        this.scheduler = scheduler;
+        this.partitionKey = settings.partitionKey;
+        this.adaptive = settings.adaptiveBufferSize;
+
+        if (settings.concurrency > 1) {
+            lanes = new Lane[settings.concurrency];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new Lane();
+            }
+        } else {
+            lanes = null;
+        }
     }
 
     protected CompletableFuture<PersistentSubscription> start() {
         stopped.reset();
 
-        SubscriptionListener<PersistentSubscriptionChannel> subscriptionListener = new SubscriptionListener<PersistentSubscriptionChannel>() {
+        subscriptionListener = new SubscriptionListener<PersistentSubscriptionChannel>() {
             @Override
             public void onEvent(PersistentSubscriptionChannel subscription, ResolvedEvent event) {
+                members.computeIfAbsent(subscription, Member::new).received(event.originalEvent().eventId());
                 enqueue(event);
             }
 
             @Override
             public void onClose(PersistentSubscriptionChannel subscription, SubscriptionDropReason reason, Exception exception) {
-                enqueueSubscriptionDropNotification(reason, exception);
+                // the connection, that was replaced after the buffer size change, is closed on purpose
+                if (!retiredSubscriptions.remove(subscription)) {
+                    enqueueSubscriptionDropNotification(reason, exception);
+                }
             }
         };
 
         return startSubscription(subscriptionId, streamId, bufferSize, subscriptionListener, userCredentials).thenApply(s -> {
             subscription = (PersistentSubscriptionChannel) s;
+            startStats();
             return PersistentSubscription.this;
         });
     }
@@ -98,7 +169,8 @@ public abstract class PersistentSubscription implements AutoCloseable {
      */
     public void acknowledge(UUID... eventIds) {
         checkArgument(eventIds.length <= MAX_EVENTS, "events is limited to %d to ack at a time", MAX_EVENTS);
-        subscription.notifyEventsProcessed(asList(eventIds));
+        ackedCount.addAndGet(eventIds.length);
+        notifyEventsProcessed(asList(eventIds));
     }
 
     /**
@@ -108,7 +180,7 @@ public abstract class PersistentSubscription implements AutoCloseable {
      * @param event the event to acknowledge.
      */
     public void acknowledge(ResolvedEvent event) {
-        acknowledge(event.originalEvent().eventId);
+        acknowledge(event.originalEvent().eventId());
     }
 
     /**
@@ -118,7 +190,7 @@ public abstract class PersistentSubscription implements AutoCloseable {
      * @param events the events to acknowledge.
      */
     public void acknowledge(List<ResolvedEvent> events) {
-        acknowledge(events.stream().map(e -> e.originalEvent().eventId).toArray(UUID[]::new));
+        acknowledge(events.stream().map(e -> e.originalEvent().eventId()).toArray(UUID[]::new));
     }
 
     /**
@@ -129,7 +201,8 @@ public abstract class PersistentSubscription implements AutoCloseable {
      * @param reason an error message as to why the failure is occurring.
      */
     public void fail(ResolvedEvent event, PersistentSubscriptionNakEventAction action, String reason) {
-        subscription.notifyEventsFailed(singletonList(event.originalEvent().eventId), action, reason);
+        ackedCount.incrementAndGet();
+        notifyEventsFailed(singletonList(event.originalEvent().eventId()), action, reason);
     }
 
     /**
@@ -141,13 +214,71 @@ public abstract class PersistentSubscription implements AutoCloseable {
      */
     public void fail(List<ResolvedEvent> events, PersistentSubscriptionNakEventAction action, String reason) {
         checkArgument(events.size() <= MAX_EVENTS, "events is limited to %d to ack at a time", MAX_EVENTS);
-        subscription.notifyEventsFailed(events.stream()
-                .map(e -> e.originalEvent().eventId)
+        ackedCount.addAndGet(events.size());
+        notifyEventsFailed(events.stream()
+                .map(e -> e.originalEvent().eventId())
                 .collect(toCollection(() -> new ArrayList<>(events.size()))),
             action,
             reason);
     }
 
+    /**
+     * Acknowledges the events through the connections, that they were received from.
+     */
+    private void notifyEventsProcessed(List<UUID> eventIds) {
+        for (Map.Entry<Member, List<UUID>> entry : byMember(eventIds).entrySet()) {
+            Member member = entry.getKey();
+
+            if (member == null) {
+                subscription.notifyEventsProcessed(entry.getValue());
+            } else {
+                member.acknowledge(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Marks the events as failed through the connections, that they were received from.
+     */
+    private void notifyEventsFailed(List<UUID> eventIds, PersistentSubscriptionNakEventAction action, String reason) {
+        for (Map.Entry<Member, List<UUID>> entry : byMember(eventIds).entrySet()) {
+            Member member = entry.getKey();
+
+            if (member == null) {
+                subscription.notifyEventsFailed(entry.getValue(), action, reason);
+            } else {
+                member.channel.notifyEventsFailed(entry.getValue(), action, reason);
+                member.release(entry.getValue().size());
+            }
+        }
+    }
+
+    /**
+     * Groups the events by the connections, that they were received from ({@code null} key - unknown events,
+     * that are sent through the current connection).
+     */
+    private Map<Member, List<UUID>> byMember(List<UUID> eventIds) {
+        if (eventIds.size() == 1) {
+            return singletonMap(unacknowledged.remove(eventIds.get(0)), eventIds);
+        }
+
+        Map<Member, List<UUID>> result = new LinkedHashMap<>();
+        for (UUID eventId : eventIds) {
+            result.computeIfAbsent(unacknowledged.remove(eventId), m -> new ArrayList<>()).add(eventId);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the consumer statistics, measured over the last stats interval.
+     *
+     * @return consumer statistics
+     * @see PersistentSubscriptionConsumerSettings#statsInterval
+     */
+    public PersistentSubscriptionStats stats() {
+        return stats;
+    }
+
     /**
      * Unsubscribes from the persistent subscription.
      *
@@ -155,13 +286,21 @@ public abstract class PersistentSubscription implements AutoCloseable {
      * @throws TimeoutException when timeouts
      */
     public void stop(Duration timeout) throws TimeoutException {
-        logger.trace("Persistent subscription to {}: requesting stop...", streamId);
-        enqueueSubscriptionDropNotification(SubscriptionDropReason.UserInitiated, null);
-        if (!stopped.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        requestStop();
+        if (!awaitStopped(timeout.toMillis())) {
             throw new TimeoutException(String.format("Could not stop %s in time.", getClass().getSimpleName()));
         }
     }
 
+    void requestStop() {
+        logger.trace("Persistent subscription to {}: requesting stop...", streamId);
+        enqueueSubscriptionDropNotification(SubscriptionDropReason.UserInitiated, null);
+    }
+
+    boolean awaitStopped(long timeoutMillis) {
+        return stopped.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Unsubscribes from the persistent subscription (using 2 seconds wait time before it should timeout).
      *
@@ -181,6 +320,12 @@ public abstract class PersistentSubscription implements AutoCloseable {
     }
 
     private void enqueue(ResolvedEvent event) {
+        if (!event.equals(DROP_SUBSCRIPTION_EVENT)) {
+            long received = receivedCount.incrementAndGet();
+            backlogSum.addAndGet(received - handledCount.get());
+            peakOutstanding.accumulateAndGet(received - ackedCount.get(), Math::max);
+        }
+
         queue.offer(event);
         if (isProcessing.compareAndSet(false, true)) {
             executor.execute(this::processQueue);
@@ -203,29 +348,26 @@ public abstract class PersistentSubscription implements AutoCloseable {
                             previousDropData = UNKNOWN_DROP_DATA;
                         }
 
-                        dropSubscription(previousDropData.reason, previousDropData.exception);
+                        dropSubscriptionWhenIdle(previousDropData);
                         return;
                     }
 
                     DropData currentDropData = dropData.get();
                     if (currentDropData != null) {
-                        dropSubscription(currentDropData.reason, currentDropData.exception);
+                        dropSubscriptionWhenIdle(currentDropData);
                         return;
                     }
 
-                    try {
-                        listener.onEvent(this, event);
-
-                        if (autoAck) {
-                            subscription.notifyEventsProcessed(singletonList(event.originalEvent().eventId));
+                    if (lanes == null) {
+                        try {
+                            handle(event);
+                        } catch (Exception e) {
+                            dropSubscription(SubscriptionDropReason.EventHandlerException, e);
+                            return;
                         }
-
-                        logger.trace("Persistent subscription to {}: processed event ({}, {}, {} @ {}).", streamId,
-                            event.originalEvent().eventStreamId, event.originalEvent().eventNumber,
-                            event.originalEvent().eventType, event.originalEventNumber());
-                    } catch (Exception e) {
-                        dropSubscription(SubscriptionDropReason.EventHandlerException, e);
-                        return;
+                    } else {
+                        inFlight.incrementAndGet();
+                        lanes[Math.floorMod(partitionKey.apply(event).hashCode(), lanes.length)].execute(event);
                     }
                 }
             }
@@ -233,12 +375,155 @@ public abstract class PersistentSubscription implements AutoCloseable {
         } while (!queue.isEmpty() && isProcessing.compareAndSet(false, true));
     }
 
+    private void handle(ResolvedEvent event) throws Exception {
+        listener.onEvent(this, event);
+        handledCount.incrementAndGet();
+
+        if (autoAck) {
+            ackedCount.incrementAndGet();
+            notifyEventsProcessed(singletonList(event.originalEvent().eventId()));
+        }
+
+        logger.trace("Persistent subscription to {}: processed event ({}, {}, {} @ {}).", streamId,
+            event.originalEvent().eventStreamId, event.originalEvent().eventNumber,
+            event.originalEvent().eventType, event.originalEventNumber());
+    }
+
+    /**
+     * Drops the subscription, when the events, that are handled by lanes, are completed.
+     */
+    private void dropSubscriptionWhenIdle(DropData dropData) {
+        closingDropData = dropData;
+
+        if (inFlight.get() == 0) {
+            dropSubscription(dropData.reason, dropData.exception);
+        }
+    }
+
+    private synchronized void startStats() {
+        if (statsTask == null) {
+            lastSampleTime = System.nanoTime();
+            long interval = settings.statsInterval.toNanos();
+            statsTask = scheduler.scheduleAtFixedRate(this::sampleStats, interval, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void sampleStats() {
+        try {
+            long now = System.nanoTime();
+            long received = receivedCount.get();
+            long handled = handledCount.get();
+            long receivedDelta = received - lastReceivedCount;
+            double seconds = (now - lastSampleTime) / 1e9;
+            double throughput = (handled - lastHandledCount) / seconds;
+            double backlog = (receivedDelta > 0) ? (double) backlogSum.getAndSet(0) / receivedDelta : received - handled;
+            boolean saturated = peakOutstanding.getAndSet(received - ackedCount.get()) >= bufferSize;
+
+            lastSampleTime = now;
+            lastReceivedCount = received;
+            lastHandledCount = handled;
+
+            // Little's law: the time in the client is the number of events in the client divided by the throughput
+            Duration latency;
+            if (throughput > 0) {
+                latency = Duration.ofNanos((long) (backlog / throughput * 1e9));
+            } else {
+                // nothing was handled, while events were waiting for the whole interval
+                latency = (backlog > 0) ? Duration.ofNanos((long) (seconds * 1e9)) : Duration.ZERO;
+            }
+
+            stats = new PersistentSubscriptionStats(bufferSize, handled, throughput, latency);
+
+            // the previous connection is not drained in time, so its unacknowledged events are left to the server
+            Member previous = retiring;
+            if (previous != null && now - previous.drainStartTime >= settings.statsInterval.toNanos()) {
+                previous.close();
+            }
+
+            if (adaptive) {
+                adjustBufferSize(latency, saturated);
+            }
+        } catch (Exception e) {
+            logger.warn("Persistent subscription to {}: unable to sample stats", streamId, e);
+        }
+    }
+
+    private void adjustBufferSize(Duration latency, boolean saturated) {
+        int current = bufferSize;
+        int next = current;
+
+        if (latency.compareTo(settings.targetLatency) > 0) {
+            next = Math.max(settings.minBufferSize, current / 2);
+        } else if (saturated && latency.multipliedBy(2).compareTo(settings.targetLatency) < 0) {
+            next = Math.min(settings.maxBufferSize, current + settings.bufferSize);
+        }
+
+        if (next != current && !resubscribing && dropData.get() == null && System.nanoTime() - nextBufferSizeChangeTime >= 0) {
+            logger.debug("Persistent subscription to {}: changing buffer size from {} to {} (latency: {}, saturated: {})",
+                streamId, current, next, latency, saturated);
+            resubscribe(next);
+        }
+    }
+
+    private void resubscribe(int newBufferSize) {
+        resubscribing = true;
+
+        startSubscription(subscriptionId, streamId, newBufferSize, subscriptionListener, userCredentials).whenComplete((s, t) -> {
+            nextBufferSizeChangeTime = System.nanoTime() + settings.bufferSizeCooldown.toNanos();
+
+            if (t != null) {
+                Throwable cause = (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+
+                if (cause instanceof MaximumSubscribersReachedException) {
+                    // the group has no room for the second connection, that the change needs
+                    adaptive = false;
+                    logger.warn("Persistent subscription to {}: maximum subscribers reached, buffer size stays {}", streamId, bufferSize);
+                } else {
+                    logger.warn("Persistent subscription to {}: unable to change buffer size to {}", streamId, newBufferSize, t);
+                }
+
+                resubscribing = false;
+            } else {
+                Member previous;
+
+                synchronized (this) {
+                    // the subscription could be dropped, while connecting with the new buffer size
+                    if (isDropped.get()) {
+                        s.unsubscribe();
+                        resubscribing = false;
+                        return;
+                    }
+
+                    previous = members.computeIfAbsent(subscription, Member::new);
+                    retiredSubscriptions.add(previous.channel);
+                    retiring = previous;
+                    bufferSize = newBufferSize;
+                    subscription = (PersistentSubscriptionChannel) s;
+                }
+
+                // resubscribing is over, when the previous connection is closed
+                previous.drain();
+            }
+        });
+    }
+
     private void dropSubscription(SubscriptionDropReason reason, Exception exception) {
         if (isDropped.compareAndSet(false, true)) {
             logger.trace("Persistent subscription to {}: dropping subscription, reason: {}", streamId, reason, exception);
 
-            if (subscription != null) {
-                subscription.unsubscribe();
+            synchronized (this) {
+                if (statsTask != null) {
+                    statsTask.cancel(false);
+                }
+
+                Member previous = retiring;
+                if (previous != null) {
+                    previous.close();
+                }
+
+                if (subscription != null) {
+                    subscription.unsubscribe();
+                }
             }
 
             listener.onClose(this, reason, exception);
@@ -247,4 +532,129 @@ public abstract class PersistentSubscription implements AutoCloseable {
         }
     }
 
+    /**
+     * Connection to the group, that tracks the events received from it, that are not acknowledged yet.
+     */
+    private class Member {
+        final PersistentSubscriptionChannel channel;
+        final AtomicInteger unacknowledgedCount = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final List<UUID> deferredAcks = new ArrayList<>();
+        volatile boolean draining;
+        volatile long drainStartTime;
+
+        Member(PersistentSubscriptionChannel channel) {
+            this.channel = channel;
+        }
+
+        void received(UUID eventId) {
+            unacknowledgedCount.incrementAndGet();
+
+            // the event is redelivered through this connection, while the previous delivery is not acknowledged
+            Member previous = unacknowledged.put(eventId, this);
+            if (previous != null) {
+                previous.release(1);
+            }
+        }
+
+        void acknowledge(List<UUID> eventIds) {
+            boolean deferred;
+
+            synchronized (this) {
+                deferred = draining && !closed.get();
+                if (deferred) {
+                    deferredAcks.addAll(eventIds);
+                }
+            }
+
+            if (!deferred) {
+                channel.notifyEventsProcessed(eventIds);
+            }
+
+            release(eventIds.size());
+        }
+
+        void release(int count) {
+            if (unacknowledgedCount.addAndGet(-count) <= 0 && draining) {
+                close();
+            }
+        }
+
+        void drain() {
+            synchronized (this) {
+                drainStartTime = System.nanoTime();
+                draining = true;
+            }
+
+            if (unacknowledgedCount.get() <= 0) {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                List<UUID> acks;
+
+                synchronized (this) {
+                    acks = new ArrayList<>(deferredAcks);
+                    deferredAcks.clear();
+                }
+
+                for (int i = 0; i < acks.size(); i += MAX_EVENTS) {
+                    channel.notifyEventsProcessed(acks.subList(i, Math.min(i + MAX_EVENTS, acks.size())));
+                }
+
+                channel.unsubscribe();
+
+                members.remove(channel);
+                unacknowledged.values().removeIf(member -> member == this);
+
+                if (retiring == this) {
+                    retiring = null;
+                    resubscribing = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles events of the partition one at a time in the order they were received.
+     */
+    private class Lane implements Runnable {
+        private final Queue<ResolvedEvent> events = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        void execute(ResolvedEvent event) {
+            events.offer(event);
+            if (running.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                ResolvedEvent event;
+                while ((event = events.poll()) != null) {
+                    try {
+                        // events of a stopping subscription are not handled (the server redelivers them)
+                        if (dropData.get() == null) {
+                            handle(event);
+                        }
+                    } catch (Exception e) {
+                        enqueueSubscriptionDropNotification(SubscriptionDropReason.EventHandlerException, e);
+                    } finally {
+                        if (inFlight.decrementAndGet() == 0) {
+                            DropData closing = closingDropData;
+                            if (closing != null) {
+                                dropSubscription(closing.reason, closing.exception);
+                            }
+                        }
+                    }
+                }
+                running.set(false);
+            } while (!events.isEmpty() && running.compareAndSet(false, true));
+        }
+    }
+
 }
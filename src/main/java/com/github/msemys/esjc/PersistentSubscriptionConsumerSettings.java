@@ -0,0 +1,319 @@
+package com.github.msemys.esjc;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+
+/**
+ * Client side settings of the persistent subscription group member (the group itself is configured by
+ * {@link PersistentSubscriptionSettings}).
+ *
+ * @see EventStore#subscribeToPersistent(String, String, PersistentSubscriptionConsumerSettings, PersistentSubscriptionListener, UserCredentials)
+ */
+public class PersistentSubscriptionConsumerSettings {
+
+    /**
+     * The buffer size to use for the persistent subscription, that is the maximum number of messages
+     * the server pushes without waiting for their acknowledgement.
+     */
+    public final int bufferSize;
+
+    /**
+     * Whether the subscription should automatically acknowledge messages processed.
+     */
+    public final boolean autoAck;
+
+    /**
+     * The number of events, that are handled in parallel. Events with the same partition key are handled
+     * one at a time in the order they were received.
+     */
+    public final int concurrency;
+
+    /**
+     * The function, that gets the partition key of the event (applies when {@link #concurrency} is greater than 1).
+     */
+    public final Function<ResolvedEvent, String> partitionKey;
+
+    /**
+     * Whether the buffer size is adjusted to the observed consumer latency and throughput (starting from
+     * {@link #bufferSize} and staying within {@link #minBufferSize} and {@link #maxBufferSize}).
+     */
+    public final boolean adaptiveBufferSize;
+
+    /**
+     * The minimum buffer size (applies to adaptive buffer size).
+     */
+    public final int minBufferSize;
+
+    /**
+     * The maximum buffer size (applies to adaptive buffer size).
+     */
+    public final int maxBufferSize;
+
+    /**
+     * The maximum amount of time an event should stay in the client, before it is handled. When the observed
+     * latency exceeds it, the adaptive buffer size is decreased.
+     */
+    public final Duration targetLatency;
+
+    /**
+     * The interval of measuring the consumer latency and throughput (and adjusting the adaptive buffer size).
+     */
+    public final Duration statsInterval;
+
+    /**
+     * The minimum amount of time between buffer size changes (applies to adaptive buffer size).
+     */
+    public final Duration bufferSizeCooldown;
+
+    private PersistentSubscriptionConsumerSettings(Builder builder) {
+        bufferSize = builder.bufferSize;
+        autoAck = builder.autoAck;
+        concurrency = builder.concurrency;
+        partitionKey = builder.partitionKey;
+        adaptiveBufferSize = builder.adaptiveBufferSize;
+        minBufferSize = builder.minBufferSize;
+        maxBufferSize = builder.maxBufferSize;
+        targetLatency = builder.targetLatency;
+        statsInterval = builder.statsInterval;
+        bufferSizeCooldown = builder.bufferSizeCooldown;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PersistentSubscriptionConsumerSettings{");
+        sb.append("bufferSize=").append(bufferSize);
+        sb.append(", autoAck=").append(autoAck);
+        sb.append(", concurrency=").append(concurrency);
+        sb.append(", partitionKey=").append(partitionKey);
+        sb.append(", adaptiveBufferSize=").append(adaptiveBufferSize);
+        sb.append(", minBufferSize=").append(minBufferSize);
+        sb.append(", maxBufferSize=").append(maxBufferSize);
+        sb.append(", targetLatency=").append(targetLatency);
+        sb.append(", statsInterval=").append(statsInterval);
+        sb.append(", bufferSizeCooldown=").append(bufferSizeCooldown);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Creates a new persistent subscription consumer settings builder.
+     *
+     * @return persistent subscription consumer settings builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Persistent subscription consumer settings builder.
+     */
+    public static class Builder {
+        private Integer bufferSize;
+        private Boolean autoAck;
+        private Integer concurrency;
+        private Function<ResolvedEvent, String> partitionKey;
+        private Boolean adaptiveBufferSize;
+        private Integer minBufferSize;
+        private Integer maxBufferSize;
+        private Duration targetLatency;
+        private Duration statsInterval;
+        private Duration bufferSizeCooldown;
+
+        /**
+         * Sets the buffer size to use for the persistent subscription (by default, 10 messages).
+         * Could not be less than concurrency.
+         *
+         * @param bufferSize the buffer size to use for the persistent subscription.
+         * @return the builder reference
+         */
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the subscription should automatically acknowledge messages processed (by default, it is enabled).
+         *
+         * @param autoAck {@code true} to enable auto-acknowledge.
+         * @return the builder reference
+         */
+        public Builder autoAck(boolean autoAck) {
+            this.autoAck = autoAck;
+            return this;
+        }
+
+        /**
+         * Sets the number of events, that are handled in parallel (by default, 1 - events are handled one at a time).
+         * Handlers run on the client executor, so it should have at least as many threads.
+         *
+         * @param concurrency the number of events, that are handled in parallel.
+         * @return the builder reference
+         */
+        public Builder concurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets the function, that gets the partition key of the event (by default, {@link ResolvedEvent#originalStreamId()}).
+         * Events with the same key are handled in the order they were received.
+         *
+         * @param partitionKey partition key function.
+         * @return the builder reference
+         */
+        public Builder partitionKey(Function<ResolvedEvent, String> partitionKey) {
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        /**
+         * Sets whether the buffer size is adjusted to the observed consumer latency and throughput
+         * (by default, it is disabled). The buffer size is halved, when events wait in the client longer than
+         * the target latency, and is increased by the initial buffer size, when the whole buffer is in flight
+         * and the latency is low. The server does not allow to change the buffer size of the connected
+         * subscription, so the consumer connects to the group again with the new buffer size and drains the
+         * previous connection before closing it: its acknowledgements are deferred (so the server stops pushing
+         * events to it) and are sent right before it is closed. Events, that the server pushes to the previous
+         * connection in response to these acknowledgements (up to the previous buffer size), and events, that are
+         * not acknowledged within a stats interval, are redelivered by the server and count as retries. When the
+         * group has reached its maximum number of subscribers, the buffer size is not changed anymore.
+         *
+         * @param adaptiveBufferSize {@code true} to enable adaptive buffer size.
+         * @return the builder reference
+         */
+        public Builder adaptiveBufferSize(boolean adaptiveBufferSize) {
+            this.adaptiveBufferSize = adaptiveBufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the minimum buffer size (by default, the concurrency). Applies to adaptive buffer size.
+         *
+         * @param minBufferSize the minimum buffer size.
+         * @return the builder reference
+         */
+        public Builder minBufferSize(int minBufferSize) {
+            this.minBufferSize = minBufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum buffer size (by default, 1000 messages or the buffer size, if it is greater).
+         * Applies to adaptive buffer size.
+         *
+         * @param maxBufferSize the maximum buffer size.
+         * @return the builder reference
+         */
+        public Builder maxBufferSize(int maxBufferSize) {
+            this.maxBufferSize = maxBufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time an event should stay in the client, before it is handled
+         * (by default, 5 seconds). It should be well below the message timeout of the subscription group.
+         *
+         * @param targetLatency the maximum amount of time an event should stay in the client.
+         * @return the builder reference
+         */
+        public Builder targetLatency(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+            return this;
+        }
+
+        /**
+         * Sets the interval of measuring the consumer latency and throughput, and adjusting the adaptive
+         * buffer size (by default, 10 seconds).
+         *
+         * @param statsInterval the interval of measuring the consumer latency and throughput.
+         * @return the builder reference
+         */
+        public Builder statsInterval(Duration statsInterval) {
+            this.statsInterval = statsInterval;
+            return this;
+        }
+
+        /**
+         * Sets the minimum amount of time between buffer size changes (by default, 3 stats intervals).
+         * Applies to adaptive buffer size. It also delays the next attempt after a failed change.
+         *
+         * @param bufferSizeCooldown the minimum amount of time between buffer size changes.
+         * @return the builder reference
+         */
+        public Builder bufferSizeCooldown(Duration bufferSizeCooldown) {
+            this.bufferSizeCooldown = bufferSizeCooldown;
+            return this;
+        }
+
+        /**
+         * Builds a persistent subscription consumer settings.
+         *
+         * @return persistent subscription consumer settings
+         */
+        public PersistentSubscriptionConsumerSettings build() {
+            if (bufferSize == null) {
+                bufferSize = 10;
+            } else {
+                checkArgument(isPositive(bufferSize), "bufferSize should be positive");
+            }
+
+            if (autoAck == null) {
+                autoAck = true;
+            }
+
+            if (concurrency == null) {
+                concurrency = 1;
+            } else {
+                checkArgument(isPositive(concurrency), "concurrency should be positive");
+            }
+
+            // the server does not push more events than the buffer size, so extra workers would stay idle
+            checkArgument(concurrency <= bufferSize, "concurrency should not be greater than bufferSize");
+
+            if (partitionKey == null) {
+                partitionKey = ResolvedEvent::originalStreamId;
+            }
+
+            if (adaptiveBufferSize == null) {
+                adaptiveBufferSize = false;
+            }
+
+            if (minBufferSize == null) {
+                minBufferSize = Math.min(concurrency, bufferSize);
+            } else {
+                checkArgument(minBufferSize >= concurrency, "minBufferSize should not be less than concurrency");
+                checkArgument(minBufferSize <= bufferSize, "minBufferSize should not be greater than bufferSize");
+            }
+
+            if (maxBufferSize == null) {
+                maxBufferSize = Math.max(bufferSize, 1000);
+            } else {
+                checkArgument(maxBufferSize >= bufferSize, "maxBufferSize should not be less than bufferSize");
+            }
+
+            if (targetLatency == null) {
+                targetLatency = Duration.ofSeconds(5);
+            } else {
+                checkArgument(!targetLatency.isNegative() && !targetLatency.isZero(), "targetLatency should be positive");
+            }
+
+            if (statsInterval == null) {
+                statsInterval = Duration.ofSeconds(10);
+            } else {
+                checkArgument(!statsInterval.isNegative() && !statsInterval.isZero(), "statsInterval should be positive");
+            }
+
+            if (bufferSizeCooldown == null) {
+                bufferSizeCooldown = statsInterval.multipliedBy(3);
+            } else {
+                checkArgument(!bufferSizeCooldown.isNegative(), "bufferSizeCooldown should not be negative");
+            }
+
+            return new PersistentSubscriptionConsumerSettings(this);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.github.msemys.esjc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Pool of persistent subscription group members, that consume the same group within one client.
+ * <p>
+ * Every member is a separate subscription to the group, pinned to its own connection (and so to its own
+ * event loop), so a pool can not have more members than the client has connections. The connection is reserved for
+ * the member, until it is dropped: operations and subscriptions, that the client spreads round-robin, skip reserved
+ * connections (unless all of them are reserved), and another pool gets only unreserved connections. Stream
+ * operations are routed by the stream id and still use every connection. The server spreads the group's messages across the members,
+ * and each member's handlers run on the shared client executor, so handler threads go to whichever member
+ * currently has work. With adaptive buffer size enabled, every member tunes its own buffer size, shifting
+ * the load towards the members that keep up.
+ * </p>
+ *
+ * @see EventStore#subscribeToPersistentPool(String, String, int, PersistentSubscriptionConsumerSettings, PersistentSubscriptionListener, UserCredentials)
+ */
+public class PersistentSubscriptionPool implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PersistentSubscriptionPool.class);
+
+    private final List<PersistentSubscription> members;
+
+    PersistentSubscriptionPool(List<PersistentSubscription> members) {
+        checkArgument(!members.isEmpty(), "members is empty");
+        this.members = unmodifiableList(new ArrayList<>(members));
+    }
+
+    static CompletableFuture<PersistentSubscriptionPool> start(List<PersistentSubscription> members) {
+        CompletableFuture<PersistentSubscriptionPool> result = new CompletableFuture<>();
+
+        CompletableFuture<?>[] starts = members.stream().map(PersistentSubscription::start).toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(starts).whenComplete((r, throwable) -> {
+            if (throwable == null) {
+                result.complete(new PersistentSubscriptionPool(members));
+            } else {
+                for (int i = 0; i < starts.length; i++) {
+                    if (!starts[i].isCompletedExceptionally()) {
+                        members.get(i).requestStop();
+                    }
+                }
+                logger.debug("Persistent subscription pool failed to start, stopped started members.", throwable);
+                result.completeExceptionally(throwable.getCause() != null ? throwable.getCause() : throwable);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Gets the group members of this pool.
+     *
+     * @return unmodifiable list of persistent subscriptions
+     */
+    public List<PersistentSubscription> members() {
+        return members;
+    }
+
+    /**
+     * Gets the combined consumer statistics of all members: buffer sizes, handled events and throughput are
+     * summed up, and the latency is averaged, weighted by the throughput of each member.
+     *
+     * @return consumer statistics
+     * @see PersistentSubscription#stats()
+     */
+    public PersistentSubscriptionStats stats() {
+        int bufferSize = 0;
+        long handledEvents = 0;
+        double throughput = 0;
+        double weightedLatency = 0;
+        long latencySum = 0;
+
+        for (PersistentSubscription member : members) {
+            PersistentSubscriptionStats stats = member.stats();
+            bufferSize += stats.bufferSize;
+            handledEvents += stats.handledEvents;
+            throughput += stats.throughput;
+            weightedLatency += stats.throughput * stats.latency.toNanos();
+            latencySum += stats.latency.toNanos();
+        }
+
+        Duration latency = (throughput > 0) ?
+            Duration.ofNanos((long) (weightedLatency / throughput)) :
+            Duration.ofNanos(latencySum / members.size());
+
+        return new PersistentSubscriptionStats(bufferSize, handledEvents, throughput, latency);
+    }
+
+    /**
+     * Unsubscribes all members from the persistent subscription. Every member is requested to stop
+     * at once, so they stop together.
+     *
+     * @param timeout the maximum wait time before it should timeout.
+     * @throws TimeoutException when timeouts
+     */
+    public void stop(Duration timeout) throws TimeoutException {
+        members.forEach(PersistentSubscription::requestStop);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        for (PersistentSubscription member : members) {
+            long remaining = Math.max(0, deadline - System.nanoTime()) / 1_000_000;
+            if (!member.awaitStopped(remaining)) {
+                throw new TimeoutException(String.format("Could not stop %s in time.", getClass().getSimpleName()));
+            }
+        }
+    }
+
+    /**
+     * Unsubscribes all members from the persistent subscription (using 2 seconds wait time before it should timeout).
+     *
+     * @throws TimeoutException when timeouts
+     * @see #stop(Duration)
+     */
+    @Override
+    public void close() throws TimeoutException {
+        stop(Duration.ofSeconds(2));
+    }
+
+}
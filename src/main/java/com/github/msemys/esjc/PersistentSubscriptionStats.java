@@ -0,0 +1,57 @@
+package com.github.msemys.esjc;
+
+import java.time.Duration;
+
+/**
+ * Persistent subscription consumer statistics, measured over the last stats interval.
+ *
+ * @see PersistentSubscription#stats()
+ * @see PersistentSubscriptionConsumerSettings#statsInterval
+ */
+public class PersistentSubscriptionStats {
+
+    /**
+     * Empty statistics (nothing is measured yet).
+     */
+    public static final PersistentSubscriptionStats EMPTY = new PersistentSubscriptionStats(0, 0, 0, Duration.ZERO);
+
+    /**
+     * The current buffer size, that is the maximum number of messages the server pushes without waiting
+     * for their acknowledgement.
+     */
+    public final int bufferSize;
+
+    /**
+     * The total number of events handled by the subscription listener.
+     */
+    public final long handledEvents;
+
+    /**
+     * The number of events handled per second.
+     */
+    public final double throughput;
+
+    /**
+     * The average amount of time an event stays in the client, before it is handled.
+     */
+    public final Duration latency;
+
+    public PersistentSubscriptionStats(int bufferSize, long handledEvents, double throughput, Duration latency) {
+        this.bufferSize = bufferSize;
+        this.handledEvents = handledEvents;
+        this.throughput = throughput;
+        this.latency = latency;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("PersistentSubscriptionStats{");
+        sb.append("bufferSize=").append(bufferSize);
+        sb.append(", handledEvents=").append(handledEvents);
+        sb.append(", throughput=").append(throughput);
+        sb.append(", latency=").append(latency);
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
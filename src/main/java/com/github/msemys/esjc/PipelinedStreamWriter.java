@@ -0,0 +1,302 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.*;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+
+/**
+ * Writer, that keeps several version-chained writes to a single stream in flight.
+ * <p>
+ * The writer tracks the next expected version locally: every append is sent with the expected version, that the
+ * stream will have after all previously sent appends are written, without waiting for their results. Up to
+ * {@code maxInFlightWrites} writes are in flight at once, further appends are queued locally. Appends are completed
+ * in the order they were accepted.
+ * </p>
+ * <p>
+ * If a write fails (e.g. with {@link WrongExpectedVersionException}), the writer becomes failed: queued appends
+ * are not sent and fail with the same exception, writes that are already in flight complete with their own result
+ * (that is a {@link WrongExpectedVersionException} in most cases, as their expected version is never reached),
+ * and new appends are rejected with the same exception, until the writer is {@link #reset(long) reset} to the
+ * actual stream version.
+ * </p>
+ *
+ * @see EventStore#newPipelinedStreamWriter(String, long, int, UserCredentials)
+ */
+public class PipelinedStreamWriter {
+    public static final int DEFAULT_MAX_IN_FLIGHT_WRITES = 16;
+
+    private final EventStore eventStore;
+    private final String stream;
+    private final int maxInFlightWrites;
+    private final UserCredentials userCredentials;
+
+    private final ArrayDeque<Write> pendingWrites = new ArrayDeque<>();
+    private final ArrayDeque<Write> queuedWrites = new ArrayDeque<>();
+
+    // writes are sent and appends are completed outside of the monitor, in the order they were decided under it
+    private final Queue<Write> outgoingWrites = new ConcurrentLinkedQueue<>();
+    private final Queue<Write> completedWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private int inFlightWriteCount;
+    private long nextExpectedVersion;
+    private int generation;
+    private Throwable failure;
+
+    /**
+     * Creates a new pipelined stream writer.
+     *
+     * @param eventStore        the client, that is used to write events.
+     * @param stream            the name of the stream to append events to.
+     * @param expectedVersion   the version at which we currently expect the stream to be
+     *                          (exact event number or {@link ExpectedVersion#NO_STREAM}).
+     * @param maxInFlightWrites the maximum number of writes in flight.
+     * @param userCredentials   user credentials to be used for writes (use {@code null} for default user credentials).
+     */
+    public PipelinedStreamWriter(EventStore eventStore,
+                                 String stream,
+                                 long expectedVersion,
+                                 int maxInFlightWrites,
+                                 UserCredentials userCredentials) {
+        checkNotNull(eventStore, "eventStore is null");
+        checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
+        checkExpectedVersion(expectedVersion);
+        checkArgument(isPositive(maxInFlightWrites), "maxInFlightWrites should be positive");
+
+        this.eventStore = eventStore;
+        this.stream = stream;
+        this.nextExpectedVersion = expectedVersion;
+        this.maxInFlightWrites = maxInFlightWrites;
+        this.userCredentials = userCredentials;
+    }
+
+    /**
+     * Appends single event to the stream asynchronously.
+     *
+     * @param event the event to append.
+     * @return a {@code CompletableFuture} representing the result of this append.
+     * @see #append(Iterable)
+     */
+    public CompletableFuture<WriteResult> append(EventData event) {
+        checkNotNull(event, "event is null");
+        List<EventData> events = new ArrayList<>(1);
+        events.add(event);
+        return append(events);
+    }
+
+    /**
+     * Appends events to the stream asynchronously, expecting the stream to be at the version it will have after
+     * all previous appends of this writer are written.
+     *
+     * @param events the events to append.
+     * @return a {@code CompletableFuture} representing the result of this append. The future's methods
+     * {@code get} and {@code join} can throw an exception with cause {@link WrongExpectedVersionException},
+     * {@link StreamDeletedException}, {@link CommandNotExpectedException}, {@link NotAuthenticatedException},
+     * {@link AccessDeniedException} or {@link ServerErrorException} on exceptional completion (the exception of
+     * the first failed write, if the append was not sent because of it).
+     */
+    public CompletableFuture<WriteResult> append(Iterable<EventData> events) {
+        checkNotNull(events, "events is null");
+
+        List<EventData> eventList = new ArrayList<>();
+        events.forEach(event -> eventList.add(checkNotNull(event, "event is null")));
+
+        Write write = new Write(eventList);
+
+        synchronized (this) {
+            pendingWrites.add(write);
+
+            if (failure != null) {
+                write.fail(failure);
+                completeWrites();
+            } else if (inFlightWriteCount < maxInFlightWrites) {
+                send(write);
+            } else {
+                queuedWrites.add(write);
+            }
+        }
+
+        drain();
+
+        return write.result;
+    }
+
+    /**
+     * Resets the writer to the actual stream version (usually after the failed write) and clears the failure.
+     * Writes that are in flight still complete with their own result, but do not affect the writer anymore.
+     *
+     * @param expectedVersion the version at which we currently expect the stream to be
+     *                        (exact event number or {@link ExpectedVersion#NO_STREAM}).
+     */
+    public void reset(long expectedVersion) {
+        checkExpectedVersion(expectedVersion);
+
+        synchronized (this) {
+            generation++;
+            failure = null;
+            nextExpectedVersion = expectedVersion;
+
+            sendQueuedWrites();
+        }
+
+        drain();
+    }
+
+    /**
+     * Gets the name of the stream.
+     *
+     * @return stream name
+     */
+    public String stream() {
+        return stream;
+    }
+
+    /**
+     * Gets the version, that the next append will be sent with.
+     *
+     * @return next expected version
+     */
+    public synchronized long nextExpectedVersion() {
+        return nextExpectedVersion;
+    }
+
+    /**
+     * Gets the number of sent, but not yet completed writes.
+     *
+     * @return in flight writes count
+     */
+    public synchronized int inFlightWriteCount() {
+        return inFlightWriteCount;
+    }
+
+    /**
+     * Checks whether the writer is failed.
+     *
+     * @return {@code true} if the writer is failed, otherwise {@code false}
+     */
+    public synchronized boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Chains the write to the previous ones and hands it over to be sent. Should be called holding the monitor.
+     */
+    private void send(Write write) {
+        write.generation = generation;
+        write.expectedVersion = nextExpectedVersion;
+        nextExpectedVersion += write.events.size();
+        inFlightWriteCount++;
+
+        outgoingWrites.offer(write);
+    }
+
+    private void onWriteCompleted(Write write, WriteResult result, Throwable throwable) {
+        synchronized (this) {
+            inFlightWriteCount--;
+
+            if (throwable != null) {
+                write.fail((throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable);
+
+                if (write.generation == generation && failure == null) {
+                    failure = write.error;
+                    queuedWrites.forEach(queued -> queued.fail(failure));
+                    queuedWrites.clear();
+                }
+            } else {
+                write.complete(result);
+            }
+
+            sendQueuedWrites();
+            completeWrites();
+        }
+
+        drain();
+    }
+
+    /**
+     * Sends the outgoing writes and completes the appends of the completed writes, outside of the monitor. Only one
+     * thread drains at a time, so writes are sent (and appends are completed) in order.
+     */
+    private void drain() {
+        while ((!outgoingWrites.isEmpty() || !completedWrites.isEmpty()) && draining.compareAndSet(false, true)) {
+            try {
+                Write write;
+
+                while ((write = outgoingWrites.poll()) != null) {
+                    Write sent = write;
+
+                    try {
+                        eventStore.appendToStream(stream, sent.expectedVersion, sent.events, userCredentials)
+                            .whenComplete((result, throwable) -> onWriteCompleted(sent, result, throwable));
+                    } catch (Exception e) {
+                        onWriteCompleted(sent, null, e);
+                    }
+                }
+
+                while ((write = completedWrites.poll()) != null) {
+                    if (write.error != null) {
+                        write.result.completeExceptionally(write.error);
+                    } else {
+                        write.result.complete(write.writeResult);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void sendQueuedWrites() {
+        while (failure == null && !queuedWrites.isEmpty() && inFlightWriteCount < maxInFlightWrites) {
+            send(queuedWrites.poll());
+        }
+    }
+
+    private void completeWrites() {
+        // completes appends in order, so that dependent appends never complete before the appends they depend on
+        while (!pendingWrites.isEmpty() && pendingWrites.peek().done) {
+            completedWrites.offer(pendingWrites.poll());
+        }
+    }
+
+    private static void checkExpectedVersion(long expectedVersion) {
+        checkArgument(expectedVersion >= ExpectedVersion.NO_STREAM,
+            "expectedVersion should be an exact event number or ExpectedVersion.NO_STREAM");
+    }
+
+    private static class Write {
+        final List<EventData> events;
+        final CompletableFuture<WriteResult> result = new CompletableFuture<>();
+
+        int generation;
+        long expectedVersion;
+        boolean done;
+        WriteResult writeResult;
+        Throwable error;
+
+        Write(List<EventData> events) {
+            this.events = events;
+        }
+
+        void complete(WriteResult writeResult) {
+            this.writeResult = writeResult;
+            done = true;
+        }
+
+        void fail(Throwable error) {
+            this.error = error;
+            done = true;
+        }
+    }
+
+}
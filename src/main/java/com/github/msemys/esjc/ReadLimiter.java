@@ -0,0 +1,83 @@
+package com.github.msemys.esjc;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Non-blocking limiter of concurrent reads: reads over the limit are queued and started, as running reads complete.
+ */
+class ReadLimiter {
+    private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+    private int permits;
+
+    ReadLimiter(int maxConcurrentReads) {
+        this.permits = maxConcurrentReads;
+    }
+
+    /**
+     * Wraps the reader, so that its reads are limited by this limiter.
+     *
+     * @param reader reader.
+     * @param <T>    the type of the cursor
+     * @param <R>    the type of the batch
+     * @return limited reader
+     */
+    <T, R> Function<T, CompletableFuture<R>> limit(Function<T, CompletableFuture<R>> reader) {
+        return cursor -> {
+            CompletableFuture<R> result = new CompletableFuture<>();
+
+            Runnable read = () -> {
+                try {
+                    reader.apply(cursor).whenComplete((r, t) -> {
+                        release();
+
+                        if (t != null) {
+                            result.completeExceptionally(t);
+                        } else {
+                            result.complete(r);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    release();
+                    result.completeExceptionally(e);
+                }
+            };
+
+            boolean acquired;
+
+            synchronized (this) {
+                acquired = permits > 0;
+
+                if (acquired) {
+                    permits--;
+                } else {
+                    queue.add(read);
+                }
+            }
+
+            if (acquired) {
+                read.run();
+            }
+
+            return result;
+        };
+    }
+
+    private void release() {
+        Runnable next;
+
+        synchronized (this) {
+            next = queue.poll();
+
+            if (next == null) {
+                permits++;
+            }
+        }
+
+        if (next != null) {
+            next.run();
+        }
+    }
+
+}
@@ -2,6 +2,9 @@ package com.github.msemys.esjc;
 
 import com.github.msemys.esjc.proto.EventStoreClientMessages.EventRecord;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -11,6 +14,14 @@ import static java.time.Instant.ofEpochMilli;
 
 /**
  * Represents a previously written event.
+ * <p>
+ * A lazy event (see {@link Settings#lazyEventDecoding}) keeps the received message and decodes the id, data,
+ * metadata and creation time on first access, so events that are skipped (for example, by event type) are never
+ * decoded. Lazy events leave the fields {@link #eventId}, {@link #data}, {@link #metadata} and {@link #created}
+ * unset ({@code null}), so they should be read with the accessor methods ({@link #eventId()}, {@link #data()},
+ * {@link #metadata()} and {@link #created()}), that work in both modes. The buffer and stream accessors
+ * ({@link #dataBuffer()}, {@link #dataStream()} and the metadata ones) do not copy the content.
+ * </p>
  */
 public class RecordedEvent {
 
@@ -20,7 +31,9 @@ public class RecordedEvent {
     public final String eventStreamId;
 
     /**
-     * The unique identifier representing this event.
+     * The unique identifier representing this event ({@code null} for lazy events).
+     *
+     * @see #eventId()
      */
     public final UUID eventId;
 
@@ -35,12 +48,16 @@ public class RecordedEvent {
     public final String eventType;
 
     /**
-     * A byte array representing the data of this event.
+     * A byte array representing the data of this event ({@code null} for lazy events).
+     *
+     * @see #data()
      */
     public final byte[] data;
 
     /**
-     * A byte array representing the metadata associated with this event.
+     * A byte array representing the metadata associated with this event ({@code null} for lazy events).
+     *
+     * @see #metadata()
      */
     public final byte[] metadata;
 
@@ -50,28 +67,153 @@ public class RecordedEvent {
     public final boolean isJson;
 
     /**
-     * A datetime representing when this event was created in the system.
+     * A datetime representing when this event was created in the system ({@code null} for lazy events).
+     *
+     * @see #created()
      */
     public final Instant created;
 
+    private final EventRecord eventRecord;
+    private volatile UUID lazyEventId;
+    private volatile byte[] lazyData;
+    private volatile byte[] lazyMetadata;
+    private volatile Instant lazyCreated;
+
     /**
      * Creates new instance from proto message.
      *
      * @param eventRecord event record.
      */
     public RecordedEvent(EventRecord eventRecord) {
-        eventStreamId = eventRecord.getEventStreamId();
+        this(eventRecord, false);
+    }
 
-        eventId = toUUID(eventRecord.getEventId().toByteArray());
+    /**
+     * Creates new instance from proto message.
+     *
+     * @param eventRecord event record.
+     * @param lazy        whether to decode the id, data, metadata and creation time on first access.
+     */
+    public RecordedEvent(EventRecord eventRecord, boolean lazy) {
+        eventStreamId = eventRecord.getEventStreamId();
         eventNumber = eventRecord.getEventNumber();
-
         eventType = eventRecord.getEventType();
-
-        data = (eventRecord.hasData()) ? eventRecord.getData().toByteArray() : EMPTY_BYTES;
-        metadata = (eventRecord.hasMetadata()) ? eventRecord.getMetadata().toByteArray() : EMPTY_BYTES;
         isJson = eventRecord.getDataContentType() == 1;
 
-        created = eventRecord.hasCreatedEpoch() ? ofEpochMilli(eventRecord.getCreatedEpoch()) : null;
+        if (lazy) {
+            this.eventRecord = eventRecord;
+            eventId = null;
+            data = null;
+            metadata = null;
+            created = null;
+        } else {
+            this.eventRecord = null;
+            eventId = toUUID(eventRecord.getEventId().toByteArray());
+            data = (eventRecord.hasData()) ? eventRecord.getData().toByteArray() : EMPTY_BYTES;
+            metadata = (eventRecord.hasMetadata()) ? eventRecord.getMetadata().toByteArray() : EMPTY_BYTES;
+            created = eventRecord.hasCreatedEpoch() ? ofEpochMilli(eventRecord.getCreatedEpoch()) : null;
+        }
+    }
+
+    /**
+     * Indicates whether this event is decoded on first access.
+     *
+     * @return {@code true} if this event is lazy, otherwise {@code false}
+     */
+    public boolean isLazy() {
+        return eventRecord != null;
+    }
+
+    /**
+     * Gets the unique identifier representing this event.
+     *
+     * @return event id
+     */
+    public UUID eventId() {
+        if (eventRecord == null) {
+            return eventId;
+        } else if (lazyEventId == null) {
+            lazyEventId = toUUID(eventRecord.getEventId().toByteArray());
+        }
+        return lazyEventId;
+    }
+
+    /**
+     * Gets a byte array representing the data of this event.
+     *
+     * @return event data
+     */
+    public byte[] data() {
+        if (eventRecord == null) {
+            return data;
+        } else if (lazyData == null) {
+            lazyData = (eventRecord.hasData()) ? eventRecord.getData().toByteArray() : EMPTY_BYTES;
+        }
+        return lazyData;
+    }
+
+    /**
+     * Gets a byte array representing the metadata associated with this event.
+     *
+     * @return event metadata
+     */
+    public byte[] metadata() {
+        if (eventRecord == null) {
+            return metadata;
+        } else if (lazyMetadata == null) {
+            lazyMetadata = (eventRecord.hasMetadata()) ? eventRecord.getMetadata().toByteArray() : EMPTY_BYTES;
+        }
+        return lazyMetadata;
+    }
+
+    /**
+     * Gets a datetime representing when this event was created in the system.
+     *
+     * @return creation datetime or {@code null}, if it is unknown
+     */
+    public Instant created() {
+        if (eventRecord == null || !eventRecord.hasCreatedEpoch()) {
+            return created;
+        } else if (lazyCreated == null) {
+            lazyCreated = ofEpochMilli(eventRecord.getCreatedEpoch());
+        }
+        return lazyCreated;
+    }
+
+    /**
+     * Gets a read-only buffer over the data of this event, without copying it.
+     *
+     * @return event data buffer
+     */
+    public ByteBuffer dataBuffer() {
+        return (eventRecord == null) ? ByteBuffer.wrap(data).asReadOnlyBuffer() : eventRecord.getData().asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Gets a read-only buffer over the metadata associated with this event, without copying it.
+     *
+     * @return event metadata buffer
+     */
+    public ByteBuffer metadataBuffer() {
+        return (eventRecord == null) ? ByteBuffer.wrap(metadata).asReadOnlyBuffer() : eventRecord.getMetadata().asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Gets an input stream over the data of this event, without copying it.
+     *
+     * @return event data stream
+     */
+    public InputStream dataStream() {
+        return (eventRecord == null) ? new ByteArrayInputStream(data) : eventRecord.getData().newInput();
+    }
+
+    /**
+     * Gets an input stream over the metadata associated with this event, without copying it.
+     *
+     * @return event metadata stream
+     */
+    public InputStream metadataStream() {
+        return (eventRecord == null) ? new ByteArrayInputStream(metadata) : eventRecord.getMetadata().newInput();
     }
 
 }
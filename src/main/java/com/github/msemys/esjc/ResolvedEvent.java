@@ -30,8 +30,19 @@ public class ResolvedEvent {
      * @param event resolved event.
      */
     public ResolvedEvent(EventStoreClientMessages.ResolvedEvent event) {
-        this.event = (event.hasEvent()) ? new RecordedEvent(event.getEvent()) : null;
-        this.link = (event.hasLink()) ? new RecordedEvent(event.getLink()) : null;
+        this(event, false);
+    }
+
+    /**
+     * Creates new instance from proto message.
+     *
+     * @param event resolved event.
+     * @param lazy  whether to decode recorded events on first access.
+     * @see RecordedEvent#isLazy()
+     */
+    public ResolvedEvent(EventStoreClientMessages.ResolvedEvent event, boolean lazy) {
+        this.event = (event.hasEvent()) ? new RecordedEvent(event.getEvent(), lazy) : null;
+        this.link = (event.hasLink()) ? new RecordedEvent(event.getLink(), lazy) : null;
         this.originalPosition = new Position(event.getCommitPosition(), event.getPreparePosition());
     }
 
@@ -41,8 +52,19 @@ public class ResolvedEvent {
      * @param event resolved indexed event.
      */
     public ResolvedEvent(EventStoreClientMessages.ResolvedIndexedEvent event) {
-        this.event = (event.hasEvent()) ? new RecordedEvent(event.getEvent()) : null;
-        this.link = (event.hasLink()) ? new RecordedEvent(event.getLink()) : null;
+        this(event, false);
+    }
+
+    /**
+     * Creates new instance from proto message.
+     *
+     * @param event resolved indexed event.
+     * @param lazy  whether to decode recorded events on first access.
+     * @see RecordedEvent#isLazy()
+     */
+    public ResolvedEvent(EventStoreClientMessages.ResolvedIndexedEvent event, boolean lazy) {
+        this.event = (event.hasEvent()) ? new RecordedEvent(event.getEvent(), lazy) : null;
+        this.link = (event.hasLink()) ? new RecordedEvent(event.getLink(), lazy) : null;
         this.originalPosition = null;
     }
 
@@ -2,10 +2,12 @@ package com.github.msemys.esjc;
 
 import com.github.msemys.esjc.node.cluster.ClusterNodeSettings;
 import com.github.msemys.esjc.node.single.SingleNodeSettings;
+import com.github.msemys.esjc.operation.manager.OperationQueueFullException;
 import com.github.msemys.esjc.operation.manager.OperationTimeoutException;
 import com.github.msemys.esjc.operation.manager.RetriesLimitReachedException;
 import com.github.msemys.esjc.ssl.SslSettings;
 import com.github.msemys.esjc.tcp.TcpSettings;
+import com.github.msemys.esjc.transport.Transport;
 import com.github.msemys.esjc.util.concurrent.DefaultThreadFactory;
 
 import java.time.Duration;
@@ -15,6 +17,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import static com.github.msemys.esjc.util.Numbers.isNegative;
 import static com.github.msemys.esjc.util.Numbers.isPositive;
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Ranges.ATTEMPTS_RANGE;
@@ -97,11 +100,29 @@ public class Settings {
      */
     public final int maxOperationQueueSize;
 
+    /**
+     * The policy, that is applied to a new operation when the operation queue is full.
+     */
+    public final OperationQueueOverflowPolicy operationQueueOverflowPolicy;
+
+    /**
+     * The maximum amount of time to wait for a free slot in the operation queue
+     * (applies to {@link OperationQueueOverflowPolicy#Wait} policy). Unlike the previous unbounded wait,
+     * the operation fails with {@link OperationQueueFullException}
+     * once it elapses.
+     */
+    public final Duration operationQueueWaitTimeout;
+
     /**
      * The maximum number of allowed asynchronous operations to be in process.
      */
     public final int maxConcurrentOperations;
 
+    /**
+     * The number of TCP connections to the node.
+     */
+    public final int connectionCount;
+
     /**
      * The maximum number of operation retry attempts.
      */
@@ -112,6 +133,22 @@ public class Settings {
      */
     public final int maxReconnections;
 
+    /**
+     * The number of batches, that stream and {@code $all} iterators and streams read ahead of the consumer.
+     */
+    public final int readAheadBatches;
+
+    /**
+     * The maximum estimated size in bytes of batches, that stream and {@code $all} iterators and streams
+     * keep read ahead of the consumer.
+     */
+    public final int readAheadBytes;
+
+    /**
+     * The maximum number of concurrent reads of a single multi-stream or {@code $all} range stream.
+     */
+    public final int maxParallelReads;
+
     /**
      * The default buffer size to use for the persistent subscription.
      */
@@ -122,6 +159,29 @@ public class Settings {
      */
     public final boolean persistentSubscriptionAutoAck;
 
+    /**
+     * The maximum number of processed or failed event ids, that are accumulated before they are sent to the server
+     * in a single acknowledgement of the persistent subscription.
+     */
+    public final int persistentSubscriptionAckBatchSize;
+
+    /**
+     * The maximum amount of time the processed or failed event ids are accumulated before they are sent to the server.
+     */
+    public final Duration persistentSubscriptionAckFlushDelay;
+
+    /**
+     * The default buffer settings of volatile and persistent subscriptions.
+     */
+    public final SubscriptionBufferSettings subscriptionBufferSettings;
+
+    /**
+     * Whether or not to decode read and subscribed events on first access.
+     *
+     * @see RecordedEvent#isLazy()
+     */
+    public final boolean lazyEventDecoding;
+
     /**
      * Whether or not to raise an error if no response is received from the server for an operation.
      */
@@ -132,6 +192,11 @@ public class Settings {
      */
     public final Executor executor;
 
+    /**
+     * The I/O transport, that could be shared with other clients ({@code null} - the client uses its own transport).
+     */
+    public final Transport transport;
+
     private Settings(Builder builder) {
         connectionName = builder.connectionName;
         tcpSettings = builder.tcpSettings;
@@ -146,13 +211,24 @@ public class Settings {
         operationTimeout = builder.operationTimeout;
         operationTimeoutCheckInterval = builder.operationTimeoutCheckInterval;
         maxOperationQueueSize = builder.maxOperationQueueSize;
+        operationQueueOverflowPolicy = builder.operationQueueOverflowPolicy;
+        operationQueueWaitTimeout = builder.operationQueueWaitTimeout;
         maxConcurrentOperations = builder.maxConcurrentOperations;
+        connectionCount = builder.connectionCount;
         maxOperationRetries = builder.maxOperationRetries;
         maxReconnections = builder.maxReconnections;
+        readAheadBatches = builder.readAheadBatches;
+        readAheadBytes = builder.readAheadBytes;
+        maxParallelReads = builder.maxParallelReads;
         persistentSubscriptionBufferSize = builder.persistentSubscriptionBufferSize;
         persistentSubscriptionAutoAck = builder.persistentSubscriptionAutoAck;
+        persistentSubscriptionAckBatchSize = builder.persistentSubscriptionAckBatchSize;
+        persistentSubscriptionAckFlushDelay = builder.persistentSubscriptionAckFlushDelay;
+        subscriptionBufferSettings = builder.subscriptionBufferSettings;
+        lazyEventDecoding = builder.lazyEventDecoding;
         failOnNoServerResponse = builder.failOnNoServerResponse;
         executor = builder.executor;
+        transport = builder.transport;
     }
 
     @Override
@@ -171,13 +247,24 @@ public class Settings {
         sb.append(", operationTimeout=").append(operationTimeout);
         sb.append(", operationTimeoutCheckInterval=").append(operationTimeoutCheckInterval);
         sb.append(", maxOperationQueueSize=").append(maxOperationQueueSize);
+        sb.append(", operationQueueOverflowPolicy=").append(operationQueueOverflowPolicy);
+        sb.append(", operationQueueWaitTimeout=").append(operationQueueWaitTimeout);
         sb.append(", maxConcurrentOperations=").append(maxConcurrentOperations);
+        sb.append(", connectionCount=").append(connectionCount);
         sb.append(", maxOperationRetries=").append(maxOperationRetries);
         sb.append(", maxReconnections=").append(maxReconnections);
+        sb.append(", readAheadBatches=").append(readAheadBatches);
+        sb.append(", readAheadBytes=").append(readAheadBytes);
+        sb.append(", maxParallelReads=").append(maxParallelReads);
         sb.append(", persistentSubscriptionBufferSize=").append(persistentSubscriptionBufferSize);
         sb.append(", persistentSubscriptionAutoAck=").append(persistentSubscriptionAutoAck);
+        sb.append(", persistentSubscriptionAckBatchSize=").append(persistentSubscriptionAckBatchSize);
+        sb.append(", persistentSubscriptionAckFlushDelay=").append(persistentSubscriptionAckFlushDelay);
+        sb.append(", subscriptionBufferSettings=").append(subscriptionBufferSettings);
+        sb.append(", lazyEventDecoding=").append(lazyEventDecoding);
         sb.append(", failOnNoServerResponse=").append(failOnNoServerResponse);
         sb.append(", executor=").append(executor);
+        sb.append(", transport=").append(transport);
         sb.append('}');
         return sb.toString();
     }
@@ -208,13 +295,24 @@ public class Settings {
         private Duration operationTimeout;
         private Duration operationTimeoutCheckInterval;
         private Integer maxOperationQueueSize;
+        private OperationQueueOverflowPolicy operationQueueOverflowPolicy;
+        private Duration operationQueueWaitTimeout;
         private Integer maxConcurrentOperations;
+        private Integer connectionCount;
         private Integer maxOperationRetries;
         private Integer maxReconnections;
+        private Integer readAheadBatches;
+        private Integer readAheadBytes;
+        private Integer maxParallelReads;
         private Integer persistentSubscriptionBufferSize;
         private Boolean persistentSubscriptionAutoAck;
+        private Integer persistentSubscriptionAckBatchSize;
+        private Duration persistentSubscriptionAckFlushDelay;
+        private SubscriptionBufferSettings subscriptionBufferSettings;
+        private Boolean lazyEventDecoding;
         private Boolean failOnNoServerResponse;
         private Executor executor;
+        private Transport transport;
 
         private Builder() {
         }
@@ -394,6 +492,31 @@ public class Settings {
             return this;
         }
 
+        /**
+         * Sets the policy, that is applied to a new operation when the operation queue is full
+         * (by default, {@link OperationQueueOverflowPolicy#Wait}).
+         *
+         * @param operationQueueOverflowPolicy operation queue overflow policy.
+         * @return the builder reference
+         */
+        public Builder operationQueueOverflowPolicy(OperationQueueOverflowPolicy operationQueueOverflowPolicy) {
+            this.operationQueueOverflowPolicy = operationQueueOverflowPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time to wait for a free slot in the operation queue, when
+         * {@link OperationQueueOverflowPolicy#Wait} policy is used (by default, 7 seconds).
+         * Once it elapses, the operation fails, whereas previously the caller waited with no timeout.
+         *
+         * @param operationQueueWaitTimeout the maximum amount of time to wait for a free slot in the operation queue.
+         * @return the builder reference
+         */
+        public Builder operationQueueWaitTimeout(Duration operationQueueWaitTimeout) {
+            this.operationQueueWaitTimeout = operationQueueWaitTimeout;
+            return this;
+        }
+
         /**
          * Sets the maximum number of allowed asynchronous operations to be in process (by default, 5000 operations).
          *
@@ -405,6 +528,23 @@ public class Settings {
             return this;
         }
 
+        /**
+         * Sets the number of TCP connections to the node (by default, 1 connection).
+         * <p>
+         * Stream operations are routed by the stream id, so the operations of the same stream are always sent
+         * over the same connection, while {@code $all} reads and subscriptions are spread round-robin.
+         * Connections, that are reserved for persistent subscription pool members, are skipped by round-robin.
+         * The maximum number of concurrent operations applies to every connection separately.
+         * </p>
+         *
+         * @param connectionCount the number of TCP connections to the node.
+         * @return the builder reference
+         */
+        public Builder connectionCount(int connectionCount) {
+            this.connectionCount = connectionCount;
+            return this;
+        }
+
         /**
          * Sets the maximum number of operation retry attempts (by default, 10 attempts).
          * When the specified number of retries for an operation is reached, then operation completes
@@ -429,6 +569,44 @@ public class Settings {
             return this;
         }
 
+        /**
+         * Sets the number of batches, that stream and {@code $all} iterators and streams read ahead of the consumer
+         * (by default, 1 batch). While the current batch is consumed, the next batches are already requested,
+         * one after another, as the position of every batch is known only when the previous one is received.
+         *
+         * @param readAheadBatches the number of batches to read ahead (use {@code 0} to disable read-ahead).
+         * @return the builder reference
+         */
+        public Builder readAheadBatches(int readAheadBatches) {
+            this.readAheadBatches = readAheadBatches;
+            return this;
+        }
+
+        /**
+         * Sets the maximum estimated size in bytes of batches, that stream and {@code $all} iterators and streams
+         * keep read ahead of the consumer (by default, 16 MB). Read-ahead pauses, when the budget is exhausted.
+         *
+         * @param readAheadBytes the maximum estimated size of read ahead batches in bytes.
+         * @return the builder reference
+         */
+        public Builder readAheadBytes(int readAheadBytes) {
+            this.readAheadBytes = readAheadBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent reads of a single multi-stream or {@code $all} range stream
+         * (by default, 16 reads). When such stream is processed in parallel, reads of its parts are issued
+         * concurrently, up to this limit.
+         *
+         * @param maxParallelReads the maximum number of concurrent reads.
+         * @return the builder reference
+         */
+        public Builder maxParallelReads(int maxParallelReads) {
+            this.maxParallelReads = maxParallelReads;
+            return this;
+        }
+
         /**
          * Sets the default buffer size to use for the persistent subscription (by default, 10 messages).
          *
@@ -452,6 +630,58 @@ public class Settings {
             return this;
         }
 
+        /**
+         * Sets the maximum number of processed or failed event ids, that are accumulated before they are sent to
+         * the server in a single acknowledgement of the persistent subscription (by default, 200 ids).
+         * Could not be greater than 2000. Acknowledgements are sent earlier, when a half of the persistent
+         * subscription buffer awaits them.
+         *
+         * @param persistentSubscriptionAckBatchSize the maximum number of accumulated event ids.
+         * @return the builder reference
+         */
+        public Builder persistentSubscriptionAckBatchSize(int persistentSubscriptionAckBatchSize) {
+            this.persistentSubscriptionAckBatchSize = persistentSubscriptionAckBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of time the processed or failed event ids are accumulated before they are sent
+         * to the server (by default, 10 milliseconds). Zero disables accumulation.
+         *
+         * @param persistentSubscriptionAckFlushDelay the maximum amount of time the event ids are accumulated.
+         * @return the builder reference
+         */
+        public Builder persistentSubscriptionAckFlushDelay(Duration persistentSubscriptionAckFlushDelay) {
+            this.persistentSubscriptionAckFlushDelay = persistentSubscriptionAckFlushDelay;
+            return this;
+        }
+
+        /**
+         * Sets the default buffer settings of volatile and persistent subscriptions
+         * (by default, {@link SubscriptionBufferSettings#DEFAULT}).
+         *
+         * @param subscriptionBufferSettings subscription buffer settings.
+         * @return the builder reference
+         */
+        public Builder subscriptionBufferSettings(SubscriptionBufferSettings subscriptionBufferSettings) {
+            this.subscriptionBufferSettings = subscriptionBufferSettings;
+            return this;
+        }
+
+        /**
+         * Sets whether or not to decode the id, data, metadata and creation time of read and subscribed events on first
+         * access, instead of on receipt. By default, it is disabled. Lazy events leave the corresponding public fields
+         * unset, so they should be read with the accessor methods (such as {@link RecordedEvent#data()}).
+         *
+         * @param lazyEventDecoding {@code true} to decode events on first access.
+         * @return the builder reference
+         * @see RecordedEvent#isLazy()
+         */
+        public Builder lazyEventDecoding(boolean lazyEventDecoding) {
+            this.lazyEventDecoding = lazyEventDecoding;
+            return this;
+        }
+
         /**
          * Sets whether or not to complete operation exceptionally with cause {@link OperationTimeoutException}
          * if no response is received from the server for an operation. By default, it is disabled - operations are
@@ -476,6 +706,21 @@ public class Settings {
             return this;
         }
 
+        /**
+         * Sets the I/O transport, that could be shared with other clients (by default, the client creates its own
+         * transport with one I/O thread per connection, see {@link #connectionCount(int)}, and shuts it down
+         * together with the client). Every connection is bound to one event loop of the transport, so a shared
+         * transport should have enough I/O threads to keep the connections of all its clients apart.
+         * The client does not shut down the specified transport.
+         *
+         * @param transport the I/O transport.
+         * @return the builder reference
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
         /**
          * Builds a client settings.
          *
@@ -527,12 +772,28 @@ public class Settings {
                 checkArgument(isPositive(maxOperationQueueSize), "maxOperationQueueSize should be positive");
             }
 
+            if (operationQueueOverflowPolicy == null) {
+                operationQueueOverflowPolicy = OperationQueueOverflowPolicy.Wait;
+            }
+
+            if (operationQueueWaitTimeout == null) {
+                operationQueueWaitTimeout = Duration.ofSeconds(7);
+            } else {
+                checkArgument(!operationQueueWaitTimeout.isNegative(), "operationQueueWaitTimeout should not be negative");
+            }
+
             if (maxConcurrentOperations == null) {
                 maxConcurrentOperations = 5000;
             } else {
                 checkArgument(isPositive(maxConcurrentOperations), "maxConcurrentOperations should be positive");
             }
 
+            if (connectionCount == null) {
+                connectionCount = 1;
+            } else {
+                checkArgument(isPositive(connectionCount), "connectionCount should be positive");
+            }
+
             if (maxOperationRetries == null) {
                 maxOperationRetries = 10;
             } else {
@@ -545,6 +806,24 @@ public class Settings {
                 checkArgument(ATTEMPTS_RANGE.contains(maxReconnections), "maxReconnections value is out of range. Allowed range: %s.", ATTEMPTS_RANGE.toString());
             }
 
+            if (readAheadBatches == null) {
+                readAheadBatches = 1;
+            } else {
+                checkArgument(!isNegative(readAheadBatches), "readAheadBatches should not be negative");
+            }
+
+            if (readAheadBytes == null) {
+                readAheadBytes = 16 * 1024 * 1024;
+            } else {
+                checkArgument(isPositive(readAheadBytes), "readAheadBytes should be positive");
+            }
+
+            if (maxParallelReads == null) {
+                maxParallelReads = 16;
+            } else {
+                checkArgument(isPositive(maxParallelReads), "maxParallelReads should be positive");
+            }
+
             if (persistentSubscriptionBufferSize == null) {
                 persistentSubscriptionBufferSize = 10;
             } else {
@@ -555,6 +834,28 @@ public class Settings {
                 persistentSubscriptionAutoAck = true;
             }
 
+            if (persistentSubscriptionAckBatchSize == null) {
+                persistentSubscriptionAckBatchSize = 200;
+            } else {
+                checkArgument(isPositive(persistentSubscriptionAckBatchSize), "persistentSubscriptionAckBatchSize should be positive");
+                checkArgument(persistentSubscriptionAckBatchSize <= PersistentSubscription.MAX_EVENTS,
+                    "persistentSubscriptionAckBatchSize should not be greater than %d", PersistentSubscription.MAX_EVENTS);
+            }
+
+            if (persistentSubscriptionAckFlushDelay == null) {
+                persistentSubscriptionAckFlushDelay = Duration.ofMillis(10);
+            } else {
+                checkArgument(!persistentSubscriptionAckFlushDelay.isNegative(), "persistentSubscriptionAckFlushDelay should not be negative");
+            }
+
+            if (subscriptionBufferSettings == null) {
+                subscriptionBufferSettings = SubscriptionBufferSettings.DEFAULT;
+            }
+
+            if (lazyEventDecoding == null) {
+                lazyEventDecoding = false;
+            }
+
             if (failOnNoServerResponse == null) {
                 failOnNoServerResponse = false;
             }
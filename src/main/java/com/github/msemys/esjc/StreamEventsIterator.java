@@ -12,7 +12,14 @@ import static com.github.msemys.esjc.util.Preconditions.checkState;
 public class StreamEventsIterator extends AbstractEventsIterator<Long, StreamEventsSlice> {
 
     StreamEventsIterator(long eventNumber, Function<Long, CompletableFuture<StreamEventsSlice>> reader) {
-        super(eventNumber, reader);
+        this(eventNumber, reader, 0, Integer.MAX_VALUE);
+    }
+
+    StreamEventsIterator(long eventNumber,
+                         Function<Long, CompletableFuture<StreamEventsSlice>> reader,
+                         int readAheadBatches,
+                         int readAheadBytes) {
+        super(eventNumber, reader, readAheadBatches, readAheadBytes);
     }
 
     @Override
@@ -33,7 +40,7 @@ public class StreamEventsIterator extends AbstractEventsIterator<Long, StreamEve
 
     @Override
     protected boolean isEndOfStream(StreamEventsSlice slice) {
-        return slice.isEndOfStream;
+        return slice.isEndOfStream || slice.status != SliceReadStatus.Success;
     }
 
 }
@@ -63,13 +63,25 @@ public class StreamEventsSlice {
                              long nextEventNumber,
                              long lastEventNumber,
                              boolean isEndOfStream) {
+        this(status, stream, fromEventNumber, readDirection, events, nextEventNumber, lastEventNumber, isEndOfStream, false);
+    }
+
+    public StreamEventsSlice(SliceReadStatus status,
+                             String stream,
+                             long fromEventNumber,
+                             ReadDirection readDirection,
+                             List<ResolvedIndexedEvent> events,
+                             long nextEventNumber,
+                             long lastEventNumber,
+                             boolean isEndOfStream,
+                             boolean lazyEvents) {
         checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
         this.status = status;
         this.stream = stream;
         this.fromEventNumber = fromEventNumber;
         this.readDirection = readDirection;
         this.events = (events == null) ? emptyList() : events.stream()
-            .map(ResolvedEvent::new)
+            .map(e -> new ResolvedEvent(e, lazyEvents))
             .collect(toCollection(() -> new ArrayList<>(events.size())));
         this.nextEventNumber = nextEventNumber;
         this.lastEventNumber = lastEventNumber;
@@ -37,6 +37,16 @@ public abstract class Subscription implements AutoCloseable {
         return isNullOrEmpty(streamId);
     }
 
+    /**
+     * Gets the number of pushed events, that were discarded by the client because the subscription buffer was full
+     * (applies to {@link SubscriptionBufferOverflowPolicy#DropOldest} policy).
+     *
+     * @return the number of dropped events
+     */
+    public long droppedEventCount() {
+        return 0;
+    }
+
     /**
      * Unsubscribes from the stream.
      */
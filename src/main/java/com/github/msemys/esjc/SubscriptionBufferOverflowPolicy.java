@@ -0,0 +1,36 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.subscription.SubscriptionBufferOverflowException;
+
+/**
+ * Specifies how the client handles a pushed event, when the subscription buffer is full.
+ *
+ * @see SubscriptionBufferSettings#maxSize
+ */
+public enum SubscriptionBufferOverflowPolicy {
+
+    /**
+     * Drops the subscription with {@link SubscriptionDropReason#ProcessingQueueOverflow} reason and
+     * {@link SubscriptionBufferOverflowException}. Events, that are already buffered, are still delivered.
+     */
+    DropSubscription,
+
+    /**
+     * Discards the oldest buffered event to make room for the new one, so the subscriber skips events,
+     * but stays close to the head of the stream. Discarded events are counted.
+     *
+     * @see Subscription#droppedEventCount()
+     */
+    DropOldest,
+
+    /**
+     * Stops reading from the connection while the buffer is full, so the server is slowed down by TCP back-pressure,
+     * and resumes reading once the subscriber has handled half of the buffered events. No events are discarded, and
+     * the events, that were already read when the buffer filled up, are buffered over the maximum size. Reads are
+     * paused for the whole connection (including the other operations and heartbeats on that connection) until the
+     * subscriber catches up, so event handlers should not wait for the results of operations on the same client
+     * under this policy.
+     */
+    Block
+
+}
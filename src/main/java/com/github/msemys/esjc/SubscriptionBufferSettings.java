@@ -0,0 +1,101 @@
+package com.github.msemys.esjc;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+
+/**
+ * Subscription buffer settings, that bound the number of pushed events waiting for the subscription listener.
+ *
+ * @see SubscriptionBufferOverflowPolicy
+ */
+public class SubscriptionBufferSettings {
+
+    /**
+     * Subscription buffer default settings.
+     */
+    public static final SubscriptionBufferSettings DEFAULT = newBuilder().build();
+
+    /**
+     * The maximum number of pushed events waiting for the subscription listener.
+     */
+    public final int maxSize;
+
+    /**
+     * The policy, that is applied to a pushed event when the buffer is full.
+     */
+    public final SubscriptionBufferOverflowPolicy overflowPolicy;
+
+    private SubscriptionBufferSettings(Builder builder) {
+        maxSize = builder.maxSize;
+        overflowPolicy = builder.overflowPolicy;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("SubscriptionBufferSettings{");
+        sb.append("maxSize=").append(maxSize);
+        sb.append(", overflowPolicy=").append(overflowPolicy);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Creates a new subscription buffer settings builder.
+     *
+     * @return subscription buffer settings builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Subscription buffer settings builder.
+     */
+    public static class Builder {
+        private Integer maxSize;
+        private SubscriptionBufferOverflowPolicy overflowPolicy;
+
+        /**
+         * Sets the maximum number of pushed events waiting for the subscription listener (by default, 2000 events).
+         *
+         * @param maxSize the maximum number of pushed events waiting for the subscription listener.
+         * @return the builder reference
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the policy, that is applied to a pushed event when the buffer is full
+         * (by default, {@link SubscriptionBufferOverflowPolicy#DropSubscription}).
+         *
+         * @param overflowPolicy subscription buffer overflow policy.
+         * @return the builder reference
+         */
+        public Builder overflowPolicy(SubscriptionBufferOverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Builds a subscription buffer settings.
+         *
+         * @return subscription buffer settings
+         */
+        public SubscriptionBufferSettings build() {
+            if (maxSize == null) {
+                maxSize = 2000;
+            } else {
+                checkArgument(isPositive(maxSize), "maxSize should be positive");
+            }
+
+            if (overflowPolicy == null) {
+                overflowPolicy = SubscriptionBufferOverflowPolicy.DropSubscription;
+            }
+
+            return new SubscriptionBufferSettings(this);
+        }
+    }
+
+}
@@ -90,6 +90,21 @@ public class Transaction implements AutoCloseable {
         return transactionManager.write(this, events);
     }
 
+    /**
+     * Writes events to this transaction, without retrying the write, so that it could be pipelined
+     * with other writes of this transaction.
+     *
+     * @param events the events to write.
+     * @return a {@code CompletableFuture} representing the result of this operation
+     * @see TransactionManager#writeWithoutRetries(Transaction, Iterable, UserCredentials)
+     */
+    CompletableFuture<Void> writeWithoutRetries(Iterable<EventData> events) {
+        checkState(!isRolledBack, "Cannot write to a rolled-back transaction");
+        checkState(!isCommitted, "Transaction is already committed");
+
+        return transactionManager.writeWithoutRetries(this, events, userCredentials);
+    }
+
     /**
      * Rollbacks this transaction.
      */
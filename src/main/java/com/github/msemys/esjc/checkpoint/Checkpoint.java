@@ -0,0 +1,108 @@
+package com.github.msemys.esjc.checkpoint;
+
+import com.github.msemys.esjc.Position;
+import com.github.msemys.esjc.util.Throwables;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Represents the last processed event of a catch-up subscription: the event number for a stream subscription,
+ * or the position for a {@code $all} stream subscription.
+ */
+public class Checkpoint {
+    private static final Gson gson = new GsonBuilder()
+        .registerTypeAdapter(Checkpoint.class, new CheckpointJsonAdapter())
+        .create();
+
+    /**
+     * The last processed event number ({@code null} for {@code $all} stream checkpoints).
+     */
+    public final Long eventNumber;
+
+    /**
+     * The last processed position ({@code null} for stream checkpoints).
+     */
+    public final Position position;
+
+    private Checkpoint(Long eventNumber, Position position) {
+        this.eventNumber = eventNumber;
+        this.position = position;
+    }
+
+    /**
+     * Creates a new stream checkpoint.
+     *
+     * @param eventNumber the last processed event number.
+     * @return checkpoint
+     */
+    public static Checkpoint of(long eventNumber) {
+        return new Checkpoint(eventNumber, null);
+    }
+
+    /**
+     * Creates a new {@code $all} stream checkpoint.
+     *
+     * @param position the last processed position.
+     * @return checkpoint
+     */
+    public static Checkpoint of(Position position) {
+        checkNotNull(position, "position is null");
+        return new Checkpoint(null, position);
+    }
+
+    /**
+     * Converts to JSON representation.
+     *
+     * @return checkpoint
+     */
+    public String toJson() {
+        return gson.toJson(this);
+    }
+
+    /**
+     * Creates a new checkpoint from the specified JSON.
+     *
+     * @param bytes checkpoint.
+     * @return checkpoint
+     */
+    public static Checkpoint fromJson(byte[] bytes) {
+        checkNotNull(bytes, "bytes is null");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes)))) {
+            return gson.fromJson(new JsonReader(reader), Checkpoint.class);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Checkpoint that = (Checkpoint) o;
+
+        if (eventNumber != null ? !eventNumber.equals(that.eventNumber) : that.eventNumber != null) return false;
+        return position != null ? position.equals(that.position) : that.position == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = eventNumber != null ? eventNumber.hashCode() : 0;
+        result = 31 * result + (position != null ? position.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return (eventNumber != null) ? "Checkpoint{eventNumber=" + eventNumber + '}' : "Checkpoint{position=" + position + '}';
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.github.msemys.esjc.checkpoint;
+
+import com.github.msemys.esjc.Position;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+public class CheckpointJsonAdapter extends TypeAdapter<Checkpoint> {
+    private static final String EVENT_NUMBER = "eventNumber";
+    private static final String COMMIT_POSITION = "commitPosition";
+    private static final String PREPARE_POSITION = "preparePosition";
+
+    @Override
+    public void write(JsonWriter writer, Checkpoint value) throws IOException {
+        writer.beginObject();
+
+        if (value.eventNumber != null) {
+            writer.name(EVENT_NUMBER).value(value.eventNumber);
+        }
+
+        if (value.position != null) {
+            writer.name(COMMIT_POSITION).value(value.position.commitPosition);
+            writer.name(PREPARE_POSITION).value(value.position.preparePosition);
+        }
+
+        writer.endObject();
+    }
+
+    @Override
+    public Checkpoint read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            return null;
+        }
+
+        Long eventNumber = null;
+        Long commitPosition = null;
+        Long preparePosition = null;
+
+        reader.beginObject();
+
+        while (reader.peek() != JsonToken.END_OBJECT && reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case EVENT_NUMBER:
+                    eventNumber = reader.nextLong();
+                    break;
+                case COMMIT_POSITION:
+                    commitPosition = reader.nextLong();
+                    break;
+                case PREPARE_POSITION:
+                    preparePosition = reader.nextLong();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        if (eventNumber != null) {
+            return Checkpoint.of(eventNumber);
+        } else if (commitPosition != null && preparePosition != null) {
+            return Checkpoint.of(Position.of(commitPosition, preparePosition));
+        } else {
+            return null;
+        }
+    }
+}
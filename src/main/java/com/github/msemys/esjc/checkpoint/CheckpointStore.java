@@ -0,0 +1,28 @@
+package com.github.msemys.esjc.checkpoint;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checkpoint store, that keeps the last checkpoint by the checkpoint name.
+ */
+public interface CheckpointStore {
+
+    /**
+     * Reads the last stored checkpoint asynchronously.
+     *
+     * @param name checkpoint name.
+     * @return a {@code CompletableFuture} representing the result of this operation, that completes with
+     * {@code null}, if there is no stored checkpoint
+     */
+    CompletableFuture<Checkpoint> read(String name);
+
+    /**
+     * Stores the checkpoint asynchronously, replacing the previous one.
+     *
+     * @param name       checkpoint name.
+     * @param checkpoint checkpoint.
+     * @return a {@code CompletableFuture} representing the result of this operation
+     */
+    CompletableFuture<Void> write(String name, Checkpoint checkpoint);
+
+}
@@ -0,0 +1,178 @@
+package com.github.msemys.esjc.checkpoint;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Checkpointer, that keeps the latest checkpoint in memory and writes it to the checkpoint store
+ * every {@code flushEvents} events and every {@code flushInterval}, off the event processing thread.
+ * At most one checkpoint write is in flight, so checkpoints are written in order and intermediate
+ * checkpoints are skipped when the store is slower than the event processing. A checkpoint, that was
+ * updated while a write was in flight, is written right after that write.
+ */
+public class Checkpointer {
+    private static final Logger logger = LoggerFactory.getLogger(Checkpointer.class);
+
+    private final CheckpointStore store;
+    private final String name;
+    private final int flushEvents;
+    private final Duration flushInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Checkpoint latestCheckpoint;
+    private volatile Checkpoint writtenCheckpoint;
+    private int unflushedEvents;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private ScheduledFuture<?> timer;
+
+    /**
+     * Creates a new checkpointer.
+     *
+     * @param store         checkpoint store.
+     * @param name          checkpoint name.
+     * @param flushEvents   the number of events, after which the checkpoint is written.
+     * @param flushInterval the interval, at which the checkpoint is written.
+     * @param scheduler     the scheduler to write checkpoints with.
+     */
+    public Checkpointer(CheckpointStore store,
+                        String name,
+                        int flushEvents,
+                        Duration flushInterval,
+                        ScheduledExecutorService scheduler) {
+        checkNotNull(store, "store is null");
+        checkArgument(!isNullOrEmpty(name), "name is null or empty");
+        checkArgument(isPositive(flushEvents), "flushEvents should be positive");
+        checkNotNull(flushInterval, "flushInterval is null");
+        checkArgument(!flushInterval.isNegative() && !flushInterval.isZero(), "flushInterval should be positive");
+        checkNotNull(scheduler, "scheduler is null");
+
+        this.store = store;
+        this.name = name;
+        this.flushEvents = flushEvents;
+        this.flushInterval = flushInterval;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Reads the last stored checkpoint asynchronously.
+     *
+     * @return a {@code CompletableFuture} representing the result of this operation, that completes with
+     * {@code null}, if there is no stored checkpoint
+     */
+    public CompletableFuture<Checkpoint> read() {
+        return store.read(name);
+    }
+
+    /**
+     * Starts writing checkpoints periodically.
+     */
+    public synchronized void start() {
+        if (timer == null) {
+            long interval = flushInterval.toMillis();
+
+            try {
+                timer = scheduler.scheduleAtFixedRate(this::flush, interval, interval, MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Unable to start writing checkpoint '{}' periodically, scheduler is shut down.", name);
+            }
+        }
+    }
+
+    /**
+     * Stops writing checkpoints periodically and writes the latest checkpoint.
+     */
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+
+        flush();
+    }
+
+    /**
+     * Updates the latest checkpoint. Should be called by the single event processing thread.
+     *
+     * @param checkpoint the latest checkpoint.
+     */
+    public void update(Checkpoint checkpoint) {
+        latestCheckpoint = checkpoint;
+
+        if (++unflushedEvents >= flushEvents) {
+            unflushedEvents = 0;
+
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Unable to flush checkpoint '{}', scheduler is shut down.", name);
+            }
+        }
+    }
+
+    /**
+     * Writes the latest checkpoint, if it was not written yet.
+     */
+    public void flush() {
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+
+        Checkpoint checkpoint = latestCheckpoint;
+
+        if (checkpoint == null || checkpoint.equals(writtenCheckpoint)) {
+            writing.set(false);
+            flushIfUpdated(checkpoint);
+            return;
+        }
+
+        CompletableFuture<Void> result;
+
+        try {
+            result = store.write(name, checkpoint);
+        } catch (Exception e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+
+        result.whenComplete((r, throwable) -> {
+            if (throwable != null) {
+                logger.warn("Unable to write checkpoint '{}': {}", name, checkpoint, throwable);
+            } else {
+                writtenCheckpoint = checkpoint;
+            }
+
+            writing.set(false);
+            flushIfUpdated(checkpoint);
+        });
+    }
+
+    /**
+     * Flushes again, if the checkpoint was updated after it was taken for writing. The check follows the release
+     * of the write flag, so an update, whose flush request found a write in flight, is never lost.
+     */
+    private void flushIfUpdated(Checkpoint checkpoint) {
+        Checkpoint latest = latestCheckpoint;
+
+        if (latest != checkpoint && latest != writtenCheckpoint) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Unable to flush checkpoint '{}', scheduler is shut down.", name);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.github.msemys.esjc.checkpoint;
+
+import com.github.msemys.esjc.*;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+
+/**
+ * Checkpoint store, that keeps checkpoints in Event Store checkpoint streams (one stream per checkpoint name).
+ * Checkpoint streams are limited to the single (last) event by the {@code $maxCount} stream metadata,
+ * that is set before the first checkpoint is written.
+ */
+public class EventStoreCheckpointStore implements CheckpointStore {
+
+    /**
+     * The default prefix of checkpoint stream names.
+     */
+    public static final String DEFAULT_STREAM_PREFIX = "checkpoint-";
+
+    private static final String EVENT_TYPE = "checkpoint";
+    private static final StreamMetadata STREAM_METADATA = StreamMetadata.newBuilder().maxCount(1L).build();
+
+    private final EventStore eventstore;
+    private final String streamPrefix;
+    private final UserCredentials userCredentials;
+    private final Set<String> initializedStreams = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new checkpoint store, that uses the default stream prefix and default user credentials.
+     *
+     * @param eventstore the event store client.
+     */
+    public EventStoreCheckpointStore(EventStore eventstore) {
+        this(eventstore, DEFAULT_STREAM_PREFIX, null);
+    }
+
+    /**
+     * Creates a new checkpoint store.
+     *
+     * @param eventstore      the event store client.
+     * @param streamPrefix    the prefix of checkpoint stream names.
+     * @param userCredentials user credentials to be used (use {@code null} for default user credentials).
+     */
+    public EventStoreCheckpointStore(EventStore eventstore, String streamPrefix, UserCredentials userCredentials) {
+        checkNotNull(eventstore, "eventstore is null");
+        checkNotNull(streamPrefix, "streamPrefix is null");
+
+        this.eventstore = eventstore;
+        this.streamPrefix = streamPrefix;
+        this.userCredentials = userCredentials;
+    }
+
+    @Override
+    public CompletableFuture<Checkpoint> read(String name) {
+        return eventstore.readStreamEventsBackward(stream(name), StreamPosition.END, 1, false, userCredentials)
+            .thenApply(slice -> (slice.status == SliceReadStatus.Success && !slice.events.isEmpty()) ?
+                Checkpoint.fromJson(slice.events.get(0).event.data()) : null);
+    }
+
+    @Override
+    public CompletableFuture<Void> write(String name, Checkpoint checkpoint) {
+        checkNotNull(checkpoint, "checkpoint is null");
+
+        String stream = stream(name);
+
+        EventData event = EventData.newBuilder()
+            .type(EVENT_TYPE)
+            .jsonData(checkpoint.toJson())
+            .build();
+
+        CompletableFuture<?> initialization = initializedStreams.contains(stream) ?
+            CompletableFuture.completedFuture(null) :
+            eventstore.setStreamMetadata(stream, ExpectedVersion.ANY, STREAM_METADATA, userCredentials)
+                .thenRun(() -> initializedStreams.add(stream));
+
+        return initialization
+            .thenCompose(r -> eventstore.appendToStream(stream, ExpectedVersion.ANY, event, userCredentials))
+            .thenApply(r -> null);
+    }
+
+    private String stream(String name) {
+        checkArgument(!isNullOrEmpty(name), "name is null or empty");
+        return streamPrefix + name;
+    }
+
+}
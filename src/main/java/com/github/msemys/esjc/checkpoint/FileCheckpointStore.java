@@ -0,0 +1,182 @@
+package com.github.msemys.esjc.checkpoint;
+
+import com.github.msemys.esjc.Position;
+import com.github.msemys.esjc.util.Throwables;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Checkpoint store, that keeps checkpoints in local memory-mapped files (one file per checkpoint name).
+ * <p>
+ * Checkpoints are written to the mapped memory, so writes are cheap and survive the process crash, while the
+ * operating system writes them to the disk in the background. Use {@code force} to write every checkpoint
+ * to the disk synchronously, that survives the operating system crash as well.
+ * </p>
+ * <p>
+ * Every file keeps two checksummed slots, that are written alternately, so a torn write (a crash in the middle of
+ * a write) only damages the slot being written, and the previous checkpoint is read from the other slot.
+ * </p>
+ */
+public class FileCheckpointStore implements CheckpointStore {
+    private static final String FILE_EXTENSION = ".checkpoint";
+    private static final int SLOT_SIZE = 32;
+    private static final int SLOT_DATA_SIZE = 8 + 1 + 8 + 8;
+    private static final int FILE_SIZE = 2 * SLOT_SIZE;
+    private static final byte EVENT_NUMBER = 1;
+    private static final byte POSITION = 2;
+
+    private final Path directory;
+    private final boolean force;
+    private final Map<String, MappedByteBuffer> files = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new checkpoint store, that does not force checkpoints to the disk.
+     *
+     * @param directory the directory of checkpoint files.
+     */
+    public FileCheckpointStore(Path directory) {
+        this(directory, false);
+    }
+
+    /**
+     * Creates a new checkpoint store.
+     *
+     * @param directory the directory of checkpoint files.
+     * @param force     whether to write every checkpoint to the disk synchronously.
+     */
+    public FileCheckpointStore(Path directory, boolean force) {
+        checkNotNull(directory, "directory is null");
+
+        this.directory = directory;
+        this.force = force;
+    }
+
+    @Override
+    public CompletableFuture<Checkpoint> read(String name) {
+        CompletableFuture<Checkpoint> result = new CompletableFuture<>();
+
+        try {
+            MappedByteBuffer buffer = file(name);
+
+            synchronized (buffer) {
+                int slot = latestSlot(buffer);
+
+                if (slot < 0) {
+                    result.complete(null);
+                } else if (buffer.get(slot + 8) == EVENT_NUMBER) {
+                    result.complete(Checkpoint.of(buffer.getLong(slot + 9)));
+                } else {
+                    result.complete(Checkpoint.of(Position.of(buffer.getLong(slot + 9), buffer.getLong(slot + 17))));
+                }
+            }
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Void> write(String name, Checkpoint checkpoint) {
+        checkNotNull(checkpoint, "checkpoint is null");
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        try {
+            MappedByteBuffer buffer = file(name);
+
+            synchronized (buffer) {
+                int latestSlot = latestSlot(buffer);
+                long generation = (latestSlot < 0) ? 0 : buffer.getLong(latestSlot) + 1;
+                int slot = (int) (generation & 1) * SLOT_SIZE;
+
+                buffer.putLong(slot, generation);
+
+                if (checkpoint.eventNumber != null) {
+                    buffer.put(slot + 8, EVENT_NUMBER).putLong(slot + 9, checkpoint.eventNumber).putLong(slot + 17, 0);
+                } else {
+                    buffer.put(slot + 8, POSITION)
+                        .putLong(slot + 9, checkpoint.position.commitPosition)
+                        .putLong(slot + 17, checkpoint.position.preparePosition);
+                }
+
+                buffer.putInt(slot + SLOT_DATA_SIZE, checksum(buffer, slot));
+
+                if (force) {
+                    buffer.force();
+                }
+            }
+
+            result.complete(null);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the offset of the valid slot with the latest generation.
+     *
+     * @param buffer file buffer.
+     * @return slot offset, or {@code -1} if there is no valid slot
+     */
+    private static int latestSlot(MappedByteBuffer buffer) {
+        int result = -1;
+
+        for (int slot = 0; slot < FILE_SIZE; slot += SLOT_SIZE) {
+            byte type = buffer.get(slot + 8);
+
+            if ((type == EVENT_NUMBER || type == POSITION) &&
+                buffer.getInt(slot + SLOT_DATA_SIZE) == checksum(buffer, slot) &&
+                (result < 0 || buffer.getLong(slot) > buffer.getLong(result))) {
+                result = slot;
+            }
+        }
+
+        return result;
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int slot) {
+        CRC32 crc = new CRC32();
+        for (int i = slot; i < slot + SLOT_DATA_SIZE; i++) {
+            crc.update(buffer.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer file(String name) {
+        checkArgument(!isNullOrEmpty(name), "name is null or empty");
+
+        return files.computeIfAbsent(name, n -> {
+            try {
+                Files.createDirectories(directory);
+
+                // the mapping stays valid after the channel is closed
+                try (FileChannel channel = FileChannel.open(directory.resolve(fileName(n)), CREATE, READ, WRITE)) {
+                    return channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+                }
+            } catch (IOException e) {
+                throw Throwables.propagate(e);
+            }
+        });
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_") + FILE_EXTENSION;
+    }
+
+}
@@ -2,18 +2,17 @@ package com.github.msemys.esjc.http;
 
 import com.github.msemys.esjc.UserCredentials;
 import com.github.msemys.esjc.http.handler.HttpResponseHandler;
-import com.github.msemys.esjc.util.concurrent.ResettableLatch;
+import com.github.msemys.esjc.transport.Transport;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.*;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
-import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.Timer;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -21,7 +20,6 @@ import java.util.Base64;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.github.msemys.esjc.util.Numbers.isPositive;
@@ -29,39 +27,45 @@ import static com.github.msemys.esjc.util.Preconditions.*;
 import static com.github.msemys.esjc.util.Strings.*;
 import static io.netty.buffer.Unpooled.copiedBuffer;
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
- * HTTP client without pipelining support
+ * HTTP client without pipelining support.
+ * <p>
+ * Requests are sent one at a time from the event loop, that serves the connection, so the client does not need
+ * a thread of its own.
+ * </p>
  */
 public class HttpClient implements AutoCloseable {
-    private final EventLoopGroup group = new NioEventLoopGroup(0, new DefaultThreadFactory("es-http"));
+    private final Transport transport;
+    private final boolean ownsTransport;
     private final Bootstrap bootstrap;
     private final String host;
     private final boolean acceptGzip;
     private final long operationTimeoutMillis;
 
-    private final ExecutorService queueExecutor = newSingleThreadExecutor(new DefaultThreadFactory("es-http-queue"));
+    private final EventLoop eventLoop;
     private final Queue<HttpOperation> queue = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean isProcessing = new AtomicBoolean();
-    private final ResettableLatch received = new ResettableLatch(false);
 
     private volatile Channel channel;
+    private volatile boolean closed;
 
     private HttpClient(Builder builder) {
+        ownsTransport = (builder.transport == null);
+        transport = ownsTransport ? Transport.newBuilder().ioThreads(1).threadNamePrefix("es-http").build() : builder.transport;
         host = builder.address.getHostString();
         acceptGzip = builder.acceptGzip;
         operationTimeoutMillis = builder.operationTimeout.toMillis();
+        eventLoop = transport.group().next();
 
         bootstrap = new Bootstrap()
             .remoteAddress(builder.address)
             .option(ChannelOption.TCP_NODELAY, true)
             .option(ChannelOption.SO_REUSEADDR, false)
             .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) builder.connectTimeout.toMillis())
-            .group(group)
-            .channel(NioSocketChannel.class)
+            .group(eventLoop)
+            .channel(transport.channelType())
             .handler(new ChannelInitializer<SocketChannel>() {
                 @Override
                 protected void initChannel(SocketChannel ch) throws Exception {
@@ -100,78 +104,99 @@ public class HttpClient implements AutoCloseable {
         queue.offer(operation);
 
         if (isProcessing.compareAndSet(false, true)) {
-            queueExecutor.execute(this::processQueue);
+            eventLoop.execute(this::processQueue);
         }
     }
 
     private void processQueue() {
-        do {
-            HttpOperation operation;
-
-            while ((operation = queue.poll()) != null) {
-                if (channel == null || !channel.isActive()) {
-                    try {
-                        channel = bootstrap.connect().syncUninterruptibly().channel();
-                    } catch (Exception e) {
-                        operation.response.completeExceptionally(e);
-
-                        if (isRunning()) {
-                            continue;
-                        } else {
-                            break;
-                        }
-                    }
-                }
+        HttpOperation operation;
 
-                write(operation);
-            }
+        while ((operation = queue.poll()) != null && !isRunning()) {
+            operation.response.completeExceptionally(new HttpClientException("Client closed"));
+        }
 
+        if (operation == null) {
             isProcessing.set(false);
-        } while (isRunning() && !queue.isEmpty() && isProcessing.compareAndSet(false, true));
+            if (isRunning() && !queue.isEmpty() && isProcessing.compareAndSet(false, true)) {
+                processQueue();
+            }
+        } else if (channel == null || !channel.isActive()) {
+            HttpOperation connectingOperation = operation;
+            bootstrap.connect().addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    channel = future.channel();
+                    write(connectingOperation);
+                } else {
+                    connectingOperation.response.completeExceptionally(future.cause());
+                    processQueue();
+                }
+            });
+        } else {
+            write(operation);
+        }
     }
 
     private void write(HttpOperation operation) {
-        received.reset();
-
-        operation.response.whenComplete((r, t) -> received.release());
-
-        HttpResponseHandler responseHandler = channel.pipeline().get(HttpResponseHandler.class);
+        Channel currentChannel = channel;
+        HttpResponseHandler responseHandler = currentChannel.pipeline().get(HttpResponseHandler.class);
         responseHandler.pendingResponse = operation.response;
 
-        try {
-            channel.writeAndFlush(operation.request).sync();
+        ScheduledFuture<?> timeoutTask = eventLoop.schedule(() -> {
+            if (operation.response.completeExceptionally(new HttpOperationTimeoutException(operation.request))) {
+                currentChannel.close();
+            }
+        }, operationTimeoutMillis, MILLISECONDS);
+
+        operation.response.whenComplete((r, t) -> {
+            timeoutTask.cancel(false);
+            if (!eventLoop.isShuttingDown()) {
+                eventLoop.execute(() -> {
+                    responseHandler.pendingResponse = null;
+                    processQueue();
+                });
+            }
+        });
 
-            if (!received.await(operationTimeoutMillis, MILLISECONDS)) {
-                channel.close().awaitUninterruptibly();
-                operation.response.completeExceptionally(new HttpOperationTimeoutException(operation.request));
+        currentChannel.writeAndFlush(operation.request).addListener(future -> {
+            if (!future.isSuccess()) {
+                operation.response.completeExceptionally(future.cause());
             }
-        } catch (Exception e) {
-            operation.response.completeExceptionally(e);
-        } finally {
-            responseHandler.pendingResponse = null;
-        }
+        });
+    }
+
+    /**
+     * Gets the timer of the underlying transport.
+     *
+     * @return timer
+     */
+    public Timer timer() {
+        return transport.timer();
     }
 
     private boolean isRunning() {
-        return !group.isShuttingDown();
+        return !closed && !transport.group().isShuttingDown();
     }
 
     @Override
     public void close() {
-        Future shutdownFuture = group.shutdownGracefully(0, 15, SECONDS);
-        queueExecutor.shutdown();
+        closed = true;
+
+        Future shutdownFuture;
+
+        if (ownsTransport) {
+            shutdownFuture = transport.shutdown();
+        } else {
+            Channel currentChannel = channel;
+            shutdownFuture = (currentChannel != null) ? currentChannel.close() : null;
+        }
 
         HttpOperation operation;
         while ((operation = queue.poll()) != null) {
             operation.response.completeExceptionally(new HttpClientException("Client closed"));
         }
 
-        shutdownFuture.awaitUninterruptibly();
-
-        try {
-            queueExecutor.awaitTermination(5, SECONDS);
-        } catch (InterruptedException e) {
-            // ignore
+        if (shutdownFuture != null) {
+            shutdownFuture.awaitUninterruptibly();
         }
     }
 
@@ -234,6 +259,7 @@ public class HttpClient implements AutoCloseable {
         private Duration operationTimeout;
         private Boolean acceptGzip;
         private Integer maxContentLength;
+        private Transport transport;
 
         /**
          * Sets server address.
@@ -301,6 +327,20 @@ public class HttpClient implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Sets the I/O transport, that could be shared with other clients (by default, the HTTP client creates its
+         * own transport with a single {@code es-http} I/O thread, that is shut down, when the client is closed).
+         * The HTTP client serves all its requests on one event loop of the transport, so a multi-threaded transport
+         * does not make it use more threads. The client does not shut down the specified transport.
+         *
+         * @param transport the I/O transport.
+         * @return the builder reference
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
         /**
          * Builds a HTTP client.
          *
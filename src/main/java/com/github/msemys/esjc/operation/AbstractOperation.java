@@ -18,9 +18,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Strings.defaultIfEmpty;
-import static com.github.msemys.esjc.util.Strings.newString;
 import static io.netty.buffer.ByteBufUtil.prettyHexDump;
-import static io.netty.buffer.Unpooled.wrappedBuffer;
 
 public abstract class AbstractOperation<T, R extends MessageLite> implements Operation {
 
@@ -31,8 +29,10 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
     protected final UserCredentials userCredentials;
 
     private final CompletableFuture<T> result;
+    private byte[] requestData;
     private R responseMessage;
     private final AtomicBoolean completed = new AtomicBoolean(false);
+    private volatile Runnable completionAction;
 
     protected AbstractOperation(CompletableFuture<T> result,
                                 TcpCommand requestCommand,
@@ -52,15 +52,24 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
 
     protected abstract T transformResponseMessage(R response);
 
+    @Override
+    public void serializeRequest() {
+        if (requestData == null) {
+            requestData = createRequestMessage().toByteArray();
+        }
+    }
+
     @Override
     public TcpPackage create(UUID correlationId) {
+        serializeRequest();
+
         return TcpPackage.newBuilder()
                 .command(requestCommand)
                 .flag(userCredentials != null ? TcpFlag.Authenticated : TcpFlag.None)
                 .correlationId(correlationId)
                 .login(userCredentials != null ? userCredentials.username : null)
                 .password(userCredentials != null ? userCredentials.password : null)
-                .data(createRequestMessage().toByteArray())
+                .data(requestData)
                 .build();
     }
 
@@ -69,7 +78,7 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
     public InspectionResult inspect(TcpPackage tcpPackage) {
         try {
             if (tcpPackage.command == responseCommand) {
-                responseMessage = (R) createResponseMessage().getParserForType().parseFrom(tcpPackage.data);
+                responseMessage = (R) tcpPackage.parseData(createResponseMessage().getParserForType());
                 return inspectResponseMessage(responseMessage);
             } else {
                 switch (tcpPackage.command) {
@@ -93,7 +102,7 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
     }
 
     private InspectionResult inspectNotAuthenticated(TcpPackage tcpPackage) {
-        String message = newString(tcpPackage.data);
+        String message = tcpPackage.dataAsString();
         fail(new NotAuthenticatedException(defaultIfEmpty(message, "Authentication error")));
         return InspectionResult.newBuilder()
                 .decision(InspectionDecision.EndOperation)
@@ -102,7 +111,7 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
     }
 
     private InspectionResult inspectBadRequest(TcpPackage tcpPackage) {
-        String message = newString(tcpPackage.data);
+        String message = tcpPackage.dataAsString();
         fail(new ServerErrorException(defaultIfEmpty(message, "<no message>")));
         return InspectionResult.newBuilder()
                 .decision(InspectionDecision.EndOperation)
@@ -112,7 +121,7 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
 
     private InspectionResult inspectNotHandled(TcpPackage tcpPackage) {
         try {
-            NotHandled message = NotHandled.parseFrom(tcpPackage.data);
+            NotHandled message = tcpPackage.parseData(NotHandled.PARSER);
 
             switch (message.getReason()) {
                 case NotReady:
@@ -126,7 +135,7 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
                             .description("NotHandled - TooBusy")
                             .build();
                 case NotMaster:
-                    MasterInfo masterInfo = MasterInfo.parseFrom(message.getAdditionalInfo().toByteArray());
+                    MasterInfo masterInfo = MasterInfo.parseFrom(message.getAdditionalInfo());
                     return InspectionResult.newBuilder()
                             .decision(InspectionDecision.Reconnect)
                             .description("NotHandled - NotMaster")
@@ -152,8 +161,8 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
                         "Expected: {}, Actual: {}, Flags: {}, CorrelationId: {}\n" +
                         "Operation ({}): {}\n" +
                         "TcpPackage Data Dump:\n{}",
-                expectedCommand, tcpPackage.command, tcpPackage.flag, tcpPackage.correlationId,
-                getClass().getSimpleName(), this, prettyHexDump(wrappedBuffer(tcpPackage.data)));
+                expectedCommand, tcpPackage.command, tcpPackage.flag, tcpPackage.correlationId(),
+                getClass().getSimpleName(), this, prettyHexDump(tcpPackage.dataBuffer()));
 
         fail(new CommandNotExpectedException(expectedCommand, tcpPackage.command));
 
@@ -163,8 +172,14 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
                 .build();
     }
 
+    @Override
+    public void whenComplete(Runnable action) {
+        completionAction = action;
+    }
+
     protected void succeed() {
         if (completed.compareAndSet(false, true)) {
+            runCompletionAction();
             if (responseMessage != null) {
                 result.complete(transformResponseMessage(responseMessage));
             } else {
@@ -176,8 +191,16 @@ public abstract class AbstractOperation<T, R extends MessageLite> implements Ope
     @Override
     public void fail(Exception exception) {
         if (completed.compareAndSet(false, true)) {
+            runCompletionAction();
             result.completeExceptionally(exception);
         }
     }
 
+    private void runCompletionAction() {
+        Runnable action = completionAction;
+        if (action != null) {
+            action.run();
+        }
+    }
+
 }
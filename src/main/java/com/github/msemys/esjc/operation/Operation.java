@@ -6,10 +6,23 @@ import java.util.UUID;
 
 public interface Operation {
 
+    /**
+     * Serializes the request message in advance, so that it is serialized on the calling thread,
+     * rather than on the thread, that creates the TCP package.
+     */
+    void serializeRequest();
+
     TcpPackage create(UUID correlationId);
 
     InspectionResult inspect(TcpPackage tcpPackage);
 
     void fail(Exception exception);
 
+    /**
+     * Registers the action, that is run once, when the operation completes (either successfully or not).
+     *
+     * @param action completion action.
+     */
+    void whenComplete(Runnable action);
+
 }
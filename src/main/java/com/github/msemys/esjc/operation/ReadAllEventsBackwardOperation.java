@@ -19,18 +19,21 @@ public class ReadAllEventsBackwardOperation extends AbstractOperation<AllEventsS
     private final int maxCount;
     private final boolean resolveLinkTos;
     private final boolean requireMaster;
+    private final boolean lazyEvents;
 
     public ReadAllEventsBackwardOperation(CompletableFuture<AllEventsSlice> result,
                                           Position position,
                                           int maxCount,
                                           boolean resolveLinkTos,
                                           boolean requireMaster,
+                                          boolean lazyEvents,
                                           UserCredentials userCredentials) {
         super(result, TcpCommand.ReadAllEventsBackward, TcpCommand.ReadAllEventsBackwardCompleted, userCredentials);
         this.position = position;
         this.maxCount = maxCount;
         this.resolveLinkTos = resolveLinkTos;
         this.requireMaster = requireMaster;
+        this.lazyEvents = lazyEvents;
     }
 
     @Override
@@ -81,7 +84,8 @@ public class ReadAllEventsBackwardOperation extends AbstractOperation<AllEventsS
             ReadDirection.Backward,
             new Position(response.getCommitPosition(), response.getPreparePosition()),
             new Position(response.getNextCommitPosition(), response.getNextPreparePosition()),
-            response.getEventsList());
+            response.getEventsList(),
+            lazyEvents);
     }
 
     @Override
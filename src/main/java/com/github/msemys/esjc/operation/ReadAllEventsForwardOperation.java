@@ -19,18 +19,21 @@ public class ReadAllEventsForwardOperation extends AbstractOperation<AllEventsSl
     private final int maxCount;
     private final boolean resolveLinkTos;
     private final boolean requireMaster;
+    private final boolean lazyEvents;
 
     public ReadAllEventsForwardOperation(CompletableFuture<AllEventsSlice> result,
                                          Position position,
                                          int maxCount,
                                          boolean resolveLinkTos,
                                          boolean requireMaster,
+                                         boolean lazyEvents,
                                          UserCredentials userCredentials) {
         super(result, TcpCommand.ReadAllEventsForward, TcpCommand.ReadAllEventsForwardCompleted, userCredentials);
         this.position = position;
         this.maxCount = maxCount;
         this.resolveLinkTos = resolveLinkTos;
         this.requireMaster = requireMaster;
+        this.lazyEvents = lazyEvents;
     }
 
     @Override
@@ -81,7 +84,8 @@ public class ReadAllEventsForwardOperation extends AbstractOperation<AllEventsSl
                 ReadDirection.Forward,
                 new Position(response.getCommitPosition(), response.getPreparePosition()),
                 new Position(response.getNextCommitPosition(), response.getNextPreparePosition()),
-                response.getEventsList());
+                response.getEventsList(),
+                lazyEvents);
     }
 
     @Override
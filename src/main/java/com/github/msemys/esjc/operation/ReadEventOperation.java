@@ -19,18 +19,21 @@ public class ReadEventOperation extends AbstractOperation<EventReadResult, ReadE
     private final long eventNumber;
     private final boolean resolveLinkTo;
     private final boolean requireMaster;
+    private final boolean lazyEvents;
 
     public ReadEventOperation(CompletableFuture<EventReadResult> result,
                               String stream,
                               long eventNumber,
                               boolean resolveLinkTo,
                               boolean requireMaster,
+                              boolean lazyEvents,
                               UserCredentials userCredentials) {
         super(result, TcpCommand.ReadEvent, TcpCommand.ReadEventCompleted, userCredentials);
         this.stream = stream;
         this.eventNumber = eventNumber;
         this.resolveLinkTo = resolveLinkTo;
         this.requireMaster = requireMaster;
+        this.lazyEvents = lazyEvents;
     }
 
     @Override
@@ -94,7 +97,7 @@ public class ReadEventOperation extends AbstractOperation<EventReadResult, ReadE
 
     @Override
     protected EventReadResult transformResponseMessage(ReadEventCompleted response) {
-        return new EventReadResult(asEventReadStatus(response.getResult()), stream, eventNumber, response.getEvent());
+        return new EventReadResult(asEventReadStatus(response.getResult()), stream, eventNumber, response.getEvent(), lazyEvents);
     }
 
     @Override
@@ -20,6 +20,7 @@ public class ReadStreamEventsBackwardOperation extends AbstractOperation<StreamE
     private final int maxCount;
     private final boolean resolveLinkTos;
     private final boolean requireMaster;
+    private final boolean lazyEvents;
 
     public ReadStreamEventsBackwardOperation(CompletableFuture<StreamEventsSlice> result,
                                              String stream,
@@ -27,6 +28,7 @@ public class ReadStreamEventsBackwardOperation extends AbstractOperation<StreamE
                                              int maxCount,
                                              boolean resolveLinkTos,
                                              boolean requireMaster,
+                                             boolean lazyEvents,
                                              UserCredentials userCredentials) {
         super(result, TcpCommand.ReadStreamEventsBackward, TcpCommand.ReadStreamEventsBackwardCompleted, userCredentials);
         this.stream = stream;
@@ -34,6 +36,7 @@ public class ReadStreamEventsBackwardOperation extends AbstractOperation<StreamE
         this.maxCount = maxCount;
         this.resolveLinkTos = resolveLinkTos;
         this.requireMaster = requireMaster;
+        this.lazyEvents = lazyEvents;
     }
 
     @Override
@@ -99,7 +102,8 @@ public class ReadStreamEventsBackwardOperation extends AbstractOperation<StreamE
             response.getEventsList(),
             response.getNextEventNumber(),
             response.getLastEventNumber(),
-            response.getIsEndOfStream());
+            response.getIsEndOfStream(),
+            lazyEvents);
     }
 
     @Override
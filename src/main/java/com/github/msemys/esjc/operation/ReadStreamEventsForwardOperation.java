@@ -21,6 +21,7 @@ public class ReadStreamEventsForwardOperation extends AbstractOperation<StreamEv
     private final int maxCount;
     private final boolean resolveLinkTos;
     private final boolean requireMaster;
+    private final boolean lazyEvents;
 
     public ReadStreamEventsForwardOperation(CompletableFuture<StreamEventsSlice> result,
                                             String stream,
@@ -28,6 +29,7 @@ public class ReadStreamEventsForwardOperation extends AbstractOperation<StreamEv
                                             int maxCount,
                                             boolean resolveLinkTos,
                                             boolean requireMaster,
+                                            boolean lazyEvents,
                                             UserCredentials userCredentials) {
         super(result, TcpCommand.ReadStreamEventsForward, TcpCommand.ReadStreamEventsForwardCompleted, userCredentials);
         this.stream = stream;
@@ -35,6 +37,7 @@ public class ReadStreamEventsForwardOperation extends AbstractOperation<StreamEv
         this.maxCount = maxCount;
         this.resolveLinkTos = resolveLinkTos;
         this.requireMaster = requireMaster;
+        this.lazyEvents = lazyEvents;
     }
 
     @Override
@@ -100,7 +103,8 @@ public class ReadStreamEventsForwardOperation extends AbstractOperation<StreamEv
             response.getEventsList(),
             response.getNextEventNumber(),
             response.getLastEventNumber(),
-            response.getIsEndOfStream());
+            response.getIsEndOfStream(),
+            lazyEvents);
     }
 
     @Override
@@ -0,0 +1,67 @@
+package com.github.msemys.esjc.operation.manager;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits the number of operations, that are admitted to the operation queue and not yet completed.
+ * <p>
+ * Permits are taken with a single compare-and-set on the non-fair semaphore state, so admission neither locks
+ * nor allocates while permits are available. Only the callers, that are willing to wait, are parked.
+ * </p>
+ */
+public class AdmissionController {
+    private final int maxPermits;
+    private final Semaphore permits;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final Runnable releaseAction = this::release;
+
+    public AdmissionController(int maxPermits) {
+        checkArgument(isPositive(maxPermits), "maxPermits should be positive");
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits, false);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public boolean tryAcquire(long timeoutNanos) {
+        try {
+            return permits.tryAcquire(timeoutNanos, NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Returns the shared action, that releases a single permit.
+     *
+     * @return release action
+     */
+    public Runnable releaseAction() {
+        return releaseAction;
+    }
+
+    public void reject() {
+        rejectedCount.increment();
+    }
+
+    public int queueSize() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+}
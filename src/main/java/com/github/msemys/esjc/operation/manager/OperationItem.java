@@ -2,7 +2,9 @@ package com.github.msemys.esjc.operation.manager;
 
 import com.github.msemys.esjc.operation.Operation;
 import com.github.msemys.esjc.tcp.ChannelId;
+import com.github.msemys.esjc.tcp.TcpPackage;
 import com.github.msemys.esjc.util.SystemTime;
+import com.github.msemys.esjc.util.concurrent.TimeoutWheel;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -25,6 +27,9 @@ public class OperationItem implements Comparable<OperationItem> {
     public UUID correlationId;
     public int retryCount;
     public final SystemTime lastUpdated;
+    public final TimeoutWheel.Entry<OperationItem> timeoutEntry = new TimeoutWheel.Entry<>(this);
+
+    private TcpPackage requestPackage;
 
     public OperationItem(Operation operation, int maxRetries, Duration timeout) {
         checkNotNull(operation, "operation is null");
@@ -34,11 +39,25 @@ public class OperationItem implements Comparable<OperationItem> {
         this.timeout = timeout;
         this.createdTime = Instant.now();
 
-        correlationId = UUID.randomUUID();
         retryCount = 0;
         lastUpdated = SystemTime.now();
     }
 
+    /**
+     * Gets the request package for the current correlation id. Request message is serialized only once,
+     * retries reuse serialized bytes with the new correlation id.
+     *
+     * @return request package
+     */
+    public TcpPackage requestPackage() {
+        if (requestPackage == null) {
+            requestPackage = operation.create(correlationId);
+        } else if (!requestPackage.hasCorrelationId(correlationId)) {
+            requestPackage = requestPackage.withCorrelationId(correlationId);
+        }
+        return requestPackage;
+    }
+
     @Override
     public int compareTo(OperationItem o) {
         if (sequenceNo < o.sequenceNo) {
@@ -3,40 +3,99 @@ package com.github.msemys.esjc.operation.manager;
 import com.github.msemys.esjc.ConnectionClosedException;
 import com.github.msemys.esjc.Settings;
 import com.github.msemys.esjc.tcp.ChannelId;
+import com.github.msemys.esjc.tcp.CorrelationIdGenerator;
+import com.github.msemys.esjc.tcp.CorrelationIdMap;
 import com.github.msemys.esjc.tcp.TcpPackage;
+import com.github.msemys.esjc.util.concurrent.TimeoutWheel;
 import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Stream.concat;
 
 public class OperationManager {
     private static final Logger logger = LoggerFactory.getLogger(OperationManager.class);
 
-    private final Map<UUID, OperationItem> activeOperations = new ConcurrentHashMap<>();
+    private static final long TIMEOUT_TICK_NANOS = MILLISECONDS.toNanos(10);
+    private static final int TIMEOUT_TICKS_PER_WHEEL = 1024;
+
+    private final CorrelationIdMap<OperationItem> activeOperations = new CorrelationIdMap<>();
+    private final CorrelationIdGenerator correlationIds = new CorrelationIdGenerator();
     private final Queue<OperationItem> waitingOperations = new ArrayDeque<>();
     private final List<OperationItem> retryPendingOperations = new ArrayList<>();
+    private final TimeoutWheel<OperationItem> timeouts = new TimeoutWheel<>(TIMEOUT_TICK_NANOS, TIMEOUT_TICKS_PER_WHEEL);
     private int totalOperationCount;
 
-    private final Settings settings;
+    // published for the readers on other threads, updated by the manager thread after every change
+    private volatile int activeOperationCount;
+    private volatile int waitingOperationCount;
+    private volatile int retryPendingOperationCount;
+    private Channel lastConnection;
 
-    public OperationManager(Settings settings) {
+    private final Settings settings;
+    private final Runnable timeoutCheckRequest;
+
+    /**
+     * Creates a new operation manager, that should be used from a single thread only.
+     *
+     * @param settings            client settings.
+     * @param timeoutCheckRequest requests {@link #checkTimeoutsAndRetry(Channel)} call on the manager thread,
+     *                            is invoked on the connection event loop when the earliest deadline is reached.
+     */
+    public OperationManager(Settings settings, Runnable timeoutCheckRequest) {
+        checkNotNull(timeoutCheckRequest, "timeoutCheckRequest is null");
         this.settings = settings;
+        this.timeoutCheckRequest = timeoutCheckRequest;
     }
 
-    public Optional<OperationItem> getActiveOperation(UUID correlationId) {
-        return Optional.ofNullable(activeOperations.get(correlationId));
+    /**
+     * Gets the active operation by the correlation id halves, without creating {@link UUID} instance.
+     *
+     * @param correlationIdHigh the most significant bits of the correlation id.
+     * @param correlationIdLow  the least significant bits of the correlation id.
+     * @return active operation, or {@code null} if there is no active operation with the specified correlation id
+     */
+    public OperationItem getActiveOperation(long correlationIdHigh, long correlationIdLow) {
+        return activeOperations.get(correlationIdHigh, correlationIdLow);
     }
 
     public int totalOperationCount() {
         return totalOperationCount;
     }
 
+    /**
+     * Gets the number of operations, that are sent and wait for the server response. Can be called from any thread.
+     *
+     * @return active operation count
+     */
+    public int activeOperationCount() {
+        return activeOperationCount;
+    }
+
+    /**
+     * Gets the number of operations, that wait to be sent. Can be called from any thread.
+     *
+     * @return waiting operation count
+     */
+    public int waitingOperationCount() {
+        return waitingOperationCount;
+    }
+
+    /**
+     * Gets the number of operations, that wait to be retried. Can be called from any thread.
+     *
+     * @return retry-pending operation count
+     */
+    public int retryPendingOperationCount() {
+        return retryPendingOperationCount;
+    }
+
     public void cleanUp(Throwable cause) {
         if (!activeOperations.isEmpty() || !waitingOperations.isEmpty() || !retryPendingOperations.isEmpty()) {
             ConnectionClosedException connectionClosedException = new ConnectionClosedException("Connection was closed.", cause);
@@ -48,53 +107,74 @@ public class OperationManager {
         activeOperations.clear();
         waitingOperations.clear();
         retryPendingOperations.clear();
-        totalOperationCount = 0;
+        timeouts.clear();
+        lastConnection = null;
+        updateCounts();
     }
 
+    /**
+     * Retries the operations, that were sent over the previous connection, expires the operations, whose
+     * deadline is reached, and sends the retry-pending and waiting operations. Operation deadlines are kept
+     * in a timing wheel, so only the expired operations are visited, and the next check is requested from the
+     * connection event loop at the earliest deadline.
+     *
+     * @param connection connection.
+     */
     public void checkTimeoutsAndRetry(Channel connection) {
         checkNotNull(connection, "connection is null");
 
-        List<OperationItem> retryOperations = new ArrayList<>();
-        List<OperationItem> removeOperations = new ArrayList<>();
-
-        final ChannelId connectionId = ChannelId.of(connection);
+        if (connection != lastConnection) {
+            final ChannelId connectionId = ChannelId.of(connection);
 
-        activeOperations.values().forEach(item -> {
-            if (!item.connectionId.equals(connectionId)) {
-                retryOperations.add(item);
-            } else if (!item.timeout.isZero() && item.lastUpdated.isElapsed(settings.operationTimeout)) {
-                String error = String.format("Operation never got response from server. UTC now: %s, operation: %s.",
-                    Instant.now(), item.toString());
+            activeOperations.values().stream()
+                .filter(item -> !item.connectionId.equals(connectionId))
+                .forEach(this::scheduleOperationRetry);
 
-                logger.debug(error);
-
-                if (settings.failOnNoServerResponse) {
-                    item.operation.fail(new OperationTimeoutException(error));
-                    removeOperations.add(item);
-                } else {
-                    retryOperations.add(item);
-                }
-            }
-        });
+            lastConnection = connection;
+        }
 
-        retryOperations.forEach(this::scheduleOperationRetry);
-        removeOperations.forEach(this::removeOperation);
+        timeouts.expire(System.nanoTime()).forEach(this::onOperationTimeout);
 
         if (!retryPendingOperations.isEmpty()) {
             retryPendingOperations.stream().sorted().forEach(item -> {
-                UUID oldCorrelationId = item.correlationId;
-                item.correlationId = UUID.randomUUID();
                 item.retryCount += 1;
 
-                logger.debug("retrying, old correlationId {}, operation {}.", oldCorrelationId, item.toString());
+                logger.debug("retrying, old correlationId {}, operation {}.", item.correlationId, item);
 
-                scheduleOperation(item, connection);
+                scheduleOperation(item, connection, false);
             });
 
             retryPendingOperations.clear();
+            drainWaitingOperations(connection);
+            connection.flush();
+        } else {
+            scheduleWaitingOperations(connection);
         }
 
-        scheduleWaitingOperations(connection);
+        scheduleTimeoutCheck(connection, timeouts.nextWakeup());
+        updateCounts();
+    }
+
+    private void onOperationTimeout(OperationItem item) {
+        if (activeOperations.get(item.correlationId) == item) {
+            String error = String.format("Operation never got response from server. UTC now: %s, operation: %s.",
+                Instant.now(), item.toString());
+
+            logger.debug(error);
+
+            if (settings.failOnNoServerResponse) {
+                item.operation.fail(new OperationTimeoutException(error));
+                removeOperation(item);
+            } else {
+                scheduleOperationRetry(item);
+            }
+        }
+    }
+
+    private void scheduleTimeoutCheck(Channel connection, long deadline) {
+        if (deadline != TimeoutWheel.NO_DEADLINE) {
+            connection.eventLoop().schedule(timeoutCheckRequest, deadline - System.nanoTime(), NANOSECONDS);
+        }
     }
 
     public void scheduleOperationRetry(OperationItem item) {
@@ -106,6 +186,8 @@ public class OperationManager {
             } else {
                 retryPendingOperations.add(item);
             }
+
+            updateCounts();
         }
     }
 
@@ -115,7 +197,8 @@ public class OperationManager {
             return false;
         } else {
             logger.debug("removeOperation SUCCEEDED for {}", item);
-            totalOperationCount = activeOperations.size() + waitingOperations.size();
+            timeouts.cancel(item.timeoutEntry);
+            updateCounts();
             return true;
         }
     }
@@ -123,19 +206,42 @@ public class OperationManager {
     public void scheduleWaitingOperations(Channel connection) {
         checkNotNull(connection, "connection is null");
 
+        if (drainWaitingOperations(connection) > 0) {
+            connection.flush();
+        }
+    }
+
+    /**
+     * Writes waiting operations to the specified connection without flushing it, so that the caller
+     * can put the whole batch on the wire with a single flush.
+     *
+     * @param connection connection.
+     * @return the number of written operations.
+     */
+    private int drainWaitingOperations(Channel connection) {
+        int count = 0;
+
         while (!waitingOperations.isEmpty() && activeOperations.size() < settings.maxConcurrentOperations) {
-            scheduleOperation(waitingOperations.poll(), connection);
+            scheduleOperation(waitingOperations.poll(), connection, false);
+            count++;
         }
 
-        totalOperationCount = activeOperations.size() + waitingOperations.size();
+        updateCounts();
+
+        return count;
     }
 
     public void enqueueOperation(OperationItem item) {
         logger.debug("enqueueOperation WAITING for {}.", item);
         waitingOperations.offer(item);
+        updateCounts();
     }
 
     public void scheduleOperation(OperationItem item, Channel connection) {
+        scheduleOperation(item, connection, true);
+    }
+
+    private void scheduleOperation(OperationItem item, Channel connection, boolean flush) {
         checkNotNull(connection, "connection is null");
 
         if (activeOperations.size() >= settings.maxConcurrentOperations) {
@@ -143,17 +249,33 @@ public class OperationManager {
             waitingOperations.offer(item);
         } else {
             item.connectionId = ChannelId.of(connection);
+            item.correlationId = correlationIds.next();
             item.lastUpdated.update();
             activeOperations.put(item.correlationId, item);
 
-            TcpPackage tcpPackage = item.operation.create(item.correlationId);
+            if (!item.timeout.isZero() && timeouts.schedule(item.timeoutEntry, item.lastUpdated.deadline(settings.operationTimeout))) {
+                scheduleTimeoutCheck(connection, item.timeoutEntry.deadline());
+            }
+
+            TcpPackage tcpPackage = item.requestPackage();
 
-            logger.debug("scheduleOperation package {}, {}, {}.", tcpPackage.command, tcpPackage.correlationId, item);
+            logger.debug("scheduleOperation package {}, {}, {}.", tcpPackage.command, item.correlationId, item);
 
-            connection.writeAndFlush(tcpPackage);
+            if (flush) {
+                connection.writeAndFlush(tcpPackage);
+            } else {
+                connection.write(tcpPackage);
+            }
         }
 
+        updateCounts();
+    }
+
+    private void updateCounts() {
         totalOperationCount = activeOperations.size() + waitingOperations.size();
+        activeOperationCount = activeOperations.size();
+        waitingOperationCount = waitingOperations.size();
+        retryPendingOperationCount = retryPendingOperations.size();
     }
 
 }
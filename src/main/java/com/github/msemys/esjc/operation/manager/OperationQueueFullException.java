@@ -0,0 +1,20 @@
+package com.github.msemys.esjc.operation.manager;
+
+import com.github.msemys.esjc.EventStoreException;
+
+/**
+ * Exception thrown if an operation is not admitted, because the operation queue is full.
+ */
+public class OperationQueueFullException extends EventStoreException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxQueueSize the maximum number of outstanding items allowed in the operation queue.
+     */
+    public OperationQueueFullException(int maxQueueSize) {
+        super(String.format("Operation queue is full, max queue size : %d", maxQueueSize));
+    }
+
+}
@@ -2,6 +2,7 @@ package com.github.msemys.esjc.projection;
 
 import com.github.msemys.esjc.UserCredentials;
 import com.github.msemys.esjc.http.HttpClient;
+import com.github.msemys.esjc.transport.Transport;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -81,6 +82,19 @@ public class ProjectionManagerBuilder {
         return this;
     }
 
+    /**
+     * Sets the I/O transport of the HTTP client, that the projection manager sends its requests with, for example
+     * the transport of an Event Store client. By default, the HTTP client gets a transport of its own with a single
+     * I/O thread, that {@link ProjectionManager#shutdown()} stops; the specified transport keeps running.
+     *
+     * @param transport the I/O transport.
+     * @return the builder reference
+     */
+    public ProjectionManagerBuilder transport(Transport transport) {
+        httpClientBuilder.transport(transport);
+        return this;
+    }
+
     /**
      * Sets the default user credentials to be used for operations.
      * If user credentials are not given for an operation, these credentials will be used.
@@ -2,16 +2,13 @@ package com.github.msemys.esjc.projection;
 
 import com.github.msemys.esjc.UserCredentials;
 import com.github.msemys.esjc.http.HttpClient;
-import com.github.msemys.esjc.util.concurrent.DefaultThreadFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.QueryStringEncoder;
-import io.netty.util.HashedWheelTimer;
 import io.netty.util.Timeout;
-import io.netty.util.Timer;
 import io.netty.util.TimerTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,7 +41,6 @@ public class ProjectionManagerHttp implements ProjectionManager {
 
     private final HttpClient client;
     private final UserCredentials userCredentials;
-    private final Timer timer = new HashedWheelTimer(new DefaultThreadFactory("es-pm-timer"), 200, MILLISECONDS);
 
     protected ProjectionManagerHttp(HttpClient client, UserCredentials userCredentials) {
         checkNotNull(client, "client is null");
@@ -227,14 +223,14 @@ public class ProjectionManagerHttp implements ProjectionManager {
                                 if (matches) {
                                     barrier.countDown();
                                 } else if (!waitingTimeElapsed.get()) {
-                                    scheduledTimeout.set(timer.newTimeout(this, interval.toMillis(), MILLISECONDS));
+                                    scheduledTimeout.set(client.timer().newTimeout(this, interval.toMillis(), MILLISECONDS));
                                 }
                             });
                     }
                 }
             };
 
-            scheduledTimeout.set(timer.newTimeout(timerTask, interval.toMillis(), MILLISECONDS));
+            scheduledTimeout.set(client.timer().newTimeout(timerTask, interval.toMillis(), MILLISECONDS));
 
             try {
                 return barrier.await(timeout.toMillis(), MILLISECONDS);
@@ -250,7 +246,6 @@ public class ProjectionManagerHttp implements ProjectionManager {
 
     @Override
     public void shutdown() {
-        timer.stop();
         client.close();
     }
 
@@ -0,0 +1,398 @@
+package com.github.msemys.esjc.reactive;
+
+import com.github.msemys.esjc.*;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Base Reactive Streams publisher of events, that reads events in batches sized by the subscriber demand and, if it is live,
+ * continues with a volatile subscription after the end of history is reached.
+ * <p>
+ * Reads are issued only while there is outstanding demand, so a slow subscriber pauses reading. Live events are
+ * queued (up to {@code maxLiveQueueSize} events) until they are requested. If the live queue overflows, or the
+ * subscription is dropped because of connection problems, the publisher unsubscribes and falls back to reading
+ * from the last delivered event, as soon as there is demand again, instead of failing the subscriber.
+ * </p>
+ *
+ * @param <T> the type of the read cursor
+ */
+public abstract class AbstractEventsPublisher<T> implements Publisher<ResolvedEvent> {
+    private static final Logger logger = LoggerFactory.getLogger(AbstractEventsPublisher.class);
+
+    protected final EventStore eventStore;
+    protected final boolean resolveLinkTos;
+    protected final UserCredentials userCredentials;
+    private final T start;
+    private final int maxBatchSize;
+    private final boolean live;
+    private final int maxLiveQueueSize;
+
+    protected AbstractEventsPublisher(EventStore eventStore,
+                                      T start,
+                                      int maxBatchSize,
+                                      boolean resolveLinkTos,
+                                      boolean live,
+                                      int maxLiveQueueSize,
+                                      UserCredentials userCredentials) {
+        checkNotNull(eventStore, "eventStore is null");
+        checkArgument(isPositive(maxBatchSize), "maxBatchSize should be positive");
+        checkArgument(isPositive(maxLiveQueueSize), "maxLiveQueueSize should be positive");
+
+        this.eventStore = eventStore;
+        this.start = start;
+        this.maxBatchSize = maxBatchSize;
+        this.resolveLinkTos = resolveLinkTos;
+        this.live = live;
+        this.maxLiveQueueSize = maxLiveQueueSize;
+        this.userCredentials = userCredentials;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ResolvedEvent> subscriber) {
+        checkNotNull(subscriber, "subscriber is null");
+
+        EventsSubscription subscription = new EventsSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    /**
+     * Reads the batch of events.
+     *
+     * @param cursor   the cursor to read from.
+     * @param maxCount the maximum number of events to read.
+     * @return a {@code CompletableFuture} representing the read batch
+     */
+    protected abstract CompletableFuture<Batch<T>> read(T cursor, int maxCount);
+
+    /**
+     * Subscribes to live events.
+     *
+     * @param listener subscription listener.
+     * @return a {@code CompletableFuture} representing the subscription
+     */
+    protected abstract CompletableFuture<Subscription> subscribe(VolatileSubscriptionListener listener);
+
+    /**
+     * Checks whether the event follows the last delivered event (or the start, if no events were delivered yet).
+     *
+     * @param event     the event.
+     * @param lastEvent the last delivered event (maybe {@code null}).
+     * @return {@code true} if the event should be delivered, otherwise {@code false}
+     */
+    protected abstract boolean isAfter(ResolvedEvent event, ResolvedEvent lastEvent);
+
+    /**
+     * Gets the cursor to resume reading from after the last delivered event.
+     *
+     * @param lastEvent the last delivered event.
+     * @return read cursor
+     */
+    protected abstract T resumeCursor(ResolvedEvent lastEvent);
+
+    /**
+     * Batch of events.
+     *
+     * @param <T> the type of the read cursor
+     */
+    protected static class Batch<T> {
+        final List<ResolvedEvent> events;
+        final T nextCursor;
+        final boolean endOfStream;
+
+        public Batch(List<ResolvedEvent> events, T nextCursor, boolean endOfStream) {
+            this.events = events;
+            this.nextCursor = nextCursor;
+            this.endOfStream = endOfStream;
+        }
+    }
+
+    private class EventsSubscription implements org.reactivestreams.Subscription, VolatileSubscriptionListener {
+        private final Subscriber<? super ResolvedEvent> subscriber;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Throwable requestError;
+
+        // hand-off from callbacks to the drain loop
+        private volatile Batch<T> receivedBatch;
+        private volatile Throwable readError;
+        private volatile Subscription subscribedSubscription;
+        private volatile Throwable subscribeError;
+        private volatile SubscriptionDropReason dropReason;
+        private volatile Exception dropException;
+        private final Queue<ResolvedEvent> liveQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger liveQueueSize = new AtomicInteger();
+
+        // drain loop state
+        private final ArrayDeque<ResolvedEvent> buffer = new ArrayDeque<>();
+        private T cursor = start;
+        private ResolvedEvent lastEvent;
+        private boolean reading;
+        private boolean caughtUp;
+        private boolean subscribing;
+        private Subscription subscription;
+        private boolean liveMode;
+        private boolean terminated;
+
+        EventsSubscription(Subscriber<? super ResolvedEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> (current + added < 0) ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        @Override
+        public void onEvent(Subscription s, ResolvedEvent event) {
+            liveQueue.add(event);
+            if (liveQueueSize.incrementAndGet() > maxLiveQueueSize || demand.get() > 0) {
+                drain();
+            }
+        }
+
+        @Override
+        public void onClose(Subscription s, SubscriptionDropReason reason, Exception exception) {
+            if (reason != SubscriptionDropReason.UserInitiated) {
+                dropException = exception;
+                dropReason = reason;
+                drain();
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                if (!terminated) {
+                    drainLoop();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainLoop() {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+
+            if (requestError != null) {
+                fail(requestError);
+                return;
+            }
+
+            if (readError != null) {
+                fail(readError);
+                return;
+            }
+
+            if (subscribeError != null) {
+                fail(subscribeError);
+                return;
+            }
+
+            Batch<T> batch = receivedBatch;
+            if (batch != null) {
+                receivedBatch = null;
+                reading = false;
+                cursor = batch.nextCursor;
+                caughtUp = batch.endOfStream;
+                buffer.addAll(batch.events);
+            }
+
+            Subscription newSubscription = subscribedSubscription;
+            if (newSubscription != null) {
+                subscribedSubscription = null;
+                subscribing = false;
+                subscription = newSubscription;
+                // reads once more, to catch up with events written before the subscription was established
+                caughtUp = false;
+            }
+
+            SubscriptionDropReason reason = dropReason;
+            if (reason != null) {
+                dropReason = null;
+
+                if (reason == SubscriptionDropReason.ConnectionClosed ||
+                    reason == SubscriptionDropReason.ServerError ||
+                    reason == SubscriptionDropReason.ProcessingQueueOverflow) {
+                    logger.debug("Subscription dropped ({}), falling back to reading", reason);
+                    fallBackToReading();
+                } else {
+                    fail((dropException != null) ? dropException : new EventStoreException("Subscription dropped: " + reason));
+                    return;
+                }
+            }
+
+            if (subscription != null && liveQueueSize.get() > maxLiveQueueSize) {
+                logger.debug("Live queue overflow, falling back to reading");
+                fallBackToReading();
+            }
+
+            while (demand.get() > 0) {
+                ResolvedEvent event = nextEvent();
+
+                if (event == null) {
+                    break;
+                }
+
+                lastEvent = event;
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                subscriber.onNext(event);
+
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+            }
+
+            if (!buffer.isEmpty() || liveMode || reading || subscribing) {
+                return;
+            }
+
+            if (caughtUp) {
+                if (!live) {
+                    terminated = true;
+                    subscriber.onComplete();
+                } else if (subscription == null) {
+                    subscribing = true;
+                    subscribeLive();
+                } else {
+                    liveMode = true;
+                    drainLoop();
+                }
+            } else if (demand.get() > 0) {
+                reading = true;
+                readBatch((int) Math.min(maxBatchSize, demand.get()));
+            }
+        }
+
+        private ResolvedEvent nextEvent() {
+            while (true) {
+                ResolvedEvent event;
+
+                if (!buffer.isEmpty()) {
+                    event = buffer.poll();
+                } else if (liveMode) {
+                    event = liveQueue.poll();
+                    if (event != null) {
+                        liveQueueSize.decrementAndGet();
+                    }
+                } else {
+                    return null;
+                }
+
+                if (event == null) {
+                    return null;
+                } else if (isAfter(event, lastEvent)) {
+                    return event;
+                }
+            }
+        }
+
+        private void readBatch(int maxCount) {
+            try {
+                read(cursor, maxCount).whenComplete((b, t) -> {
+                    if (t != null) {
+                        readError = unwrap(t);
+                    } else {
+                        receivedBatch = b;
+                    }
+                    drain();
+                });
+            } catch (Exception e) {
+                readError = e;
+                drain();
+            }
+        }
+
+        private void subscribeLive() {
+            try {
+                subscribe(this).whenComplete((s, t) -> {
+                    if (t != null) {
+                        subscribeError = unwrap(t);
+                    } else {
+                        subscribedSubscription = s;
+                    }
+                    drain();
+                });
+            } catch (Exception e) {
+                subscribeError = e;
+                drain();
+            }
+        }
+
+        private void fallBackToReading() {
+            unsubscribe();
+
+            if (liveMode) {
+                liveMode = false;
+                cursor = (lastEvent != null) ? resumeCursor(lastEvent) : start;
+            }
+
+            caughtUp = false;
+        }
+
+        private void unsubscribe() {
+            Subscription current = subscription;
+            subscription = null;
+
+            if (current != null) {
+                current.close();
+            }
+
+            liveQueue.clear();
+            liveQueueSize.set(0);
+        }
+
+        private Throwable unwrap(Throwable throwable) {
+            return (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+        }
+
+        private void fail(Throwable throwable) {
+            terminate();
+            subscriber.onError(throwable);
+        }
+
+        private void terminate() {
+            terminated = true;
+            unsubscribe();
+            buffer.clear();
+        }
+    }
+
+}
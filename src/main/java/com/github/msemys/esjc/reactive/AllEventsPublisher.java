@@ -0,0 +1,69 @@
+package com.github.msemys.esjc.reactive;
+
+import com.github.msemys.esjc.*;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * $all stream events publisher.
+ */
+public class AllEventsPublisher extends AbstractEventsPublisher<Position> {
+    private final Position fromPosition;
+    private final boolean exclusive;
+
+    /**
+     * Creates a new publisher of the $all stream events.
+     *
+     * @param eventStore       the event store client.
+     * @param fromPosition     the position to read from.
+     * @param exclusive        whether the event at {@code fromPosition} should be skipped.
+     * @param maxBatchSize     the maximum number of events to read per batch, allowed range [1..4096].
+     * @param resolveLinkTos   whether to resolve link events automatically.
+     * @param live             whether to continue with the live events after the end of the $all stream is reached.
+     * @param maxLiveQueueSize the maximum number of live events allowed to be cached, until they are requested.
+     * @param userCredentials  user credentials to be used (use {@code null} for default user credentials).
+     */
+    public AllEventsPublisher(EventStore eventStore,
+                              Position fromPosition,
+                              boolean exclusive,
+                              int maxBatchSize,
+                              boolean resolveLinkTos,
+                              boolean live,
+                              int maxLiveQueueSize,
+                              UserCredentials userCredentials) {
+        super(eventStore, fromPosition, maxBatchSize, resolveLinkTos, live, maxLiveQueueSize, userCredentials);
+        checkNotNull(fromPosition, "fromPosition is null");
+
+        this.fromPosition = fromPosition;
+        this.exclusive = exclusive;
+    }
+
+    @Override
+    protected CompletableFuture<Batch<Position>> read(Position cursor, int maxCount) {
+        return eventStore.readAllEventsForward(cursor, maxCount, resolveLinkTos, userCredentials)
+            .thenApply(slice -> new Batch<>(slice.events, slice.nextPosition, slice.isEndOfStream()));
+    }
+
+    @Override
+    protected CompletableFuture<Subscription> subscribe(VolatileSubscriptionListener listener) {
+        return eventStore.subscribeToAll(resolveLinkTos, listener, userCredentials);
+    }
+
+    @Override
+    protected boolean isAfter(ResolvedEvent event, ResolvedEvent lastEvent) {
+        if (lastEvent != null) {
+            return event.originalPosition.compareTo(lastEvent.originalPosition) > 0;
+        } else {
+            int result = event.originalPosition.compareTo(fromPosition);
+            return exclusive ? result > 0 : result >= 0;
+        }
+    }
+
+    @Override
+    protected Position resumeCursor(ResolvedEvent lastEvent) {
+        return lastEvent.originalPosition;
+    }
+
+}
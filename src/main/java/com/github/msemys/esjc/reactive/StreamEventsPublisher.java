@@ -0,0 +1,80 @@
+package com.github.msemys.esjc.reactive;
+
+import com.github.msemys.esjc.*;
+import com.github.msemys.esjc.operation.StreamDeletedException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+import static java.util.Collections.emptyList;
+
+/**
+ * Stream events publisher.
+ */
+public class StreamEventsPublisher extends AbstractEventsPublisher<Long> {
+    private final String stream;
+    private final long fromEventNumber;
+
+    /**
+     * Creates a new publisher of the stream events.
+     *
+     * @param eventStore       the event store client.
+     * @param stream           the name of the stream to read from.
+     * @param fromEventNumber  the event number (inclusive) to read from.
+     * @param maxBatchSize     the maximum number of events to read per batch, allowed range [1..4096].
+     * @param resolveLinkTos   whether to resolve link events automatically.
+     * @param live             whether to continue with the live events after the end of the stream is reached.
+     * @param maxLiveQueueSize the maximum number of live events allowed to be cached, until they are requested.
+     * @param userCredentials  user credentials to be used (use {@code null} for default user credentials).
+     */
+    public StreamEventsPublisher(EventStore eventStore,
+                                 String stream,
+                                 long fromEventNumber,
+                                 int maxBatchSize,
+                                 boolean resolveLinkTos,
+                                 boolean live,
+                                 int maxLiveQueueSize,
+                                 UserCredentials userCredentials) {
+        super(eventStore, fromEventNumber, maxBatchSize, resolveLinkTos, live, maxLiveQueueSize, userCredentials);
+        checkArgument(!isNullOrEmpty(stream), "stream is null or empty");
+        checkArgument(fromEventNumber >= 0, "fromEventNumber should not be negative");
+
+        this.stream = stream;
+        this.fromEventNumber = fromEventNumber;
+    }
+
+    @Override
+    protected CompletableFuture<Batch<Long>> read(Long cursor, int maxCount) {
+        return eventStore.readStreamEventsForward(stream, cursor, maxCount, resolveLinkTos, userCredentials).thenApply(slice -> {
+            switch (slice.status) {
+                case Success:
+                    return new Batch<>(slice.events, slice.nextEventNumber, slice.isEndOfStream);
+                case StreamNotFound:
+                    return new Batch<>(emptyList(), cursor, true);
+                case StreamDeleted:
+                    throw new StreamDeletedException(stream);
+                default:
+                    throw new IllegalStateException(String.format("Unexpected StreamEventsSlice.Status: %s.", slice.status));
+            }
+        });
+    }
+
+    @Override
+    protected CompletableFuture<Subscription> subscribe(VolatileSubscriptionListener listener) {
+        return eventStore.subscribeToStream(stream, resolveLinkTos, listener, userCredentials);
+    }
+
+    @Override
+    protected boolean isAfter(ResolvedEvent event, ResolvedEvent lastEvent) {
+        return (lastEvent == null) ?
+            event.originalEventNumber() >= fromEventNumber :
+            event.originalEventNumber() > lastEvent.originalEventNumber();
+    }
+
+    @Override
+    protected Long resumeCursor(ResolvedEvent lastEvent) {
+        return lastEvent.originalEventNumber() + 1;
+    }
+
+}
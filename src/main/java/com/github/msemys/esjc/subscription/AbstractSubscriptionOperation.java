@@ -11,29 +11,30 @@ import com.github.msemys.esjc.tcp.TcpCommand;
 import com.github.msemys.esjc.tcp.TcpFlag;
 import com.github.msemys.esjc.tcp.TcpPackage;
 import com.github.msemys.esjc.util.Throwables;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
 import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import static com.github.msemys.esjc.util.Preconditions.*;
 import static com.github.msemys.esjc.util.Strings.defaultIfEmpty;
-import static com.github.msemys.esjc.util.Strings.newString;
 
 public abstract class AbstractSubscriptionOperation<T extends Subscription> implements SubscriptionOperation {
     private static final Logger logger = LoggerFactory.getLogger(AbstractSubscriptionOperation.class);
 
-    private static final int MAX_QUEUE_SIZE = 2000;
-
     private final CompletableFuture<Subscription> result;
     private final TcpCommand subscribeCommand;
     protected final String streamId;
@@ -41,9 +42,14 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
     protected final UserCredentials userCredentials;
     protected final SubscriptionListener<T> listener;
     protected final Supplier<Channel> connectionSupplier;
+    protected final boolean lazyEvents;
+    private final SubscriptionBufferSettings bufferSettings;
     private final Executor executor;
-    private final Queue<Runnable> actionQueue = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<Runnable> actionQueue;
+    private final AtomicReference<Runnable> closeAction = new AtomicReference<>();
+    private final AtomicReference<Channel> pausedConnection = new AtomicReference<>();
     private final AtomicBoolean actionExecuting = new AtomicBoolean();
+    private final AtomicLong droppedEventCount = new AtomicLong();
     private T subscription;
     private final AtomicBoolean unsubscribed = new AtomicBoolean();
     protected UUID correlationId;
@@ -54,11 +60,14 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
                                             boolean resolveLinkTos,
                                             UserCredentials userCredentials,
                                             SubscriptionListener<T> listener,
+                                            SubscriptionBufferSettings bufferSettings,
+                                            boolean lazyEvents,
                                             Supplier<Channel> connectionSupplier,
                                             Executor executor) {
         checkNotNull(result, "result is null");
         checkNotNull(subscribeCommand, "subscribeCommand is null");
         checkNotNull(listener, "listener is null");
+        checkNotNull(bufferSettings, "bufferSettings is null");
         checkNotNull(connectionSupplier, "connectionSupplier is null");
         checkNotNull(executor, "executor is null");
 
@@ -68,8 +77,13 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
         this.resolveLinkTos = resolveLinkTos;
         this.userCredentials = userCredentials;
         this.listener = listener;
+        this.bufferSettings = bufferSettings;
+        this.lazyEvents = lazyEvents;
         this.connectionSupplier = connectionSupplier;
         this.executor = executor;
+        // under block policy, events that are already read when the buffer fills up still have to be buffered
+        this.actionQueue = (bufferSettings.overflowPolicy == SubscriptionBufferOverflowPolicy.Block) ?
+            new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(bufferSettings.maxSize);
     }
 
     protected abstract MessageLite createSubscribeMessage();
@@ -109,7 +123,8 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
                 result.completeExceptionally(exception);
             }
 
-            if (reason == SubscriptionDropReason.UserInitiated && subscription != null && connection != null) {
+            if ((reason == SubscriptionDropReason.UserInitiated || reason == SubscriptionDropReason.ProcessingQueueOverflow) &&
+                subscription != null && connection != null) {
                 connection.writeAndFlush(TcpPackage.newBuilder()
                     .command(TcpCommand.UnsubscribeFromStream)
                     .correlationId(correlationId)
@@ -117,8 +132,16 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
                     .build());
             }
 
+            resumeReading();
+
+            if (droppedEventCount.get() > 0) {
+                logger.warn("Subscription {} to {}: {} events were dropped because of buffer overflow.",
+                    correlationId, streamId(), droppedEventCount.get());
+            }
+
             if (subscription != null) {
-                action(() -> listener.onClose(subscription, reason, exception));
+                closeAction.set(() -> listener.onClose(subscription, reason, exception));
+                schedule();
             }
         }
     }
@@ -133,14 +156,14 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
 
             switch (tcpPackage.command) {
                 case StreamEventAppeared:
-                    StreamEventAppeared streamEventAppeared = newInstance(StreamEventAppeared.getDefaultInstance(), tcpPackage.data);
-                    eventAppeared(new ResolvedEvent(streamEventAppeared.getEvent()));
+                    StreamEventAppeared streamEventAppeared = newInstance(StreamEventAppeared.getDefaultInstance(), tcpPackage);
+                    eventAppeared(new ResolvedEvent(streamEventAppeared.getEvent(), lazyEvents));
                     return InspectionResult.newBuilder()
                         .decision(InspectionDecision.DoNothing)
                         .description("StreamEventAppeared")
                         .build();
                 case SubscriptionDropped:
-                    SubscriptionDropped subscriptionDropped = newInstance(SubscriptionDropped.getDefaultInstance(), tcpPackage.data);
+                    SubscriptionDropped subscriptionDropped = newInstance(SubscriptionDropped.getDefaultInstance(), tcpPackage);
                     switch (subscriptionDropped.getReason()) {
                         case Unsubscribed:
                             drop(SubscriptionDropReason.UserInitiated, null);
@@ -165,21 +188,21 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
                         .build();
                 case NotAuthenticated:
                     drop(SubscriptionDropReason.NotAuthenticated,
-                        new NotAuthenticatedException(defaultIfEmpty(newString(tcpPackage.data), "Authentication error")));
+                        new NotAuthenticatedException(defaultIfEmpty(tcpPackage.dataAsString(), "Authentication error")));
                     return InspectionResult.newBuilder()
                         .decision(InspectionDecision.EndOperation)
                         .description("NotAuthenticated")
                         .build();
                 case BadRequest:
                     drop(SubscriptionDropReason.ServerError,
-                        new ServerErrorException(defaultIfEmpty(newString(tcpPackage.data), "<no message>")));
+                        new ServerErrorException(defaultIfEmpty(tcpPackage.dataAsString(), "<no message>")));
                     return InspectionResult.newBuilder()
                         .decision(InspectionDecision.EndOperation)
-                        .description("BadRequest: " + newString(tcpPackage.data))
+                        .description("BadRequest: " + tcpPackage.dataAsString())
                         .build();
                 case NotHandled:
                     checkState(subscription == null, "NotHandled command appeared while we were already subscribed.");
-                    NotHandled notHandled = newInstance(NotHandled.getDefaultInstance(), tcpPackage.data);
+                    NotHandled notHandled = newInstance(NotHandled.getDefaultInstance(), tcpPackage);
                     switch (notHandled.getReason()) {
                         case NotReady:
                             return InspectionResult.newBuilder()
@@ -192,7 +215,7 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
                                 .description("NotHandled - TooBusy")
                                 .build();
                         case NotMaster:
-                            MasterInfo masterInfo = newInstance(MasterInfo.getDefaultInstance(), notHandled.getAdditionalInfo().toByteArray());
+                            MasterInfo masterInfo = newInstance(MasterInfo.getDefaultInstance(), notHandled.getAdditionalInfo());
                             return InspectionResult.newBuilder()
                                 .decision(InspectionDecision.Reconnect)
                                 .description("NotHandled - NotMaster")
@@ -232,6 +255,15 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
         drop(SubscriptionDropReason.UserInitiated, null, connectionSupplier.get());
     }
 
+    /**
+     * Gets the number of pushed events, that were discarded because the subscription buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long droppedEventCount() {
+        return droppedEventCount.get();
+    }
+
     protected void confirmSubscription(long lastCommitPosition, Long lastEventNumber) {
         checkArgument(lastCommitPosition >= -1, "Invalid lastCommitPosition %d on subscription confirmation.", lastCommitPosition);
         checkState(subscription == null, "Double confirmation of subscription.");
@@ -250,10 +282,14 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
             logger.trace("Subscription {} to {}: event appeared ({}, {}, {} @ {}).",
                 correlationId, streamId(), event.originalStreamId(), event.originalEventNumber(), event.originalEvent().eventType, event.originalPosition);
 
-            action(() -> listener.onEvent(subscription, event));
+            enqueue(() -> listener.onEvent(subscription, event));
         }
     }
 
+    protected boolean isDropped() {
+        return unsubscribed.get();
+    }
+
     protected void send(TcpPackage tcpPackage) {
         connectionSupplier.get().writeAndFlush(tcpPackage);
     }
@@ -262,13 +298,60 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
         return defaultIfEmpty(streamId, "<all>");
     }
 
-    private void action(Runnable action) {
-        actionQueue.offer(action);
+    private void enqueue(Runnable action) {
+        switch (bufferSettings.overflowPolicy) {
+            case DropSubscription:
+                if (!actionQueue.offer(action)) {
+                    drop(SubscriptionDropReason.ProcessingQueueOverflow,
+                        new SubscriptionBufferOverflowException(String.format("Subscription buffer of %d events is full.", bufferSettings.maxSize)),
+                        connectionSupplier.get());
+                }
+                break;
+            case DropOldest:
+                while (!actionQueue.offer(action)) {
+                    if (actionQueue.poll() != null && droppedEventCount.incrementAndGet() == 1) {
+                        logger.warn("Subscription {} to {}: buffer of {} events is full, dropping the oldest events.",
+                            correlationId, streamId(), bufferSettings.maxSize);
+                    }
+                }
+                break;
+            case Block:
+                actionQueue.offer(action);
+                if (actionQueue.size() >= bufferSettings.maxSize) {
+                    pauseReading();
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected buffer overflow policy: " + bufferSettings.overflowPolicy);
+        }
+
+        schedule();
+    }
 
-        if (actionQueue.size() > MAX_QUEUE_SIZE) {
-            drop(SubscriptionDropReason.UserInitiated, new SubscriptionBufferOverflowException("client buffer too big"));
+    private void pauseReading() {
+        Channel connection = connectionSupplier.get();
+
+        if (connection != null) {
+            pausedConnection.set(connection);
+
+            if (connection.config().isAutoRead()) {
+                logger.debug("Subscription {} to {}: buffer of {} events is full, pausing reads on connection.",
+                    correlationId, streamId(), bufferSettings.maxSize);
+                connection.config().setAutoRead(false);
+            }
         }
+    }
 
+    private void resumeReading() {
+        Channel connection = pausedConnection.getAndSet(null);
+
+        if (connection != null && !connection.config().isAutoRead()) {
+            logger.debug("Subscription {} to {}: resuming reads on connection.", correlationId, streamId());
+            connection.config().setAutoRead(true);
+        }
+    }
+
+    private void schedule() {
         if (actionExecuting.compareAndSet(false, true)) {
             executor.execute(this::run);
         }
@@ -280,14 +363,32 @@ public abstract class AbstractSubscriptionOperation<T extends Subscription> impl
 
             while ((action = actionQueue.poll()) != null) {
                 action.run();
+
+                if (pausedConnection.get() != null && actionQueue.size() <= bufferSettings.maxSize / 2) {
+                    resumeReading();
+                }
+            }
+
+            // close notification is always the last one, and never takes a buffer slot
+            if ((action = closeAction.getAndSet(null)) != null) {
+                action.run();
             }
 
             actionExecuting.set(false);
-        } while (!actionQueue.isEmpty() && actionExecuting.compareAndSet(false, true));
+        } while ((!actionQueue.isEmpty() || closeAction.get() != null) && actionExecuting.compareAndSet(false, true));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static <R extends MessageLite> R newInstance(R message, TcpPackage tcpPackage) {
+        try {
+            return (R) tcpPackage.parseData(message.getParserForType());
+        } catch (InvalidProtocolBufferException e) {
+            throw Throwables.propagate(e);
+        }
     }
 
     @SuppressWarnings("unchecked")
-    protected static <R extends MessageLite> R newInstance(R message, byte[] data) {
+    protected static <R extends MessageLite> R newInstance(R message, ByteString data) {
         try {
             return (R) message.getParserForType().parseFrom(data);
         } catch (InvalidProtocolBufferException e) {
@@ -1,11 +1,14 @@
 package com.github.msemys.esjc.subscription;
 
 import com.github.msemys.esjc.*;
+import com.github.msemys.esjc.checkpoint.Checkpoint;
+import com.github.msemys.esjc.checkpoint.Checkpointer;
+import com.github.msemys.esjc.util.ReadAhead;
 import com.github.msemys.esjc.util.Strings;
 
 import java.util.concurrent.Executor;
 
-import static com.github.msemys.esjc.util.Threads.sleepUninterruptibly;
+import static com.github.msemys.esjc.util.Preconditions.checkState;
 
 public class AllCatchUpSubscription extends CatchUpSubscription {
     private Position nextReadPosition;
@@ -17,9 +20,12 @@ public class AllCatchUpSubscription extends CatchUpSubscription {
                                   CatchUpSubscriptionListener listener,
                                   UserCredentials userCredentials,
                                   int readBatchSize,
+                                  int readAheadBatches,
+                                  int readAheadBytes,
                                   int maxPushQueueSize,
+                                  Checkpointer checkpointer,
                                   Executor executor) {
-        super(eventstore, Strings.EMPTY, resolveLinkTos, listener, userCredentials, readBatchSize, maxPushQueueSize, executor);
+        super(eventstore, Strings.EMPTY, resolveLinkTos, listener, userCredentials, readBatchSize, readAheadBatches, readAheadBytes, maxPushQueueSize, checkpointer, executor);
         lastProcessedPosition = (position == null) ? Position.END : position;
         nextReadPosition = (position == null) ? Position.START : position;
     }
@@ -30,10 +36,16 @@ public class AllCatchUpSubscription extends CatchUpSubscription {
                                   UserCredentials userCredentials,
                                   Long lastCommitPosition,
                                   Long lastEventNumber) throws Exception {
+        // events, that were processed from the live queue, are not read again (e.g. after reconnection)
+        if (lastProcessedPosition.compareTo(nextReadPosition) > 0) {
+            nextReadPosition = lastProcessedPosition;
+        }
+
+        ReadAhead<Position, AllEventsSlice> slices = newReadAhead(eventstore, resolveLinkTos, userCredentials, lastCommitPosition);
         boolean done;
 
         do {
-            AllEventsSlice slice = eventstore.readAllEventsForward(nextReadPosition, readBatchSize, resolveLinkTos, userCredentials).get();
+            AllEventsSlice slice = slices.next();
 
             for (ResolvedEvent e : slice.events) {
                 if (e.originalPosition == null) {
@@ -45,17 +57,37 @@ public class AllCatchUpSubscription extends CatchUpSubscription {
 
             nextReadPosition = slice.nextPosition;
 
-            done = (lastCommitPosition == null) ?
-                slice.isEndOfStream() : slice.nextPosition.compareTo(new Position(lastCommitPosition, lastCommitPosition)) >= 0;
+            done = slice.isEndOfStream() ||
+                (lastCommitPosition != null && slice.nextPosition.compareTo(new Position(lastCommitPosition, lastCommitPosition)) >= 0);
 
-            if (!done && slice.isEndOfStream()) {
-                sleepUninterruptibly(1); // we are waiting for server to flush its data
+            if (!done && lastCommitPosition != null) {
+                // the rest of the gap is handed over to the live queue, where already processed events are skipped
+                done = isCoveredByLiveEvents(firstLiveEvent());
             }
         } while (!done && !shouldStop);
 
         logger.trace("Catch-up subscription to {}: finished reading events, nextReadPosition = {}.", streamId(), nextReadPosition);
     }
 
+    private boolean isCoveredByLiveEvents(ResolvedEvent firstLiveEvent) {
+        return firstLiveEvent != null && firstLiveEvent.originalPosition.compareTo(nextReadPosition) <= 0;
+    }
+
+    private ReadAhead<Position, AllEventsSlice> newReadAhead(EventStore eventstore,
+                                                             boolean resolveLinkTos,
+                                                             UserCredentials userCredentials,
+                                                             Long lastCommitPosition) {
+        // slices are prefetched (while the current one is processed) up to the end of the stream or the last commit position
+        return new ReadAhead<>(nextReadPosition,
+            position -> eventstore.readAllEventsForward(position, readBatchSize, resolveLinkTos, userCredentials),
+            slice -> slice.nextPosition,
+            slice -> slice.events,
+            slice -> slice.isEndOfStream() ||
+                (lastCommitPosition != null && slice.nextPosition.compareTo(new Position(lastCommitPosition, lastCommitPosition)) >= 0),
+            readAheadBatches,
+            readAheadBytes);
+    }
+
     @Override
     protected void tryProcess(ResolvedEvent event) {
         boolean processed = false;
@@ -64,12 +96,23 @@ public class AllCatchUpSubscription extends CatchUpSubscription {
             listener.onEvent(this, event);
             lastProcessedPosition = event.originalPosition;
             processed = true;
+
+            if (checkpointer != null) {
+                checkpointer.update(Checkpoint.of(lastProcessedPosition));
+            }
         }
 
         logger.trace("Catch-up subscription to {}: {} event ({}, {}, {} @ {}).", streamId(), processed ? "processed" : "skipping",
             event.originalEvent().eventStreamId, event.originalEvent().eventNumber, event.originalEvent().eventType, event.originalPosition);
     }
 
+    @Override
+    protected void restore(Checkpoint checkpoint) {
+        checkState(checkpoint.position != null, "Checkpoint %s is not a $all stream checkpoint.", checkpoint);
+        lastProcessedPosition = checkpoint.position;
+        nextReadPosition = checkpoint.position;
+    }
+
     @Override
     public Position lastProcessedPosition() {
         Position oldPosition = lastProcessedPosition;
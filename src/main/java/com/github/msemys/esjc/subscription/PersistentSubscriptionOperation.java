@@ -14,33 +14,58 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.MessageLite;
 import io.netty.channel.Channel;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
 import static com.github.msemys.esjc.util.UUIDConverter.toBytes;
 import static java.util.stream.Collectors.toCollection;
 
+/**
+ * Persistent subscription operation, that accumulates processed and failed event ids and sends them to the server
+ * in a single acknowledgement, when the ack batch size is reached or the flush delay elapses.
+ */
 public class PersistentSubscriptionOperation extends AbstractSubscriptionOperation<PersistentSubscriptionChannel> implements PersistentSubscriptionProtocol {
     private final String groupName;
     private final int bufferSize;
+    private final int ackBatchSize;
+    private final Duration ackFlushDelay;
     private String subscriptionId;
 
+    private final Object pendingLock = new Object();
+    private List<UUID> pendingAcks = new ArrayList<>();
+    private List<UUID> pendingNaks = new ArrayList<>();
+    private PersistentSubscriptionNakEventAction pendingNakAction;
+    private String pendingNakReason;
+    private boolean flushScheduled;
+
     public PersistentSubscriptionOperation(CompletableFuture<Subscription> result,
                                            String groupName,
                                            String streamId,
                                            int bufferSize,
                                            UserCredentials userCredentials,
                                            SubscriptionListener<PersistentSubscriptionChannel> listener,
+                                           SubscriptionBufferSettings bufferSettings,
+                                           boolean lazyEvents,
+                                           int ackBatchSize,
+                                           Duration ackFlushDelay,
                                            Supplier<Channel> connectionSupplier,
                                            Executor executor) {
-        super(result, TcpCommand.ConnectToPersistentSubscription, streamId, false, userCredentials, listener, connectionSupplier, executor);
+        super(result, TcpCommand.ConnectToPersistentSubscription, streamId, false, userCredentials, listener, bufferSettings, lazyEvents, connectionSupplier, executor);
+        checkNotNull(ackFlushDelay, "ackFlushDelay is null");
+
         this.groupName = groupName;
         this.bufferSize = bufferSize;
+        // the server stops pushing events, when the whole buffer awaits acknowledgement
+        this.ackBatchSize = Math.max(1, Math.min(ackBatchSize, bufferSize / 2));
+        this.ackFlushDelay = ackFlushDelay;
     }
 
     @Override
@@ -61,18 +86,18 @@ public class PersistentSubscriptionOperation extends AbstractSubscriptionOperati
     protected boolean inspect(TcpPackage tcpPackage, InspectionResult.Builder builder) {
         switch (tcpPackage.command) {
             case PersistentSubscriptionConfirmation:
-                PersistentSubscriptionConfirmation confirmation = newInstance(PersistentSubscriptionConfirmation.getDefaultInstance(), tcpPackage.data);
+                PersistentSubscriptionConfirmation confirmation = newInstance(PersistentSubscriptionConfirmation.getDefaultInstance(), tcpPackage);
                 confirmSubscription(confirmation.getLastCommitPosition(), confirmation.hasLastEventNumber() ? confirmation.getLastEventNumber() : null);
                 builder.decision(InspectionDecision.Subscribed).description("SubscriptionConfirmation");
                 subscriptionId = confirmation.getSubscriptionId();
                 return true;
             case PersistentSubscriptionStreamEventAppeared:
-                PersistentSubscriptionStreamEventAppeared streamEventAppeared = newInstance(PersistentSubscriptionStreamEventAppeared.getDefaultInstance(), tcpPackage.data);
-                eventAppeared(new ResolvedEvent(streamEventAppeared.getEvent()));
+                PersistentSubscriptionStreamEventAppeared streamEventAppeared = newInstance(PersistentSubscriptionStreamEventAppeared.getDefaultInstance(), tcpPackage);
+                eventAppeared(new ResolvedEvent(streamEventAppeared.getEvent(), lazyEvents));
                 builder.decision(InspectionDecision.DoNothing).description("StreamEventAppeared");
                 return true;
             case SubscriptionDropped:
-                SubscriptionDropped subscriptionDropped = newInstance(SubscriptionDropped.getDefaultInstance(), tcpPackage.data);
+                SubscriptionDropped subscriptionDropped = newInstance(SubscriptionDropped.getDefaultInstance(), tcpPackage);
                 switch (subscriptionDropped.getReason()) {
                     case AccessDenied:
                         drop(SubscriptionDropReason.AccessDenied, new AccessDeniedException("You do not have access to the stream."));
@@ -103,6 +128,92 @@ public class PersistentSubscriptionOperation extends AbstractSubscriptionOperati
     public void notifyEventsProcessed(List<UUID> processedEvents) {
         checkNotNull(processedEvents, "processedEvents is null");
 
+        synchronized (pendingLock) {
+            for (UUID eventId : processedEvents) {
+                pendingAcks.add(eventId);
+                if (pendingAcks.size() + pendingNaks.size() >= ackBatchSize) {
+                    sendPending();
+                }
+            }
+            schedulePending();
+        }
+    }
+
+    @Override
+    public void notifyEventsFailed(List<UUID> processedEvents, PersistentSubscriptionNakEventAction action, String reason) {
+        checkNotNull(processedEvents, "processedEvents is null");
+        checkNotNull(reason, "reason is null");
+
+        synchronized (pendingLock) {
+            // a single nak message carries one action and reason
+            if (!pendingNaks.isEmpty() && (pendingNakAction != action || !Objects.equals(pendingNakReason, reason))) {
+                sendPending();
+            }
+
+            pendingNakAction = action;
+            pendingNakReason = reason;
+
+            for (UUID eventId : processedEvents) {
+                pendingNaks.add(eventId);
+                if (pendingAcks.size() + pendingNaks.size() >= ackBatchSize) {
+                    sendPending();
+                }
+            }
+            schedulePending();
+        }
+    }
+
+    @Override
+    public void unsubscribe() {
+        flush();
+        super.unsubscribe();
+    }
+
+    @Override
+    public void flush() {
+        synchronized (pendingLock) {
+            sendPending();
+        }
+    }
+
+    private void schedulePending() {
+        if (pendingAcks.isEmpty() && pendingNaks.isEmpty()) {
+            return;
+        }
+
+        if (ackFlushDelay.isZero()) {
+            sendPending();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            connectionSupplier.get().eventLoop().schedule(() -> {
+                synchronized (pendingLock) {
+                    flushScheduled = false;
+                    sendPending();
+                }
+            }, ackFlushDelay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void sendPending() {
+        if (isDropped()) {
+            // the server redelivers the events, that were not acknowledged before the subscription was dropped
+            pendingAcks.clear();
+            pendingNaks.clear();
+            return;
+        }
+
+        if (!pendingAcks.isEmpty()) {
+            sendAck(pendingAcks);
+            pendingAcks = new ArrayList<>();
+        }
+
+        if (!pendingNaks.isEmpty()) {
+            sendNak(pendingNaks, pendingNakAction, pendingNakReason);
+            pendingNaks = new ArrayList<>();
+        }
+    }
+
+    private void sendAck(List<UUID> processedEvents) {
         PersistentSubscriptionAckEvents message = PersistentSubscriptionAckEvents.newBuilder()
             .setSubscriptionId(subscriptionId)
             .addAllProcessedEventIds(processedEvents.stream()
@@ -120,11 +231,7 @@ public class PersistentSubscriptionOperation extends AbstractSubscriptionOperati
             .build());
     }
 
-    @Override
-    public void notifyEventsFailed(List<UUID> processedEvents, PersistentSubscriptionNakEventAction action, String reason) {
-        checkNotNull(processedEvents, "processedEvents is null");
-        checkNotNull(reason, "reason is null");
-
+    private void sendNak(List<UUID> processedEvents, PersistentSubscriptionNakEventAction action, String reason) {
         PersistentSubscriptionNakEvents message = PersistentSubscriptionNakEvents.newBuilder()
             .setSubscriptionId(subscriptionId)
             .addAllProcessedEventIds(processedEvents.stream()
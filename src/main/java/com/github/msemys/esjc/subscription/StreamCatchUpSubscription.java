@@ -1,13 +1,16 @@
 package com.github.msemys.esjc.subscription;
 
 import com.github.msemys.esjc.*;
+import com.github.msemys.esjc.checkpoint.Checkpoint;
+import com.github.msemys.esjc.checkpoint.Checkpointer;
 import com.github.msemys.esjc.operation.StreamDeletedException;
+import com.github.msemys.esjc.util.ReadAhead;
 
 import java.util.concurrent.Executor;
 
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkState;
 import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
-import static com.github.msemys.esjc.util.Threads.sleepUninterruptibly;
 
 public class StreamCatchUpSubscription extends CatchUpSubscription {
     private long nextReadEventNumber;
@@ -20,9 +23,12 @@ public class StreamCatchUpSubscription extends CatchUpSubscription {
                                      CatchUpSubscriptionListener listener,
                                      UserCredentials userCredentials,
                                      int readBatchSize,
+                                     int readAheadBatches,
+                                     int readAheadBytes,
                                      int maxPushQueueSize,
+                                     Checkpointer checkpointer,
                                      Executor executor) {
-        super(eventstore, streamId, resolveLinkTos, listener, userCredentials, readBatchSize, maxPushQueueSize, executor);
+        super(eventstore, streamId, resolveLinkTos, listener, userCredentials, readBatchSize, readAheadBatches, readAheadBytes, maxPushQueueSize, checkpointer, executor);
         checkArgument(!isNullOrEmpty(streamId), "streamId is null or empty");
         lastProcessedEventNumber = (eventNumber == null) ? StreamPosition.END : eventNumber;
         nextReadEventNumber = (eventNumber == null) ? StreamPosition.START : eventNumber;
@@ -34,16 +40,20 @@ public class StreamCatchUpSubscription extends CatchUpSubscription {
                                   UserCredentials userCredentials,
                                   Long lastCommitPosition,
                                   Long lastEventNumber) throws Exception {
+        // events, that were processed from the live queue, are not read again (e.g. after reconnection)
+        nextReadEventNumber = Math.max(nextReadEventNumber, lastProcessedEventNumber + 1);
+
+        ReadAhead<Long, StreamEventsSlice> slices = newReadAhead(eventstore, resolveLinkTos, userCredentials, lastEventNumber);
         boolean done;
 
         do {
-            StreamEventsSlice slice = eventstore.readStreamEventsForward(streamId, nextReadEventNumber, readBatchSize, resolveLinkTos, userCredentials).get();
+            StreamEventsSlice slice = slices.next();
 
             switch (slice.status) {
                 case Success:
                     slice.events.forEach(this::tryProcess);
                     nextReadEventNumber = slice.nextEventNumber;
-                    done = (lastEventNumber == null) ? slice.isEndOfStream : (slice.nextEventNumber > lastEventNumber);
+                    done = slice.isEndOfStream || (lastEventNumber != null && slice.nextEventNumber > lastEventNumber);
                     break;
                 case StreamNotFound:
                     if (lastEventNumber != null && lastEventNumber != StreamPosition.END) {
@@ -57,14 +67,34 @@ public class StreamCatchUpSubscription extends CatchUpSubscription {
                     throw new IllegalStateException(String.format("Unexpected StreamEventsSlice.Status: %s.", slice.status));
             }
 
-            if (!done && slice.isEndOfStream) {
-                sleepUninterruptibly(1); // we are waiting for server to flush its data
+            if (!done && lastEventNumber != null) {
+                // the rest of the gap is handed over to the live queue, where already processed events are skipped
+                done = isCoveredByLiveEvents(firstLiveEvent());
             }
         } while (!done && !shouldStop);
 
         logger.trace("Catch-up subscription to {}: finished reading events, nextReadEventNumber = {}.", streamId(), nextReadEventNumber);
     }
 
+    private boolean isCoveredByLiveEvents(ResolvedEvent firstLiveEvent) {
+        return firstLiveEvent != null && firstLiveEvent.originalEventNumber() <= nextReadEventNumber;
+    }
+
+    private ReadAhead<Long, StreamEventsSlice> newReadAhead(EventStore eventstore,
+                                                            boolean resolveLinkTos,
+                                                            UserCredentials userCredentials,
+                                                            Long lastEventNumber) {
+        // slices are prefetched (while the current one is processed) up to the end of the stream or the last event number
+        return new ReadAhead<>(nextReadEventNumber,
+            eventNumber -> eventstore.readStreamEventsForward(streamId, eventNumber, readBatchSize, resolveLinkTos, userCredentials),
+            slice -> slice.nextEventNumber,
+            slice -> slice.events,
+            slice -> slice.status != SliceReadStatus.Success || slice.isEndOfStream ||
+                (lastEventNumber != null && slice.nextEventNumber > lastEventNumber),
+            readAheadBatches,
+            readAheadBytes);
+    }
+
     @Override
     protected void tryProcess(ResolvedEvent event) {
         boolean processed = false;
@@ -73,12 +103,23 @@ public class StreamCatchUpSubscription extends CatchUpSubscription {
             listener.onEvent(this, event);
             lastProcessedEventNumber = event.originalEventNumber();
             processed = true;
+
+            if (checkpointer != null) {
+                checkpointer.update(Checkpoint.of(lastProcessedEventNumber));
+            }
         }
 
         logger.trace("Catch-up subscription to {}: {} event ({}, {}, {} @ {}).", streamId(), processed ? "processed" : "skipping",
             event.originalEvent().eventStreamId, event.originalEvent().eventNumber, event.originalEvent().eventType, event.originalEventNumber());
     }
 
+    @Override
+    protected void restore(Checkpoint checkpoint) {
+        checkState(checkpoint.eventNumber != null, "Checkpoint %s is not a stream checkpoint.", checkpoint);
+        lastProcessedEventNumber = checkpoint.eventNumber;
+        nextReadEventNumber = checkpoint.eventNumber;
+    }
+
     @Override
     public long lastProcessedEventNumber() {
         return lastProcessedEventNumber;
@@ -21,4 +21,10 @@ public interface SubscriptionOperation {
 
     void connectionClosed();
 
+    /**
+     * Sends the messages, that are held back by the operation, before the connection is closed on purpose.
+     */
+    default void flush() {
+    }
+
 }
@@ -19,4 +19,9 @@ public class VolatileSubscription extends Subscription {
         operation.unsubscribe();
     }
 
+    @Override
+    public long droppedEventCount() {
+        return operation.droppedEventCount();
+    }
+
 }
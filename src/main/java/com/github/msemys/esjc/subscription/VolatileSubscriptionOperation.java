@@ -2,6 +2,7 @@ package com.github.msemys.esjc.subscription;
 
 import com.github.msemys.esjc.ResolvedEvent;
 import com.github.msemys.esjc.Subscription;
+import com.github.msemys.esjc.SubscriptionBufferSettings;
 import com.github.msemys.esjc.SubscriptionListener;
 import com.github.msemys.esjc.UserCredentials;
 import com.github.msemys.esjc.operation.InspectionDecision;
@@ -26,9 +27,11 @@ public class VolatileSubscriptionOperation extends AbstractSubscriptionOperation
                                          boolean resolveLinkTos,
                                          UserCredentials userCredentials,
                                          SubscriptionListener listener,
+                                         SubscriptionBufferSettings bufferSettings,
+                                         boolean lazyEvents,
                                          Supplier<Channel> connectionSupplier,
                                          Executor executor) {
-        super(result, TcpCommand.SubscribeToStream, streamId, resolveLinkTos, userCredentials, listener, connectionSupplier, executor);
+        super(result, TcpCommand.SubscribeToStream, streamId, resolveLinkTos, userCredentials, listener, bufferSettings, lazyEvents, connectionSupplier, executor);
     }
 
     @Override
@@ -48,13 +51,13 @@ public class VolatileSubscriptionOperation extends AbstractSubscriptionOperation
     protected boolean inspect(TcpPackage tcpPackage, InspectionResult.Builder builder) {
         switch (tcpPackage.command) {
             case SubscriptionConfirmation:
-                SubscriptionConfirmation confirmation = newInstance(SubscriptionConfirmation.getDefaultInstance(), tcpPackage.data);
+                SubscriptionConfirmation confirmation = newInstance(SubscriptionConfirmation.getDefaultInstance(), tcpPackage);
                 confirmSubscription(confirmation.getLastCommitPosition(), confirmation.hasLastEventNumber() ? confirmation.getLastEventNumber() : null);
                 builder.decision(InspectionDecision.Subscribed).description("SubscriptionConfirmation");
                 return true;
             case StreamEventAppeared:
-                StreamEventAppeared streamEventAppeared = newInstance(StreamEventAppeared.getDefaultInstance(), tcpPackage.data);
-                eventAppeared(new ResolvedEvent(streamEventAppeared.getEvent()));
+                StreamEventAppeared streamEventAppeared = newInstance(StreamEventAppeared.getDefaultInstance(), tcpPackage);
+                eventAppeared(new ResolvedEvent(streamEventAppeared.getEvent(), lazyEvents));
                 builder.decision(InspectionDecision.DoNothing).description("StreamEventAppeared");
                 return true;
             default:
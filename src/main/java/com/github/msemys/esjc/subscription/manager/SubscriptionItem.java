@@ -3,6 +3,7 @@ package com.github.msemys.esjc.subscription.manager;
 import com.github.msemys.esjc.subscription.SubscriptionOperation;
 import com.github.msemys.esjc.tcp.ChannelId;
 import com.github.msemys.esjc.util.SystemTime;
+import com.github.msemys.esjc.util.concurrent.TimeoutWheel;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -21,6 +22,7 @@ public class SubscriptionItem {
     public boolean isSubscribed;
     public int retryCount;
     public final SystemTime lastUpdated;
+    public final TimeoutWheel.Entry<SubscriptionItem> timeoutEntry = new TimeoutWheel.Entry<>(this);
 
     public SubscriptionItem(SubscriptionOperation operation, int maxRetries, Duration timeout) {
         checkNotNull(operation, "operation is null");
@@ -30,7 +32,6 @@ public class SubscriptionItem {
         this.timeout = timeout;
         this.createdTime = Instant.now();
 
-        correlationId = UUID.randomUUID();
         retryCount = 0;
         lastUpdated = SystemTime.now();
     }
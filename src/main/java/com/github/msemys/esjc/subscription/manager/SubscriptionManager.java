@@ -6,33 +6,92 @@ import com.github.msemys.esjc.SubscriptionDropReason;
 import com.github.msemys.esjc.operation.manager.OperationTimeoutException;
 import com.github.msemys.esjc.operation.manager.RetriesLimitReachedException;
 import com.github.msemys.esjc.tcp.ChannelId;
+import com.github.msemys.esjc.tcp.CorrelationIdGenerator;
+import com.github.msemys.esjc.tcp.CorrelationIdMap;
+import com.github.msemys.esjc.util.concurrent.TimeoutWheel;
 import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Stream.concat;
 
 public class SubscriptionManager {
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionManager.class);
 
-    private final Map<UUID, SubscriptionItem> activeSubscriptions = new ConcurrentHashMap<>();
+    private static final long TIMEOUT_TICK_NANOS = MILLISECONDS.toNanos(10);
+    private static final int TIMEOUT_TICKS_PER_WHEEL = 1024;
+
+    private final CorrelationIdMap<SubscriptionItem> activeSubscriptions = new CorrelationIdMap<>();
+    private final CorrelationIdGenerator correlationIds = new CorrelationIdGenerator();
     private final Queue<SubscriptionItem> waitingSubscriptions = new ArrayDeque<>();
     private final List<SubscriptionItem> retryPendingSubscriptions = new ArrayList<>();
+    private final TimeoutWheel<SubscriptionItem> timeouts = new TimeoutWheel<>(TIMEOUT_TICK_NANOS, TIMEOUT_TICKS_PER_WHEEL);
+    private Channel lastConnection;
 
-    private final Settings settings;
+    // published for the readers on other threads, updated by the manager thread after every change
+    private volatile int activeSubscriptionCount;
+    private volatile int waitingSubscriptionCount;
+    private volatile int retryPendingSubscriptionCount;
 
-    public SubscriptionManager(Settings settings) {
+    private final Settings settings;
+    private final Runnable timeoutCheckRequest;
+
+    /**
+     * Creates a new subscription manager, that should be used from a single thread only.
+     *
+     * @param settings            client settings.
+     * @param timeoutCheckRequest requests {@link #checkTimeoutsAndRetry(Channel)} call on the manager thread,
+     *                            is invoked on the connection event loop when the earliest deadline is reached.
+     */
+    public SubscriptionManager(Settings settings, Runnable timeoutCheckRequest) {
         checkNotNull(settings, "settings is null");
+        checkNotNull(timeoutCheckRequest, "timeoutCheckRequest is null");
         this.settings = settings;
+        this.timeoutCheckRequest = timeoutCheckRequest;
+    }
+
+    /**
+     * Gets the active subscription by the correlation id halves, without creating {@link UUID} instance.
+     *
+     * @param correlationIdHigh the most significant bits of the correlation id.
+     * @param correlationIdLow  the least significant bits of the correlation id.
+     * @return active subscription, or {@code null} if there is no active subscription with the specified correlation id
+     */
+    public SubscriptionItem getActiveSubscription(long correlationIdHigh, long correlationIdLow) {
+        return activeSubscriptions.get(correlationIdHigh, correlationIdLow);
+    }
+
+    /**
+     * Gets the number of subscriptions, that are started (confirmed or not) and not dropped. Can be called from any thread.
+     *
+     * @return active subscription count
+     */
+    public int activeSubscriptionCount() {
+        return activeSubscriptionCount;
+    }
+
+    /**
+     * Gets the number of subscriptions, that wait to be started. Can be called from any thread.
+     *
+     * @return waiting subscription count
+     */
+    public int waitingSubscriptionCount() {
+        return waitingSubscriptionCount;
     }
 
-    public Optional<SubscriptionItem> getActiveSubscription(UUID correlationId) {
-        return Optional.ofNullable(activeSubscriptions.get(correlationId));
+    /**
+     * Gets the number of subscriptions, that wait to be retried. Can be called from any thread.
+     *
+     * @return retry-pending subscription count
+     */
+    public int retryPendingSubscriptionCount() {
+        return retryPendingSubscriptionCount;
     }
 
     public void cleanUp(Throwable cause) {
@@ -46,6 +105,15 @@ public class SubscriptionManager {
         activeSubscriptions.clear();
         waitingSubscriptions.clear();
         retryPendingSubscriptions.clear();
+        timeouts.clear();
+        lastConnection = null;
+        updateCounts();
+    }
+
+    public void flush() {
+        activeSubscriptions.values().stream()
+            .filter(s -> s.isSubscribed)
+            .forEach(s -> s.operation.flush());
     }
 
     public void purgeSubscribedAndDropped(ChannelId connectionId) {
@@ -59,38 +127,30 @@ public class SubscriptionManager {
             });
 
         subscriptionsToRemove.forEach(s -> activeSubscriptions.remove(s.correlationId));
+        updateCounts();
     }
 
+    /**
+     * Retries the unconfirmed subscriptions, that were started over the previous connection, expires the
+     * unconfirmed subscriptions, whose deadline is reached, and starts the retry-pending and waiting subscriptions.
+     * The next check is requested from the connection event loop at the earliest deadline.
+     *
+     * @param connection connection.
+     */
     public void checkTimeoutsAndRetry(Channel connection) {
         checkNotNull(connection, "connection is null");
 
-        final ChannelId connectionId = ChannelId.of(connection);
+        if (connection != lastConnection) {
+            final ChannelId connectionId = ChannelId.of(connection);
 
-        List<SubscriptionItem> retrySubscriptions = new ArrayList<>();
-        List<SubscriptionItem> removeSubscriptions = new ArrayList<>();
+            activeSubscriptions.values().stream()
+                .filter(s -> !s.isSubscribed && !s.connectionId.equals(connectionId))
+                .forEach(this::scheduleSubscriptionRetry);
 
-        activeSubscriptions.values().stream()
-            .filter(s -> !s.isSubscribed)
-            .forEach(s -> {
-                if (!s.connectionId.equals(connectionId)) {
-                    retrySubscriptions.add(s);
-                } else if (!s.timeout.isZero() && s.lastUpdated.isElapsed(settings.operationTimeout)) {
-                    String error = String.format("Subscription never got confirmation from server. UTC now: %s, operation: %s.",
-                        Instant.now(), s);
-
-                    logger.error(error);
-
-                    if (settings.failOnNoServerResponse) {
-                        s.operation.drop(SubscriptionDropReason.SubscribingError, new OperationTimeoutException(error));
-                        removeSubscriptions.add(s);
-                    } else {
-                        retrySubscriptions.add(s);
-                    }
-                }
-            });
+            lastConnection = connection;
+        }
 
-        retrySubscriptions.forEach(this::scheduleSubscriptionRetry);
-        removeSubscriptions.forEach(this::removeSubscription);
+        timeouts.expire(System.nanoTime()).forEach(this::onSubscriptionTimeout);
 
         if (!retryPendingSubscriptions.isEmpty()) {
             retryPendingSubscriptions.forEach(s -> {
@@ -103,11 +163,40 @@ public class SubscriptionManager {
         while (!waitingSubscriptions.isEmpty()) {
             startSubscription(waitingSubscriptions.poll(), connection);
         }
+
+        scheduleTimeoutCheck(connection, timeouts.nextWakeup());
+        updateCounts();
+    }
+
+    private void onSubscriptionTimeout(SubscriptionItem item) {
+        if (!item.isSubscribed && activeSubscriptions.get(item.correlationId) == item) {
+            String error = String.format("Subscription never got confirmation from server. UTC now: %s, operation: %s.",
+                Instant.now(), item);
+
+            logger.error(error);
+
+            if (settings.failOnNoServerResponse) {
+                item.operation.drop(SubscriptionDropReason.SubscribingError, new OperationTimeoutException(error));
+                removeSubscription(item);
+            } else {
+                scheduleSubscriptionRetry(item);
+            }
+        }
+    }
+
+    private void scheduleTimeoutCheck(Channel connection, long deadline) {
+        if (deadline != TimeoutWheel.NO_DEADLINE) {
+            connection.eventLoop().schedule(timeoutCheckRequest, deadline - System.nanoTime(), NANOSECONDS);
+        }
     }
 
     public boolean removeSubscription(SubscriptionItem item) {
         boolean removed = activeSubscriptions.remove(item.correlationId) != null;
+        if (removed) {
+            timeouts.cancel(item.timeoutEntry);
+        }
         logger.debug("RemoveSubscription {}, result {}.", item, removed);
+        updateCounts();
         return removed;
     }
 
@@ -126,10 +215,12 @@ public class SubscriptionManager {
 
         logger.debug("retrying subscription {}.", item);
         retryPendingSubscriptions.add(item);
+        updateCounts();
     }
 
     public void enqueueSubscription(SubscriptionItem item) {
         waitingSubscriptions.offer(item);
+        updateCounts();
     }
 
     public void startSubscription(SubscriptionItem item, Channel connection) {
@@ -141,18 +232,30 @@ public class SubscriptionManager {
             return;
         }
 
-        item.correlationId = UUID.randomUUID();
+        item.correlationId = correlationIds.next();
         item.connectionId = ChannelId.of(connection);
         item.lastUpdated.update();
 
         activeSubscriptions.put(item.correlationId, item);
 
+        if (!item.timeout.isZero() && timeouts.schedule(item.timeoutEntry, item.lastUpdated.deadline(settings.operationTimeout))) {
+            scheduleTimeoutCheck(connection, item.timeoutEntry.deadline());
+        }
+
         if (!item.operation.subscribe(item.correlationId, connection)) {
             logger.debug("StartSubscription REMOVING AS COULD NOT SUBSCRIBE {}.", item);
             removeSubscription(item);
         } else {
             logger.debug("StartSubscription SUBSCRIBING {}.", item);
         }
+
+        updateCounts();
+    }
+
+    private void updateCounts() {
+        activeSubscriptionCount = activeSubscriptions.size();
+        waitingSubscriptionCount = waitingSubscriptions.size();
+        retryPendingSubscriptionCount = retryPendingSubscriptions.size();
     }
 
 }
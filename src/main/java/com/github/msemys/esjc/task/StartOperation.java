@@ -2,13 +2,19 @@ package com.github.msemys.esjc.task;
 
 import com.github.msemys.esjc.operation.Operation;
 
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
 
 public class StartOperation implements Task {
     public final Operation operation;
+    public final int connectionIndex;
+    public final int maxRetries;
 
-    public StartOperation(Operation operation) {
+    public StartOperation(Operation operation, int connectionIndex, int maxRetries) {
         checkNotNull(operation, "operation is null");
+        checkArgument(connectionIndex >= 0, "connectionIndex should not be negative");
         this.operation = operation;
+        this.connectionIndex = connectionIndex;
+        this.maxRetries = maxRetries;
     }
 }
@@ -18,6 +18,7 @@ public class StartPersistentSubscription implements Task {
     public final int bufferSize;
     public final UserCredentials userCredentials;
     public final SubscriptionListener<PersistentSubscriptionChannel> listener;
+    public final int connectionIndex;
     public final int maxRetries;
     public final Duration timeout;
 
@@ -27,6 +28,7 @@ public class StartPersistentSubscription implements Task {
                                        int bufferSize,
                                        UserCredentials userCredentials,
                                        SubscriptionListener<PersistentSubscriptionChannel> listener,
+                                       int connectionIndex,
                                        int maxRetries,
                                        Duration timeout) {
         checkNotNull(result, "result is null");
@@ -38,6 +40,7 @@ public class StartPersistentSubscription implements Task {
         this.bufferSize = bufferSize;
         this.userCredentials = userCredentials;
         this.listener = listener;
+        this.connectionIndex = connectionIndex;
         this.maxRetries = maxRetries;
         this.timeout = timeout;
     }
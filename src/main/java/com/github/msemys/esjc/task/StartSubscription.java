@@ -1,6 +1,7 @@
 package com.github.msemys.esjc.task;
 
 import com.github.msemys.esjc.Subscription;
+import com.github.msemys.esjc.SubscriptionBufferSettings;
 import com.github.msemys.esjc.UserCredentials;
 import com.github.msemys.esjc.VolatileSubscriptionListener;
 
@@ -16,6 +17,7 @@ public class StartSubscription implements Task {
     public final boolean resolveLinkTos;
     public final UserCredentials userCredentials;
     public final VolatileSubscriptionListener listener;
+    public final SubscriptionBufferSettings bufferSettings;
 
     public final int maxRetries;
     public final Duration timeout;
@@ -25,16 +27,19 @@ public class StartSubscription implements Task {
                              boolean resolveLinkTos,
                              UserCredentials userCredentials,
                              VolatileSubscriptionListener listener,
+                             SubscriptionBufferSettings bufferSettings,
                              int maxRetries,
                              Duration timeout) {
         checkNotNull(result, "result is null");
         checkNotNull(listener, "listener is null");
+        checkNotNull(bufferSettings, "bufferSettings is null");
 
         this.result = result;
         this.streamId = streamId;
         this.resolveLinkTos = resolveLinkTos;
         this.userCredentials = userCredentials;
         this.listener = listener;
+        this.bufferSettings = bufferSettings;
         this.maxRetries = maxRetries;
         this.timeout = timeout;
     }
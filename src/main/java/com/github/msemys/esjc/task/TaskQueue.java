@@ -11,14 +11,16 @@ import java.util.function.Consumer;
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
 import static com.github.msemys.esjc.util.Preconditions.checkState;
 
-public class TaskQueue {
+public class TaskQueue implements Executor {
     private final Executor executor;
     private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
     private final Map<Class<? extends Task>, Consumer<Task>> handlers = new HashMap<>();
     private final AtomicBoolean processing = new AtomicBoolean();
+    private volatile Thread processingThread;
 
     public TaskQueue(Executor executor) {
         this.executor = executor;
+        register(Action.class, action -> action.runnable.run());
     }
 
     @SuppressWarnings("unchecked")
@@ -38,8 +40,30 @@ public class TaskQueue {
         }
     }
 
+    /**
+     * Runs the action in order with the tasks, so that it could access the state, that is confined to the task thread.
+     *
+     * @param action action.
+     */
+    @Override
+    public void execute(Runnable action) {
+        checkNotNull(action, "action is null");
+        enqueue(new Action(action));
+    }
+
+    /**
+     * Checks whether the current thread is the one, that processes the tasks.
+     *
+     * @return {@code true} if the tasks are being processed on the current thread, otherwise {@code false}
+     */
+    public boolean inTaskThread() {
+        return processingThread == Thread.currentThread();
+    }
+
     private void process() {
         do {
+            processingThread = Thread.currentThread();
+
             Task task;
 
             while ((task = queue.poll()) != null) {
@@ -48,8 +72,17 @@ public class TaskQueue {
                 handler.accept(task);
             }
 
+            processingThread = null;
             processing.set(false);
         } while (!queue.isEmpty() && processing.compareAndSet(false, true));
     }
 
+    private static class Action implements Task {
+        final Runnable runnable;
+
+        Action(Runnable runnable) {
+            this.runnable = runnable;
+        }
+    }
+
 }
@@ -0,0 +1,4 @@
+package com.github.msemys.esjc.task;
+
+public class TimerTick implements Task {
+}
@@ -0,0 +1,37 @@
+package com.github.msemys.esjc.tcp;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates correlation ids without touching the shared {@link java.security.SecureRandom}, that is used by
+ * {@link UUID#randomUUID()}. Every generator picks a random 64-bit prefix once, that is combined with an atomic
+ * counter, so ids are unique within the generator and (with overwhelming probability) across generators.
+ * Version and variant bits are set as in random (version 4) UUIDs, so ids are still valid 16-byte UUIDs on the wire.
+ */
+public class CorrelationIdGenerator {
+    private static final long VERSION_MASK = 0xffffffffffff0fffL;
+    private static final long VERSION_4 = 0x0000000000004000L;
+    private static final long VARIANT_MASK = 0x3fffffffffffffffL;
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+
+    private final long prefix;
+    private final AtomicLong counter;
+
+    public CorrelationIdGenerator() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        prefix = (random.nextLong() & VERSION_MASK) | VERSION_4;
+        counter = new AtomicLong(random.nextLong());
+    }
+
+    /**
+     * Generates the next correlation id.
+     *
+     * @return correlation id
+     */
+    public UUID next() {
+        return new UUID(prefix, (counter.getAndIncrement() & VARIANT_MASK) | VARIANT_IETF);
+    }
+
+}
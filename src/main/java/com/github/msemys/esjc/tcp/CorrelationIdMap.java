@@ -0,0 +1,187 @@
+package com.github.msemys.esjc.tcp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Map of values by correlation id, that is keyed on the two {@code long} halves of the id, so that inbound packages
+ * could be dispatched without creating {@link UUID} instances. Uses open addressing with linear probing and
+ * backward-shift deletion, so no entry objects or tombstones are created. The map is not thread-safe, it is
+ * confined to the event loop of its connection, that both dispatches inbound packages and starts operations.
+ *
+ * @param <V> the type of values
+ */
+public class CorrelationIdMap<V> {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] highs;
+    private long[] lows;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public CorrelationIdMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public V get(long high, long low) {
+        int index = indexOf(high, low);
+        return (index >= 0) ? value(index) : null;
+    }
+
+    public V get(UUID correlationId) {
+        return get(correlationId.getMostSignificantBits(), correlationId.getLeastSignificantBits());
+    }
+
+    public V put(UUID correlationId, V value) {
+        checkNotNull(correlationId, "correlationId is null");
+        checkNotNull(value, "value is null");
+
+        long high = correlationId.getMostSignificantBits();
+        long low = correlationId.getLeastSignificantBits();
+
+        int index = indexOf(high, low);
+
+        if (index >= 0) {
+            V previous = value(index);
+            values[index] = value;
+            return previous;
+        }
+
+        if ((size + 1) * 2 > values.length) {
+            resize(values.length * 2);
+        }
+
+        insert(high, low, value);
+        size++;
+
+        return null;
+    }
+
+    public V remove(UUID correlationId) {
+        if (correlationId == null) {
+            return null;
+        }
+
+        int index = indexOf(correlationId.getMostSignificantBits(), correlationId.getLeastSignificantBits());
+
+        if (index < 0) {
+            return null;
+        }
+
+        V previous = value(index);
+        delete(index);
+        size--;
+
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets a snapshot of the values.
+     *
+     * @return values
+     */
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result.add(value(i));
+            }
+        }
+
+        return result;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            allocate(DEFAULT_CAPACITY);
+            size = 0;
+        }
+    }
+
+    private int indexOf(long high, long low) {
+        for (int i = hash(high, low) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (highs[i] == high && lows[i] == low) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long high, long low, Object value) {
+        int i = hash(high, low) & mask;
+
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+
+        highs[i] = high;
+        lows[i] = low;
+        values[i] = value;
+    }
+
+    private void delete(int index) {
+        int gap = index;
+
+        for (int i = (index + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+            int home = hash(highs[i], lows[i]) & mask;
+
+            // moves the entry into the gap, unless its home slot lies cyclically between the gap and the entry
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                highs[gap] = highs[i];
+                lows[gap] = lows[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        Object[] oldValues = values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldHighs[i], oldLows[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    private static int hash(long high, long low) {
+        long h = high * 0x9e3779b97f4a7c15L + low;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h;
+    }
+
+}
@@ -1,7 +1,13 @@
 package com.github.msemys.esjc.tcp;
 
-import com.github.msemys.esjc.util.EmptyArrays;
 import com.github.msemys.esjc.util.Strings;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCounted;
 
 import java.util.Arrays;
 import java.util.UUID;
@@ -9,12 +15,36 @@ import java.util.UUID;
 import static com.github.msemys.esjc.util.Preconditions.checkArgument;
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
 import static com.github.msemys.esjc.util.Preconditions.checkState;
-import static com.github.msemys.esjc.util.UUIDConverter.toBytes;
-import static com.github.msemys.esjc.util.UUIDConverter.toUUID;
+import static io.netty.buffer.Unpooled.EMPTY_BUFFER;
+import static io.netty.buffer.Unpooled.unreleasableBuffer;
+import static io.netty.buffer.Unpooled.wrappedBuffer;
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Arrays.copyOfRange;
 
-public class TcpPackage {
+/**
+ * TCP package.
+ * <p>
+ * Package payload is kept in a reference-counted {@link ByteBuf}. Packages decoded from the network
+ * hold a slice of the received frame (no copying), so they should be released once processed.
+ * Packages built from byte arrays are not affected by releasing and could be written more than once.
+ * </p>
+ * <p>
+ * Correlation id is kept as two {@code long} halves, so that decoding and dispatching inbound packages does not
+ * create {@link UUID} instances. {@link #correlationId()} creates the {@link UUID} on demand.
+ * </p>
+ * <p>
+ * <b>Compatibility note:</b> the public {@code correlationId} and {@code data} fields were removed, as keeping them
+ * would bring back the per-package {@link UUID} and payload copy, that this class avoids. Use
+ * {@link #correlationId()} (or {@link #hasCorrelationId(UUID)} for comparison) instead of {@code correlationId}, and
+ * {@link #data()}, {@link #dataLength()} or {@link #dataBuffer()} instead of {@code data}.
+ * </p>
+ */
+public class TcpPackage implements ReferenceCounted {
+
+    /**
+     * The maximum TCP frame length (without length prefix).
+     */
+    public static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
     private static final int UUID_SIZE = 16;
 
     private static final int COMMAND_OFFSET = 0;
@@ -26,57 +56,217 @@ public class TcpPackage {
 
     public final TcpCommand command;
     public final TcpFlag flag;
-    public final UUID correlationId;
+    public final long correlationIdHigh;
+    public final long correlationIdLow;
+    private UUID correlationId;
     public final String login;
     public final String password;
-    public final byte[] data;
+    private final ByteBuf data;
 
     private TcpPackage(Builder builder) {
         this.command = builder.command;
         this.flag = builder.flag;
+        this.correlationIdHigh = builder.correlationIdHigh;
+        this.correlationIdLow = builder.correlationIdLow;
         this.correlationId = builder.correlationId;
         this.login = builder.login;
         this.password = builder.password;
         this.data = builder.data;
     }
 
+    /**
+     * Gets the correlation id.
+     *
+     * @return correlation id
+     */
+    public UUID correlationId() {
+        UUID result = correlationId;
+        if (result == null) {
+            correlationId = result = new UUID(correlationIdHigh, correlationIdLow);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether this package has the specified correlation id.
+     *
+     * @param correlationId correlation id.
+     * @return {@code true} if correlation ids are equal, otherwise {@code false}
+     */
+    public boolean hasCorrelationId(UUID correlationId) {
+        return correlationId != null &&
+            correlationIdHigh == correlationId.getMostSignificantBits() &&
+            correlationIdLow == correlationId.getLeastSignificantBits();
+    }
+
+    /**
+     * Gets the payload length in bytes.
+     *
+     * @return payload length
+     */
+    public int dataLength() {
+        return data.readableBytes();
+    }
+
+    /**
+     * Copies the payload to a new byte array.
+     *
+     * @return payload bytes
+     */
+    public byte[] data() {
+        return ByteBufUtil.getBytes(data);
+    }
+
+    /**
+     * Decodes the payload as UTF-8 string.
+     *
+     * @return payload string
+     */
+    public String dataAsString() {
+        return data.toString(UTF_8);
+    }
+
+    /**
+     * Creates a protobuf input stream that reads the payload directly from the underlying buffer.
+     *
+     * @return protobuf input stream
+     */
+    public CodedInputStream dataAsCodedInputStream() {
+        if (data.hasArray()) {
+            return CodedInputStream.newInstance(data.array(), data.arrayOffset() + data.readerIndex(), data.readableBytes());
+        } else {
+            return CodedInputStream.newInstance(new ByteBufInputStream(data.duplicate()));
+        }
+    }
+
+    /**
+     * Parses the payload using the specified protobuf message parser.
+     *
+     * @param parser message parser.
+     * @param <T>    the type of message.
+     * @return parsed message
+     * @throws InvalidProtocolBufferException if the payload is not a valid message.
+     */
+    public <T> T parseData(Parser<T> parser) throws InvalidProtocolBufferException {
+        return parser.parseFrom(dataAsCodedInputStream());
+    }
+
+    /**
+     * Gets the payload buffer. The returned buffer shares the content and reference count of this package.
+     *
+     * @return payload buffer
+     */
+    public ByteBuf dataBuffer() {
+        return data.duplicate();
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
 
     public byte[] toByteArray() {
-        byte[] result;
+        byte[] authData = (flag == TcpFlag.Authenticated) ? encodeAuthData(login, password) : null;
+        byte[] result = new byte[size(authData)];
 
-        if (flag == TcpFlag.Authenticated) {
-            byte[] loginBytes = Strings.toBytes(login);
-            byte[] passwordBytes = Strings.toBytes(password);
+        writeTo(wrappedBuffer(result).writerIndex(0), authData);
 
-            checkArgument(loginBytes.length < 256, "Login serialized length should be less than 256 bytes (but is %d).", loginBytes.length);
-            checkArgument(passwordBytes.length < 256, "Password serialized length should be less than 256 bytes (but is %d).", passwordBytes.length);
+        return result;
+    }
 
-            result = createTcpPackage(MANDATORY_SIZE + 2 + loginBytes.length + passwordBytes.length + data.length);
+    /**
+     * Creates a copy of this package with the specified correlation id. Payload is shared, not copied.
+     *
+     * @param correlationId correlation id.
+     * @return TCP package
+     */
+    public TcpPackage withCorrelationId(UUID correlationId) {
+        return newBuilder()
+                .command(command)
+                .flag(flag)
+                .correlationId(correlationId)
+                .login(login)
+                .password(password)
+                .data(data)
+                .build();
+    }
 
-            result[AUTH_OFFSET] = (byte) loginBytes.length;
-            System.arraycopy(loginBytes, 0, result, AUTH_OFFSET + 1, loginBytes.length);
+    /**
+     * Gets the serialized package size in bytes.
+     *
+     * @param authData encoded authentication data (only used for authenticated packages).
+     * @return package size
+     * @see #encodeAuthData(String, String)
+     */
+    public int size(byte[] authData) {
+        return MANDATORY_SIZE + ((flag == TcpFlag.Authenticated) ? authData.length : 0) + data.readableBytes();
+    }
 
-            final int passwordOffset = AUTH_OFFSET + 1 + loginBytes.length;
-            result[passwordOffset] = (byte) passwordBytes.length;
-            System.arraycopy(passwordBytes, 0, result, passwordOffset + 1, passwordBytes.length);
-        } else {
-            result = createTcpPackage(MANDATORY_SIZE + data.length);
+    /**
+     * Writes the package to the specified buffer.
+     *
+     * @param out      target buffer.
+     * @param authData encoded authentication data (only used for authenticated packages).
+     * @see #encodeAuthData(String, String)
+     */
+    public void writeTo(ByteBuf out, byte[] authData) {
+        out.writeByte(command.value);
+        out.writeByte(flag.value);
+        out.writeLong(correlationIdHigh);
+        out.writeLong(correlationIdLow);
+
+        if (flag == TcpFlag.Authenticated) {
+            out.writeBytes(authData);
         }
 
-        System.arraycopy(data, 0, result, result.length - data.length, data.length);
+        out.writeBytes(data, data.readerIndex(), data.readableBytes());
+    }
+
+    /**
+     * Encodes login and password to the authentication data section of the package.
+     *
+     * @param login    login.
+     * @param password password.
+     * @return authentication data
+     */
+    public static byte[] encodeAuthData(String login, String password) {
+        byte[] loginBytes = Strings.toBytes(login);
+        byte[] passwordBytes = Strings.toBytes(password);
+
+        checkArgument(loginBytes.length < 256, "Login serialized length should be less than 256 bytes (but is %d).", loginBytes.length);
+        checkArgument(passwordBytes.length < 256, "Password serialized length should be less than 256 bytes (but is %d).", passwordBytes.length);
+
+        byte[] result = new byte[2 + loginBytes.length + passwordBytes.length];
+
+        result[0] = (byte) loginBytes.length;
+        System.arraycopy(loginBytes, 0, result, 1, loginBytes.length);
+
+        result[1 + loginBytes.length] = (byte) passwordBytes.length;
+        System.arraycopy(passwordBytes, 0, result, 2 + loginBytes.length, passwordBytes.length);
 
         return result;
     }
 
     public static TcpPackage of(byte[] data) {
-        checkArgument(data.length >= MANDATORY_SIZE, "Data too short, length: %d", data.length);
+        return of(wrappedBuffer(data));
+    }
+
+    /**
+     * Creates a package from the specified frame. Header fields are decoded in place and the payload
+     * is kept as a retained slice of the frame, so the frame itself could be released by the caller.
+     *
+     * @param frame frame buffer (without length prefix).
+     * @return TCP package
+     */
+    public static TcpPackage of(ByteBuf frame) {
+        final int length = frame.readableBytes();
+        final int offset = frame.readerIndex();
 
-        TcpCommand command = TcpCommand.of(data[COMMAND_OFFSET]);
-        TcpFlag flag = TcpFlag.of(data[FLAG_OFFSET]);
-        UUID correlationId = toUUID(copyOfRange(data, CORRELATION_OFFSET, CORRELATION_OFFSET + UUID_SIZE));
+        checkArgument(length >= MANDATORY_SIZE, "Data too short, length: %d", length);
+
+        TcpCommand command = TcpCommand.of(frame.getByte(offset + COMMAND_OFFSET));
+        TcpFlag flag = TcpFlag.of(frame.getByte(offset + FLAG_OFFSET));
+        long correlationIdHigh = frame.getLong(offset + CORRELATION_OFFSET);
+        long correlationIdLow = frame.getLong(offset + CORRELATION_OFFSET + 8);
 
         int headerSize = MANDATORY_SIZE;
 
@@ -84,61 +274,94 @@ public class TcpPackage {
         String password = null;
 
         if (flag == TcpFlag.Authenticated) {
-            final int loginLength = data[AUTH_OFFSET];
+            final int loginLength = frame.getUnsignedByte(offset + AUTH_OFFSET);
 
-            checkState(AUTH_OFFSET + 1 + loginLength + 1 < data.length, "Login length is too big, it doesn't fit into TcpPackage.");
-            login = new String(data, AUTH_OFFSET + 1, loginLength, UTF_8);
+            checkState(AUTH_OFFSET + 1 + loginLength + 1 < length, "Login length is too big, it doesn't fit into TcpPackage.");
+            login = frame.toString(offset + AUTH_OFFSET + 1, loginLength, UTF_8);
 
             final int passwordOffset = AUTH_OFFSET + 1 + loginLength;
-            final int passwordLength = data[passwordOffset];
+            final int passwordLength = frame.getUnsignedByte(offset + passwordOffset);
 
-            checkState(passwordOffset + 1 + passwordLength <= data.length, "Password length is too big, it doesn't fit into TcpPackage.");
-            password = new String(data, passwordOffset + 1, passwordLength, UTF_8);
+            checkState(passwordOffset + 1 + passwordLength <= length, "Password length is too big, it doesn't fit into TcpPackage.");
+            password = frame.toString(offset + passwordOffset + 1, passwordLength, UTF_8);
 
             headerSize += 1 + loginLength + 1 + passwordLength;
         }
 
-        byte[] message = copyOfRange(data, headerSize, data.length);
+        ByteBuf message = (length > headerSize) ? frame.retainedSlice(offset + headerSize, length - headerSize) : EMPTY_BUFFER;
 
         return newBuilder()
                 .command(command)
                 .flag(flag)
-                .correlationId(correlationId)
+                .correlationId(correlationIdHigh, correlationIdLow)
                 .login(login)
                 .password(password)
                 .data(message)
                 .build();
     }
 
-    private byte[] createTcpPackage(int size) {
-        byte[] result = new byte[size];
-        result[COMMAND_OFFSET] = command.value;
-        result[FLAG_OFFSET] = flag.value;
-        System.arraycopy(toBytes(correlationId), 0, result, CORRELATION_OFFSET, UUID_SIZE);
-
-        return result;
-    }
-
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("TcpPackage{");
         sb.append("command=").append(command);
         sb.append(", flag=").append(flag);
-        sb.append(", correlationId=").append(correlationId);
+        sb.append(", correlationId=").append(correlationId());
         sb.append(", login='").append(login).append('\'');
         sb.append(", password='").append(password).append('\'');
-        sb.append(", data=").append(Arrays.toString(data));
+        sb.append(", data=").append(data.refCnt() > 0 ? Arrays.toString(data()) : "<released>");
         sb.append('}');
         return sb.toString();
     }
 
+    @Override
+    public int refCnt() {
+        return data.refCnt();
+    }
+
+    @Override
+    public TcpPackage retain() {
+        data.retain();
+        return this;
+    }
+
+    @Override
+    public TcpPackage retain(int increment) {
+        data.retain(increment);
+        return this;
+    }
+
+    @Override
+    public TcpPackage touch() {
+        data.touch(this);
+        return this;
+    }
+
+    @Override
+    public TcpPackage touch(Object hint) {
+        data.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return data.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return data.release(decrement);
+    }
+
     public static class Builder {
         private TcpCommand command;
         private TcpFlag flag;
         private UUID correlationId;
+        private long correlationIdHigh;
+        private long correlationIdLow;
+        private boolean hasCorrelationId;
         private String login;
         private String password;
-        private byte[] data;
+        private ByteBuf data;
 
         private Builder() {
         }
@@ -155,6 +378,19 @@ public class TcpPackage {
 
         public Builder correlationId(UUID correlationId) {
             this.correlationId = correlationId;
+            if (correlationId != null) {
+                this.correlationIdHigh = correlationId.getMostSignificantBits();
+                this.correlationIdLow = correlationId.getLeastSignificantBits();
+            }
+            this.hasCorrelationId = (correlationId != null);
+            return this;
+        }
+
+        public Builder correlationId(long high, long low) {
+            this.correlationId = null;
+            this.correlationIdHigh = high;
+            this.correlationIdLow = low;
+            this.hasCorrelationId = true;
             return this;
         }
 
@@ -169,6 +405,11 @@ public class TcpPackage {
         }
 
         public Builder data(byte[] data) {
+            this.data = (data != null) ? unreleasableBuffer(wrappedBuffer(data)) : null;
+            return this;
+        }
+
+        public Builder data(ByteBuf data) {
             this.data = data;
             return this;
         }
@@ -180,7 +421,7 @@ public class TcpPackage {
                 flag = TcpFlag.None;
             }
 
-            checkNotNull(correlationId, "Correlation ID is not provided.");
+            checkArgument(hasCorrelationId, "Correlation ID is not provided.");
 
             if (flag == TcpFlag.Authenticated) {
                 checkNotNull(login, "Login is not provided for authorized TcpPackage.");
@@ -191,7 +432,7 @@ public class TcpPackage {
             }
 
             if (data == null) {
-                data = EmptyArrays.EMPTY_BYTES;
+                data = EMPTY_BUFFER;
             }
 
             return new TcpPackage(this);
@@ -10,20 +10,8 @@ public class TcpPackageDecoder extends MessageToMessageDecoder<ByteBuf> {
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf msg, List<Object> out) throws Exception {
-        final TcpPackage tcpPackage;
-
-        if (msg.hasArray()) {
-            tcpPackage = TcpPackage.of(msg.array());
-        } else {
-            int length = msg.readableBytes();
-            byte[] array = new byte[length];
-
-            msg.getBytes(msg.readerIndex(), array, 0, length);
-
-            tcpPackage = TcpPackage.of(array);
-        }
-
-        out.add(tcpPackage);
+        // package payload retains a slice of the frame, so the frame released by the decoder stays alive until the package is released
+        out.add(TcpPackage.of(msg));
     }
 
 }
@@ -1,17 +1,49 @@
 package com.github.msemys.esjc.tcp;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.handler.codec.MessageToByteEncoder;
 
-import java.util.List;
+/**
+ * Encodes package into a single length-prefixed frame, allocated from the channel allocator.
+ */
+public class TcpPackageEncoder extends MessageToByteEncoder<TcpPackage> {
+    private static final int LENGTH_FIELD_SIZE = 4;
 
-import static io.netty.buffer.Unpooled.wrappedBuffer;
+    private String cachedLogin;
+    private String cachedPassword;
+    private byte[] cachedAuthData;
 
-public class TcpPackageEncoder extends MessageToMessageEncoder<TcpPackage> {
+    public TcpPackageEncoder() {
+        super(TcpPackage.class, true);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, TcpPackage msg, boolean preferDirect) throws Exception {
+        int size = LENGTH_FIELD_SIZE + msg.size(authData(msg));
+        return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+    }
 
     @Override
-    protected void encode(ChannelHandlerContext ctx, TcpPackage msg, List<Object> out) throws Exception {
-        out.add(wrappedBuffer(msg.toByteArray()));
+    protected void encode(ChannelHandlerContext ctx, TcpPackage msg, ByteBuf out) throws Exception {
+        byte[] authData = authData(msg);
+        out.writeIntLE(msg.size(authData));
+        msg.writeTo(out, authData);
+    }
+
+    private byte[] authData(TcpPackage msg) {
+        if (msg.flag != TcpFlag.Authenticated) {
+            return null;
+        }
+
+        // usually the same (default) credentials are used for all packages, so encode them only once
+        if (cachedAuthData == null || !msg.login.equals(cachedLogin) || !msg.password.equals(cachedPassword)) {
+            cachedAuthData = TcpPackage.encodeAuthData(msg.login, msg.password);
+            cachedLogin = msg.login;
+            cachedPassword = msg.password;
+        }
+
+        return cachedAuthData;
     }
 
 }
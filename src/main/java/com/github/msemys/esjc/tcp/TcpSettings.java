@@ -51,6 +51,21 @@ public class TcpSettings {
      */
     public final int writeBufferHighWaterMark;
 
+    /**
+     * The maximum number of pending writes, after which the outbound data is flushed to the socket.
+     */
+    public final int maxPendingWrites;
+
+    /**
+     * The maximum number of pending write bytes, after which the outbound data is flushed to the socket.
+     */
+    public final int maxPendingWriteBytes;
+
+    /**
+     * The maximum delay of a flush, while there are pending writes below the count and byte thresholds.
+     */
+    public final Duration maxWriteDelay;
+
     private TcpSettings(Builder builder) {
         connectTimeout = builder.connectTimeout;
         closeTimeout = builder.closeTimeout;
@@ -60,6 +75,9 @@ public class TcpSettings {
         receiveBufferSize = builder.receiveBufferSize;
         writeBufferHighWaterMark = builder.writeBufferHighWaterMark;
         writeBufferLowWaterMark = builder.writeBufferLowWaterMark;
+        maxPendingWrites = builder.maxPendingWrites;
+        maxPendingWriteBytes = builder.maxPendingWriteBytes;
+        maxWriteDelay = builder.maxWriteDelay;
     }
 
     @Override
@@ -73,6 +91,9 @@ public class TcpSettings {
         sb.append(", receiveBufferSize=").append(receiveBufferSize);
         sb.append(", writeBufferLowWaterMark=").append(writeBufferLowWaterMark);
         sb.append(", writeBufferHighWaterMark=").append(writeBufferHighWaterMark);
+        sb.append(", maxPendingWrites=").append(maxPendingWrites);
+        sb.append(", maxPendingWriteBytes=").append(maxPendingWriteBytes);
+        sb.append(", maxWriteDelay=").append(maxWriteDelay);
         sb.append('}');
         return sb.toString();
     }
@@ -98,6 +119,9 @@ public class TcpSettings {
         private Integer receiveBufferSize;
         private Integer writeBufferHighWaterMark;
         private Integer writeBufferLowWaterMark;
+        private Integer maxPendingWrites;
+        private Integer maxPendingWriteBytes;
+        private Duration maxWriteDelay;
 
         /**
          * Sets connection establishment timeout (by default, 10 seconds).
@@ -190,6 +214,42 @@ public class TcpSettings {
             return this;
         }
 
+        /**
+         * Sets the maximum number of pending writes, after which the outbound data is flushed to the socket
+         * (by default, 256). Use {@code 1} to flush every write immediately.
+         *
+         * @param maxPendingWrites the maximum number of pending writes.
+         * @return the builder reference
+         */
+        public Builder maxPendingWrites(int maxPendingWrites) {
+            this.maxPendingWrites = maxPendingWrites;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of pending write bytes, after which the outbound data is flushed to the socket
+         * (by default, 64 kilobytes).
+         *
+         * @param maxPendingWriteBytes the maximum number of pending write bytes.
+         * @return the builder reference
+         */
+        public Builder maxPendingWriteBytes(int maxPendingWriteBytes) {
+            this.maxPendingWriteBytes = maxPendingWriteBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay of a flush, while pending writes stay below the count and byte thresholds
+         * (by default, zero - pending writes are flushed once the currently queued I/O tasks are processed).
+         *
+         * @param maxWriteDelay the maximum delay of a flush.
+         * @return the builder reference
+         */
+        public Builder maxWriteDelay(Duration maxWriteDelay) {
+            this.maxWriteDelay = maxWriteDelay;
+            return this;
+        }
+
         /**
          * Builds a TCP settings.
          *
@@ -236,6 +296,24 @@ public class TcpSettings {
                 checkArgument(!isNegative(writeBufferLowWaterMark), "writeBufferLowWaterMark should not be negative");
             }
 
+            if (maxPendingWrites == null) {
+                maxPendingWrites = 256;
+            } else {
+                checkArgument(isPositive(maxPendingWrites), "maxPendingWrites should be positive");
+            }
+
+            if (maxPendingWriteBytes == null) {
+                maxPendingWriteBytes = 64 * 1024;
+            } else {
+                checkArgument(isPositive(maxPendingWriteBytes), "maxPendingWriteBytes should be positive");
+            }
+
+            if (maxWriteDelay == null) {
+                maxWriteDelay = Duration.ZERO;
+            } else {
+                checkArgument(!maxWriteDelay.isNegative(), "maxWriteDelay should not be negative");
+            }
+
             return new TcpSettings(this);
         }
     }
@@ -37,7 +37,7 @@ public class AuthenticationHandler extends SimpleChannelInboundHandler<TcpPackag
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, TcpPackage msg) throws Exception {
-        if (timeoutTask != null && !timeoutTask.isDone() && msg.correlationId.equals(correlationId)) {
+        if (timeoutTask != null && !timeoutTask.isDone() && msg.hasCorrelationId(correlationId)) {
             switch (msg.command) {
                 case Authenticated:
                     cancelTimeoutTask();
@@ -49,7 +49,7 @@ public class AuthenticationHandler extends SimpleChannelInboundHandler<TcpPackag
                     ctx.close();
             }
         } else {
-            ctx.fireChannelRead(msg);
+            ctx.fireChannelRead(msg.retain());
         }
     }
 
@@ -0,0 +1,144 @@
+package com.github.msemys.esjc.tcp.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.Future;
+
+import java.time.Duration;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Coalesces flushes, so that many small writes issued close together reach the socket with a single syscall.
+ * <p>
+ * A flush request is postponed until either the number of pending writes reaches {@code maxPendingWrites},
+ * the pending bytes reach {@code maxPendingBytes}, the channel becomes unwritable, or the postponed flush task runs.
+ * While a read is in progress flushes are postponed till the end of the read, otherwise the flush task runs
+ * after {@code maxDelay} (or once the currently queued event-loop tasks are done, if the delay is zero).
+ * </p>
+ */
+public class FlushConsolidationHandler extends ChannelDuplexHandler {
+    private final int maxPendingWrites;
+    private final long maxPendingBytes;
+    private final long maxDelayNanos;
+    private final Runnable flushTask;
+
+    private ChannelHandlerContext ctx;
+    private int pendingWrites;
+    private long pendingBytes;
+    private boolean readInProgress;
+    private Future<?> scheduledFlush;
+
+    public FlushConsolidationHandler(int maxPendingWrites, long maxPendingBytes, Duration maxDelay) {
+        checkArgument(isPositive(maxPendingWrites), "maxPendingWrites should be positive");
+        checkArgument(isPositive(maxPendingBytes), "maxPendingBytes should be positive");
+        checkNotNull(maxDelay, "maxDelay is null");
+        checkArgument(!maxDelay.isNegative(), "maxDelay should not be negative");
+
+        this.maxPendingWrites = maxPendingWrites;
+        this.maxPendingBytes = maxPendingBytes;
+        this.maxDelayNanos = maxDelay.toNanos();
+
+        flushTask = () -> {
+            scheduledFlush = null;
+            if (pendingWrites > 0 && !readInProgress) {
+                flushNow(ctx);
+            }
+        };
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        flushIfNeeded(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        pendingWrites++;
+
+        if (msg instanceof ByteBuf) {
+            pendingBytes += ((ByteBuf) msg).readableBytes();
+        }
+
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (pendingWrites >= maxPendingWrites || pendingBytes >= maxPendingBytes || !ctx.channel().isWritable()) {
+            flushNow(ctx);
+        } else if (pendingWrites > 0 && !readInProgress && scheduledFlush == null) {
+            scheduledFlush = (maxDelayNanos > 0) ?
+                ctx.executor().schedule(flushTask, maxDelayNanos, NANOSECONDS) :
+                ctx.executor().submit(flushTask);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        readInProgress = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        readInProgress = false;
+        flushIfNeeded(ctx);
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (!ctx.channel().isWritable()) {
+            flushIfNeeded(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        flushIfNeeded(ctx);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushIfNeeded(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushIfNeeded(ctx);
+        ctx.close(promise);
+    }
+
+    private void flushIfNeeded(ChannelHandlerContext ctx) {
+        if (pendingWrites > 0) {
+            flushNow(ctx);
+        }
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        pendingWrites = 0;
+        pendingBytes = 0;
+
+        ctx.flush();
+    }
+
+}
@@ -31,14 +31,14 @@ public class HeartbeatHandler extends SimpleChannelInboundHandler<TcpPackage> {
             case HeartbeatRequestCommand:
                 ctx.writeAndFlush(TcpPackage.newBuilder()
                     .command(TcpCommand.HeartbeatResponseCommand)
-                    .correlationId(msg.correlationId)
+                    .correlationId(msg.correlationIdHigh, msg.correlationIdLow)
                     .build());
                 break;
             case HeartbeatResponseCommand:
                 cancelTimeoutTask();
                 break;
             default:
-                ctx.fireChannelRead(msg);
+                ctx.fireChannelRead(msg.retain());
         }
     }
 
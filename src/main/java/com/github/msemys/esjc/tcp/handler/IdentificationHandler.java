@@ -40,7 +40,7 @@ public class IdentificationHandler extends SimpleChannelInboundHandler<TcpPackag
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, TcpPackage msg) throws Exception {
-        if (timeoutTask != null && !timeoutTask.isDone() && msg.correlationId.equals(correlationId)) {
+        if (timeoutTask != null && !timeoutTask.isDone() && msg.hasCorrelationId(correlationId)) {
             switch (msg.command) {
                 case ClientIdentified:
                     cancelTimeoutTask();
@@ -52,7 +52,7 @@ public class IdentificationHandler extends SimpleChannelInboundHandler<TcpPackag
                     ctx.close();
             }
         } else {
-            ctx.fireChannelRead(msg);
+            ctx.fireChannelRead(msg.retain());
         }
     }
 
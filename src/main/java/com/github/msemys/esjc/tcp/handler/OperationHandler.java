@@ -13,7 +13,6 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Optional;
 import java.util.function.Consumer;
 
 import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
@@ -27,79 +26,90 @@ public class OperationHandler extends SimpleChannelInboundHandler<TcpPackage> {
     private Consumer<Throwable> channelErrorConsumer;
     private Consumer<NodeEndpoints> reconnectConsumer;
 
+    /**
+     * Creates a new operation handler. The managers should be confined to the event loop of the channel,
+     * as inbound packages are dispatched on it.
+     *
+     * @param operationManager    operation manager.
+     * @param subscriptionManager subscription manager.
+     */
     public OperationHandler(OperationManager operationManager, SubscriptionManager subscriptionManager) {
         this.operationManager = operationManager;
         this.subscriptionManager = subscriptionManager;
     }
 
+    /**
+     * Dispatches the package to its operation or subscription. Operations must not keep the package,
+     * as it is released by {@link SimpleChannelInboundHandler} right after this method returns.
+     */
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, TcpPackage msg) throws Exception {
         switch (msg.command) {
             case BadRequest:
-                if (msg.correlationId == null) {
+                if (msg.correlationIdHigh == 0 && msg.correlationIdLow == 0) {
                     if (badRequestConsumer != null) {
                         badRequestConsumer.accept(msg);
                     }
                     break;
                 }
             default:
-                Optional<OperationItem> operationItem = operationManager.getActiveOperation(msg.correlationId);
+                OperationItem operationItem = operationManager.getActiveOperation(msg.correlationIdHigh, msg.correlationIdLow);
 
-                if (operationItem.isPresent()) {
-                    OperationItem item = operationItem.get();
+                if (operationItem != null) {
+                    InspectionResult result = operationItem.operation.inspect(msg);
 
-                    InspectionResult result = item.operation.inspect(msg);
-
-                    logger.debug("HandleTcpPackage OPERATION DECISION {} ({}), {}", result.decision, result.description, item);
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("HandleTcpPackage OPERATION DECISION {} ({}), {}", result.decision, result.description, operationItem);
+                    }
 
                     switch (result.decision) {
                         case DoNothing:
                             break;
                         case EndOperation:
-                            operationManager.removeOperation(item);
+                            operationManager.removeOperation(operationItem);
                             break;
                         case Retry:
-                            operationManager.scheduleOperationRetry(item);
+                            operationManager.scheduleOperationRetry(operationItem);
                             break;
                         case Reconnect:
                             reconnectTo(new NodeEndpoints(result.address, result.secureAddress));
-                            operationManager.scheduleOperationRetry(item);
+                            operationManager.scheduleOperationRetry(operationItem);
                             break;
                         default:
                             throw new EventStoreException("Unknown InspectionDecision: " + result.decision);
                     }
                     operationManager.scheduleWaitingOperations(ctx.channel());
                 } else {
-                    Optional<SubscriptionItem> subscriptionItem = subscriptionManager.getActiveSubscription(msg.correlationId);
+                    SubscriptionItem subscriptionItem = subscriptionManager.getActiveSubscription(msg.correlationIdHigh, msg.correlationIdLow);
 
-                    if (subscriptionItem.isPresent()) {
-                        SubscriptionItem item = subscriptionItem.get();
+                    if (subscriptionItem != null) {
+                        InspectionResult result = subscriptionItem.operation.inspect(msg);
 
-                        InspectionResult result = item.operation.inspect(msg);
-
-                        logger.debug("HandleTcpPackage SUBSCRIPTION DECISION {} ({}), {}", result.decision, result.description, item);
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("HandleTcpPackage SUBSCRIPTION DECISION {} ({}), {}", result.decision, result.description, subscriptionItem);
+                        }
 
                         switch (result.decision) {
                             case DoNothing:
                                 break;
                             case EndOperation:
-                                subscriptionManager.removeSubscription(item);
+                                subscriptionManager.removeSubscription(subscriptionItem);
                                 break;
                             case Retry:
-                                subscriptionManager.scheduleSubscriptionRetry(item);
+                                subscriptionManager.scheduleSubscriptionRetry(subscriptionItem);
                                 break;
                             case Reconnect:
                                 reconnectTo(new NodeEndpoints(result.address, result.secureAddress));
-                                subscriptionManager.scheduleSubscriptionRetry(item);
+                                subscriptionManager.scheduleSubscriptionRetry(subscriptionItem);
                                 break;
                             case Subscribed:
-                                item.isSubscribed = true;
+                                subscriptionItem.isSubscribed = true;
                                 break;
                             default:
                                 throw new EventStoreException("Unknown InspectionDecision: " + result.decision);
                         }
                     } else {
-                        logger.debug("HandleTcpPackage UNMAPPED PACKAGE with CorrelationId {}, Command: {}", msg.correlationId, msg.command);
+                        logger.debug("HandleTcpPackage UNMAPPED PACKAGE with CorrelationId {}, Command: {}", msg.correlationId(), msg.command);
                     }
                 }
         }
@@ -4,6 +4,7 @@ import com.github.msemys.esjc.EventData;
 import com.github.msemys.esjc.Transaction;
 import com.github.msemys.esjc.WriteResult;
 import com.github.msemys.esjc.UserCredentials;
+import com.github.msemys.esjc.operation.manager.RetriesLimitReachedException;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -15,6 +16,19 @@ public interface TransactionManager {
 
     CompletableFuture<Void> write(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials);
 
+    /**
+     * Writes events to a transaction, like {@link #write(Transaction, Iterable, UserCredentials)} does, but never
+     * retries the write (e.g. on server timeouts or reconnections): the write fails with
+     * {@link RetriesLimitReachedException} instead. Retries are not safe for pipelined writes of a transaction,
+     * as a retried write would be appended after the writes, that were sent later.
+     *
+     * @param transaction     transaction.
+     * @param events          the events to write.
+     * @param userCredentials user credentials (use {@code null} for default user credentials).
+     * @return a {@code CompletableFuture} representing the result of this operation
+     */
+    CompletableFuture<Void> writeWithoutRetries(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials);
+
     CompletableFuture<WriteResult> commit(Transaction transaction, UserCredentials userCredentials);
 
 }
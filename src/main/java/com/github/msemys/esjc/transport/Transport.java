@@ -0,0 +1,318 @@
+package com.github.msemys.esjc.transport;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+
+import static com.github.msemys.esjc.util.Numbers.isNegative;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Strings.isNullOrEmpty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * I/O transport: the event loop group, the socket channel type and the timer used by clients.
+ * <p>
+ * A single transport can be shared between several Event Store, projection manager and user manager clients,
+ * so that all of them use the same small set of I/O threads. Clients never close a transport that was given to
+ * them, so the owner of a shared transport is responsible for closing it, after the clients are shut down.
+ * </p>
+ * <p>
+ * Native epoll transport is used on Linux, when {@code netty-transport-native-epoll} is on the classpath
+ * and native transport is not disabled, otherwise NIO transport is used.
+ * </p>
+ */
+public class Transport implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Transport.class);
+
+    private static final String EPOLL_PACKAGE = "io.netty.channel.epoll.";
+
+    private final EventLoopGroup group;
+    private final Class<? extends SocketChannel> channelType;
+    private final boolean ownsGroup;
+    private final String threadNamePrefix;
+
+    private volatile Timer timer;
+    private boolean ownsTimer;
+    private final Object timerLock = new Object();
+
+    private Transport(Builder builder) {
+        threadNamePrefix = builder.threadNamePrefix;
+        timer = builder.timer;
+
+        if (builder.group != null) {
+            group = builder.group;
+            channelType = (builder.channelType != null) ? builder.channelType : channelTypeOf(builder.group);
+            ownsGroup = false;
+        } else {
+            ThreadFactory threadFactory = new DefaultThreadFactory(threadNamePrefix);
+            EventLoopGroup epollGroup = builder.nativeTransport ? newEpollEventLoopGroup(builder.ioThreads, threadFactory) : null;
+
+            if (epollGroup != null) {
+                group = epollGroup;
+                channelType = epollSocketChannelType();
+            } else {
+                group = new NioEventLoopGroup(builder.ioThreads, threadFactory);
+                channelType = NioSocketChannel.class;
+            }
+
+            ownsGroup = true;
+        }
+    }
+
+    /**
+     * Gets the event loop group.
+     *
+     * @return event loop group
+     */
+    public EventLoopGroup group() {
+        return group;
+    }
+
+    /**
+     * Gets the socket channel type, that matches the event loop group.
+     *
+     * @return socket channel type
+     */
+    public Class<? extends SocketChannel> channelType() {
+        return channelType;
+    }
+
+    /**
+     * Gets the timer. If no timer was specified, the timer is created on the first access.
+     *
+     * @return timer
+     */
+    public Timer timer() {
+        Timer result = timer;
+
+        if (result == null) {
+            synchronized (timerLock) {
+                result = timer;
+                if (result == null) {
+                    timer = result = new HashedWheelTimer(new DefaultThreadFactory(threadNamePrefix + "-timer"), 200, MILLISECONDS);
+                    ownsTimer = true;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks whether native epoll transport is used.
+     *
+     * @return {@code true} if native epoll transport is used, otherwise {@code false}
+     */
+    public boolean isNative() {
+        return channelType.getName().startsWith(EPOLL_PACKAGE);
+    }
+
+    /**
+     * Gracefully shuts down the resources that were created by this transport. Externally supplied event loop
+     * group and timer are left untouched.
+     *
+     * @return the future, that is notified when the event loop group is terminated
+     */
+    public Future<?> shutdown() {
+        synchronized (timerLock) {
+            if (ownsTimer) {
+                timer.stop();
+            }
+        }
+
+        return ownsGroup ?
+            group.shutdownGracefully(0, 15, SECONDS) :
+            ImmediateEventExecutor.INSTANCE.newSucceededFuture(null);
+    }
+
+    /**
+     * Shuts down the resources that were created by this transport and waits for the termination.
+     *
+     * @see #shutdown()
+     */
+    @Override
+    public void close() {
+        shutdown().awaitUninterruptibly();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("Transport{");
+        sb.append("group=").append(group);
+        sb.append(", channelType=").append(channelType.getSimpleName());
+        sb.append(", ownsGroup=").append(ownsGroup);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Checks whether native epoll transport is available.
+     *
+     * @return {@code true} if native epoll transport is available, otherwise {@code false}
+     */
+    public static boolean isNativeAvailable() {
+        try {
+            return (Boolean) Class.forName(EPOLL_PACKAGE + "Epoll").getMethod("isAvailable").invoke(null);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static EventLoopGroup newEpollEventLoopGroup(int ioThreads, ThreadFactory threadFactory) {
+        if (isNativeAvailable()) {
+            try {
+                return (EventLoopGroup) Class.forName(EPOLL_PACKAGE + "EpollEventLoopGroup")
+                    .getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(ioThreads, threadFactory);
+            } catch (Exception e) {
+                logger.warn("Unable to create native epoll event loop group, falling back to NIO", e);
+            }
+        }
+        return null;
+    }
+
+    private static Class<? extends SocketChannel> epollSocketChannelType() {
+        try {
+            return Class.forName(EPOLL_PACKAGE + "EpollSocketChannel").asSubclass(SocketChannel.class);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Native epoll socket channel not found", e);
+        }
+    }
+
+    private static Class<? extends SocketChannel> channelTypeOf(EventLoopGroup group) {
+        return group.getClass().getName().startsWith(EPOLL_PACKAGE) ? epollSocketChannelType() : NioSocketChannel.class;
+    }
+
+    /**
+     * Creates a new transport builder.
+     *
+     * @return transport builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Transport builder.
+     */
+    public static class Builder {
+        private EventLoopGroup group;
+        private Class<? extends SocketChannel> channelType;
+        private Timer timer;
+        private Boolean nativeTransport;
+        private Integer ioThreads;
+        private String threadNamePrefix;
+
+        /**
+         * Sets an externally owned event loop group. The channel type is derived from the group type,
+         * unless it is specified explicitly.
+         *
+         * @param group event loop group.
+         * @return the builder reference
+         * @see #channelType(Class)
+         */
+        public Builder eventLoopGroup(EventLoopGroup group) {
+            this.group = group;
+            return this;
+        }
+
+        /**
+         * Sets the socket channel type, that matches the externally owned event loop group.
+         *
+         * @param channelType socket channel type.
+         * @return the builder reference
+         */
+        public Builder channelType(Class<? extends SocketChannel> channelType) {
+            this.channelType = channelType;
+            return this;
+        }
+
+        /**
+         * Sets an externally owned timer (by default, the timer is created on demand).
+         *
+         * @param timer timer.
+         * @return the builder reference
+         */
+        public Builder timer(Timer timer) {
+            this.timer = timer;
+            return this;
+        }
+
+        /**
+         * Specifies whether or not native epoll transport is used, when it is available (by default, it is used).
+         *
+         * @param nativeTransport {@code true} to use native transport when available.
+         * @return the builder reference
+         */
+        public Builder nativeTransport(boolean nativeTransport) {
+            this.nativeTransport = nativeTransport;
+            return this;
+        }
+
+        /**
+         * Sets the number of I/O threads (by default, 0 - twice the number of available processors).
+         * Ignored, if an externally owned event loop group is specified.
+         *
+         * @param ioThreads the number of I/O threads.
+         * @return the builder reference
+         */
+        public Builder ioThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * Sets the name prefix of the created threads (by default, {@code esio}).
+         *
+         * @param threadNamePrefix thread name prefix.
+         * @return the builder reference
+         */
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = threadNamePrefix;
+            return this;
+        }
+
+        /**
+         * Builds a transport.
+         *
+         * @return transport
+         */
+        public Transport build() {
+            if (group != null) {
+                checkArgument(!group.isShuttingDown(), "eventLoopGroup is shutting down");
+            } else {
+                checkArgument(channelType == null, "channelType requires eventLoopGroup");
+            }
+
+            if (nativeTransport == null) {
+                nativeTransport = true;
+            }
+
+            if (ioThreads == null) {
+                ioThreads = 0;
+            } else {
+                checkArgument(!isNegative(ioThreads), "ioThreads should not be negative");
+            }
+
+            if (threadNamePrefix == null) {
+                threadNamePrefix = "esio";
+            } else {
+                checkArgument(!isNullOrEmpty(threadNamePrefix), "threadNamePrefix is empty");
+            }
+
+            return new Transport(this);
+        }
+    }
+
+}
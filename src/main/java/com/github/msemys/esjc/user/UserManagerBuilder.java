@@ -2,6 +2,7 @@ package com.github.msemys.esjc.user;
 
 import com.github.msemys.esjc.UserCredentials;
 import com.github.msemys.esjc.http.HttpClient;
+import com.github.msemys.esjc.transport.Transport;
 
 import java.net.InetSocketAddress;
 import java.time.Duration;
@@ -81,6 +82,19 @@ public class UserManagerBuilder {
         return this;
     }
 
+    /**
+     * Sets the I/O transport for the HTTP requests of the user manager. User management requests are rare, so
+     * sharing the transport of another client saves the I/O thread, that the user manager otherwise starts for
+     * itself (and stops in {@link UserManager#shutdown()}). The user manager never shuts down the specified transport.
+     *
+     * @param transport the I/O transport.
+     * @return the builder reference
+     */
+    public UserManagerBuilder transport(Transport transport) {
+        httpClientBuilder.transport(transport);
+        return this;
+    }
+
     /**
      * Sets the default user credentials to be used for operations.
      * If user credentials are not given for an operation, these credentials will be used.
@@ -0,0 +1,146 @@
+package com.github.msemys.esjc.util;
+
+import com.github.msemys.esjc.RecordedEvent;
+import com.github.msemys.esjc.ResolvedEvent;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static com.github.msemys.esjc.util.Preconditions.checkState;
+
+/**
+ * Sequential batch reader, that keeps up to {@code maxBatches} batches (and up to {@code maxBytes} bytes of events)
+ * read ahead of the consumer. The cursor of every batch is known only when the previous batch is received, so
+ * read-ahead batches are requested one after another. Waiting for a batch, that is not received yet, is a managed
+ * block, so a fork-join pool worker does not reduce the parallelism of its pool.
+ *
+ * @param <T> the type of the cursor
+ * @param <R> the type of the batch
+ */
+public class ReadAhead<T, R> {
+    private static final int EVENT_OVERHEAD_BYTES = 128;
+
+    private final Function<T, CompletableFuture<R>> reader;
+    private final Function<R, T> nextCursor;
+    private final Function<R, List<ResolvedEvent>> events;
+    private final Function<R, Boolean> endOfStream;
+    private final int maxBatches;
+    private final long maxBytes;
+
+    private final ArrayDeque<CompletableFuture<R>> batches = new ArrayDeque<>();
+    private T cursor;
+    private boolean reading;
+    private boolean done;
+    private long bufferedBytes;
+
+    /**
+     * Creates a new batch reader.
+     *
+     * @param cursor      the cursor of the first batch.
+     * @param reader      batch reader.
+     * @param nextCursor  gets the cursor of the batch following the specified one.
+     * @param events      gets the events of the batch.
+     * @param endOfStream checks whether the batch is the last one.
+     * @param maxBatches  the number of batches to read ahead.
+     * @param maxBytes    the maximum estimated size in bytes of batches read ahead.
+     */
+    public ReadAhead(T cursor,
+                     Function<T, CompletableFuture<R>> reader,
+                     Function<R, T> nextCursor,
+                     Function<R, List<ResolvedEvent>> events,
+                     Function<R, Boolean> endOfStream,
+                     int maxBatches,
+                     long maxBytes) {
+        this.cursor = cursor;
+        this.reader = reader;
+        this.nextCursor = nextCursor;
+        this.events = events;
+        this.endOfStream = endOfStream;
+        this.maxBatches = maxBatches;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the next batch, waiting for it if it is not received yet, and requests the following batches.
+     *
+     * @return the next batch
+     */
+    public R next() {
+        CompletableFuture<R> batch;
+
+        synchronized (this) {
+            if (batches.isEmpty()) {
+                checkState(!done, "No more batches");
+                read();
+            }
+
+            batch = batches.poll();
+        }
+
+        R result = Threads.join(batch);
+
+        synchronized (this) {
+            bufferedBytes -= sizeOf(result);
+            readAhead();
+        }
+
+        return result;
+    }
+
+    private void readAhead() {
+        if (!reading && !done && batches.size() < maxBatches && bufferedBytes < maxBytes) {
+            read();
+        }
+    }
+
+    private void read() {
+        CompletableFuture<R> batch = new CompletableFuture<>();
+
+        reading = true;
+        batches.add(batch);
+
+        try {
+            reader.apply(cursor).whenComplete((result, throwable) -> {
+                synchronized (this) {
+                    reading = false;
+
+                    if (throwable != null) {
+                        done = true;
+                    } else {
+                        cursor = nextCursor.apply(result);
+                        done = endOfStream.apply(result);
+                        bufferedBytes += sizeOf(result);
+                        readAhead();
+                    }
+                }
+
+                if (throwable != null) {
+                    batch.completeExceptionally(throwable);
+                } else {
+                    batch.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            reading = false;
+            done = true;
+            batch.completeExceptionally(e);
+        }
+    }
+
+    private long sizeOf(R batch) {
+        long size = 0;
+
+        for (ResolvedEvent event : events.apply(batch)) {
+            size += sizeOf(event.event) + sizeOf(event.link) + EVENT_OVERHEAD_BYTES;
+        }
+
+        return size;
+    }
+
+    private static long sizeOf(RecordedEvent event) {
+        return (event != null) ? event.dataBuffer().remaining() + event.metadataBuffer().remaining() : 0;
+    }
+
+}
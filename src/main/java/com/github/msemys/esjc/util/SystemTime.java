@@ -21,6 +21,17 @@ public class SystemTime {
         return systemNanoTime() - nanos;
     }
 
+    /**
+     * Gets the deadline, that is the specified duration after this time.
+     *
+     * @param duration duration.
+     * @return deadline in {@link System#nanoTime()} units
+     */
+    public long deadline(Duration duration) {
+        checkNotNull(duration, "duration is null");
+        return nanos + duration.toNanos();
+    }
+
     public boolean isElapsed(Duration duration) {
         checkNotNull(duration, "duration is null");
         return elapsedNanos() > duration.toNanos();
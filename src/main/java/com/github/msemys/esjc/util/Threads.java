@@ -1,5 +1,9 @@
 package com.github.msemys.esjc.util;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
 public class Threads {
 
     public static void sleepUninterruptibly(long millis) {
@@ -10,4 +14,39 @@ public class Threads {
         }
     }
 
+    /**
+     * Waits for the future to complete like {@link CompletableFuture#join()}, but as a managed block, so that a
+     * fork-join pool, whose worker is waiting, can activate a spare thread to keep its parallelism.
+     *
+     * @param future the future to wait for.
+     * @param <T>    the type of the result
+     * @return the result of the future
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        if (!future.isDone()) {
+            try {
+                ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                    @Override
+                    public boolean block() throws InterruptedException {
+                        try {
+                            future.get();
+                        } catch (ExecutionException e) {
+                            // rethrown by join()
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public boolean isReleasable() {
+                        return future.isDone();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return future.join();
+    }
+
 }
@@ -0,0 +1,176 @@
+package com.github.msemys.esjc.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Bounded multi-producer/single-consumer ring buffer over a pre-allocated array.
+ * <p>
+ * Producers claim slots by advancing the producer index, so offers do not allocate, and the occupancy is
+ * the difference of the producer and consumer indexes, so {@link #size()} is O(1). Only one thread at a time
+ * may call the consumer methods ({@link #poll()}, {@link #peek()} and {@link #drain(Object[])}).
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+public class MpscRingBuffer<E> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public MpscRingBuffer(int capacity) {
+        checkArgument(isPositive(capacity) && capacity <= (1 << 30), "capacity is out of range");
+
+        this.capacity = capacity;
+        int length = Integer.highestOneBit(capacity);
+        length = (length < capacity) ? length << 1 : length;
+        this.mask = length - 1;
+        this.buffer = new AtomicReferenceArray<>(length);
+    }
+
+    /**
+     * Adds the element, if the buffer is not full.
+     *
+     * @param element the element.
+     * @return {@code true} if the element was added, otherwise {@code false}
+     */
+    public boolean offer(E element) {
+        return offer(element, capacity);
+    }
+
+    /**
+     * Adds the element, if the buffer holds less than {@code limit} elements. Allows producers to keep
+     * the rest of the capacity for the special elements.
+     *
+     * @param element the element.
+     * @param limit   the maximum number of elements (up to the capacity).
+     * @return {@code true} if the element was added, otherwise {@code false}
+     */
+    public boolean offer(E element, int limit) {
+        checkNotNull(element, "element is null");
+
+        int bound = Math.min(limit, capacity);
+
+        while (true) {
+            long index = producerIndex.get();
+
+            if (index - consumerIndex.get() >= bound) {
+                return false;
+            } else if (producerIndex.compareAndSet(index, index + 1)) {
+                buffer.lazySet(offset(index), element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the first element.
+     *
+     * @return the first element or {@code null}, if the buffer is empty
+     */
+    public E poll() {
+        long index = consumerIndex.get();
+        E element = awaitElement(index);
+
+        if (element != null) {
+            buffer.lazySet(offset(index), null);
+            consumerIndex.lazySet(index + 1);
+        }
+
+        return element;
+    }
+
+    /**
+     * Gets the first element without removing it.
+     *
+     * @return the first element or {@code null}, if the buffer is empty
+     */
+    public E peek() {
+        return awaitElement(consumerIndex.get());
+    }
+
+    /**
+     * Removes up to {@code target.length} first elements into the specified array, releasing their slots at once.
+     *
+     * @param target the array to remove elements into.
+     * @return the number of removed elements
+     */
+    public int drain(E[] target) {
+        long index = consumerIndex.get();
+        int count = 0;
+
+        while (count < target.length) {
+            E element = awaitElement(index + count);
+
+            if (element == null) {
+                break;
+            }
+
+            buffer.lazySet(offset(index + count), null);
+            target[count++] = element;
+        }
+
+        if (count > 0) {
+            consumerIndex.lazySet(index + count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of elements in the buffer.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        while (true) {
+            long consumer = consumerIndex.get();
+            long producer = producerIndex.get();
+
+            if (consumer == consumerIndex.get()) {
+                return (int) Math.max(0, Math.min(producer - consumer, capacity));
+            }
+        }
+    }
+
+    /**
+     * Checks whether the buffer is empty.
+     *
+     * @return {@code true} if the buffer is empty, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    /**
+     * Gets the capacity of the buffer.
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private E awaitElement(long index) {
+        E element = buffer.get(offset(index));
+
+        // the slot is claimed, but the producer has not stored the element yet
+        while (element == null && index < producerIndex.get()) {
+            Thread.yield();
+            element = buffer.get(offset(index));
+        }
+
+        return element;
+    }
+
+    private int offset(long index) {
+        return (int) index & mask;
+    }
+
+}
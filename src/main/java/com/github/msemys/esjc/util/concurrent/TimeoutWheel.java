@@ -0,0 +1,246 @@
+package com.github.msemys.esjc.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.msemys.esjc.util.Numbers.isPositive;
+import static com.github.msemys.esjc.util.Preconditions.checkArgument;
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Hashed timing wheel, that keeps deadline-ordered entries in buckets of {@code tickNanos} width.
+ * <p>
+ * Scheduling and cancellation are O(1) and do not allocate (entries are linked intrusively and can be
+ * rescheduled any number of times), while expiry only visits the buckets that elapsed since the previous expiry,
+ * so its cost is proportional to the number of elapsed ticks and expired entries, rather than to the number of
+ * scheduled entries. Entries of later wheel rounds stay in their bucket until their deadline is reached.
+ * </p>
+ * <p>
+ * The wheel is not thread-safe, so it should be used from a single thread only.
+ * </p>
+ *
+ * @param <T> the type of the scheduled values
+ */
+public class TimeoutWheel<T> {
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long tickNanos;
+    private final int mask;
+    private final Entry<T>[] buckets;
+    private final long startTime;
+
+    private long cursor;
+    private int size;
+    private long armedDeadline = NO_DEADLINE;
+
+    public TimeoutWheel(long tickNanos, int ticksPerWheel) {
+        checkArgument(isPositive(tickNanos), "tickNanos should be positive");
+        checkArgument(isPositive(ticksPerWheel) && Integer.bitCount(ticksPerWheel) == 1, "ticksPerWheel should be a power of two");
+
+        this.tickNanos = tickNanos;
+        this.mask = ticksPerWheel - 1;
+        @SuppressWarnings("unchecked")
+        Entry<T>[] buckets = (Entry<T>[]) new Entry<?>[ticksPerWheel];
+        this.buckets = buckets;
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Schedules (or reschedules) the entry.
+     *
+     * @param entry        entry.
+     * @param deadlineNanos deadline in {@link System#nanoTime()} units.
+     * @return {@code true} if the deadline is earlier than the armed wake-up, so the caller should arm a new
+     * wake-up at the deadline, otherwise {@code false}
+     */
+    public boolean schedule(Entry<T> entry, long deadlineNanos) {
+        checkNotNull(entry, "entry is null");
+
+        unlink(entry);
+
+        entry.deadline = deadlineNanos;
+        entry.bucket = (int) (Math.max(tickOf(deadlineNanos), cursor) & mask);
+        entry.next = buckets[entry.bucket];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        buckets[entry.bucket] = entry;
+        size++;
+
+        if (deadlineNanos < armedDeadline) {
+            armedDeadline = deadlineNanos;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Cancels the entry, if it is scheduled.
+     *
+     * @param entry entry.
+     * @return {@code true} if the entry was scheduled, otherwise {@code false}
+     */
+    public boolean cancel(Entry<T> entry) {
+        checkNotNull(entry, "entry is null");
+        return unlink(entry);
+    }
+
+    /**
+     * Removes and returns the values of all entries, whose deadline is reached. The armed wake-up is
+     * released, if it is reached as well, so that the next wake-up could be armed.
+     *
+     * @param nowNanos current time in {@link System#nanoTime()} units.
+     * @return expired values in deadline bucket order
+     */
+    public List<T> expire(long nowNanos) {
+        if (armedDeadline <= nowNanos) {
+            armedDeadline = NO_DEADLINE;
+        }
+
+        if (size == 0) {
+            cursor = Math.max(cursor, tickOf(nowNanos));
+            return Collections.emptyList();
+        }
+
+        List<T> expired = null;
+
+        long nowTick = tickOf(nowNanos);
+        long lastTick = Math.min(nowTick, cursor + mask);
+
+        for (long tick = cursor; tick <= lastTick; tick++) {
+            Entry<T> entry = buckets[(int) (tick & mask)];
+
+            while (entry != null) {
+                Entry<T> next = entry.next;
+
+                if (entry.deadline <= nowNanos) {
+                    unlink(entry);
+
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(entry.value);
+                }
+
+                entry = next;
+            }
+        }
+
+        cursor = Math.max(cursor, nowTick);
+
+        return (expired != null) ? expired : Collections.emptyList();
+    }
+
+    /**
+     * Arms the next wake-up: the earliest deadline of the current wheel round or, if the current round is empty,
+     * the beginning of the next round.
+     *
+     * @return next wake-up time in {@link System#nanoTime()} units, or {@link #NO_DEADLINE} if the wheel is empty
+     * or an earlier (or the same) wake-up is already armed
+     */
+    public long nextWakeup() {
+        long result = NO_DEADLINE;
+
+        if (size > 0) {
+            long roundEnd = startTime + (cursor + mask + 1) * tickNanos;
+
+            for (long tick = cursor; tick <= cursor + mask && result == NO_DEADLINE; tick++) {
+                for (Entry<T> entry = buckets[(int) (tick & mask)]; entry != null; entry = entry.next) {
+                    if (entry.deadline < roundEnd && entry.deadline < result) {
+                        result = entry.deadline;
+                    }
+                }
+            }
+
+            if (result == NO_DEADLINE) {
+                result = roundEnd;
+            }
+        }
+
+        if (result < armedDeadline) {
+            armedDeadline = result;
+            return result;
+        } else {
+            return NO_DEADLINE;
+        }
+    }
+
+    /**
+     * Cancels all scheduled entries.
+     */
+    public void clear() {
+        for (Entry<T> bucket : buckets) {
+            while (bucket != null) {
+                Entry<T> next = bucket.next;
+                unlink(bucket);
+                bucket = next;
+            }
+        }
+        armedDeadline = NO_DEADLINE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private boolean unlink(Entry<T> entry) {
+        if (entry.bucket < 0) {
+            return false;
+        }
+
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[entry.bucket] = entry.next;
+        }
+
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = -1;
+        size--;
+
+        return true;
+    }
+
+    private long tickOf(long nanos) {
+        return Math.max(0, (nanos - startTime) / tickNanos);
+    }
+
+    /**
+     * Wheel entry, that is allocated once per value and reused on every (re)scheduling.
+     *
+     * @param <T> the type of the value
+     */
+    public static class Entry<T> {
+        public final T value;
+
+        private long deadline;
+        private int bucket = -1;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        public Entry(T value) {
+            this.value = value;
+        }
+
+        /**
+         * Gets the deadline of the last scheduling.
+         *
+         * @return deadline in {@link System#nanoTime()} units
+         */
+        public long deadline() {
+            return deadline;
+        }
+    }
+
+}
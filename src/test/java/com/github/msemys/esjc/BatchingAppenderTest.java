@@ -0,0 +1,205 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.StreamDeletedException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+
+public class BatchingAppenderTest {
+    private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+    private ScheduledExecutorService scheduler;
+    private EventStore eventStore;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        eventStore = new FakeEventStore().on("appendToStream", 4, args -> {
+            Write write = new Write((String) args[0], (Long) args[1], (Iterable<EventData>) args[2]);
+            writes.add(write);
+            return write.result;
+        }).build();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void coalescesAppendsAndSplitsResult() throws Exception {
+        BatchingAppender appender = new BatchingAppender(eventStore, scheduler, BatchingAppenderSettings.newBuilder()
+            .maxBatchEvents(3)
+            .maxBatchDelay(Duration.ofHours(1))
+            .build(), null);
+
+        CompletableFuture<WriteResult> first = appender.append("stream", newEvent());
+        CompletableFuture<WriteResult> second = appender.append("stream", asList(newEvent(), newEvent()));
+
+        Write write = writes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(write);
+        assertEquals("stream", write.stream);
+        assertEquals(ExpectedVersion.ANY, write.expectedVersion);
+        assertEquals(3, write.events.size());
+        assertTrue(writes.isEmpty());
+
+        Position position = new Position(100, 90);
+        write.result.complete(new WriteResult(12, position));
+
+        assertEquals(10, first.get().nextExpectedVersion);
+        assertEquals(12, second.get().nextExpectedVersion);
+        assertEquals(position, second.get().logPosition);
+    }
+
+    @Test
+    public void writesPendingAppendsAfterDelay() throws Exception {
+        BatchingAppender appender = new BatchingAppender(eventStore, scheduler, BatchingAppenderSettings.newBuilder()
+            .maxBatchDelay(Duration.ofMillis(10))
+            .build(), null);
+
+        appender.append("stream-1", newEvent());
+        appender.append("stream-2", newEvent());
+        appender.append("stream-1", newEvent());
+
+        List<Write> result = new ArrayList<>();
+        result.add(writes.poll(5, TimeUnit.SECONDS));
+        result.add(writes.poll(5, TimeUnit.SECONDS));
+
+        assertEquals(2, result.stream().filter(w -> w != null && w.stream.equals("stream-1")).findFirst().get().events.size());
+        assertEquals(1, result.stream().filter(w -> w != null && w.stream.equals("stream-2")).findFirst().get().events.size());
+    }
+
+    @Test
+    public void failsAllAppendsOfFailedWrite() throws Exception {
+        BatchingAppender appender = new BatchingAppender(eventStore, scheduler, BatchingAppenderSettings.newBuilder()
+            .maxBatchDelay(Duration.ofHours(1))
+            .build(), null);
+
+        CompletableFuture<WriteResult> first = appender.append("stream", newEvent());
+        CompletableFuture<WriteResult> second = appender.append("stream", newEvent());
+
+        appender.close();
+
+        Write write = writes.poll(5, TimeUnit.SECONDS);
+        write.result.completeExceptionally(new StreamDeletedException("stream"));
+
+        for (CompletableFuture<WriteResult> future : asList(first, second)) {
+            try {
+                future.get();
+                fail("should fail with 'StreamDeletedException'");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(StreamDeletedException.class));
+            }
+        }
+    }
+
+    @Test
+    public void sendsBatchOutsideOfLockAndCancelsDelayedFlush() throws Exception {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        List<Boolean> flushedConcurrently = new ArrayList<>();
+        AtomicReference<BatchingAppender> appender = new AtomicReference<>();
+
+        EventStore eventStore = new FakeEventStore().on("appendToStream", 4, args -> {
+            // another thread takes the batch lock, while the batch is being sent
+            flushedConcurrently.add(CompletableFuture.runAsync(() -> appender.get().flush()).handle((r, t) -> t == null).get(5, TimeUnit.SECONDS));
+            return CompletableFuture.completedFuture(new WriteResult(1, Position.START));
+        }).build();
+
+        try {
+            appender.set(new BatchingAppender(eventStore, scheduler, BatchingAppenderSettings.newBuilder()
+                .maxBatchEvents(2)
+                .maxBatchDelay(Duration.ofHours(1))
+                .build(), null));
+
+            appender.get().append("stream", newEvent());
+            assertEquals(1, scheduler.getQueue().size());
+
+            CompletableFuture<WriteResult> result = appender.get().append("stream", newEvent());
+
+            assertEquals(1, result.get(5, TimeUnit.SECONDS).nextExpectedVersion);
+            assertEquals(asList(true), flushedConcurrently);
+            assertTrue(scheduler.getQueue().isEmpty());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void keepsStreamOrderWhenDelayedBatchIsStillBeingSent() throws Exception {
+        CountDownLatch firstWriteEntered = new CountDownLatch(1);
+        CountDownLatch firstWriteReleased = new CountDownLatch(1);
+        BlockingQueue<Integer> sentBatchSizes = new LinkedBlockingQueue<>();
+
+        EventStore eventStore = new FakeEventStore().on("appendToStream", 4, args -> {
+            List<EventData> events = new ArrayList<>();
+            ((Iterable<EventData>) args[2]).forEach(events::add);
+
+            if (firstWriteEntered.getCount() > 0) {
+                // the delayed flush is still sending its batch
+                firstWriteEntered.countDown();
+                firstWriteReleased.await(5, TimeUnit.SECONDS);
+            }
+
+            sentBatchSizes.add(events.size());
+            return CompletableFuture.completedFuture(new WriteResult(1, Position.START));
+        }).build();
+
+        BatchingAppender appender = new BatchingAppender(eventStore, scheduler, BatchingAppenderSettings.newBuilder()
+            .maxBatchEvents(2)
+            .maxBatchDelay(Duration.ofMillis(10))
+            .build(), null);
+
+        appender.append("stream", newEvent());
+        assertTrue(firstWriteEntered.await(5, TimeUnit.SECONDS));
+
+        // full batch, that is taken while the delayed one is not sent yet
+        CompletableFuture<WriteResult> second = appender.append("stream", asList(newEvent(), newEvent()));
+        firstWriteReleased.countDown();
+
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(asList(1, 2), asList(sentBatchSizes.poll(5, TimeUnit.SECONDS), sentBatchSizes.poll(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void failsToCreateSettingsWithTooLargeBatch() {
+        try {
+            BatchingAppenderSettings.newBuilder().maxBatchBytes(BatchingAppenderSettings.MAX_BATCH_BYTES + 1).build();
+            fail("should fail with 'IllegalArgumentException'");
+        } catch (Exception e) {
+            assertThat(e, instanceOf(IllegalArgumentException.class));
+        }
+    }
+
+    @SafeVarargs
+    private static <T> List<T> asList(T... items) {
+        return java.util.Arrays.asList(items);
+    }
+
+    private static EventData newEvent() {
+        return EventData.newBuilder().type("test").data("{}").build();
+    }
+
+    private static class Write {
+        final String stream;
+        final long expectedVersion;
+        final List<EventData> events = new ArrayList<>();
+        final CompletableFuture<WriteResult> result = new CompletableFuture<>();
+
+        Write(String stream, long expectedVersion, Iterable<EventData> events) {
+            this.stream = stream;
+            this.expectedVersion = expectedVersion;
+            events.forEach(this.events::add);
+        }
+    }
+
+}
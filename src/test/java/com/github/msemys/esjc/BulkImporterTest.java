@@ -0,0 +1,235 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.node.single.SingleNodeSettings;
+import com.github.msemys.esjc.operation.manager.RetriesLimitReachedException;
+import com.github.msemys.esjc.transaction.TransactionManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class BulkImporterTest {
+    private final List<Long> startedTransactions = new ArrayList<>();
+    private final List<CompletableFuture<Void>> writes = new ArrayList<>();
+    private final List<Integer> writeSizes = new ArrayList<>();
+    private final List<Boolean> retriedWrites = new ArrayList<>();
+    private final List<Exception> writeFailures = new ArrayList<>();
+    private final List<Exception> commitFailures = new ArrayList<>();
+    private final List<String> callerThreads = new ArrayList<>();
+    private final ExecutorService clientExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "client-executor"));
+    private Executor executor = Runnable::run;
+    private boolean completeWrites = true;
+    private long nextVersion;
+    private EventStore eventStore;
+
+    @Before
+    public void setUp() {
+        TransactionManager transactionManager = new TransactionManager() {
+            @Override
+            public CompletableFuture<Void> write(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials) {
+                return write(events, true);
+            }
+
+            @Override
+            public CompletableFuture<Void> writeWithoutRetries(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials) {
+                return write(events, false);
+            }
+
+            private CompletableFuture<Void> write(Iterable<EventData> events, boolean retried) {
+                CompletableFuture<Void> result = new CompletableFuture<>();
+                int size = 0;
+                for (EventData ignored : events) {
+                    size++;
+                }
+                synchronized (BulkImporterTest.this) {
+                    callerThreads.add(Thread.currentThread().getName());
+                    writes.add(result);
+                    writeSizes.add(size);
+                    retriedWrites.add(retried);
+                    nextVersion += size;
+                }
+                if (!writeFailures.isEmpty()) {
+                    result.completeExceptionally(writeFailures.remove(0));
+                } else if (completeWrites) {
+                    result.complete(null);
+                }
+                return result;
+            }
+
+            @Override
+            public CompletableFuture<WriteResult> commit(Transaction transaction, UserCredentials userCredentials) {
+                CompletableFuture<WriteResult> result = new CompletableFuture<>();
+                synchronized (BulkImporterTest.this) {
+                    callerThreads.add(Thread.currentThread().getName());
+                }
+                if (!commitFailures.isEmpty()) {
+                    result.completeExceptionally(commitFailures.remove(0));
+                } else {
+                    result.complete(new WriteResult(nextVersion - 1, Position.START));
+                }
+                return result;
+            }
+        };
+
+        eventStore = new FakeEventStore().on("startTransaction", 3, args -> {
+            long expectedVersion = (Long) args[1];
+            startedTransactions.add(expectedVersion);
+            nextVersion = expectedVersion + 1;
+            return CompletableFuture.completedFuture(new Transaction(startedTransactions.size(), null, transactionManager));
+        }).on("settings", args -> Settings.newBuilder()
+            .nodeSettings(SingleNodeSettings.newBuilder().address("localhost", 1113).build())
+            .executor(executor)
+            .build()
+        ).build();
+    }
+
+    @After
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    public void splitsEventsIntoChunksAndCommitsTransactions() throws Exception {
+        BulkImporter importer = new BulkImporter(eventStore, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(2)
+            .maxChunksPerTransaction(2)
+            .build(), null);
+
+        BulkImportResult result = importer.importStream("stream", ExpectedVersion.NO_STREAM, newEvents(5).stream())
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, result.eventCount);
+        assertEquals(2, result.transactionCount);
+        assertEquals(0, result.resumeCount);
+        assertEquals(4, result.lastWriteResult.nextExpectedVersion);
+        assertEquals(asList(-1L, 3L), startedTransactions);
+        assertEquals(asList(2, 2, 1), writeSizes);
+
+        BulkImportProgress progress = importer.progress();
+        assertEquals(5, progress.committedEvents);
+        assertEquals(2, progress.committedTransactions);
+        assertEquals(1, progress.completedStreams);
+        assertEquals(0, progress.pendingStreams);
+    }
+
+    @Test
+    public void keepsWindowOfWritesInFlight() {
+        completeWrites = false;
+
+        BulkImporter importer = new BulkImporter(eventStore, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(1)
+            .maxInFlightWrites(2)
+            .build(), null);
+
+        CompletableFuture<BulkImportResult> result = importer.importStream("stream", ExpectedVersion.ANY, newEvents(4).iterator());
+
+        assertEquals(2, writes.size());
+
+        writes.get(1).complete(null);
+        assertEquals(3, writes.size());
+
+        writes.get(0).complete(null);
+        writes.get(2).complete(null);
+        assertEquals(4, writes.size());
+        assertFalse(result.isDone());
+
+        writes.get(3).complete(null);
+        assertTrue(result.isDone());
+        assertEquals(4, result.join().eventCount);
+    }
+
+    @Test
+    public void resumesFromLastCommittedChunk() throws Exception {
+        commitFailures.add(new ConnectionClosedException("Connection was closed."));
+
+        BulkImporter importer = new BulkImporter(eventStore, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(2)
+            .maxChunksPerTransaction(2)
+            .build(), null);
+
+        BulkImportResult result = importer.importStream("stream", 9, newEvents(4).iterator()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, result.eventCount);
+        assertEquals(1, result.transactionCount);
+        assertEquals(1, result.resumeCount);
+        assertEquals(asList(9L, 9L), startedTransactions);
+        assertEquals(asList(2, 2, 2, 2), writeSizes);
+        assertEquals(1, importer.progress().resumes);
+    }
+
+    @Test
+    public void resumesInsteadOfRetryingPipelinedWrites() throws Exception {
+        writeFailures.add(new RetriesLimitReachedException("TransactionalWriteOperation", 0));
+
+        BulkImporter importer = new BulkImporter(eventStore, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(2)
+            .maxChunksPerTransaction(2)
+            .maxInFlightWrites(2)
+            .build(), null);
+
+        BulkImportResult result = importer.importStream("stream", 9, newEvents(4).iterator()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, result.eventCount);
+        assertEquals(1, result.resumeCount);
+        assertEquals(asList(9L, 9L), startedTransactions);
+        assertFalse(retriedWrites.isEmpty());
+        retriedWrites.forEach(Assert::assertFalse);
+    }
+
+    @Test
+    public void retriesSequentialWrites() throws Exception {
+        BulkImporter importer = new BulkImporter(eventStore, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(2)
+            .maxInFlightWrites(1)
+            .build(), null);
+
+        importer.importStream("stream", ExpectedVersion.ANY, newEvents(4).iterator()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(asList(true, true), retriedWrites);
+    }
+
+    @Test
+    public void issuesWritesAndCommitsFromClientExecutor() throws Exception {
+        executor = clientExecutor;
+
+        BulkImporter importer = new BulkImporter(eventStore, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(1)
+            .maxChunksPerTransaction(2)
+            .build(), null);
+
+        CompletableFuture<String> resultThread = importer.importStream("stream", ExpectedVersion.ANY, newEvents(3).iterator())
+            .thenApply(r -> Thread.currentThread().getName());
+
+        assertEquals("client-executor", resultThread.get(5, TimeUnit.SECONDS));
+
+        synchronized (this) {
+            // 3 writes and 2 commits
+            assertEquals(5, callerThreads.size());
+            callerThreads.forEach(thread -> assertEquals("client-executor", thread));
+        }
+    }
+
+    @SafeVarargs
+    private static <T> List<T> asList(T... items) {
+        return java.util.Arrays.asList(items);
+    }
+
+    private static List<EventData> newEvents(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> EventData.newBuilder().type("test").data("{}").build())
+            .collect(toList());
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.checkpoint.Checkpoint;
+import com.github.msemys.esjc.checkpoint.CheckpointStore;
+import com.github.msemys.esjc.checkpoint.Checkpointer;
+import com.github.msemys.esjc.event.Events;
+import com.github.msemys.esjc.proto.EventStoreClientMessages;
+import com.github.msemys.esjc.subscription.StreamCatchUpSubscription;
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.LongStream;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class CatchUpSubscriptionTest {
+    private final List<Long> reads = new ArrayList<>();
+    private long visibleEventCount;
+
+    @Test
+    public void handsOverToLiveEventsWithoutReadingThemAgain() {
+        visibleEventCount = 5;
+        List<Long> processed = new ArrayList<>();
+        List<SubscriptionDropReason> dropReasons = new ArrayList<>();
+        boolean[] liveProcessingStarted = {false};
+
+        EventStore eventStore = new FakeEventStore()
+            .on("readStreamEventsForward", args -> {
+                long from = (Long) args[1];
+                reads.add(from);
+                return CompletableFuture.completedFuture(newStreamSlice((String) args[0], from, (Integer) args[2]));
+            })
+            .on("subscribeToStream", args -> {
+                VolatileSubscriptionListener listener = (VolatileSubscriptionListener) args[2];
+                // events 5 and 6 were written after the history was read, but before the subscription
+                visibleEventCount = 7;
+                Subscription subscription = new Subscription((String) args[0], 0, 6L) {
+                    @Override
+                    public void unsubscribe() {
+                    }
+                };
+                listener.onEvent(subscription, newEvent((String) args[0], 7));
+                listener.onEvent(subscription, newEvent((String) args[0], 8));
+                return CompletableFuture.completedFuture(subscription);
+            })
+            .build();
+
+        CatchUpSubscription subscription = new StreamCatchUpSubscription(eventStore, "stream", null, false,
+            new CatchUpSubscriptionListener() {
+                @Override
+                public void onEvent(CatchUpSubscription subscription, ResolvedEvent event) {
+                    processed.add(event.originalEventNumber());
+                }
+
+                @Override
+                public void onClose(CatchUpSubscription subscription, SubscriptionDropReason reason, Exception exception) {
+                    dropReasons.add(reason);
+                }
+
+                @Override
+                public void onLiveProcessingStarted(CatchUpSubscription subscription) {
+                    liveProcessingStarted[0] = true;
+                }
+            }, null, 2, 0, Integer.MAX_VALUE, 100, null, Runnable::run);
+
+        subscription.start();
+
+        assertTrue(liveProcessingStarted[0]);
+        assertTrue(dropReasons.isEmpty());
+        assertEquals(LongStream.rangeClosed(0, 8).boxed().collect(toList()), processed);
+
+        // history is read up to the end of stream, then only the gap up to the subscription is read
+        assertEquals(asList(0L, 2L, 4L, 5L), reads);
+    }
+
+    @Test
+    public void resumesFromStoredCheckpointAndWritesCheckpointWhenStopped() throws Exception {
+        visibleEventCount = 6;
+        List<Long> processed = new ArrayList<>();
+        Map<String, Checkpoint> checkpoints = new HashMap<>();
+        checkpoints.put("stream", Checkpoint.of(3));
+
+        CheckpointStore store = new CheckpointStore() {
+            @Override
+            public CompletableFuture<Checkpoint> read(String name) {
+                return CompletableFuture.completedFuture(checkpoints.get(name));
+            }
+
+            @Override
+            public CompletableFuture<Void> write(String name, Checkpoint checkpoint) {
+                checkpoints.put(name, checkpoint);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+
+        EventStore eventStore = new FakeEventStore()
+            .on("readStreamEventsForward", args -> {
+                reads.add((Long) args[1]);
+                return CompletableFuture.completedFuture(newStreamSlice((String) args[0], (Long) args[1], (Integer) args[2]));
+            })
+            .on("subscribeToStream", args -> CompletableFuture.completedFuture(new Subscription((String) args[0], 0, visibleEventCount - 1) {
+                @Override
+                public void unsubscribe() {
+                }
+            }))
+            .build();
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            CatchUpSubscription subscription = new StreamCatchUpSubscription(eventStore, "stream", null, false,
+                (s, e) -> processed.add(e.originalEventNumber()), null, 10, 0, Integer.MAX_VALUE, 100,
+                new Checkpointer(store, "stream", 1000, Duration.ofHours(1), scheduler), Runnable::run);
+
+            subscription.start();
+            subscription.stop(Duration.ofSeconds(1));
+            scheduler.submit(() -> null).get();
+        } finally {
+            scheduler.shutdown();
+        }
+
+        assertEquals(asList(4L, 5L), processed);
+        assertEquals(4L, (long) reads.get(0));
+        assertEquals(Checkpoint.of(5), checkpoints.get("stream"));
+    }
+
+    @Test
+    public void subscribesFirstAndReadsOnlyTheGapAfterReconnection() {
+        visibleEventCount = 2;
+        List<String> calls = new ArrayList<>();
+        List<Long> processed = new ArrayList<>();
+        List<EventStoreListener> clientListeners = new ArrayList<>();
+        List<VolatileSubscriptionListener> subscriptionListeners = new ArrayList<>();
+
+        EventStore eventStore = new FakeEventStore()
+            .on("readStreamEventsForward", args -> {
+                calls.add("read " + args[1]);
+                return CompletableFuture.completedFuture(newStreamSlice((String) args[0], (Long) args[1], (Integer) args[2]));
+            })
+            .on("subscribeToStream", args -> {
+                calls.add("subscribe");
+                VolatileSubscriptionListener listener = (VolatileSubscriptionListener) args[2];
+                subscriptionListeners.add(listener);
+                Subscription subscription = new Subscription((String) args[0], 0, visibleEventCount - 1) {
+                    @Override
+                    public void unsubscribe() {
+                    }
+                };
+                if (subscriptionListeners.size() == 2) {
+                    // events 2-5 were written while disconnected, events 6 and 7 are live
+                    listener.onEvent(subscription, newEvent((String) args[0], 6));
+                    listener.onEvent(subscription, newEvent((String) args[0], 7));
+                }
+                return CompletableFuture.completedFuture(subscription);
+            })
+            .on("addListener", args -> clientListeners.add((EventStoreListener) args[0]))
+            .on("removeListener", args -> clientListeners.remove(args[0]))
+            .build();
+
+        CatchUpSubscription subscription = new StreamCatchUpSubscription(eventStore, "stream", null, false,
+            (s, e) -> processed.add(e.originalEventNumber()), null, 2, 0, Integer.MAX_VALUE, 100, null, Runnable::run);
+
+        subscription.start();
+        assertEquals(asList("read 0", "subscribe", "read 2"), calls);
+
+        calls.clear();
+        visibleEventCount = 6;
+        subscriptionListeners.get(0).onClose(null, SubscriptionDropReason.ConnectionClosed, null);
+        new ArrayList<>(clientListeners).forEach(l -> l.onEvent(Events.clientConnected(null)));
+
+        // live events are buffered from the subscription on, only the events up to the first of them are read
+        assertEquals(asList("subscribe", "read 2", "read 4"), calls);
+        assertEquals(LongStream.rangeClosed(0, 7).boxed().collect(toList()), processed);
+    }
+
+    @Test
+    public void keepsWritingCheckpointsPeriodicallyAfterReconnection() throws Exception {
+        visibleEventCount = 2;
+        List<EventStoreListener> clientListeners = new ArrayList<>();
+        List<VolatileSubscriptionListener> subscriptionListeners = new ArrayList<>();
+        BlockingQueue<Checkpoint> writtenCheckpoints = new LinkedBlockingQueue<>();
+
+        CheckpointStore store = new CheckpointStore() {
+            @Override
+            public CompletableFuture<Checkpoint> read(String name) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public CompletableFuture<Void> write(String name, Checkpoint checkpoint) {
+                writtenCheckpoints.add(checkpoint);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+
+        Subscription volatileSubscription = new Subscription("stream", 0, 1L) {
+            @Override
+            public void unsubscribe() {
+            }
+        };
+
+        EventStore eventStore = new FakeEventStore()
+            .on("readStreamEventsForward", args -> CompletableFuture.completedFuture(newStreamSlice((String) args[0], (Long) args[1], (Integer) args[2])))
+            .on("subscribeToStream", args -> {
+                subscriptionListeners.add((VolatileSubscriptionListener) args[2]);
+                return CompletableFuture.completedFuture(volatileSubscription);
+            })
+            .on("addListener", args -> clientListeners.add((EventStoreListener) args[0]))
+            .on("removeListener", args -> clientListeners.remove(args[0]))
+            .build();
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            CatchUpSubscription subscription = new StreamCatchUpSubscription(eventStore, "stream", null, false,
+                (s, e) -> {
+                }, null, 10, 0, Integer.MAX_VALUE, 100,
+                new Checkpointer(store, "stream", 1000, Duration.ofMillis(20), scheduler), Runnable::run);
+
+            subscription.start();
+            assertEquals(Checkpoint.of(1), writtenCheckpoints.poll(5, SECONDS));
+
+            // the connection is closed and the subscription is resumed, once the client is connected again
+            subscriptionListeners.get(0).onClose(volatileSubscription, SubscriptionDropReason.ConnectionClosed, null);
+            new ArrayList<>(clientListeners).forEach(l -> l.onEvent(Events.clientConnected(null)));
+            assertEquals(2, subscriptionListeners.size());
+
+            // flushEvents is not reached, so only the periodic flush writes the checkpoint of the live event
+            visibleEventCount = 3;
+            subscriptionListeners.get(1).onEvent(volatileSubscription, newEvent("stream", 2));
+
+            Checkpoint checkpoint;
+            do {
+                checkpoint = writtenCheckpoints.poll(5, SECONDS);
+                assertNotNull("checkpoint of the live event is not written", checkpoint);
+            } while (!checkpoint.equals(Checkpoint.of(2)));
+
+            subscription.stop(Duration.ofSeconds(1));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private StreamEventsSlice newStreamSlice(String stream, long from, int maxCount) {
+        long last = Math.min(from + maxCount, visibleEventCount);
+
+        List<EventStoreClientMessages.ResolvedIndexedEvent> events = new ArrayList<>();
+        for (long i = from; i < last; i++) {
+            events.add(EventStoreClientMessages.ResolvedIndexedEvent.newBuilder().setEvent(newEventRecord(stream, i)).build());
+        }
+
+        return new StreamEventsSlice(SliceReadStatus.Success, stream, from, ReadDirection.Forward, events,
+            Math.max(from, last), visibleEventCount - 1, last >= visibleEventCount);
+    }
+
+    private static ResolvedEvent newEvent(String stream, long eventNumber) {
+        return new ResolvedEvent(EventStoreClientMessages.ResolvedEvent.newBuilder()
+            .setEvent(newEventRecord(stream, eventNumber))
+            .setCommitPosition(eventNumber)
+            .setPreparePosition(eventNumber)
+            .build());
+    }
+
+    private static EventStoreClientMessages.EventRecord newEventRecord(String stream, long eventNumber) {
+        return EventStoreClientMessages.EventRecord.newBuilder()
+            .setEventStreamId(stream)
+            .setEventNumber(eventNumber)
+            .setEventId(ByteString.copyFrom(new byte[16]))
+            .setEventType("test")
+            .setDataContentType(0)
+            .setMetadataContentType(0)
+            .setData(ByteString.EMPTY)
+            .build();
+    }
+
+}
@@ -5,6 +5,7 @@ import com.github.msemys.esjc.node.cluster.GossipSeed;
 import com.github.msemys.esjc.node.single.SingleNodeSettings;
 import com.github.msemys.esjc.ssl.SslSettings;
 import com.github.msemys.esjc.tcp.TcpSettings;
+import com.github.msemys.esjc.transport.Transport;
 import org.junit.Test;
 
 import java.net.InetSocketAddress;
@@ -491,7 +492,10 @@ public class EventStoreBuilderTest {
                 .sendBufferSize(1)
                 .receiveBufferSize(2)
                 .writeBufferLowWaterMark(3)
-                .writeBufferHighWaterMark(4))
+                .writeBufferHighWaterMark(4)
+                .maxPendingWrites(5)
+                .maxPendingWriteBytes(6)
+                .maxWriteDelay(Duration.ofMillis(7)))
             .build();
 
         assertEquals(Duration.ofSeconds(100), result.settings().tcpSettings.closeTimeout);
@@ -502,6 +506,9 @@ public class EventStoreBuilderTest {
         assertEquals(2, result.settings().tcpSettings.receiveBufferSize);
         assertEquals(3, result.settings().tcpSettings.writeBufferLowWaterMark);
         assertEquals(4, result.settings().tcpSettings.writeBufferHighWaterMark);
+        assertEquals(5, result.settings().tcpSettings.maxPendingWrites);
+        assertEquals(6, result.settings().tcpSettings.maxPendingWriteBytes);
+        assertEquals(Duration.ofMillis(7), result.settings().tcpSettings.maxWriteDelay);
     }
 
     @Test
@@ -534,6 +541,83 @@ public class EventStoreBuilderTest {
         assertEquals(Integer.MAX_VALUE, result.settings().maxReconnections);
     }
 
+    @Test
+    public void createsClientsWithSharedTransport() {
+        try (Transport transport = Transport.newBuilder().ioThreads(1).build()) {
+            EventStore client1 = EventStoreBuilder.newBuilder()
+                .singleNodeAddress("localhost", 1009)
+                .transport(transport)
+                .build();
+
+            EventStore client2 = EventStoreBuilder.newBuilder(client1.settings()).build();
+
+            assertSame(transport, client1.settings().transport);
+            assertSame(transport, client2.settings().transport);
+
+            client1.shutdown();
+            client2.shutdown();
+
+            assertFalse(transport.group().isShuttingDown());
+        }
+    }
+
+    @Test
+    public void createsClientWithMultipleConnections() {
+        EventStore result = EventStoreBuilder.newBuilder()
+            .singleNodeAddress("localhost", 1009)
+            .connectionCount(4)
+            .build();
+
+        assertEquals(4, result.settings().connectionCount);
+        assertEquals(4, EventStoreBuilder.newBuilder(result.settings()).build().settings().connectionCount);
+    }
+
+    @Test
+    public void createsClientWithOperationQueueOverflowPolicy() {
+        EventStore result = EventStoreBuilder.newBuilder()
+            .singleNodeAddress("localhost", 1009)
+            .operationQueueOverflowPolicy(OperationQueueOverflowPolicy.Fail)
+            .operationQueueWaitTimeout(Duration.ofSeconds(3))
+            .build();
+
+        assertEquals(OperationQueueOverflowPolicy.Fail, result.settings().operationQueueOverflowPolicy);
+        assertEquals(Duration.ofSeconds(3), result.settings().operationQueueWaitTimeout);
+        assertEquals(0, result.operationQueueSize());
+        assertEquals(0, result.rejectedOperationCount());
+
+        Settings copied = EventStoreBuilder.newBuilder(result.settings()).build().settings();
+        assertEquals(OperationQueueOverflowPolicy.Fail, copied.operationQueueOverflowPolicy);
+        assertEquals(Duration.ofSeconds(3), copied.operationQueueWaitTimeout);
+    }
+
+    @Test
+    public void failsToCreateClientWithNegativeOperationQueueWaitTimeout() {
+        try {
+            EventStoreBuilder.newBuilder()
+                .singleNodeAddress("localhost", 1009)
+                .operationQueueWaitTimeout(Duration.ofSeconds(-1))
+                .build();
+            fail("should fail with 'IllegalArgumentException'");
+        } catch (Exception e) {
+            assertThat(e, instanceOf(IllegalArgumentException.class));
+            assertEquals("operationQueueWaitTimeout should not be negative", e.getMessage());
+        }
+    }
+
+    @Test
+    public void failsToCreateClientWithZeroConnectionCount() {
+        try {
+            EventStoreBuilder.newBuilder()
+                .singleNodeAddress("localhost", 1009)
+                .connectionCount(0)
+                .build();
+            fail("should fail with 'IllegalArgumentException'");
+        } catch (Exception e) {
+            assertThat(e, instanceOf(IllegalArgumentException.class));
+            assertEquals("connectionCount should be positive", e.getMessage());
+        }
+    }
+
     @Test
     public void createsClientWithDefaultConnectionName() {
         EventStore result = EventStoreBuilder.newBuilder()
@@ -0,0 +1,144 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.manager.OperationQueueFullException;
+import com.github.msemys.esjc.transport.Transport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+
+public class EventStoreTcpTest {
+    private static final int CONNECTION_COUNT = 3;
+
+    // accepts connections, but never responds, so operations wait in the managers of their connections
+    private ServerSocket server;
+    private EventStore eventstore;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new ServerSocket(0);
+
+        eventstore = EventStoreBuilder.newBuilder()
+            .singleNodeAddress("127.0.0.1", server.getLocalPort())
+            .connectionCount(CONNECTION_COUNT)
+            .operationTimeout(Duration.ofMinutes(1))
+            .heartbeatInterval(Duration.ofMinutes(1))
+            .heartbeatTimeout(Duration.ofMinutes(1))
+            .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        eventstore.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void routesStreamOperationsByStreamHash() throws InterruptedException {
+        int connectionIndex = Math.floorMod("stream".hashCode(), CONNECTION_COUNT);
+
+        for (int i = 0; i < 3; i++) {
+            eventstore.appendToStream("stream", ExpectedVersion.ANY, singletonList(newEvent()));
+        }
+        eventstore.readStreamEventsForward("stream", 0, 10, false);
+
+        List<ConnectionStats> stats = awaitConnectionStats(s -> s.waitingOperations == 4);
+
+        for (int i = 0; i < CONNECTION_COUNT; i++) {
+            assertEquals(stats.toString(), (i == connectionIndex) ? 4 : 0, stats.get(i).waitingOperations);
+        }
+    }
+
+    @Test
+    public void spreadsAllStreamReadsRoundRobin() throws InterruptedException {
+        for (int i = 0; i < 2 * CONNECTION_COUNT; i++) {
+            eventstore.readAllEventsForward(Position.START, 10, false);
+        }
+
+        List<ConnectionStats> stats = awaitConnectionStats(s -> s.waitingOperations == 2 * CONNECTION_COUNT);
+
+        stats.forEach(s -> assertEquals(stats.toString(), 2, s.waitingOperations));
+    }
+
+    @Test
+    public void pinsTransactionalWritesToTransactionConnection() throws InterruptedException {
+        long transactionId = 7;
+        int connectionIndex = Math.floorMod(Long.hashCode(transactionId), CONNECTION_COUNT);
+
+        Transaction transaction = eventstore.continueTransaction(transactionId);
+        transaction.write(singletonList(newEvent()));
+        transaction.write(singletonList(newEvent()));
+        transaction.commit();
+
+        List<ConnectionStats> stats = awaitConnectionStats(s -> s.waitingOperations == 3);
+
+        for (int i = 0; i < CONNECTION_COUNT; i++) {
+            assertEquals(stats.toString(), (i == connectionIndex) ? 3 : 0, stats.get(i).waitingOperations);
+        }
+    }
+
+    @Test
+    public void failsAtOnceInsteadOfParkingEventLoopWhenOperationQueueIsFull() throws Exception {
+        try (Transport transport = Transport.newBuilder().ioThreads(1).build()) {
+            EventStore client = EventStoreBuilder.newBuilder()
+                .singleNodeAddress("127.0.0.1", server.getLocalPort())
+                .maxOperationQueueSize(1)
+                .operationQueueOverflowPolicy(OperationQueueOverflowPolicy.Wait)
+                .operationQueueWaitTimeout(Duration.ofMinutes(1))
+                .operationTimeout(Duration.ofMinutes(1))
+                .transport(transport)
+                .build();
+
+            try {
+                // takes the only slot, as the server never responds
+                client.appendToStream("stream", ExpectedVersion.ANY, singletonList(newEvent()));
+
+                CompletableFuture<WriteResult> result = transport.group()
+                    .submit(() -> client.appendToStream("stream", ExpectedVersion.ANY, singletonList(newEvent())))
+                    .get(5, SECONDS);
+
+                try {
+                    result.join();
+                    fail("should fail with 'OperationQueueFullException'");
+                } catch (CompletionException e) {
+                    assertThat(e.getCause(), instanceOf(OperationQueueFullException.class));
+                }
+            } finally {
+                client.shutdown();
+            }
+        }
+    }
+
+    private List<ConnectionStats> awaitConnectionStats(Predicate<ConnectionStats> total) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        // operations are handed over to the managers on the client executor
+        while (!total.test(eventstore.totalConnectionStats())) {
+            assertTrue("connection stats not reached: " + eventstore.totalConnectionStats(), System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+
+        List<ConnectionStats> stats = eventstore.connectionStats();
+        assertEquals(CONNECTION_COUNT, stats.size());
+        assertEquals(0, eventstore.totalConnectionStats().activeOperations);
+
+        return stats;
+    }
+
+    private static EventData newEvent() {
+        return EventData.newBuilder().type("test").data("{}").build();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.msemys.esjc;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.github.msemys.esjc.util.Preconditions.checkNotNull;
+
+/**
+ * Fake client for unit tests, that dispatches {@link EventStore} calls to the handlers registered by method name
+ * (and optionally by argument count). Listener registration is ignored, any other call fails with
+ * {@link UnsupportedOperationException}.
+ */
+public class FakeEventStore {
+    private final Map<String, Handler> handlers = new HashMap<>();
+
+    /**
+     * Registers the handler of the method with any number of arguments.
+     *
+     * @param methodName method name.
+     * @param handler    handler, that returns the result of the call.
+     * @return the fake reference
+     */
+    public FakeEventStore on(String methodName, Handler handler) {
+        checkNotNull(handler, "handler is null");
+        handlers.put(methodName, handler);
+        return this;
+    }
+
+    /**
+     * Registers the handler of the method overload with the specified number of arguments.
+     *
+     * @param methodName    method name.
+     * @param argumentCount the number of method arguments.
+     * @param handler       handler, that returns the result of the call.
+     * @return the fake reference
+     */
+    public FakeEventStore on(String methodName, int argumentCount, Handler handler) {
+        checkNotNull(handler, "handler is null");
+        handlers.put(methodName + "/" + argumentCount, handler);
+        return this;
+    }
+
+    /**
+     * Creates the client, that uses the registered handlers.
+     *
+     * @return client
+     */
+    public EventStore build() {
+        return (EventStore) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{EventStore.class}, (proxy, method, args) -> {
+            Object[] arguments = (args != null) ? args : new Object[0];
+
+            Handler handler = handlers.get(method.getName() + "/" + arguments.length);
+            if (handler == null) {
+                handler = handlers.get(method.getName());
+            }
+
+            if (handler != null) {
+                return handler.handle(arguments);
+            } else if (method.getName().equals("addListener") || method.getName().equals("removeListener")) {
+                return null;
+            } else {
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        Object handle(Object[] args) throws Exception;
+    }
+
+}
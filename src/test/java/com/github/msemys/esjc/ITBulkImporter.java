@@ -0,0 +1,123 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.transaction.TransactionManager;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.msemys.esjc.matcher.RecordedEventListMatcher.containsInOrder;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class ITBulkImporter extends AbstractIntegrationTest {
+
+    @Override
+    protected EventStore createEventStore() {
+        return eventstoreSupplier.get();
+    }
+
+    @Test
+    public void importsEventsInTransactions() throws Exception {
+        final String stream = generateStreamName();
+
+        List<EventData> events = newTestEvents(25);
+
+        BulkImporter importer = eventstore.newBulkImporter(BulkImporterSettings.newBuilder()
+            .maxChunkEvents(4)
+            .maxChunksPerTransaction(3)
+            .build());
+
+        BulkImportResult result = importer.importStream(stream, ExpectedVersion.NO_STREAM, events.iterator()).get(30, SECONDS);
+
+        assertEquals(25, result.eventCount);
+        assertEquals(3, result.transactionCount);
+        assertEquals(0, result.resumeCount);
+        assertEquals(24, result.lastWriteResult.nextExpectedVersion);
+
+        StreamEventsSlice slice = eventstore.readStreamEventsForward(stream, 0, 100, false).join();
+        assertEquals(events.size(), slice.events.size());
+        assertThat(recordedEventsFrom(slice.events), containsInOrder(events));
+    }
+
+    @Test
+    public void resumesIdempotentlyWhenCommitResponseIsLost() throws Exception {
+        final String stream = generateStreamName();
+
+        List<EventData> events = newTestEvents(10);
+        EventStore client = withLostFirstCommitResponse(eventstore);
+
+        BulkImporter importer = new BulkImporter(client, BulkImporterSettings.newBuilder()
+            .maxChunkEvents(5)
+            .maxChunksPerTransaction(2)
+            .build(), null);
+
+        BulkImportResult result = importer.importStream(stream, ExpectedVersion.NO_STREAM, events.iterator()).get(30, SECONDS);
+
+        assertEquals(10, result.eventCount);
+        assertEquals(1, result.transactionCount);
+        assertEquals(1, result.resumeCount);
+        assertEquals(9, result.lastWriteResult.nextExpectedVersion);
+
+        // the chunks, that were written again after the resume, are not duplicated
+        StreamEventsSlice slice = eventstore.readStreamEventsForward(stream, 0, 100, false).join();
+        assertEquals(events.size(), slice.events.size());
+        assertThat(recordedEventsFrom(slice.events), containsInOrder(events));
+    }
+
+    /**
+     * Wraps the client, so that the first transaction is committed, but its commit fails as if the connection was
+     * closed before the response arrived.
+     */
+    private static EventStore withLostFirstCommitResponse(EventStore eventstore) {
+        AtomicBoolean commitResponseLost = new AtomicBoolean();
+
+        TransactionManager transactionManager = new TransactionManager() {
+            @Override
+            public CompletableFuture<Void> write(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials) {
+                return eventstore.continueTransaction(transaction.transactionId, userCredentials).write(events);
+            }
+
+            @Override
+            public CompletableFuture<Void> writeWithoutRetries(Transaction transaction, Iterable<EventData> events, UserCredentials userCredentials) {
+                return eventstore.continueTransaction(transaction.transactionId, userCredentials).writeWithoutRetries(events);
+            }
+
+            @Override
+            public CompletableFuture<WriteResult> commit(Transaction transaction, UserCredentials userCredentials) {
+                CompletableFuture<WriteResult> result = eventstore.continueTransaction(transaction.transactionId, userCredentials).commit();
+
+                if (commitResponseLost.compareAndSet(false, true)) {
+                    return result.thenCompose(r -> {
+                        CompletableFuture<WriteResult> lost = new CompletableFuture<>();
+                        lost.completeExceptionally(new ConnectionClosedException("Connection was closed."));
+                        return lost;
+                    });
+                } else {
+                    return result;
+                }
+            }
+        };
+
+        return (EventStore) Proxy.newProxyInstance(EventStore.class.getClassLoader(), new Class<?>[]{EventStore.class}, (proxy, method, args) -> {
+            Object result;
+
+            try {
+                result = method.invoke(eventstore, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (method.getName().equals("startTransaction")) {
+                return ((CompletableFuture<?>) result).thenApply(t ->
+                    new Transaction(((Transaction) t).transactionId, null, transactionManager));
+            } else {
+                return result;
+            }
+        });
+    }
+
+}
@@ -2,7 +2,9 @@ package com.github.msemys.esjc;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 
 import static com.github.msemys.esjc.matcher.RecordedEventListMatcher.containsInOrder;
 import static java.util.stream.Collectors.toList;
@@ -241,4 +243,49 @@ public class ITStreamAllEventsForward extends AbstractIntegrationTest {
             .count());
     }
 
+    @Test
+    public void splitsBoundedRangeAtEventBoundary() {
+        final String stream = generateStreamName();
+
+        // the range should be large enough (at least 1 MB of the log) to be split
+        List<EventData> events = range(0, 40)
+            .mapToObj(i -> EventData.newBuilder().type("test").data(new byte[64 * 1024]).build())
+            .collect(toList());
+
+        Position from = eventstore.appendToStream(stream, ExpectedVersion.NO_STREAM, events.get(0)).join().logPosition;
+        for (int i = 1; i < events.size(); i++) {
+            eventstore.appendToStream(stream, i - 1, events.get(i)).join();
+        }
+        Position to = eventstore.appendToStream(generateStreamName(), ExpectedVersion.NO_STREAM, newTestEvent()).join().logPosition;
+
+        Spliterator<ResolvedEvent> suffix = eventstore.streamAllEventsForward(from, to, 5, false).spliterator();
+        Spliterator<ResolvedEvent> prefix = suffix.trySplit();
+
+        assertNotNull("range was not split", prefix);
+
+        List<ResolvedEvent> prefixEvents = new ArrayList<>();
+        prefix.forEachRemaining(e -> {
+            if (stream.equals(e.originalStreamId())) {
+                prefixEvents.add(e);
+            }
+        });
+
+        List<ResolvedEvent> suffixEvents = new ArrayList<>();
+        suffix.forEachRemaining(e -> {
+            if (stream.equals(e.originalStreamId())) {
+                suffixEvents.add(e);
+            }
+        });
+
+        // the range is split at the first event after the middle, so every event is read exactly once
+        assertFalse(prefixEvents.isEmpty());
+        assertFalse(suffixEvents.isEmpty());
+
+        List<ResolvedEvent> result = new ArrayList<>(prefixEvents);
+        result.addAll(suffixEvents);
+
+        assertEquals(events.size(), result.size());
+        assertThat(recordedEventsFrom(result), containsInOrder(events));
+    }
+
 }
@@ -6,12 +6,15 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.LongStream;
 
 import static com.github.msemys.esjc.util.Threads.sleepUninterruptibly;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.IntStream.range;
 import static org.junit.Assert.*;
 
@@ -340,4 +343,52 @@ public class ITSubscribeToStreamFrom extends AbstractIntegrationTest {
         assertEquals(events.get(events.size() - 1).originalEventNumber(), subscription.lastProcessedEventNumber());
     }
 
+    @Test
+    public void handsOverToLiveEventsWithoutGapsOrDuplicatesWhileEventsAreWritten() throws InterruptedException, TimeoutException {
+        final String stream = generateStreamName();
+
+        eventstore.appendToStream(stream, ExpectedVersion.NO_STREAM, newTestEvents(50)).join();
+
+        List<Long> eventNumbers = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch eventSignal = new CountDownLatch(150);
+        CountDownLatch liveSignal = new CountDownLatch(1);
+        CountDownLatch closeSignal = new CountDownLatch(1);
+
+        CatchUpSubscriptionSettings settings = CatchUpSubscriptionSettings.newBuilder().readBatchSize(10).build();
+
+        CatchUpSubscription subscription = eventstore.subscribeToStreamFrom(stream, null, settings, new CatchUpSubscriptionListener() {
+            @Override
+            public void onEvent(CatchUpSubscription subscription, ResolvedEvent event) {
+                eventNumbers.add(event.originalEventNumber());
+                eventSignal.countDown();
+            }
+
+            @Override
+            public void onLiveProcessingStarted(CatchUpSubscription subscription) {
+                liveSignal.countDown();
+            }
+
+            @Override
+            public void onClose(CatchUpSubscription subscription, SubscriptionDropReason reason, Exception exception) {
+                closeSignal.countDown();
+            }
+        });
+
+        // events are written while the subscription reads the history, subscribes and reads the gap
+        for (int i = 0; i < 100; i++) {
+            eventstore.appendToStream(stream, ExpectedVersion.ANY, newTestEvent()).join();
+        }
+
+        assertTrue("onEvent timeout", eventSignal.await(10, SECONDS));
+        assertTrue("onLiveProcessingStarted timeout", liveSignal.await(10, SECONDS));
+
+        sleepUninterruptibly(100); // gives time for duplicates (if any) to appear
+
+        assertEquals(LongStream.range(0, 150).boxed().collect(toList()), new ArrayList<>(eventNumbers));
+
+        assertFalse("Subscription was dropped prematurely.", closeSignal.await(0, SECONDS));
+        subscription.stop(Duration.ofSeconds(10));
+        assertTrue("onClose timeout", closeSignal.await(10, SECONDS));
+    }
+
 }
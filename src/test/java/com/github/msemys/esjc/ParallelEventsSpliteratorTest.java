@@ -0,0 +1,198 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.proto.EventStoreClientMessages;
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelEventsSpliteratorTest {
+    private static final long EVENT_DISTANCE = 256 * 1024;
+
+    @Test
+    public void processesMultipleStreamsInParallelKeepingOrder() {
+        List<String> streams = IntStream.range(0, 20).mapToObj(i -> "stream-" + i).collect(toList());
+
+        Spliterator<ResolvedEvent> spliterator = new MultiStreamEventsSpliterator(streams, stream ->
+            new StreamEventsSpliterator(0, eventNumber -> completedFuture(newStreamSlice(stream, eventNumber, 3, 10)), 1, Integer.MAX_VALUE));
+
+        List<String> result = StreamSupport.stream(spliterator, true)
+            .map(e -> e.event.eventStreamId + "/" + e.event.eventNumber)
+            .collect(toList());
+
+        List<String> expected = streams.stream()
+            .flatMap(stream -> LongStream.range(0, 10).mapToObj(i -> stream + "/" + i))
+            .collect(toList());
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void splitsAllEventsRangeAtEventPositions() {
+        AtomicInteger probes = new AtomicInteger();
+
+        Spliterator<ResolvedEvent> spliterator = new AllEventsRangeSpliterator(
+            Position.of(2 * EVENT_DISTANCE, 2 * EVENT_DISTANCE),
+            Position.of(38 * EVENT_DISTANCE, 38 * EVENT_DISTANCE),
+            allEventsReader(5),
+            p -> {
+                probes.incrementAndGet();
+                return allEventsReader(1).apply(p);
+            },
+            1, Integer.MAX_VALUE);
+
+        List<Long> result = StreamSupport.stream(spliterator, true)
+            .map(e -> e.event.eventNumber)
+            .collect(toList());
+
+        assertEquals(LongStream.range(2, 38).boxed().collect(toList()), result);
+        assertTrue(probes.get() > 0);
+    }
+
+    @Test
+    public void splitsAllEventsRangeWithoutWaitingForProbe() {
+        List<CompletableFuture<AllEventsSlice>> probes = new ArrayList<>();
+
+        Spliterator<ResolvedEvent> suffix = new AllEventsRangeSpliterator(
+            Position.of(0, 0),
+            Position.of(39 * EVENT_DISTANCE, 39 * EVENT_DISTANCE),
+            allEventsReader(5),
+            p -> {
+                CompletableFuture<AllEventsSlice> probe = allEventsReader(1).apply(p);
+                CompletableFuture<AllEventsSlice> pending = new CompletableFuture<>();
+                probes.add(pending);
+                return pending.thenCompose(ignored -> probe);
+            },
+            1, Integer.MAX_VALUE);
+
+        Spliterator<ResolvedEvent> prefix = suffix.trySplit();
+        Spliterator<ResolvedEvent> middle = suffix.trySplit();
+
+        assertNotNull(prefix);
+        assertNotNull(middle);
+        assertEquals(1, probes.size());
+
+        // the middles (19.5 and 29.25 event distances) are not event positions, so the next events are the boundaries
+        probes.get(0).complete(null);
+        assertEquals(2, probes.size());
+        probes.get(1).complete(null);
+
+        assertEquals(LongStream.range(0, 20).boxed().collect(toList()), eventNumbers(prefix));
+        assertEquals(LongStream.range(20, 30).boxed().collect(toList()), eventNumbers(middle));
+        assertEquals(LongStream.range(30, 39).boxed().collect(toList()), eventNumbers(suffix));
+    }
+
+    @Test
+    public void readsWholeAllEventsRangeInSuffixWhenProbeFails() {
+        Spliterator<ResolvedEvent> suffix = new AllEventsRangeSpliterator(
+            Position.of(0, 0),
+            Position.of(40 * EVENT_DISTANCE, 40 * EVENT_DISTANCE),
+            allEventsReader(5),
+            p -> {
+                CompletableFuture<AllEventsSlice> probe = new CompletableFuture<>();
+                probe.completeExceptionally(new IllegalStateException("invalid position"));
+                return probe;
+            },
+            1, Integer.MAX_VALUE);
+
+        Spliterator<ResolvedEvent> prefix = suffix.trySplit();
+
+        assertEquals(emptyList(), eventNumbers(prefix));
+        assertEquals(LongStream.range(0, 40).boxed().collect(toList()), eventNumbers(suffix));
+    }
+
+    @Test
+    public void readsAllEventsRangeToEnd() {
+        Spliterator<ResolvedEvent> spliterator = new AllEventsRangeSpliterator(Position.START, Position.END,
+            allEventsReader(7), allEventsReader(1), 2, Integer.MAX_VALUE);
+
+        assertEquals(40, StreamSupport.stream(spliterator, true).count());
+    }
+
+    @Test
+    public void limitsConcurrentReads() {
+        List<CompletableFuture<Integer>> reads = new ArrayList<>();
+        Function<Integer, CompletableFuture<Integer>> reader = new ReadLimiter(2).limit(i -> {
+            CompletableFuture<Integer> read = new CompletableFuture<>();
+            reads.add(read);
+            return read;
+        });
+
+        List<CompletableFuture<Integer>> results = IntStream.range(0, 4).mapToObj(reader::apply).collect(toList());
+        assertEquals(2, reads.size());
+
+        reads.get(0).complete(0);
+        assertEquals(3, reads.size());
+        assertEquals(0, (int) results.get(0).join());
+
+        reads.get(1).complete(1);
+        reads.get(2).complete(2);
+        reads.get(3).complete(3);
+        assertEquals(asList(0, 1, 2, 3), results.stream().map(CompletableFuture::join).collect(toList()));
+    }
+
+    private static List<Long> eventNumbers(Spliterator<ResolvedEvent> spliterator) {
+        List<Long> result = new ArrayList<>();
+        spliterator.forEachRemaining(e -> result.add(e.event.eventNumber));
+        return result;
+    }
+
+    private static Function<Position, CompletableFuture<AllEventsSlice>> allEventsReader(int maxCount) {
+        return position -> {
+            long first = (position.commitPosition + EVENT_DISTANCE - 1) / EVENT_DISTANCE;
+            long last = Math.min(first + maxCount, 40);
+
+            List<EventStoreClientMessages.ResolvedEvent> events = new ArrayList<>();
+            for (long i = first; i < last; i++) {
+                events.add(EventStoreClientMessages.ResolvedEvent.newBuilder()
+                    .setEvent(newEventRecord("stream", i))
+                    .setCommitPosition(i * EVENT_DISTANCE)
+                    .setPreparePosition(i * EVENT_DISTANCE)
+                    .build());
+            }
+
+            Position next = Position.of(last * EVENT_DISTANCE, last * EVENT_DISTANCE);
+            return completedFuture(new AllEventsSlice(ReadDirection.Forward, position, next, events));
+        };
+    }
+
+    private static StreamEventsSlice newStreamSlice(String stream, long from, int maxCount, long count) {
+        long last = Math.min(from + maxCount, count);
+
+        List<EventStoreClientMessages.ResolvedIndexedEvent> events = new ArrayList<>();
+        for (long i = from; i < last; i++) {
+            events.add(EventStoreClientMessages.ResolvedIndexedEvent.newBuilder().setEvent(newEventRecord(stream, i)).build());
+        }
+
+        return new StreamEventsSlice(SliceReadStatus.Success, stream, from, ReadDirection.Forward, events, last, count - 1, last >= count);
+    }
+
+    private static EventStoreClientMessages.EventRecord newEventRecord(String stream, long eventNumber) {
+        return EventStoreClientMessages.EventRecord.newBuilder()
+            .setEventStreamId(stream)
+            .setEventNumber(eventNumber)
+            .setEventId(ByteString.copyFrom(new byte[16]))
+            .setEventType("test")
+            .setDataContentType(0)
+            .setMetadataContentType(0)
+            .setData(ByteString.EMPTY)
+            .build();
+    }
+
+}
@@ -0,0 +1,400 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.proto.EventStoreClientMessages;
+import com.github.msemys.esjc.subscription.MaximumSubscribersReachedException;
+import com.github.msemys.esjc.subscription.PersistentSubscriptionChannel;
+import com.github.msemys.esjc.subscription.PersistentSubscriptionNakEventAction;
+import com.github.msemys.esjc.subscription.PersistentSubscriptionProtocol;
+import com.github.msemys.esjc.util.UUIDConverter;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class PersistentSubscriptionTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void handlesStreamsInParallelKeepingOrderWithinStream() throws Exception {
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicReference<SubscriptionDropReason> dropReason = new AtomicReference<>();
+
+        Group group = new Group(PersistentSubscriptionConsumerSettings.newBuilder()
+            .bufferSize(100)
+            .concurrency(4)
+            .build(), new PersistentSubscriptionListener() {
+            @Override
+            public void onEvent(PersistentSubscription subscription, ResolvedEvent event) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(2);
+                handled.computeIfAbsent(event.originalStreamId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(event.originalEventNumber());
+                running.decrementAndGet();
+            }
+
+            @Override
+            public void onClose(PersistentSubscription subscription, SubscriptionDropReason reason, Exception exception) {
+                dropReason.set(reason);
+                closed.countDown();
+            }
+        });
+
+        for (long eventNumber = 0; eventNumber < 10; eventNumber++) {
+            for (int stream = 0; stream < 8; stream++) {
+                group.push("stream-" + stream, eventNumber);
+            }
+        }
+
+        await(() -> group.acknowledged.size() == group.pushed.size());
+        group.subscription.stop(Duration.ofSeconds(5));
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(SubscriptionDropReason.UserInitiated, dropReason.get());
+        assertEquals(new HashSet<>(group.pushed), group.acknowledged);
+        assertEquals(8, handled.size());
+        handled.values().forEach(eventNumbers -> assertEquals(LongStream.range(0, 10).boxed().collect(toList()), eventNumbers));
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    public void increasesBufferSizeWhenWholeBufferIsInFlight() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+
+        Group group = new Group(adaptiveSettings().build(), listener(event -> awaitUninterruptibly(released)));
+
+        for (long eventNumber = 0; eventNumber < 8; eventNumber++) {
+            group.push("stream", eventNumber);
+        }
+        released.countDown();
+
+        await(() -> group.subscription.stats().bufferSize == 16);
+        assertEquals(Arrays.asList(8, 16), group.bufferSizes);
+        assertFalse(group.closed.get());
+    }
+
+    @Test
+    public void decreasesBufferSizeWhenEventsWaitTooLong() throws Exception {
+        Group group = new Group(adaptiveSettings().targetLatency(Duration.ofMillis(20)).build(), listener(event -> sleep(20)));
+
+        for (long eventNumber = 0; eventNumber < 8; eventNumber++) {
+            group.push("stream", eventNumber);
+        }
+
+        await(() -> group.bufferSizes.contains(4));
+        assertEquals(8, group.bufferSizes.get(0).intValue());
+        assertFalse(group.closed.get());
+    }
+
+    @Test
+    public void drainsPreviousConnectionBeforeClosingIt() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+
+        Group group = new Group(adaptiveSettings().bufferSizeCooldown(Duration.ofMinutes(1)).build(),
+            listener(event -> awaitUninterruptibly(released)));
+
+        PersistentSubscriptionChannel first = group.channel.get();
+        for (long eventNumber = 0; eventNumber < 8; eventNumber++) {
+            group.push("stream", eventNumber);
+        }
+
+        await(() -> group.bufferSizes.size() == 2);
+        PersistentSubscriptionChannel second = group.channel.get();
+        group.push("stream", 8);
+
+        // the events of the previous connection are in flight, so it is not closed yet
+        sleep(50);
+        assertFalse(group.unsubscribed.contains(first));
+
+        released.countDown();
+
+        await(() -> group.unsubscribed.contains(first) && group.acknowledged.size() == 9);
+        assertEquals(new HashSet<>(group.pushed.subList(0, 8)), group.acknowledgedBy.get(first));
+        assertEquals(singleton(group.pushed.get(8)), group.acknowledgedBy.get(second));
+        assertFalse(group.unsubscribed.contains(second));
+        assertFalse(group.closed.get());
+    }
+
+    @Test
+    public void stopsChangingBufferSizeWhenMaximumSubscribersReached() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+
+        Group group = new Group(adaptiveSettings().bufferSizeCooldown(Duration.ZERO).build(),
+            listener(event -> awaitUninterruptibly(released)));
+        group.subscribeFailure = new MaximumSubscribersReachedException();
+
+        for (long eventNumber = 0; eventNumber < 8; eventNumber++) {
+            group.push("stream", eventNumber);
+        }
+
+        await(() -> group.bufferSizes.size() == 2);
+        sleep(500);
+        released.countDown();
+
+        assertEquals(Arrays.asList(8, 16), group.bufferSizes);
+        assertEquals(8, group.subscription.stats().bufferSize);
+        assertFalse(group.closed.get());
+    }
+
+    @Test
+    public void waitsCooldownAfterFailedBufferSizeChange() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+
+        Group group = new Group(adaptiveSettings().bufferSizeCooldown(Duration.ofMinutes(1)).build(),
+            listener(event -> awaitUninterruptibly(released)));
+        group.subscribeFailure = new IllegalStateException("not connected");
+
+        for (long eventNumber = 0; eventNumber < 8; eventNumber++) {
+            group.push("stream", eventNumber);
+        }
+
+        await(() -> group.bufferSizes.size() == 2);
+        sleep(500);
+        released.countDown();
+
+        assertEquals(Arrays.asList(8, 16), group.bufferSizes);
+        assertFalse(group.closed.get());
+    }
+
+    @Test
+    public void rejectsPoolWithMoreMembersThanConnections() {
+        EventStore eventstore = EventStoreBuilder.newBuilder()
+            .singleNodeAddress("localhost", 1010)
+            .connectionCount(2)
+            .executor(executor)
+            .build();
+
+        try {
+            eventstore.subscribeToPersistentPool("stream", "group", 3, PersistentSubscriptionConsumerSettings.newBuilder().build(),
+                new PersistentSubscriptionListener() {
+                    @Override
+                    public void onEvent(PersistentSubscription subscription, ResolvedEvent event) {
+                    }
+                });
+            fail("members should not exceed connections");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("connectionCount (2)"));
+        } finally {
+            eventstore.shutdown();
+        }
+    }
+
+    @Test
+    public void reservesConnectionsForPoolMembers() {
+        EventStore eventstore = EventStoreBuilder.newBuilder()
+            .singleNodeAddress("localhost", 1010)
+            .connectionCount(3)
+            .reconnectionDelay(Duration.ofSeconds(10))
+            .executor(executor)
+            .build();
+
+        try {
+            eventstore.connect();
+
+            CompletableFuture<PersistentSubscriptionPool> pool = eventstore.subscribeToPersistentPool("stream", "group", 2,
+                PersistentSubscriptionConsumerSettings.newBuilder().build(), listener(event -> { }));
+            assertFalse(pool.isDone());
+
+            try {
+                eventstore.subscribeToPersistentPool("stream", "group", 2,
+                    PersistentSubscriptionConsumerSettings.newBuilder().build(), listener(event -> { }));
+                fail("connections of the first pool should be reserved");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains("2 of 3 connections are reserved"));
+            }
+
+            assertFalse(eventstore.subscribeToPersistentPool("stream", "group", 1,
+                PersistentSubscriptionConsumerSettings.newBuilder().build(), listener(event -> { })).isDone());
+        } finally {
+            eventstore.shutdown();
+        }
+    }
+
+    @Test
+    public void poolCombinesStatsAndStopsMembersTogether() throws Exception {
+        PersistentSubscriptionConsumerSettings settings = adaptiveSettings().adaptiveBufferSize(false).build();
+        Group first = new Group(settings, listener(event -> { }));
+        Group second = new Group(settings, listener(event -> { }));
+
+        PersistentSubscriptionPool pool = new PersistentSubscriptionPool(Arrays.asList(first.subscription, second.subscription));
+
+        for (long eventNumber = 0; eventNumber < 3; eventNumber++) {
+            first.push("stream", eventNumber);
+        }
+        second.push("stream", 0);
+
+        await(() -> first.subscription.stats().handledEvents == 3 && second.subscription.stats().handledEvents == 1);
+        PersistentSubscriptionStats stats = pool.stats();
+        assertEquals(16, stats.bufferSize);
+        assertEquals(4, stats.handledEvents);
+
+        pool.stop(Duration.ofSeconds(5));
+
+        assertTrue(first.closed.get());
+        assertTrue(second.closed.get());
+    }
+
+    private static PersistentSubscriptionConsumerSettings.Builder adaptiveSettings() {
+        return PersistentSubscriptionConsumerSettings.newBuilder()
+            .bufferSize(8)
+            .minBufferSize(2)
+            .maxBufferSize(16)
+            .adaptiveBufferSize(true)
+            .targetLatency(Duration.ofSeconds(1))
+            .statsInterval(Duration.ofMillis(100));
+    }
+
+    private static PersistentSubscriptionListener listener(Consumer<ResolvedEvent> handler) {
+        return new PersistentSubscriptionListener() {
+            @Override
+            public void onEvent(PersistentSubscription subscription, ResolvedEvent event) {
+                handler.accept(event);
+            }
+
+            @Override
+            public void onClose(PersistentSubscription subscription, SubscriptionDropReason reason, Exception exception) {
+            }
+        };
+    }
+
+    private class Group {
+        final PersistentSubscription subscription;
+        final List<Integer> bufferSizes = new CopyOnWriteArrayList<>();
+        final List<UUID> pushed = new ArrayList<>();
+        final Set<UUID> acknowledged = ConcurrentHashMap.newKeySet();
+        final Map<PersistentSubscriptionChannel, Set<UUID>> acknowledgedBy = new ConcurrentHashMap<>();
+        final Set<PersistentSubscriptionChannel> unsubscribed = ConcurrentHashMap.newKeySet();
+        volatile Exception subscribeFailure;
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicReference<PersistentSubscriptionChannel> channel = new AtomicReference<>();
+        volatile SubscriptionListener<PersistentSubscriptionChannel> channelListener;
+
+        Group(PersistentSubscriptionConsumerSettings settings, PersistentSubscriptionListener listener) {
+            subscription = new PersistentSubscription("group", "stream", new PersistentSubscriptionListener() {
+                @Override
+                public void onEvent(PersistentSubscription subscription, ResolvedEvent event) {
+                    listener.onEvent(subscription, event);
+                }
+
+                @Override
+                public void onClose(PersistentSubscription subscription, SubscriptionDropReason reason, Exception exception) {
+                    closed.set(true);
+                    listener.onClose(subscription, reason, exception);
+                }
+            }, null, settings, executor, scheduler) {
+                @Override
+                protected CompletableFuture<Subscription> startSubscription(String subscriptionId,
+                                                                            String streamId,
+                                                                            int bufferSize,
+                                                                            SubscriptionListener<PersistentSubscriptionChannel> listener,
+                                                                            UserCredentials userCredentials) {
+                    bufferSizes.add(bufferSize);
+
+                    if (subscribeFailure != null) {
+                        CompletableFuture<Subscription> result = new CompletableFuture<>();
+                        result.completeExceptionally(subscribeFailure);
+                        return result;
+                    }
+
+                    channelListener = listener;
+                    channel.set(newChannel(streamId));
+                    return completedFuture(channel.get());
+                }
+            };
+
+            subscription.start().join();
+        }
+
+        void push(String stream, long eventNumber) {
+            UUID eventId = UUID.randomUUID();
+            pushed.add(eventId);
+            channelListener.onEvent(channel.get(), newEvent(stream, eventNumber, eventId));
+        }
+
+        private PersistentSubscriptionChannel newChannel(String streamId) {
+            AtomicReference<PersistentSubscriptionChannel> self = new AtomicReference<>();
+
+            self.set(new PersistentSubscriptionChannel(new PersistentSubscriptionProtocol() {
+                @Override
+                public void notifyEventsProcessed(List<UUID> processedEvents) {
+                    acknowledgedBy.computeIfAbsent(self.get(), c -> ConcurrentHashMap.newKeySet()).addAll(processedEvents);
+                    acknowledged.addAll(processedEvents);
+                }
+
+                @Override
+                public void notifyEventsFailed(List<UUID> processedEvents, PersistentSubscriptionNakEventAction action, String reason) {
+                }
+
+                @Override
+                public void unsubscribe() {
+                    unsubscribed.add(self.get());
+                    channelListener.onClose(self.get(), SubscriptionDropReason.UserInitiated, null);
+                }
+            }, streamId, 0, null));
+
+            return self.get();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ResolvedEvent newEvent(String stream, long eventNumber, UUID eventId) {
+        return new ResolvedEvent(EventStoreClientMessages.ResolvedIndexedEvent.newBuilder()
+            .setEvent(EventStoreClientMessages.EventRecord.newBuilder()
+                .setEventStreamId(stream)
+                .setEventNumber(eventNumber)
+                .setEventId(ByteString.copyFrom(UUIDConverter.toBytes(eventId)))
+                .setEventType("test")
+                .setDataContentType(0)
+                .setMetadataContentType(0)
+                .setData(ByteString.EMPTY)
+                .build())
+            .build());
+    }
+
+}
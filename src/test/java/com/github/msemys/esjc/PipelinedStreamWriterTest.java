@@ -0,0 +1,156 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.operation.WrongExpectedVersionException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.*;
+
+public class PipelinedStreamWriterTest {
+    private final List<Write> writes = new ArrayList<>();
+    private EventStore eventStore;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        eventStore = new FakeEventStore().on("appendToStream", 4, args -> {
+            Write write = new Write((Long) args[1], (Iterable<EventData>) args[2]);
+            writes.add(write);
+            return write.result;
+        }).build();
+    }
+
+    @Test
+    public void chainsExpectedVersionsOfInFlightWrites() {
+        PipelinedStreamWriter writer = new PipelinedStreamWriter(eventStore, "stream", ExpectedVersion.NO_STREAM, 2, null);
+
+        writer.append(newEvent());
+        writer.append(newEvents(2));
+        writer.append(newEvent());
+
+        assertEquals(2, writes.size());
+        assertEquals(ExpectedVersion.NO_STREAM, writes.get(0).expectedVersion);
+        assertEquals(0, writes.get(1).expectedVersion);
+        assertEquals(2, writer.inFlightWriteCount());
+
+        writes.get(0).result.complete(new WriteResult(0, Position.START));
+
+        assertEquals(3, writes.size());
+        assertEquals(2, writes.get(2).expectedVersion);
+        assertEquals(3, writer.nextExpectedVersion());
+    }
+
+    @Test
+    public void completesAppendsInOrder() throws Exception {
+        PipelinedStreamWriter writer = new PipelinedStreamWriter(eventStore, "stream", 5, 4, null);
+
+        CompletableFuture<WriteResult> first = writer.append(newEvent());
+        CompletableFuture<WriteResult> second = writer.append(newEvent());
+
+        writes.get(1).result.complete(new WriteResult(7, Position.START));
+        assertFalse(second.isDone());
+
+        writes.get(0).result.complete(new WriteResult(6, Position.START));
+        assertEquals(6, first.get().nextExpectedVersion);
+        assertEquals(7, second.get().nextExpectedVersion);
+    }
+
+    @Test
+    public void failsDependentAppendsOnWrongExpectedVersion() throws Exception {
+        PipelinedStreamWriter writer = new PipelinedStreamWriter(eventStore, "stream", 5, 1, null);
+
+        CompletableFuture<WriteResult> first = writer.append(newEvent());
+        CompletableFuture<WriteResult> queued = writer.append(newEvent());
+
+        WrongExpectedVersionException exception = new WrongExpectedVersionException("wrong version");
+        writes.get(0).result.completeExceptionally(exception);
+
+        assertTrue(writer.isFailed());
+        assertEquals(1, writes.size());
+        assertFailedWith(first, exception);
+        assertFailedWith(queued, exception);
+        assertFailedWith(writer.append(newEvent()), exception);
+
+        writer.reset(9);
+        writer.append(newEvent());
+
+        assertFalse(writer.isFailed());
+        assertEquals(2, writes.size());
+        assertEquals(9, writes.get(1).expectedVersion);
+    }
+
+    @Test
+    public void sendsAndCompletesOutsideOfLock() throws Exception {
+        List<Boolean> locked = new ArrayList<>();
+        PipelinedStreamWriter[] writer = new PipelinedStreamWriter[1];
+
+        EventStore eventStore = new FakeEventStore().on("appendToStream", 4, args -> {
+            locked.add(Thread.holdsLock(writer[0]));
+            return CompletableFuture.completedFuture(new WriteResult((Long) args[1] + 1, Position.START));
+        }).build();
+
+        writer[0] = new PipelinedStreamWriter(eventStore, "stream", 5, 1, null);
+
+        CompletableFuture<WriteResult> first = writer[0].append(newEvent());
+        CompletableFuture<WriteResult> second = first.thenCompose(r -> {
+            locked.add(Thread.holdsLock(writer[0]));
+            return writer[0].append(newEvent());
+        });
+
+        assertEquals(6, first.get().nextExpectedVersion);
+        assertEquals(7, second.get().nextExpectedVersion);
+        assertEquals(asList(false, false, false), locked);
+        assertEquals(0, writer[0].inFlightWriteCount());
+    }
+
+    @Test
+    public void failsToCreateWriterWithoutExactExpectedVersion() {
+        try {
+            new PipelinedStreamWriter(eventStore, "stream", ExpectedVersion.ANY, 1, null);
+            fail("should fail with 'IllegalArgumentException'");
+        } catch (Exception e) {
+            assertThat(e, instanceOf(IllegalArgumentException.class));
+        }
+    }
+
+    private static void assertFailedWith(CompletableFuture<WriteResult> future, Throwable expected) throws InterruptedException {
+        try {
+            future.get();
+            fail("should fail with '" + expected.getClass().getSimpleName() + "'");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), sameInstance(expected));
+        }
+    }
+
+    private static EventData newEvent() {
+        return EventData.newBuilder().type("test").data("{}").build();
+    }
+
+    private static List<EventData> newEvents(int count) {
+        List<EventData> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(newEvent());
+        }
+        return events;
+    }
+
+    private static class Write {
+        final long expectedVersion;
+        final List<EventData> events = new ArrayList<>();
+        final CompletableFuture<WriteResult> result = new CompletableFuture<>();
+
+        Write(long expectedVersion, Iterable<EventData> events) {
+            this.expectedVersion = expectedVersion;
+            events.forEach(this.events::add);
+        }
+    }
+
+}
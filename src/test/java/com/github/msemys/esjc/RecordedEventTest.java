@@ -0,0 +1,73 @@
+package com.github.msemys.esjc;
+
+import com.github.msemys.esjc.proto.EventStoreClientMessages.EventRecord;
+import com.github.msemys.esjc.util.UUIDConverter;
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class RecordedEventTest {
+
+    @Test
+    public void decodesLazyEventOnFirstAccess() throws IOException {
+        UUID eventId = UUID.randomUUID();
+        EventRecord eventRecord = newEventRecord(eventId);
+
+        RecordedEvent eager = new RecordedEvent(eventRecord);
+        RecordedEvent lazy = new RecordedEvent(eventRecord, true);
+
+        assertFalse(eager.isLazy());
+        assertTrue(lazy.isLazy());
+        assertNull(lazy.data);
+        assertNull(lazy.eventId);
+
+        assertEquals("test", lazy.eventType);
+        assertEquals(eventId, lazy.eventId());
+        assertEquals(eager.eventId, lazy.eventId());
+        assertArrayEquals(eager.data, lazy.data());
+        assertArrayEquals(eager.metadata, lazy.metadata());
+        assertEquals(eager.created, lazy.created());
+        assertSame(lazy.data(), lazy.data());
+
+        for (RecordedEvent event : new RecordedEvent[]{eager, lazy}) {
+            ByteBuffer dataBuffer = event.dataBuffer();
+            assertTrue(dataBuffer.isReadOnly());
+            assertEquals("{\"a\":1}", UTF_8.decode(dataBuffer).toString());
+            assertEquals("meta", new String(readAll(event.metadataStream()), UTF_8));
+        }
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        int count;
+        while ((count = stream.read(buffer)) != -1) {
+            output.write(buffer, 0, count);
+        }
+        return output.toByteArray();
+    }
+
+    private static EventRecord newEventRecord(UUID eventId) {
+        return EventRecord.newBuilder()
+            .setEventStreamId("stream")
+            .setEventNumber(1)
+            .setEventId(ByteString.copyFrom(UUIDConverter.toBytes(eventId)))
+            .setEventType("test")
+            .setDataContentType(1)
+            .setMetadataContentType(0)
+            .setData(ByteString.copyFromUtf8("{\"a\":1}"))
+            .setMetadata(ByteString.copyFromUtf8("meta"))
+            .setCreatedEpoch(Instant.now().toEpochMilli())
+            .build();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.msemys.esjc.checkpoint;
+
+import com.github.msemys.esjc.Position;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.msemys.esjc.util.Strings.toBytes;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+public class CheckpointStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void convertsCheckpointToJsonAndBack() {
+        Checkpoint streamCheckpoint = Checkpoint.of(42);
+        Checkpoint allCheckpoint = Checkpoint.of(Position.of(1024, 512));
+
+        assertEquals(streamCheckpoint, Checkpoint.fromJson(toBytes(streamCheckpoint.toJson())));
+        assertEquals(allCheckpoint, Checkpoint.fromJson(toBytes(allCheckpoint.toJson())));
+    }
+
+    @Test
+    public void keepsCheckpointsInFiles() throws Exception {
+        FileCheckpointStore store = new FileCheckpointStore(folder.getRoot().toPath());
+
+        assertNull(store.read("stream").get());
+
+        store.write("stream", Checkpoint.of(7)).get();
+        store.write("$all", Checkpoint.of(Position.of(100, 90))).get();
+        store.write("stream", Checkpoint.of(8)).get();
+
+        FileCheckpointStore reopenedStore = new FileCheckpointStore(folder.getRoot().toPath());
+        assertEquals(Checkpoint.of(8), reopenedStore.read("stream").get());
+        assertEquals(Checkpoint.of(Position.of(100, 90)), reopenedStore.read("$all").get());
+    }
+
+    @Test
+    public void keepsPreviousCheckpointWhenWriteIsTorn() throws Exception {
+        FileCheckpointStore store = new FileCheckpointStore(folder.getRoot().toPath());
+
+        store.write("stream", Checkpoint.of(7)).get();
+        store.write("stream", Checkpoint.of(8)).get();
+
+        // the second checkpoint is in the second slot, tears its payload
+        try (FileChannel channel = FileChannel.open(folder.getRoot().toPath().resolve("stream.checkpoint"), WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 32 + 10);
+        }
+
+        assertEquals(Checkpoint.of(7), new FileCheckpointStore(folder.getRoot().toPath()).read("stream").get());
+    }
+
+    @Test
+    public void writesLatestCheckpointEveryNEventsAndWhenStopped() throws Exception {
+        List<Checkpoint> written = new ArrayList<>();
+        CheckpointStore store = new CheckpointStore() {
+            @Override
+            public CompletableFuture<Checkpoint> read(String name) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            @Override
+            public synchronized CompletableFuture<Void> write(String name, Checkpoint checkpoint) {
+                written.add(checkpoint);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            Checkpointer checkpointer = new Checkpointer(store, "stream", 3, Duration.ofHours(1), scheduler);
+            checkpointer.start();
+
+            for (long i = 0; i < 7; i++) {
+                checkpointer.update(Checkpoint.of(i));
+                // waits for the flush to be written, so the written checkpoints are deterministic
+                scheduler.submit(() -> null).get();
+            }
+
+            checkpointer.stop();
+            scheduler.submit(() -> null).get();
+        } finally {
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        }
+
+        synchronized (store) {
+            assertEquals(asList(Checkpoint.of(2), Checkpoint.of(5), Checkpoint.of(6)), written);
+        }
+    }
+
+}
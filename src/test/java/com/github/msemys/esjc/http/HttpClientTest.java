@@ -0,0 +1,58 @@
+package com.github.msemys.esjc.http;
+
+import com.sun.net.httpserver.HttpServer;
+import io.netty.handler.codec.http.HttpMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class HttpClientTest {
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = exchange.getRequestURI().getPath().getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void sendsQueuedRequestsInOrderWithoutQueueThread() {
+        try (HttpClient client = HttpClient.newBuilder().address(server.getAddress()).build()) {
+            List<CompletableFuture<String>> responses = IntStream.range(0, 10)
+                .mapToObj(i -> client.send(HttpClient.newRequest(HttpMethod.GET, "/" + i, null))
+                    .thenApply(response -> response.content().toString(UTF_8)))
+                .collect(toList());
+
+            for (int i = 0; i < responses.size(); i++) {
+                assertEquals("/" + i, responses.get(i).join());
+            }
+
+            assertFalse(Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().startsWith("es-http-queue")));
+        }
+    }
+
+}
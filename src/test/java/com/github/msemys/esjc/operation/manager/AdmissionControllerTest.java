@@ -0,0 +1,63 @@
+package com.github.msemys.esjc.operation.manager;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void admitsUpToMaxPermits() {
+        AdmissionController admission = new AdmissionController(2);
+
+        assertTrue(admission.tryAcquire());
+        assertTrue(admission.tryAcquire());
+        assertFalse(admission.tryAcquire());
+        assertEquals(2, admission.queueSize());
+
+        admission.releaseAction().run();
+
+        assertEquals(1, admission.queueSize());
+        assertTrue(admission.tryAcquire());
+    }
+
+    @Test
+    public void waitsForReleasedPermit() throws InterruptedException {
+        AdmissionController admission = new AdmissionController(1);
+        assertTrue(admission.tryAcquire());
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            admission.release();
+        });
+        releaser.start();
+
+        assertTrue(admission.tryAcquire(MILLISECONDS.toNanos(5000)));
+        releaser.join();
+    }
+
+    @Test
+    public void stopsWaitingWhenTimeoutElapses() {
+        AdmissionController admission = new AdmissionController(1);
+        assertTrue(admission.tryAcquire());
+
+        assertFalse(admission.tryAcquire(MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    public void countsRejections() {
+        AdmissionController admission = new AdmissionController(1);
+
+        admission.reject();
+        admission.reject();
+
+        assertEquals(2, admission.rejectedCount());
+        assertEquals(0, admission.queueSize());
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.github.msemys.esjc.operation.manager;
+
+import com.github.msemys.esjc.EventData;
+import com.github.msemys.esjc.ExpectedVersion;
+import com.github.msemys.esjc.Settings;
+import com.github.msemys.esjc.node.single.SingleNodeSettings;
+import com.github.msemys.esjc.operation.AppendToStreamOperation;
+import com.github.msemys.esjc.operation.Operation;
+import com.github.msemys.esjc.tcp.TcpPackage;
+import com.google.protobuf.MessageLite;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+public class OperationManagerTest {
+
+    @Test
+    public void sendsRequestSerializedOnCallerThreadAndReusesItOnRetry() throws Exception {
+        Settings settings = Settings.newBuilder()
+            .nodeSettings(SingleNodeSettings.newBuilder().address("localhost", 1010).build())
+            .build();
+
+        List<Thread> serializingThreads = new CopyOnWriteArrayList<>();
+
+        Operation operation = new AppendToStreamOperation(new CompletableFuture<>(), true, "stream", ExpectedVersion.ANY,
+            singletonList(EventData.newBuilder().type("test").build()), null) {
+            @Override
+            protected MessageLite createRequestMessage() {
+                serializingThreads.add(Thread.currentThread());
+                return super.createRequestMessage();
+            }
+        };
+
+        OperationManager manager = new OperationManager(settings, () -> {
+        });
+        EmbeddedChannel channel = new EmbeddedChannel();
+        ExecutorService taskThread = Executors.newSingleThreadExecutor();
+
+        try {
+            // as the client does on the caller thread, once the operation is admitted
+            operation.serializeRequest();
+
+            OperationItem item = new OperationItem(operation, 10, Duration.ofSeconds(7));
+
+            taskThread.submit(() -> manager.scheduleOperation(item, channel)).get();
+            TcpPackage request = channel.readOutbound();
+
+            taskThread.submit(() -> {
+                manager.scheduleOperationRetry(item);
+                manager.checkTimeoutsAndRetry(channel);
+            }).get();
+            TcpPackage retry = channel.readOutbound();
+
+            assertEquals(singletonList(Thread.currentThread()), serializingThreads);
+            assertNotEquals(request.correlationId(), retry.correlationId());
+            assertArrayEquals(request.data(), retry.data());
+            assertEquals(1, item.retryCount);
+        } finally {
+            taskThread.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.github.msemys.esjc.reactive;
+
+import com.github.msemys.esjc.*;
+import com.github.msemys.esjc.operation.StreamDeletedException;
+import com.github.msemys.esjc.proto.EventStoreClientMessages;
+import com.google.protobuf.ByteString;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class StreamEventsPublisherTest {
+    private final List<String> reads = new ArrayList<>();
+    private SliceReadStatus status = SliceReadStatus.Success;
+    private long eventCount;
+    private VolatileSubscriptionListener listener;
+    private int subscriptionCount;
+    private int unsubscriptionCount;
+    private EventStore eventStore;
+
+    @Before
+    public void setUp() {
+        eventStore = new FakeEventStore()
+            .on("readStreamEventsForward", 5, args -> {
+                long from = (Long) args[1];
+                int maxCount = (Integer) args[2];
+                reads.add(from + ":" + maxCount);
+                return CompletableFuture.completedFuture(newStreamSlice((String) args[0], from, maxCount));
+            })
+            .on("subscribeToStream", 4, args -> {
+                listener = (VolatileSubscriptionListener) args[2];
+                subscriptionCount++;
+                return CompletableFuture.completedFuture(new Subscription((String) args[0], 0, null) {
+                    @Override
+                    public void unsubscribe() {
+                        unsubscriptionCount++;
+                    }
+                });
+            })
+            .build();
+    }
+
+    @Test
+    public void readsBatchesSizedByDemand() {
+        eventCount = 10;
+        TestSubscriber subscriber = new TestSubscriber();
+
+        new StreamEventsPublisher(eventStore, "stream", 0, 4, false, false, 100, null).subscribe(subscriber);
+        assertTrue(reads.isEmpty());
+
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(5);
+        assertEquals(asList("0:3", "3:4", "7:1"), reads);
+        assertEquals(LongStream.range(0, 8).boxed().collect(toList()), subscriber.eventNumbers);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(asList("0:3", "3:4", "7:1", "8:4"), reads);
+        assertEquals(LongStream.range(0, 10).boxed().collect(toList()), subscriber.eventNumbers);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void fallsBackToReadingWhenLiveQueueOverflows() {
+        eventCount = 3;
+        TestSubscriber subscriber = new TestSubscriber();
+
+        new StreamEventsPublisher(eventStore, "stream", 0, 10, false, true, 2, null).subscribe(subscriber);
+        subscriber.subscription.request(3);
+        assertEquals(1, subscriptionCount);
+
+        // subscriber does not request more, while live events are arriving
+        publishLiveEvents(3);
+        assertEquals(1, unsubscriptionCount);
+
+        subscriber.subscription.request(10);
+        assertEquals(2, subscriptionCount);
+
+        publishLiveEvents(1);
+        assertEquals(LongStream.range(0, 7).boxed().collect(toList()), subscriber.eventNumbers);
+        assertNull(subscriber.error);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.cancel();
+        assertEquals(2, unsubscriptionCount);
+    }
+
+    @Test
+    public void failsWhenStreamIsDeleted() {
+        status = SliceReadStatus.StreamDeleted;
+        TestSubscriber subscriber = new TestSubscriber();
+
+        new StreamEventsPublisher(eventStore, "stream", 0, 10, false, true, 100, null).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof StreamDeletedException);
+        assertEquals(0, subscriptionCount);
+    }
+
+    @Test
+    public void failsWhenReadThrows() {
+        IllegalStateException exception = new IllegalStateException("client is shut down");
+        EventStore eventStore = new FakeEventStore().on("readStreamEventsForward", 5, args -> {
+            throw exception;
+        }).build();
+        TestSubscriber subscriber = new TestSubscriber();
+
+        new StreamEventsPublisher(eventStore, "stream", 0, 10, false, true, 100, null).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertSame(exception, subscriber.error);
+    }
+
+    private void publishLiveEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            listener.onEvent(null, new ResolvedEvent(EventStoreClientMessages.ResolvedIndexedEvent.newBuilder()
+                .setEvent(newEventRecord("stream", eventCount++))
+                .build()));
+        }
+    }
+
+    private StreamEventsSlice newStreamSlice(String stream, long from, int maxCount) {
+        long last = Math.min(from + maxCount, eventCount);
+
+        List<EventStoreClientMessages.ResolvedIndexedEvent> events = new ArrayList<>();
+        if (status == SliceReadStatus.Success) {
+            for (long i = from; i < last; i++) {
+                events.add(EventStoreClientMessages.ResolvedIndexedEvent.newBuilder().setEvent(newEventRecord(stream, i)).build());
+            }
+        }
+
+        return new StreamEventsSlice(status, stream, from, ReadDirection.Forward, events, Math.max(from, last), eventCount - 1, last >= eventCount);
+    }
+
+    private static EventStoreClientMessages.EventRecord newEventRecord(String stream, long eventNumber) {
+        return EventStoreClientMessages.EventRecord.newBuilder()
+            .setEventStreamId(stream)
+            .setEventNumber(eventNumber)
+            .setEventId(ByteString.copyFrom(new byte[16]))
+            .setEventType("test")
+            .setDataContentType(0)
+            .setMetadataContentType(0)
+            .setData(ByteString.EMPTY)
+            .build();
+    }
+
+    private static class TestSubscriber implements Subscriber<ResolvedEvent> {
+        final List<Long> eventNumbers = new ArrayList<>();
+        org.reactivestreams.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(org.reactivestreams.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ResolvedEvent event) {
+            eventNumbers.add(event.originalEventNumber());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+}
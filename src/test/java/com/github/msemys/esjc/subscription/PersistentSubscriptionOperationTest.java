@@ -0,0 +1,98 @@
+package com.github.msemys.esjc.subscription;
+
+import com.github.msemys.esjc.ResolvedEvent;
+import com.github.msemys.esjc.SubscriptionBufferSettings;
+import com.github.msemys.esjc.SubscriptionDropReason;
+import com.github.msemys.esjc.SubscriptionListener;
+import com.github.msemys.esjc.proto.EventStoreClientMessages.PersistentSubscriptionAckEvents;
+import com.github.msemys.esjc.proto.EventStoreClientMessages.PersistentSubscriptionConfirmation;
+import com.github.msemys.esjc.proto.EventStoreClientMessages.PersistentSubscriptionNakEvents;
+import com.github.msemys.esjc.tcp.TcpCommand;
+import com.github.msemys.esjc.tcp.TcpPackage;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class PersistentSubscriptionOperationTest {
+
+    @Test
+    public void sendsAcknowledgementsInBatches() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PersistentSubscriptionOperation operation = subscribe(channel, 3, Duration.ofHours(1));
+
+        List<UUID> eventIds = IntStream.range(0, 7).mapToObj(i -> UUID.randomUUID()).collect(toList());
+        eventIds.forEach(id -> operation.notifyEventsProcessed(singletonList(id)));
+
+        assertEquals(3, ackCount(channel.readOutbound()));
+        assertEquals(3, ackCount(channel.readOutbound()));
+        assertNull(channel.readOutbound());
+
+        operation.notifyEventsFailed(singletonList(UUID.randomUUID()), PersistentSubscriptionNakEventAction.Retry, "failed");
+        operation.unsubscribe();
+
+        assertEquals(1, ackCount(channel.readOutbound()));
+        TcpPackage nak = channel.readOutbound();
+        assertEquals(TcpCommand.PersistentSubscriptionNakEvents, nak.command);
+        assertEquals(1, PersistentSubscriptionNakEvents.parseFrom(nak.data()).getProcessedEventIdsCount());
+        assertEquals(TcpCommand.UnsubscribeFromStream, ((TcpPackage) channel.readOutbound()).command);
+    }
+
+    @Test
+    public void sendsAcknowledgementsWhenFlushDelayElapses() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        PersistentSubscriptionOperation operation = subscribe(channel, 100, Duration.ofMillis(5));
+
+        operation.notifyEventsProcessed(singletonList(UUID.randomUUID()));
+        operation.notifyEventsProcessed(singletonList(UUID.randomUUID()));
+        assertNull(channel.readOutbound());
+
+        Thread.sleep(20);
+        channel.runScheduledPendingTasks();
+
+        assertEquals(2, ackCount(channel.readOutbound()));
+    }
+
+    private static PersistentSubscriptionOperation subscribe(EmbeddedChannel channel, int ackBatchSize, Duration ackFlushDelay) {
+        PersistentSubscriptionOperation operation = new PersistentSubscriptionOperation(new CompletableFuture<>(),
+            "group", "stream", 1000, null, new SubscriptionListener<PersistentSubscriptionChannel>() {
+            @Override
+            public void onEvent(PersistentSubscriptionChannel subscription, ResolvedEvent event) {
+            }
+
+            @Override
+            public void onClose(PersistentSubscriptionChannel subscription, SubscriptionDropReason reason, Exception exception) {
+            }
+        }, SubscriptionBufferSettings.DEFAULT, false, ackBatchSize, ackFlushDelay, () -> channel, Runnable::run);
+
+        UUID correlationId = UUID.randomUUID();
+        operation.subscribe(correlationId, channel);
+        channel.readOutbound();
+
+        operation.inspect(TcpPackage.newBuilder()
+            .command(TcpCommand.PersistentSubscriptionConfirmation)
+            .correlationId(correlationId)
+            .data(PersistentSubscriptionConfirmation.newBuilder()
+                .setSubscriptionId("stream::group")
+                .setLastCommitPosition(0)
+                .build().toByteArray())
+            .build());
+
+        return operation;
+    }
+
+    private static int ackCount(TcpPackage tcpPackage) throws Exception {
+        assertNotNull(tcpPackage);
+        assertEquals(TcpCommand.PersistentSubscriptionAckEvents, tcpPackage.command);
+        return PersistentSubscriptionAckEvents.parseFrom(tcpPackage.data()).getProcessedEventIdsCount();
+    }
+
+}
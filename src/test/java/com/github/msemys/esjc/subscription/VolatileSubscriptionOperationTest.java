@@ -0,0 +1,163 @@
+package com.github.msemys.esjc.subscription;
+
+import com.github.msemys.esjc.*;
+import com.github.msemys.esjc.proto.EventStoreClientMessages;
+import com.github.msemys.esjc.proto.EventStoreClientMessages.StreamEventAppeared;
+import com.github.msemys.esjc.proto.EventStoreClientMessages.SubscriptionConfirmation;
+import com.github.msemys.esjc.tcp.TcpCommand;
+import com.github.msemys.esjc.tcp.TcpPackage;
+import com.google.protobuf.ByteString;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+public class VolatileSubscriptionOperationTest {
+
+    @Test
+    public void dropsOldestEventsWhenBufferIsFull() {
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        RecordingListener listener = new RecordingListener();
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        CompletableFuture<Subscription> result = new CompletableFuture<>();
+        VolatileSubscriptionOperation operation = subscribe(result, listener, channel, tasks::add,
+            SubscriptionBufferSettings.newBuilder().maxSize(3).overflowPolicy(SubscriptionBufferOverflowPolicy.DropOldest).build());
+
+        LongStream.range(0, 5).forEach(i -> operation.inspect(newEventAppeared(i)));
+        runAll(tasks);
+
+        assertEquals(asEventNumbers(2, 3, 4), listener.eventNumbers);
+        assertEquals(2, result.join().droppedEventCount());
+        assertNull(listener.dropReason);
+    }
+
+    @Test
+    public void dropsSubscriptionWhenBufferIsFull() {
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        RecordingListener listener = new RecordingListener();
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        VolatileSubscriptionOperation operation = subscribe(new CompletableFuture<>(), listener, channel, tasks::add,
+            SubscriptionBufferSettings.newBuilder().maxSize(3).build());
+        channel.releaseOutbound();
+
+        LongStream.range(0, 5).forEach(i -> operation.inspect(newEventAppeared(i)));
+        runAll(tasks);
+
+        assertEquals(asEventNumbers(0, 1, 2), listener.eventNumbers);
+        assertEquals(SubscriptionDropReason.ProcessingQueueOverflow, listener.dropReason);
+        assertTrue(listener.dropException instanceof SubscriptionBufferOverflowException);
+
+        TcpPackage unsubscribe = channel.readOutbound();
+        assertEquals(TcpCommand.UnsubscribeFromStream, unsubscribe.command);
+    }
+
+    @Test
+    public void pausesReadingWhenBufferIsFull() {
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        EmbeddedChannel channel = new EmbeddedChannel();
+        List<Boolean> autoReads = new ArrayList<>();
+
+        VolatileSubscriptionOperation operation = subscribe(new CompletableFuture<>(), new RecordingListener() {
+            @Override
+            public void onEvent(Subscription subscription, ResolvedEvent event) {
+                super.onEvent(subscription, event);
+                autoReads.add(channel.config().isAutoRead());
+            }
+        }, channel, tasks::add, SubscriptionBufferSettings.newBuilder().maxSize(4).overflowPolicy(SubscriptionBufferOverflowPolicy.Block).build());
+
+        LongStream.range(0, 3).forEach(i -> operation.inspect(newEventAppeared(i)));
+        assertTrue(channel.config().isAutoRead());
+
+        LongStream.range(3, 6).forEach(i -> operation.inspect(newEventAppeared(i)));
+        assertFalse(channel.config().isAutoRead());
+
+        runAll(tasks);
+
+        assertEquals(asList(false, false, false, false, true, true), autoReads);
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    private static VolatileSubscriptionOperation subscribe(CompletableFuture<Subscription> result,
+                                                           RecordingListener listener,
+                                                           EmbeddedChannel channel,
+                                                           Executor executor,
+                                                           SubscriptionBufferSettings bufferSettings) {
+        VolatileSubscriptionOperation operation = new VolatileSubscriptionOperation(result,
+            "stream", false, null, listener, bufferSettings, false, () -> channel, executor);
+
+        UUID correlationId = UUID.randomUUID();
+        operation.subscribe(correlationId, channel);
+        operation.inspect(TcpPackage.newBuilder()
+            .command(TcpCommand.SubscriptionConfirmation)
+            .correlationId(correlationId)
+            .data(SubscriptionConfirmation.newBuilder().setLastCommitPosition(0).setLastEventNumber(-1).build().toByteArray())
+            .build());
+
+        return operation;
+    }
+
+    private static void runAll(Queue<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static List<Long> asEventNumbers(long... eventNumbers) {
+        return LongStream.of(eventNumbers).boxed().collect(toList());
+    }
+
+    private static TcpPackage newEventAppeared(long eventNumber) {
+        EventStoreClientMessages.EventRecord record = EventStoreClientMessages.EventRecord.newBuilder()
+            .setEventStreamId("stream")
+            .setEventNumber(eventNumber)
+            .setEventId(ByteString.copyFrom(new byte[16]))
+            .setEventType("test")
+            .setDataContentType(0)
+            .setMetadataContentType(0)
+            .setData(ByteString.EMPTY)
+            .build();
+
+        return TcpPackage.newBuilder()
+            .command(TcpCommand.StreamEventAppeared)
+            .correlationId(UUID.randomUUID())
+            .data(StreamEventAppeared.newBuilder()
+                .setEvent(EventStoreClientMessages.ResolvedEvent.newBuilder()
+                    .setEvent(record)
+                    .setCommitPosition(eventNumber)
+                    .setPreparePosition(eventNumber))
+                .build().toByteArray())
+            .build();
+    }
+
+    private static class RecordingListener implements VolatileSubscriptionListener {
+        final List<Long> eventNumbers = new ArrayList<>();
+        SubscriptionDropReason dropReason;
+        Exception dropException;
+
+        @Override
+        public void onEvent(Subscription subscription, ResolvedEvent event) {
+            eventNumbers.add(event.originalEventNumber());
+        }
+
+        @Override
+        public void onClose(Subscription subscription, SubscriptionDropReason reason, Exception exception) {
+            dropReason = reason;
+            dropException = exception;
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.github.msemys.esjc.tcp;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class CorrelationIdMapTest {
+
+    @Test
+    public void putsGetsAndRemovesValues() {
+        CorrelationIdMap<String> map = new CorrelationIdMap<>();
+        UUID id = UUID.randomUUID();
+
+        assertNull(map.put(id, "a"));
+        assertEquals("a", map.get(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        assertEquals("a", map.put(id, "b"));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(id));
+        assertNull(map.remove(id));
+        assertNull(map.get(id));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void keepsValuesReachableWhenRemovingFromGrowingMap() {
+        CorrelationIdMap<Integer> map = new CorrelationIdMap<>();
+        CorrelationIdGenerator generator = new CorrelationIdGenerator();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            UUID id = generator.next();
+            ids.add(id);
+            map.put(id, i);
+        }
+
+        for (int i = 0; i < ids.size(); i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove(ids.get(i)));
+        }
+
+        assertEquals(2500, map.size());
+        assertEquals(2500, map.values().size());
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals((i % 2 == 0) ? null : Integer.valueOf(i), map.get(ids.get(i)));
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(ids.get(1)));
+    }
+
+    @Test
+    public void generatesUniqueRandomVersionIds() {
+        CorrelationIdGenerator generator = new CorrelationIdGenerator();
+        Set<UUID> ids = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            UUID id = generator.next();
+            assertEquals(4, id.version());
+            assertEquals(2, id.variant());
+            assertTrue(ids.add(id));
+        }
+    }
+
+}
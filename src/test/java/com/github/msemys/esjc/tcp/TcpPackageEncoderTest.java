@@ -0,0 +1,73 @@
+package com.github.msemys.esjc.tcp;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOfRange;
+import static org.junit.Assert.*;
+
+public class TcpPackageEncoderTest {
+
+    private static final String DATA = "{ test : 123 }";
+
+    @Test
+    public void encodesTcpPackageToLengthPrefixedFrame() {
+        EmbeddedChannel channel = new EmbeddedChannel(new TcpPackageEncoder());
+
+        TcpPackage tcpPackage = TcpPackage.newBuilder()
+            .command(TcpCommand.Ping)
+            .flag(TcpFlag.Authenticated)
+            .correlationId(UUID.randomUUID())
+            .login("admin")
+            .password("secret")
+            .data(DATA.getBytes(UTF_8))
+            .build();
+
+        assertTrue(channel.writeOutbound(tcpPackage));
+
+        ByteBuf frame = channel.readOutbound();
+        byte[] expected = tcpPackage.toByteArray();
+
+        assertEquals(4 + expected.length, frame.readableBytes());
+        assertEquals(expected.length, frame.readIntLE());
+
+        byte[] actual = new byte[frame.readableBytes()];
+        frame.readBytes(actual);
+        frame.release();
+
+        assertArrayEquals(expected, actual);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void encodesSamePackageWithDifferentCorrelationIds() {
+        EmbeddedChannel channel = new EmbeddedChannel(new TcpPackageEncoder());
+
+        TcpPackage tcpPackage = TcpPackage.newBuilder()
+            .command(TcpCommand.Ping)
+            .correlationId(UUID.randomUUID())
+            .data(DATA.getBytes(UTF_8))
+            .build();
+
+        TcpPackage retryPackage = tcpPackage.withCorrelationId(UUID.randomUUID());
+
+        channel.writeOutbound(tcpPackage, retryPackage);
+
+        for (TcpPackage expected : new TcpPackage[]{tcpPackage, retryPackage}) {
+            ByteBuf frame = channel.readOutbound();
+            frame.skipBytes(4);
+
+            byte[] actual = new byte[frame.readableBytes()];
+            frame.readBytes(actual);
+            frame.release();
+
+            assertEquals(expected.correlationId(), TcpPackage.of(actual).correlationId());
+            assertEquals(DATA, new String(copyOfRange(actual, 18, actual.length), UTF_8));
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.github.msemys.esjc.tcp;
 
+import com.github.msemys.esjc.proto.EventStoreClientMessages.IdentifyClient;
 import com.github.msemys.esjc.util.UUIDConverter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,7 +41,7 @@ public class TcpPackageTest {
 
         assertEquals(TcpCommand.HeartbeatRequestCommand.value, result[0]);
         assertEquals(TcpFlag.None.value, result[1]);
-        assertEquals(tcpPackage.correlationId, UUIDConverter.toUUID(copyOfRange(result, 2, 18)));
+        assertEquals(tcpPackage.correlationId(), UUIDConverter.toUUID(copyOfRange(result, 2, 18)));
         assertEquals(DATA, new String(result, 1 + 1 + 16, DATA.length(), UTF_8));
     }
 
@@ -64,7 +67,7 @@ public class TcpPackageTest {
 
         assertEquals(TcpCommand.HeartbeatRequestCommand.value, result[0]);
         assertEquals(TcpFlag.Authenticated.value, result[1]);
-        assertEquals(tcpPackage.correlationId, UUIDConverter.toUUID(copyOfRange(result, 2, 18)));
+        assertEquals(tcpPackage.correlationId(), UUIDConverter.toUUID(copyOfRange(result, 2, 18)));
 
         assertEquals(user.length(), result[2 + 16]);
         assertEquals(user, new String(result, 2 + 16 + 1, user.length(), UTF_8));
@@ -84,10 +87,10 @@ public class TcpPackageTest {
 
         assertEquals(TcpCommand.HeartbeatRequestCommand, tcpPackage.command);
         assertEquals(TcpFlag.None, tcpPackage.flag);
-        assertEquals("0dc092bd-aeb3-4ad4-a6cf-4448e4ca50cb", tcpPackage.correlationId.toString());
+        assertEquals("0dc092bd-aeb3-4ad4-a6cf-4448e4ca50cb", tcpPackage.correlationId().toString());
         assertNull(tcpPackage.login);
         assertNull(tcpPackage.password);
-        assertEquals(DATA, new String(tcpPackage.data, UTF_8));
+        assertEquals(DATA, new String(tcpPackage.data(), UTF_8));
     }
 
     @Test
@@ -100,10 +103,10 @@ public class TcpPackageTest {
 
         assertEquals(TcpCommand.HeartbeatRequestCommand, tcpPackage.command);
         assertEquals(TcpFlag.Authenticated, tcpPackage.flag);
-        assertEquals("beca0c9b-4d2d-4c10-9bd8-d518da5ccf00", tcpPackage.correlationId.toString());
+        assertEquals("beca0c9b-4d2d-4c10-9bd8-d518da5ccf00", tcpPackage.correlationId().toString());
         assertEquals("admin", tcpPackage.login);
         assertEquals("secret", tcpPackage.password);
-        assertEquals(DATA, new String(tcpPackage.data, UTF_8));
+        assertEquals(DATA, new String(tcpPackage.data(), UTF_8));
     }
 
     @Test
@@ -118,10 +121,10 @@ public class TcpPackageTest {
 
         assertEquals(TcpCommand.BadRequest, tcpPackage.command);
         assertEquals(TcpFlag.None, tcpPackage.flag);
-        assertEquals(correlationId, tcpPackage.correlationId);
+        assertEquals(correlationId, tcpPackage.correlationId());
         assertNull(tcpPackage.login);
         assertNull(tcpPackage.password);
-        assertEquals(0, tcpPackage.data.length);
+        assertEquals(0, tcpPackage.dataLength());
     }
 
     @Test
@@ -138,10 +141,43 @@ public class TcpPackageTest {
 
         assertEquals(TcpCommand.BadRequest, tcpPackage.command);
         assertEquals(TcpFlag.Authenticated, tcpPackage.flag);
-        assertEquals(correlationId, tcpPackage.correlationId);
+        assertEquals(correlationId, tcpPackage.correlationId());
         assertEquals("admin", tcpPackage.login);
         assertEquals("secret", tcpPackage.password);
-        assertEquals(0, tcpPackage.data.length);
+        assertEquals(0, tcpPackage.dataLength());
+    }
+
+    @Test
+    public void createsTcpPackageFromDirectBufferWithoutCopyingPayload() throws Exception {
+        UUID correlationId = UUID.randomUUID();
+        IdentifyClient message = IdentifyClient.newBuilder().setVersion(1).setConnectionName("test").build();
+
+        byte[] bytes = TcpPackage.newBuilder()
+            .command(TcpCommand.IdentifyClient)
+            .flag(TcpFlag.Authenticated)
+            .correlationId(correlationId)
+            .login("admin")
+            .password("secret")
+            .data(message.toByteArray())
+            .build().toByteArray();
+
+        ByteBuf frame = PooledByteBufAllocator.DEFAULT.directBuffer(bytes.length);
+        frame.writeBytes(bytes);
+
+        TcpPackage tcpPackage = TcpPackage.of(frame);
+        frame.release();
+
+        assertEquals(TcpCommand.IdentifyClient, tcpPackage.command);
+        assertEquals(TcpFlag.Authenticated, tcpPackage.flag);
+        assertEquals(correlationId, tcpPackage.correlationId());
+        assertEquals("admin", tcpPackage.login);
+        assertEquals("secret", tcpPackage.password);
+        assertEquals(message.getSerializedSize(), tcpPackage.dataLength());
+        assertEquals(message, tcpPackage.parseData(IdentifyClient.PARSER));
+
+        assertEquals(1, tcpPackage.refCnt());
+        assertTrue(tcpPackage.release());
+        assertEquals(0, frame.refCnt());
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -0,0 +1,76 @@
+package com.github.msemys.esjc.tcp.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static org.junit.Assert.*;
+
+public class FlushConsolidationHandlerTest {
+
+    @Test
+    public void postponesFlushUntilPendingTasksAreProcessed() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushConsolidationHandler(3, 1024, Duration.ZERO));
+
+        channel.pipeline().write(buffer(1));
+        channel.pipeline().write(buffer(2));
+        channel.pipeline().flush();
+
+        assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.runPendingTasks();
+
+        assertEquals(2, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void flushesWhenPendingWritesLimitIsReached() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushConsolidationHandler(3, 1024, Duration.ofHours(1)));
+
+        channel.pipeline().writeAndFlush(buffer(1));
+        channel.pipeline().writeAndFlush(buffer(2));
+        assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.pipeline().writeAndFlush(buffer(3));
+
+        assertEquals(3, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void flushesWhenPendingBytesLimitIsReached() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushConsolidationHandler(100, 8, Duration.ofHours(1)));
+
+        channel.pipeline().writeAndFlush(buffer(5));
+        assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.pipeline().writeAndFlush(buffer(5));
+        assertEquals(2, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void flushesAtTheEndOfRead() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushConsolidationHandler(100, 1024, Duration.ofHours(1)));
+
+        channel.pipeline().fireChannelRead(buffer(1));
+        channel.pipeline().writeAndFlush(buffer(1));
+        channel.runPendingTasks();
+
+        assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.pipeline().fireChannelReadComplete();
+
+        assertEquals(1, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    private static ByteBuf buffer(int size) {
+        return wrappedBuffer(new byte[size]);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.msemys.esjc.transport;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class TransportTest {
+
+    @Test
+    public void createsNioTransportWhenNativeTransportIsDisabled() {
+        Transport transport = Transport.newBuilder()
+            .nativeTransport(false)
+            .ioThreads(1)
+            .build();
+
+        assertFalse(transport.isNative());
+        assertEquals(NioSocketChannel.class, transport.channelType());
+        assertTrue(transport.group() instanceof NioEventLoopGroup);
+
+        transport.close();
+
+        assertTrue(transport.group().isTerminated());
+    }
+
+    @Test
+    public void doesNotShutdownExternallyOwnedResources() {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        Timer timer = new HashedWheelTimer();
+
+        try {
+            Transport transport = Transport.newBuilder()
+                .eventLoopGroup(group)
+                .timer(timer)
+                .build();
+
+            assertSame(group, transport.group());
+            assertSame(timer, transport.timer());
+            assertEquals(NioSocketChannel.class, transport.channelType());
+
+            transport.close();
+
+            assertFalse(group.isShuttingDown());
+            assertNotNull(timer.newTimeout(timeout -> {
+            }, 1, SECONDS));
+        } finally {
+            timer.stop();
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void failsToCreateTransportWithChannelTypeButWithoutEventLoopGroup() {
+        Transport.newBuilder().channelType(NioSocketChannel.class).build();
+    }
+
+}
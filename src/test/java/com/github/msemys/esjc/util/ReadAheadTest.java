@@ -0,0 +1,97 @@
+package com.github.msemys.esjc.util;
+
+import com.github.msemys.esjc.ResolvedEvent;
+import com.github.msemys.esjc.proto.EventStoreClientMessages;
+import com.google.protobuf.ByteString;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.Assert.assertEquals;
+
+public class ReadAheadTest {
+
+    @Test
+    public void readsBatchesAheadInOrder() {
+        List<Integer> reads = new ArrayList<>();
+
+        ReadAhead<Integer, Integer> readAhead = new ReadAhead<>(0,
+            cursor -> {
+                reads.add(cursor);
+                return completedFuture(cursor);
+            },
+            batch -> batch + 1,
+            batch -> emptyList(),
+            batch -> batch == 3,
+            2, Integer.MAX_VALUE);
+
+        assertEquals(0, (int) readAhead.next());
+        assertEquals(asList(0, 1, 2), reads);
+
+        assertEquals(1, (int) readAhead.next());
+        assertEquals(2, (int) readAhead.next());
+        assertEquals(3, (int) readAhead.next());
+        assertEquals(asList(0, 1, 2, 3), reads);
+    }
+
+    @Test
+    public void readsOnDemandWithoutReadAhead() {
+        List<Integer> reads = new ArrayList<>();
+
+        ReadAhead<Integer, Integer> readAhead = new ReadAhead<>(0,
+            cursor -> {
+                reads.add(cursor);
+                return completedFuture(cursor);
+            },
+            batch -> batch + 1,
+            batch -> emptyList(),
+            batch -> false,
+            0, Integer.MAX_VALUE);
+
+        readAhead.next();
+        readAhead.next();
+
+        assertEquals(asList(0, 1), reads);
+    }
+
+    @Test
+    public void stopsReadAheadWhenByteBudgetIsExhausted() {
+        List<Integer> reads = new ArrayList<>();
+        List<ResolvedEvent> events = singletonList(newEvent(1000));
+
+        ReadAhead<Integer, Integer> readAhead = new ReadAhead<>(0,
+            cursor -> {
+                reads.add(cursor);
+                return completedFuture(cursor);
+            },
+            batch -> batch + 1,
+            batch -> events,
+            batch -> false,
+            10, 2000);
+
+        readAhead.next();
+        assertEquals(asList(0, 1, 2), reads);
+
+        readAhead.next();
+        assertEquals(asList(0, 1, 2, 3), reads);
+    }
+
+    private static ResolvedEvent newEvent(int size) {
+        return new ResolvedEvent(EventStoreClientMessages.ResolvedIndexedEvent.newBuilder()
+            .setEvent(EventStoreClientMessages.EventRecord.newBuilder()
+                .setEventStreamId("stream")
+                .setEventNumber(0)
+                .setEventId(ByteString.copyFrom(new byte[16]))
+                .setEventType("test")
+                .setDataContentType(0)
+                .setMetadataContentType(0)
+                .setData(ByteString.copyFrom(new byte[size])))
+            .build());
+    }
+
+}
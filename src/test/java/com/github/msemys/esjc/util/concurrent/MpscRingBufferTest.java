@@ -0,0 +1,101 @@
+package com.github.msemys.esjc.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void keepsElementsInOrderUpToLimit() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(5);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, 4));
+        }
+        assertFalse(buffer.offer(4, 4));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+        assertEquals(5, buffer.size());
+
+        assertEquals(0, (int) buffer.peek());
+        assertEquals(0, (int) buffer.poll());
+
+        Integer[] batch = new Integer[3];
+        assertEquals(3, buffer.drain(batch));
+        assertArrayEquals(new Integer[]{1, 2, 3}, batch);
+        assertEquals(1, buffer.size());
+
+        // wraps around the pre-allocated array
+        for (int i = 5; i < 9; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        List<Integer> rest = new ArrayList<>();
+        Integer element;
+        while ((element = buffer.poll()) != null) {
+            rest.add(element);
+        }
+
+        assertEquals(5, rest.size());
+        for (int i = 0; i < rest.size(); i++) {
+            assertEquals(i + 4, (int) rest.get(i));
+        }
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.peek());
+    }
+
+    @Test
+    public void acceptsElementsFromMultipleProducers() throws Exception {
+        int producerCount = 4;
+        int elementCount = 10000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(100);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < elementCount; i++) {
+                    while (!buffer.offer(new long[]{producer, i})) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+
+        start.countDown();
+
+        long[] next = new long[producerCount];
+        long[][] batch = new long[16][];
+        int received = 0;
+
+        while (received < producerCount * elementCount) {
+            assertTrue(buffer.size() <= 100);
+
+            int count = buffer.drain(batch);
+            for (int i = 0; i < count; i++) {
+                // elements of every producer are received in order
+                assertEquals(next[(int) batch[i][0]]++, batch[i][1]);
+            }
+            received += count;
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+}
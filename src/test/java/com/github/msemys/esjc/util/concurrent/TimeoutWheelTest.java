@@ -0,0 +1,84 @@
+package com.github.msemys.esjc.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class TimeoutWheelTest {
+
+    @Test
+    public void expiresOnlyEntriesWhoseDeadlineIsReached() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(MILLISECONDS.toNanos(10), 16);
+        long now = System.nanoTime();
+
+        wheel.schedule(new TimeoutWheel.Entry<>("a"), now + MILLISECONDS.toNanos(20));
+        wheel.schedule(new TimeoutWheel.Entry<>("b"), now + MILLISECONDS.toNanos(50));
+        wheel.schedule(new TimeoutWheel.Entry<>("c"), now + SECONDS.toNanos(5));
+
+        assertTrue(wheel.expire(now).isEmpty());
+        assertEquals(asList("a"), wheel.expire(now + MILLISECONDS.toNanos(30)));
+        assertEquals(asList("b"), wheel.expire(now + MILLISECONDS.toNanos(60)));
+        assertEquals(1, wheel.size());
+        assertEquals(asList("c"), wheel.expire(now + SECONDS.toNanos(6)));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void keepsEntriesOfLaterRoundsInTheSameBucket() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(MILLISECONDS.toNanos(10), 4);
+        long now = System.nanoTime();
+
+        wheel.schedule(new TimeoutWheel.Entry<>("a"), now + MILLISECONDS.toNanos(15));
+        wheel.schedule(new TimeoutWheel.Entry<>("b"), now + MILLISECONDS.toNanos(55));
+
+        assertEquals(asList("a"), wheel.expire(now + MILLISECONDS.toNanos(25)));
+        assertTrue(wheel.expire(now + MILLISECONDS.toNanos(45)).isEmpty());
+        assertEquals(asList("b"), wheel.expire(now + MILLISECONDS.toNanos(65)));
+    }
+
+    @Test
+    public void reschedulesAndCancelsEntries() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(MILLISECONDS.toNanos(10), 16);
+        long now = System.nanoTime();
+
+        TimeoutWheel.Entry<String> a = new TimeoutWheel.Entry<>("a");
+        TimeoutWheel.Entry<String> b = new TimeoutWheel.Entry<>("b");
+
+        wheel.schedule(a, now + MILLISECONDS.toNanos(20));
+        wheel.schedule(b, now + MILLISECONDS.toNanos(20));
+        wheel.schedule(a, now + MILLISECONDS.toNanos(100));
+
+        assertTrue(wheel.cancel(b));
+        assertFalse(wheel.cancel(b));
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.expire(now + MILLISECONDS.toNanos(50)).isEmpty());
+
+        List<String> expired = wheel.expire(now + MILLISECONDS.toNanos(110));
+        assertEquals(asList("a"), expired);
+        assertFalse(wheel.cancel(a));
+    }
+
+    @Test
+    public void armsWakeupAtEarliestDeadline() {
+        TimeoutWheel<String> wheel = new TimeoutWheel<>(MILLISECONDS.toNanos(10), 16);
+        long now = System.nanoTime();
+        long first = now + MILLISECONDS.toNanos(30);
+        long second = now + MILLISECONDS.toNanos(80);
+
+        assertEquals(TimeoutWheel.NO_DEADLINE, wheel.nextWakeup());
+        assertTrue(wheel.schedule(new TimeoutWheel.Entry<>("a"), first));
+        assertFalse(wheel.schedule(new TimeoutWheel.Entry<>("b"), second));
+        assertEquals(TimeoutWheel.NO_DEADLINE, wheel.nextWakeup());
+
+        wheel.expire(first);
+
+        assertEquals(second, wheel.nextWakeup());
+    }
+
+}